@@ -0,0 +1,186 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.zkoss.ganttz;
+
+import static org.zkoss.ganttz.DetachedTaskList.PIXELS_PER_DAY;
+import static org.zkoss.ganttz.DetachedTaskList.leaf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zkoss.ganttz.data.Dependency;
+import org.zkoss.ganttz.data.DependencyType;
+import org.zkoss.ganttz.data.Task;
+import org.zkoss.ganttz.util.Viewport;
+
+/**
+ * Measures opening a plan in {@link TaskList} and {@link DependencyList}, and reloading and removing a task and
+ * scrolling once it is open, in big synthetic plans whose tasks are chained with end-start dependencies. Each plan is
+ * measured with and without virtualized rendering.
+ * <p>
+ * Each task depends on the {@link #dependenciesPerTask} previous ones, so every task has that many incoming and
+ * outgoing dependencies, as many as the plan has tasks with 1 and twice as many with 2.
+ * </p>
+ * <p>
+ * The lists are used without a ZK desktop through {@link DetachedTaskList}, so the cost of rendering is not included.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TaskListBenchmark {
+
+    @Param({ "1000", "5000", "20000" })
+    private int tasks;
+
+    @Param({ "1", "2" })
+    private int dependenciesPerTask;
+
+    @Param({ "false", "true" })
+    private boolean virtualized;
+
+    @Setup(Level.Trial)
+    public void setUpWebApp() {
+        DetachedTaskList.setUpWebApp();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownWebApp() {
+        DetachedTaskList.tearDownWebApp();
+    }
+
+    private static class Plan {
+
+        private final DetachedTaskList taskList;
+
+        private final List<Dependency> dependencies = new ArrayList<>();
+
+        private final Task middle;
+
+        private final int middleRow;
+
+        private Plan(int tasks, int dependenciesPerTask, boolean virtualized) {
+            List<Task> leaves = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                leaves.add(leaf("T" + i, i, 1));
+                for (int previous = Math.max(0, i - dependenciesPerTask); previous < i; previous++) {
+                    dependencies.add(
+                            new Dependency(leaves.get(previous), leaves.get(i), DependencyType.END_START));
+                }
+            }
+            taskList = new DetachedTaskList(leaves, virtualized);
+            taskList.accept(leaves.toArray(new Task[0]));
+            middleRow = leaves.size() / 2;
+            middle = leaves.get(middleRow);
+        }
+
+        private void open() {
+            taskList.afterCompose();
+            taskList.getDependencyList().addDependencies(dependencies);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ClosedPlan {
+
+        private Plan plan;
+
+        @Setup(Level.Invocation)
+        public void create(TaskListBenchmark benchmark) {
+            plan = new Plan(benchmark.tasks, benchmark.dependenciesPerTask, benchmark.virtualized);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OpenPlan {
+
+        private Plan plan;
+
+        @Setup(Level.Invocation)
+        public void createAndOpen(TaskListBenchmark benchmark) {
+            plan = new Plan(benchmark.tasks, benchmark.dependenciesPerTask, benchmark.virtualized);
+            plan.open();
+        }
+    }
+
+    @Benchmark
+    public int openPlan(ClosedPlan closed) {
+        Plan plan = closed.plan;
+        plan.open();
+
+        return plan.taskList.getTasksNumber();
+    }
+
+    /**
+     * Like collapsing and expanding a container, a task disappears and appears again.
+     */
+    @Benchmark
+    public int reloadHidingAndShowingATask(OpenPlan open) {
+        Plan plan = open.plan;
+        plan.taskList.reject(plan.middle);
+        plan.taskList.reload();
+        plan.taskList.accept(plan.middle);
+        plan.taskList.reload();
+
+        return plan.taskList.getTasksNumber();
+    }
+
+    /**
+     * Scrolls to the rows in the middle of the plan and back to the first ones, following the days of their tasks.
+     */
+    @Benchmark
+    public int scrollToTheMiddleAndBack(OpenPlan open) {
+        Plan plan = open.plan;
+        int firstRow = plan.middleRow;
+        int lastRow = plan.middleRow + 40;
+        plan.taskList.setViewport(
+                Viewport.create(firstRow, lastRow, firstRow * PIXELS_PER_DAY, lastRow * PIXELS_PER_DAY));
+        plan.taskList.setViewport(Viewport.create(0, 40, 0, 40 * PIXELS_PER_DAY));
+
+        return plan.taskList.getTaskComponents().size();
+    }
+
+    @Benchmark
+    public int removeATask(OpenPlan open) {
+        Plan plan = open.plan;
+        plan.taskList.remove(plan.middle);
+        plan.taskList.getDependencyList().taskRemoved(plan.middle);
+
+        return plan.taskList.getTasksNumber();
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.zkoss.ganttz.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zkoss.ganttz.data.SimpleGanttAdapter.SimpleDependency;
+import org.zkoss.ganttz.data.SimpleGanttAdapter.SimpleTask;
+import org.zkoss.ganttz.data.constraint.Constraint;
+
+/**
+ * Measures the enforcement of dependencies in {@link GanttDiagramGraph} when a single task is modified in big
+ * synthetic plans.
+ * <p>
+ * The tasks are grouped in containers, and the tasks of each container are chained with end-start dependencies. Some
+ * random end-start dependencies join tasks of different containers, always going forward so no loops are created.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GanttDiagramGraphBenchmark {
+
+    private static final LocalDate START = new LocalDate(2010, 1, 4);
+
+    private static final int TASKS_PER_CONTAINER = 50;
+
+    @Param({ "1000", "10000", "50000" })
+    private int tasks;
+
+    private GanttDiagramGraph<SimpleTask, SimpleDependency> graph;
+
+    private List<SimpleTask> leaves;
+
+    private SimpleTask moved;
+
+    private boolean lengthened = false;
+
+    @Setup(Level.Trial)
+    public void createGraph() {
+        graph = GanttDiagramGraph.create(false, new SimpleGanttAdapter(),
+                Collections.<Constraint<GanttDate>> emptyList(),
+                Collections.<Constraint<GanttDate>> emptyList(), true);
+        leaves = new ArrayList<>();
+
+        Random random = new Random(1);
+        List<SimpleTask> containers = new ArrayList<>();
+        for (int i = 0; i < tasks; i += TASKS_PER_CONTAINER) {
+            SimpleTask container = new SimpleTask("C" + containers.size(), START, 0);
+            for (int j = i; j < Math.min(i + TASKS_PER_CONTAINER, tasks); j++) {
+                SimpleTask leaf = new SimpleTask("T" + j, START, 1 + random.nextInt(5));
+                container.children.add(leaf);
+                leaves.add(leaf);
+            }
+            containers.add(container);
+        }
+        graph.addTopLevel(containers);
+
+        for (int i = 1; i < leaves.size(); i++) {
+            if ( i % TASKS_PER_CONTAINER != 0 ) {
+                graph.addWithoutEnforcingConstraints(endStart(leaves.get(i - 1), leaves.get(i)));
+            }
+        }
+        for (int i = 0; i < leaves.size() / 10; i++) {
+            int source = random.nextInt(leaves.size() - 1);
+            int destination = source + 1 + random.nextInt(Math.min(leaves.size() - source - 1, 500));
+            if ( graph.getDependencyFrom(leaves.get(source), leaves.get(destination)) == null ) {
+                graph.addWithoutEnforcingConstraints(endStart(leaves.get(source), leaves.get(destination)));
+            }
+        }
+        graph.enforceAllRestrictions();
+
+        moved = leaves.get(leaves.size() / 2);
+    }
+
+    private static SimpleDependency endStart(SimpleTask source, SimpleTask destination) {
+        return new SimpleDependency(source, destination, DependencyType.END_START, true);
+    }
+
+    /**
+     * Like dragging the end of a bar, the task is lengthened and shortened alternately.
+     */
+    @Benchmark
+    public GanttDate moveOneTask() {
+        lengthened = !lengthened;
+        moved.end = lengthened ? moved.end.plusDays(1) : moved.end.minusDays(1);
+        graph.enforceRestrictions(moved);
+
+        return graph.getEndDateFor(leaves.get(leaves.size() - 1));
+    }
+
+    @Benchmark
+    public GanttDate addAndRemoveDependency() {
+        SimpleDependency dependency = endStart(leaves.get(0), moved);
+        graph.add(dependency);
+        graph.removeDependency(dependency);
+
+        return graph.getEndDateFor(leaves.get(leaves.size() - 1));
+    }
+
+}
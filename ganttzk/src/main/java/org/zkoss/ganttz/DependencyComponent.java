@@ -25,6 +25,8 @@ package org.zkoss.ganttz;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.lang3.Validate;
 import org.zkoss.ganttz.data.Dependency;
@@ -62,12 +64,35 @@ public class DependencyComponent extends XulElement implements AfterCompose {
 
     private boolean violated = false;
 
+    /**
+     * Only set when rendering is virtualized, to find the place of the tasks without component.
+     */
+    private TaskList taskList;
+
     public DependencyComponent(TaskComponent source, TaskComponent destination, Dependency dependency) {
-        Validate.notNull(dependency);
+        this(dependency, source, destination);
         Validate.notNull(source);
         Validate.notNull(destination);
-        Validate.isTrue(source.getTask() == dependency.getSource());
-        Validate.isTrue(destination.getTask() == dependency.getDestination());
+    }
+
+    /**
+     * When rendering is virtualized the tasks out of the rows of the task list
+     * with components have no component, so <code>source</code> or
+     * <code>destination</code> can be <code>null</code>.
+     */
+    static DependencyComponent onVirtualized(
+            TaskList taskList, Dependency dependency, TaskComponent source, TaskComponent destination) {
+
+        DependencyComponent result = new DependencyComponent(dependency, source, destination);
+        result.taskList = taskList;
+
+        return result;
+    }
+
+    private DependencyComponent(Dependency dependency, TaskComponent source, TaskComponent destination) {
+        Validate.notNull(dependency);
+        Validate.isTrue(source == null || source.getTask() == dependency.getSource());
+        Validate.isTrue(destination == null || destination.getTask() == dependency.getDestination());
 
         this.type = dependency.getType();
         this.source = source;
@@ -99,8 +124,8 @@ public class DependencyComponent extends XulElement implements AfterCompose {
             }
         };
 
-        this.source.getTask().addFundamentalPropertiesChangeListener(listener);
-        this.destination.getTask().addFundamentalPropertiesChangeListener(listener);
+        this.dependency.getSource().addFundamentalPropertiesChangeListener(listener);
+        this.dependency.getDestination().addFundamentalPropertiesChangeListener(listener);
 
         violationListener = Constraint.onlyOnZKExecution(new IConstraintViolationListener<GanttDate>() {
 
@@ -127,8 +152,8 @@ public class DependencyComponent extends XulElement implements AfterCompose {
             return;
         }
 
-        this.source.getTask().removePropertyChangeListener(listener);
-        this.destination.getTask().removePropertyChangeListener(listener);
+        this.dependency.getSource().removePropertyChangeListener(listener);
+        this.dependency.getDestination().removePropertyChangeListener(listener);
         listenerAdded = false;
     }
 
@@ -136,7 +161,7 @@ public class DependencyComponent extends XulElement implements AfterCompose {
      * @return the idTaskOrig
      */
     public String getIdTaskOrig() {
-        return source.getUuid();
+        return source == null ? null : source.getUuid();
     }
 
     public void setIdTaskOrig(String idTaskOrig) {
@@ -152,7 +177,7 @@ public class DependencyComponent extends XulElement implements AfterCompose {
      * @return the idTaskEnd
      */
     public String getIdTaskEnd() {
-        return destination.getUuid();
+        return destination == null ? null : destination.getUuid();
     }
 
     public void setIdTaskEnd(String idTaskEnd) {
@@ -164,12 +189,40 @@ public class DependencyComponent extends XulElement implements AfterCompose {
     }
 
     public void redrawDependency() {
-        response("redrawDependency" + getId(), new AuInvoke(this, "draw"));
+        response("redrawDependency" + getId(), new AuInvoke(this, "draw",
+                placeOf(dependency.getSource(), source), placeOf(dependency.getDestination(), destination)));
+    }
+
+    /**
+     * The client finds the tasks of the materialized rows on the page. For the
+     * rest it needs their row and their horizontal pixels.
+     *
+     * @return <code>null</code> if the task is on the page
+     */
+    private Map<String, Object> placeOf(Task task, TaskComponent taskComponent) {
+        if ( taskList == null || taskComponent != null && taskComponent.getRow().isMaterialized() ) {
+            return null;
+        }
+
+        Integer rowIndex = taskList.rowIndexOf(task);
+        if ( rowIndex == null ) {
+            return null;
+        }
+
+        IDatesMapper mapper = taskList.getMapper();
+        int left = task.getBeginDate().toPixels(mapper);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("row", rowIndex);
+        result.put("left", left);
+        result.put("width", task.getEndDate().toPixels(mapper) - left);
+
+        return result;
     }
 
     public boolean contains(Task task) {
-        Task sourceTask = getSource().getTask();
-        Task destinationTask = getDestination().getTask();
+        Task sourceTask = dependency.getSource();
+        Task destinationTask = dependency.getDestination();
 
         return task.equals(sourceTask) || task.equals(destinationTask);
     }
@@ -191,8 +244,8 @@ public class DependencyComponent extends XulElement implements AfterCompose {
     }
 
     public boolean hasSameSourceAndDestination(Dependency dependency) {
-        Task sourceTask = source.getTask();
-        Task destinationTask = destination.getTask();
+        Task sourceTask = this.dependency.getSource();
+        Task destinationTask = this.dependency.getDestination();
 
         return sourceTask.equals(dependency.getSource()) && destinationTask.equals(dependency.getDestination());
     }
@@ -206,7 +259,7 @@ public class DependencyComponent extends XulElement implements AfterCompose {
     }
 
     public boolean hasLimitingTasks() {
-        return (source.isLimiting() || destination.isLimiting());
+        return (dependency.getSource().isLimiting() || dependency.getDestination().isLimiting());
     }
 
     public PropertyChangeListener getVisibilityChangeListener() {
@@ -25,7 +25,16 @@ import static org.zkoss.ganttz.i18n.I18nHelper._;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 import org.zkoss.ganttz.data.Dependency;
 import org.zkoss.ganttz.data.DependencyType;
@@ -34,10 +43,8 @@ import org.zkoss.ganttz.timetracker.TimeTracker;
 import org.zkoss.ganttz.timetracker.TimeTrackerComponent;
 import org.zkoss.ganttz.timetracker.zoom.IZoomLevelChangedListener;
 import org.zkoss.ganttz.timetracker.zoom.ZoomLevel;
-import org.zkoss.ganttz.util.ComponentsFinder;
 import org.zkoss.ganttz.util.MenuBuilder;
 import org.zkoss.ganttz.util.MenuBuilder.ItemAction;
-import org.zkoss.zk.ui.Component;
 import org.zkoss.zk.ui.event.Event;
 import org.zkoss.zk.ui.ext.AfterCompose;
 import org.zkoss.zul.Menupopup;
@@ -100,10 +107,16 @@ public class DependencyList extends XulElement implements AfterCompose {
         void toggleDependencyExistence(boolean visible) {
             if ( visible ) {
                 appendChild(dependencyComponent);
+                shownComponents.add(dependencyComponent);
                 dependencyComponent.afterCompose();
-                addContextMenu(dependencyComponent);
+
+                // Out of a page there is no root to attach the menu to, so it is added on afterCompose
+                if ( getPage() != null ) {
+                    addContextMenu(dependencyComponent);
+                }
             } else {
                 removeChild(dependencyComponent);
+                shownComponents.remove(dependencyComponent);
             }
         }
 
@@ -124,13 +137,91 @@ public class DependencyList extends XulElement implements AfterCompose {
 
     private Menupopup limitingContextMenu;
 
+    /**
+     * Components currently shown, in the same order as they are in the children.
+     */
+    private final Set<DependencyComponent> shownComponents = new LinkedHashSet<>();
+
+    /**
+     * All the added components, shown or not, by their source and destination tasks.
+     */
+    private final Map<Task, Set<DependencyComponent>> componentsByTask = new HashMap<>();
+
+    private TaskList taskList;
+
+    /**
+     * All the added dependencies by their source and destination tasks. When
+     * rendering is virtualized a component is only created for the ones that
+     * are on the viewport, so they are kept instead of the components.
+     */
+    private final Map<Task, Set<Dependency>> dependenciesByTask = new HashMap<>();
+
+    /**
+     * Components of the dependencies shown when rendering is virtualized.
+     */
+    private final Map<Dependency, DependencyComponent> componentByDependency = new HashMap<>();
+
+    /**
+     * Dependencies that go from a row above the rows with component to a row
+     * below them, so they can't be found from the tasks of those rows.
+     */
+    private final Set<Dependency> spanningWindow = new HashSet<>();
+
     public DependencyList(FunctionalityExposedForExtensions<?> context) {
         this.context = context;
     }
 
     private List<DependencyComponent> getDependencyComponents() {
-        List<Component> children = getChildren();
-        return ComponentsFinder.findComponentsOfType(DependencyComponent.class, children);
+        return new ArrayList<>(shownComponents);
+    }
+
+    private Set<DependencyComponent> componentsOf(Task task) {
+        return indexed(componentsByTask, task);
+    }
+
+    private static <T> Set<T> indexed(Map<Task, Set<T>> index, Task task) {
+        Set<T> result = index.get(task);
+        return result != null ? result : Collections.emptySet();
+    }
+
+    private static <T> void index(Map<Task, Set<T>> index, Task task, T value) {
+        index.computeIfAbsent(task, t -> new LinkedHashSet<>()).add(value);
+    }
+
+    private static <T> void unindex(Map<Task, Set<T>> index, Task task, T value) {
+        Set<T> values = index.get(task);
+        if ( values != null ) {
+            values.remove(value);
+            if ( values.isEmpty() ) {
+                index.remove(task);
+            }
+        }
+    }
+
+    void setTaskList(TaskList taskList) {
+        this.taskList = taskList;
+    }
+
+    private boolean isVirtualized() {
+        return taskList != null && taskList.isVirtualized();
+    }
+
+    /**
+     * Shows the new dependencies. When rendering is virtualized their
+     * components are created when they reach the viewport.
+     */
+    void addDependencies(Collection<? extends Dependency> dependencies) {
+        if ( !isVirtualized() ) {
+            setDependencyComponents(taskList.asDependencyComponents(dependencies));
+            return;
+        }
+
+        for (Dependency dependency : dependencies) {
+            index(dependenciesByTask, dependency.getSource(), dependency);
+            index(dependenciesByTask, dependency.getDestination(), dependency);
+            updateSpanningWindow(dependency);
+            refresh(dependency, false);
+        }
     }
 
     void addDependencyComponent(final DependencyComponent dependencyComponent) {
@@ -143,6 +234,8 @@ public class DependencyList extends XulElement implements AfterCompose {
         source.getTask().addVisibilityPropertiesChangeListener(visibilityToggler);
         destination.getTask().addVisibilityPropertiesChangeListener(visibilityToggler);
         dependencyComponent.setVisibilityChangeListener(visibilityToggler);
+        index(componentsByTask, source.getTask(), dependencyComponent);
+        index(componentsByTask, destination.getTask(), dependencyComponent);
 
         boolean dependencyMustBeVisible = visibilityToggler.dependencyMustBeVisible();
         visibilityToggler.toggleDependencyExistence(dependencyMustBeVisible);
@@ -256,16 +349,187 @@ public class DependencyList extends XulElement implements AfterCompose {
         }
     }
 
+    /**
+     * Culls the dependencies that can have entered or left the viewport. The
+     * ones spanning the rows with component are looked up among the ones of
+     * the tasks from <code>fromRow</code> to <code>toRow</code>, the rows the
+     * viewport has gone through. The shown ones of the tasks whose rows have
+     * been materialized or released are redrawn, as the client finds their
+     * ends in a different way.
+     */
+    void viewportChanged(Collection<Task> materializationChanged, int fromRow, int toRow) {
+        int lastRow = Math.min(toRow, taskList.getRowsNumber() - 1);
+        for (int rowIndex = Math.max(0, fromRow); rowIndex <= lastRow; rowIndex++) {
+            for (Dependency dependency : indexed(dependenciesByTask, taskList.taskAt(rowIndex))) {
+                updateSpanningWindow(dependency);
+            }
+        }
+
+        refreshOnViewport(false);
+
+        for (Task task : materializationChanged) {
+            for (Dependency dependency : indexed(dependenciesByTask, task)) {
+                DependencyComponent dependencyComponent = componentByDependency.get(dependency);
+                if ( dependencyComponent != null ) {
+                    dependencyComponent.redrawDependency();
+                }
+            }
+        }
+    }
+
+    /**
+     * Culls and redraws the dependencies after the rows have changed, as
+     * any of them can have moved.
+     */
+    void rowsChanged() {
+        spanningWindow.clear();
+        for (Entry<Task, Set<Dependency>> each : dependenciesByTask.entrySet()) {
+            for (Dependency dependency : each.getValue()) {
+                // Each dependency is indexed by both tasks, so it's checked only once
+                if ( dependency.getSource() == each.getKey() ) {
+                    updateSpanningWindow(dependency);
+                }
+            }
+        }
+
+        refreshOnViewport(true);
+    }
+
+    /**
+     * Only the dependencies already shown, the ones spanning the rows with
+     * component and the ones of the tasks of those rows can be on the viewport.
+     */
+    private void refreshOnViewport(boolean redraw) {
+        Set<Dependency> toRefresh = new LinkedHashSet<>(componentByDependency.keySet());
+        toRefresh.addAll(spanningWindow);
+        for (TaskComponent each : taskList.getTaskComponents()) {
+            toRefresh.addAll(indexed(dependenciesByTask, each.getTask()));
+        }
+
+        for (Dependency dependency : toRefresh) {
+            refresh(dependency, redraw);
+        }
+    }
+
+    /**
+     * Culls and redraws the dependencies of a task that has moved, so its row
+     * may have been materialized or released.
+     */
+    void taskPositionChanged(Task task) {
+        for (Dependency dependency : new ArrayList<>(indexed(dependenciesByTask, task))) {
+            refresh(dependency, true);
+        }
+    }
+
+    private void updateSpanningWindow(Dependency dependency) {
+        Integer sourceRow = taskList.rowIndexOf(dependency.getSource());
+        Integer destinationRow = taskList.rowIndexOf(dependency.getDestination());
+
+        if ( sourceRow != null && destinationRow != null && taskList.spansWindow(
+                Math.min(sourceRow, destinationRow), Math.max(sourceRow, destinationRow)) ) {
+
+            spanningWindow.add(dependency);
+        } else {
+            spanningWindow.remove(dependency);
+        }
+    }
+
+    /**
+     * A dependency is shown if both tasks are shown and any of its ends is
+     * materialized or the line between them crosses the viewport, as it does
+     * when both ends are above and below it. Its component is created again
+     * if the components of its tasks have changed.
+     */
+    private void refresh(Dependency dependency, boolean redraw) {
+        TaskComponent source = taskList.find(dependency.getSource());
+        TaskComponent destination = taskList.find(dependency.getDestination());
+        boolean mustBeShown = mustBeShown(dependency, source, destination);
+
+        DependencyComponent dependencyComponent = componentByDependency.get(dependency);
+        if ( dependencyComponent != null && (!mustBeShown
+                || dependencyComponent.getSource() != source || dependencyComponent.getDestination() != destination) ) {
+
+            release(dependencyComponent);
+            dependencyComponent = null;
+        }
+
+        if ( !mustBeShown ) {
+            return;
+        }
+
+        if ( dependencyComponent == null ) {
+            dependencyComponent = DependencyComponent.onVirtualized(taskList, dependency, source, destination);
+            appendChild(dependencyComponent);
+            shownComponents.add(dependencyComponent);
+            componentByDependency.put(dependency, dependencyComponent);
+            dependencyComponent.afterCompose();
+
+            // Out of a page there is no root to attach the menu to, so it is added on afterCompose
+            if ( getPage() != null ) {
+                addContextMenu(dependencyComponent);
+            }
+            dependencyComponent.redrawDependency();
+        } else if ( redraw ) {
+            dependencyComponent.redrawDependency();
+        }
+    }
+
+    private boolean mustBeShown(Dependency dependency, TaskComponent source, TaskComponent destination) {
+        if ( taskList.rowIndexOf(dependency.getSource()) == null
+                || taskList.rowIndexOf(dependency.getDestination()) == null ) {
+
+            return false;
+        }
+
+        return source != null && source.getRow().isMaterialized()
+                || destination != null && destination.getRow().isMaterialized()
+                || taskList.crossesViewport(dependency.getSource(), dependency.getDestination());
+    }
+
+    private void release(DependencyComponent dependencyComponent) {
+        removeChild(dependencyComponent);
+        shownComponents.remove(dependencyComponent);
+        componentByDependency.remove(dependencyComponent.getDependency());
+        dependencyComponent.removeChangeListeners();
+    }
+
+    private void forget(Dependency dependency) {
+        unindex(dependenciesByTask, dependency.getSource(), dependency);
+        unindex(dependenciesByTask, dependency.getDestination(), dependency);
+        spanningWindow.remove(dependency);
+
+        DependencyComponent dependencyComponent = componentByDependency.get(dependency);
+        if ( dependencyComponent != null ) {
+            release(dependencyComponent);
+        }
+    }
+
     void taskRemoved(Task task) {
-        for (DependencyComponent dependencyComponent : DependencyList.this.getDependencyComponents()) {
-            if ( dependencyComponent.contains(task) ) {
-                removeDependencyComponent(dependencyComponent);
+        if ( isVirtualized() ) {
+            for (Dependency dependency : new ArrayList<>(indexed(dependenciesByTask, task))) {
+                forget(dependency);
             }
+            return;
+        }
+
+        for (DependencyComponent dependencyComponent : new ArrayList<>(componentsOf(task))) {
+            removeDependencyComponent(dependencyComponent);
         }
     }
 
     public void remove(Dependency dependency) {
-        for (DependencyComponent dependencyComponent : DependencyList.this.getDependencyComponents()) {
+        if ( isVirtualized() ) {
+            for (Dependency each : new ArrayList<>(indexed(dependenciesByTask, dependency.getSource()))) {
+                if ( each.getSource().equals(dependency.getSource())
+                        && each.getDestination().equals(dependency.getDestination()) ) {
+
+                    forget(each);
+                }
+            }
+            return;
+        }
+
+        for (DependencyComponent dependencyComponent : new ArrayList<>(componentsOf(dependency.getSource()))) {
             if ( dependencyComponent.hasSameSourceAndDestination(dependency) ) {
                 removeDependencyComponent(dependencyComponent);
             }
@@ -280,11 +544,15 @@ public class DependencyList extends XulElement implements AfterCompose {
 
         source.getTask().removeVisibilityPropertiesChangeListener(listener);
         destination.getTask().removeVisibilityPropertiesChangeListener(listener);
+        unindex(componentsByTask, source.getTask(), dependencyComponent);
+        unindex(componentsByTask, destination.getTask(), dependencyComponent);
 
         // Remove other change listeners
         dependencyComponent.removeChangeListeners();
 
         // Remove the dependency itself
-        this.removeChild(dependencyComponent);
+        if ( shownComponents.remove(dependencyComponent) ) {
+            this.removeChild(dependencyComponent);
+        }
     }
 }
@@ -21,14 +21,18 @@
 
 package org.zkoss.ganttz;
 
+import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.joda.time.LocalDate;
@@ -173,6 +177,72 @@ public class FunctionalityExposedForExtensions<T> implements IContext<T> {
 
     }
 
+    /**
+     * Keeps the {@link CriticalPathCalculator} used the last time the critical path was calculated. The tasks moved
+     * and the dependencies added or removed since then are recorded, and the next time the critical path is asked
+     * for only they are applied to the calculator. Adding or removing tasks, or too many changes, make it calculate
+     * the critical path again from scratch.
+     */
+    private class CriticalPathTracker {
+
+        private static final int MAX_CHANGES_APPLIED = 50;
+
+        private CriticalPathCalculator<Task, Dependency> calculator;
+
+        private List<Task> criticalPath;
+
+        private final Set<Task> movedTasks = new LinkedHashSet<>();
+
+        private final List<Dependency> modifiedDependencies = new ArrayList<>();
+
+        private final PropertyChangeListener taskMoved = evt -> {
+            boolean datesChanged = "beginDate".equals(evt.getPropertyName())
+                    || "endDate".equals(evt.getPropertyName());
+
+            if ( calculator != null && datesChanged ) {
+                movedTasks.add((Task) evt.getSource());
+            }
+        };
+
+        void track(Task task) {
+            task.addFundamentalPropertiesChangeListener(taskMoved);
+        }
+
+        void tasksAddedOrRemoved() {
+            calculator = null;
+            movedTasks.clear();
+            modifiedDependencies.clear();
+        }
+
+        void dependencyModified(Dependency dependency) {
+            if ( calculator != null ) {
+                modifiedDependencies.add(dependency);
+            }
+        }
+
+        List<Task> getCriticalPath() {
+            if ( calculator == null || movedTasks.size() + modifiedDependencies.size() > MAX_CHANGES_APPLIED ) {
+                calculator = CriticalPathCalculator.create(configuration.isDependenciesConstraintsHavePriority());
+                criticalPath = calculator.calculateCriticalPath(diagramGraph);
+            } else {
+                for (Dependency each : modifiedDependencies) {
+                    criticalPath = calculator.dependencyChanged(each.getSource(), each.getDestination());
+                }
+
+                // The containers are not part of the calculation, their leaves are moved too
+                for (Task each : movedTasks) {
+                    if ( !each.isContainer() ) {
+                        criticalPath = calculator.taskChanged(each);
+                    }
+                }
+            }
+            movedTasks.clear();
+            modifiedDependencies.clear();
+
+            return criticalPath;
+        }
+    }
+
     private final Planner planner;
 
     private final IAdapterToTaskFundamentalProperties<T> adapter;
@@ -187,6 +257,8 @@ public class FunctionalityExposedForExtensions<T> implements IContext<T> {
 
     private final PlannerConfiguration<T> configuration;
 
+    private final CriticalPathTracker criticalPathTracker = new CriticalPathTracker();
+
     public FunctionalityExposedForExtensions(
             Planner planner, PlannerConfiguration<T> configuration, GanttZKDiagramGraph diagramGraph) {
 
@@ -225,6 +297,7 @@ public class FunctionalityExposedForExtensions<T> implements IContext<T> {
         accumulatedDependencies.addAll(adapter.getIncomingDependencies(data));
 
         final Task result = build(data);
+        criticalPathTracker.track(result);
 
         if ( !navigator.isLeaf(data) ) {
             TaskContainer container = (TaskContainer) result;
@@ -272,6 +345,7 @@ public class FunctionalityExposedForExtensions<T> implements IContext<T> {
         }
 
         updateTimeTracker(tasksCreated);
+        criticalPathTracker.tasksAddedOrRemoved();
 
         if ( position.isAppendToTop() || position.isAtTop() ) {
             this.diagramGraph.addTopLevel(tasksCreated);
@@ -331,6 +405,7 @@ public class FunctionalityExposedForExtensions<T> implements IContext<T> {
         adapter.doRemovalOf(mapper.findAssociatedDomainObject(task));
         mapper.remove(domainObject);
         diagramGraph.remove(task);
+        criticalPathTracker.tasksAddedOrRemoved();
         task.removed();
         planner.removeTask(task);
 
@@ -365,7 +440,8 @@ public class FunctionalityExposedForExtensions<T> implements IContext<T> {
         }
 
         diagramGraph.add(dependency);
-        getDependencyList().addDependencyComponent(getTaskList().asDependencyComponent(dependency));
+        criticalPathTracker.dependencyModified(dependency);
+        getDependencyList().addDependencies(Collections.singletonList(dependency));
         adapter.addDependency(toDomainDependency(dependency));
     }
 
@@ -384,6 +460,7 @@ public class FunctionalityExposedForExtensions<T> implements IContext<T> {
     public void removeDependency(Dependency dependency) {
         adapter.removeDependency(toDomainDependency(dependency));
         diagramGraph.removeDependency(dependency);
+        criticalPathTracker.dependencyModified(dependency);
         getDependencyList().remove(dependency);
     }
 
@@ -422,17 +499,14 @@ public class FunctionalityExposedForExtensions<T> implements IContext<T> {
 
     @Override
     public void showCriticalPath() {
-        CriticalPathCalculator<Task, Dependency> criticalPathCalculator =
-                CriticalPathCalculator.create(configuration.isDependenciesConstraintsHavePriority());
-
-        List<Task> criticalPath = criticalPathCalculator.calculateCriticalPath(diagramGraph);
+        Set<Task> criticalPath = new HashSet<>(criticalPathTracker.getCriticalPath());
 
         for (Task task : diagramGraph.getTasks()) {
             task.setInCriticalPath(isInCriticalPath(criticalPath, task));
         }
     }
 
-    private boolean isInCriticalPath(List<Task> criticalPath, Task task) {
+    private boolean isInCriticalPath(Set<Task> criticalPath, Task task) {
         if ( task.isContainer() ) {
             List<Task> allTaskLeafs = task.getAllTaskLeafs();
 
@@ -446,10 +520,7 @@ public class FunctionalityExposedForExtensions<T> implements IContext<T> {
     public List<T> getCriticalPath() {
         List<T> result = new ArrayList<>();
 
-        CriticalPathCalculator<Task, Dependency> criticalPathCalculator =
-                CriticalPathCalculator.create(configuration.isDependenciesConstraintsHavePriority());
-
-        for (Task each : criticalPathCalculator.calculateCriticalPath(diagramGraph)) {
+        for (Task each : criticalPathTracker.getCriticalPath()) {
             result.add(mapper.findAssociatedDomainObject(each));
         }
 
@@ -21,6 +21,7 @@
 
 package org.zkoss.ganttz;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.joda.time.LocalDate;
@@ -32,8 +33,14 @@ import org.zkoss.ganttz.timetracker.TimeTrackerComponent;
 import org.zkoss.ganttz.timetracker.zoom.IZoomLevelChangedListener;
 import org.zkoss.ganttz.timetracker.zoom.ZoomLevel;
 import org.zkoss.ganttz.util.Interval;
+import org.zkoss.ganttz.util.Viewport;
+import org.zkoss.zk.au.AuRequest;
+import org.zkoss.zk.au.AuService;
 import org.zkoss.zk.au.out.AuInvoke;
+import org.zkoss.zk.mesg.MZk;
+import org.zkoss.zk.ui.UiException;
 import org.zkoss.zk.ui.ext.AfterCompose;
+import org.zkoss.zk.ui.sys.ContentRenderer;
 import org.zkoss.zul.impl.XulElement;
 
 public class GanttPanel extends XulElement implements AfterCompose {
@@ -54,6 +61,8 @@ public class GanttPanel extends XulElement implements AfterCompose {
 
     private Interval previousInterval;
 
+    private final boolean virtualizedRendering;
+
     public GanttPanel(
             Planner planner,
             List<? extends CommandOnTaskContextualized<?>> commandsOnTasksContextualized,
@@ -79,6 +88,44 @@ public class GanttPanel extends XulElement implements AfterCompose {
 
         appendChild(tasksLists);
         appendChild(dependencyList);
+
+        this.virtualizedRendering = disabilityConfiguration.isVirtualizedRendering();
+        if ( virtualizedRendering ) {
+            listenToViewportChanges();
+        }
+    }
+
+    private void listenToViewportChanges() {
+        setAuService(new AuService() {
+            public boolean service(AuRequest request, boolean everError) {
+                if ( "onViewportChange".equals(request.getCommand()) ) {
+                    tasksLists.setViewport(Viewport.create(
+                            retrieveInteger(request, "firstRow"),
+                            retrieveInteger(request, "lastRow"),
+                            retrieveInteger(request, "left"),
+                            retrieveInteger(request, "right")));
+
+                    return true;
+                }
+
+                return false;
+            }
+
+            private int retrieveInteger(AuRequest request, String key) {
+                Object value = request.getData().get(key);
+                if ( !(value instanceof Number) ) {
+                    throw new UiException(MZk.ILLEGAL_REQUEST_WRONG_DATA, new Object[] { key, this });
+                }
+
+                return ((Number) value).intValue();
+            }
+        });
+    }
+
+    @Override
+    protected void renderProperties(ContentRenderer renderer) throws IOException {
+        super.renderProperties(renderer);
+        render(renderer, "virtualized", virtualizedRendering);
     }
 
     private TimeTrackerComponent timeTrackerForGanttPanel(TimeTracker timeTracker) {
@@ -124,8 +171,7 @@ public class GanttPanel extends XulElement implements AfterCompose {
     public void afterCompose() {
         tasksLists.afterCompose();
 
-        dependencyList.setDependencyComponents(
-                tasksLists.asDependencyComponents(diagramGraph.getVisibleDependencies()));
+        dependencyList.addDependencies(diagramGraph.getVisibleDependencies());
 
         timeTrackerComponent.afterCompose();
         dependencyList.afterCompose();
@@ -289,9 +289,7 @@ public class Planner extends HtmlMacroComponent  {
             return;
         }
 
-        for (DependencyComponent d : getTaskList().asDependencyComponents(dependencies)) {
-            dependencyList.addDependencyComponent(d);
-        }
+        dependencyList.addDependencies(dependencies);
     }
 
     public ListModel<ZoomLevel> getZoomLevels() {
@@ -977,13 +975,7 @@ public class Planner extends HtmlMacroComponent  {
     public TaskComponent getTaskComponentRelatedTo(Task task) {
         TaskList taskList = getTaskList();
         if ( taskList != null ) {
-
-            for (TaskComponent each : taskList.getTaskComponents()) {
-
-                if ( each.getTask().equals(task) ) {
-                    return each;
-                }
-            }
+            return taskList.find(task);
         }
         return null;
     }
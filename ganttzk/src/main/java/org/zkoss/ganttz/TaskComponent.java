@@ -94,6 +94,8 @@ public class TaskComponent extends Div implements AfterCompose {
 
     private String progressType;
 
+    private TaskRow row;
+
     public static TaskComponent asTaskComponent(Task task,
                                                 IDisabilityConfiguration disabilityConfiguration,
                                                 boolean isTopLevel) {
@@ -337,12 +339,16 @@ public class TaskComponent extends Div implements AfterCompose {
     }
 
     public TaskRow getRow() {
-        if ( getParent() == null ) {
+        if ( row == null ) {
             throw new IllegalStateException(
                     "the TaskComponent should have been wraped by a " + TaskRow.class.getName());
         }
 
-        return (TaskRow) getParent();
+        return row;
+    }
+
+    void setRow(TaskRow row) {
+        this.row = row;
     }
 
     public Task getTask() {
@@ -629,6 +635,19 @@ public class TaskComponent extends Div implements AfterCompose {
         task.removeReloadListener(reloadResourcesTextRequested);
     }
 
+    /**
+     * Stops listening to the task, so the component can be discarded while the task is still shown. It's used when
+     * rendering is virtualized and the row of the task leaves the viewport.
+     */
+    void release() {
+        task.removePropertyChangeListener(propertiesListener);
+        task.removeAdvancesPropertyChangeListener(showingAdvancePropertyListener);
+        task.removeReportedHoursPropertyChangeListener(showingReportedHoursPropertyListener);
+        task.removeMoneyCostBarPropertyChangeListener(showingMoneyCostBarPropertyListener);
+        task.removeCriticalPathPropertyChangeListener(criticalPathPropertyListener);
+        task.removeReloadListener(reloadResourcesTextRequested);
+    }
+
     public boolean isTopLevel() {
         return isTopLevel;
     }
@@ -48,6 +48,8 @@ public class TaskContainerComponent extends TaskComponent implements
 
     private List<TaskComponent> subtaskComponents = new ArrayList<TaskComponent>();
 
+    private boolean subtaskComponentsCreated = false;
+
     private transient IExpandListener expandListener;
 
     public TaskContainerComponent(final TaskContainer taskContainer,
@@ -64,9 +66,6 @@ public class TaskContainerComponent extends TaskComponent implements
             }
         };
         taskContainer.addExpandListener(expandListener);
-        for (Task task : taskContainer.getTasks()) {
-            getCurrentComponents().add(createChild(task));
-        }
     }
 
     private TaskComponent createChild(Task task) {
@@ -74,8 +73,18 @@ public class TaskContainerComponent extends TaskComponent implements
                 false);
     }
 
+    /**
+     * The components of the subtasks are created when they are published, so
+     * they are not created if rendering is virtualized.
+     */
     @Override
     protected void publishDescendants(Map<Task, TaskComponent> resultAccumulated) {
+        if (!subtaskComponentsCreated) {
+            for (Task task : getTaskContainer().getTasks()) {
+                subtaskComponents.add(createChild(task));
+            }
+            subtaskComponentsCreated = true;
+        }
         for (TaskComponent taskComponent : getCurrentComponents()) {
             taskComponent.publishTaskComponents(resultAccumulated);
         }
@@ -38,10 +38,13 @@ import org.zkoss.ganttz.timetracker.zoom.IZoomLevelChangedListener;
 import org.zkoss.ganttz.timetracker.zoom.ZoomLevel;
 import org.zkoss.ganttz.util.Interval;
 import org.zkoss.ganttz.util.MenuBuilder;
+import org.zkoss.ganttz.util.Viewport;
+import org.zkoss.zk.ui.Component;
 import org.zkoss.zk.ui.ext.AfterCompose;
 import org.zkoss.zul.Menupopup;
 import org.zkoss.zul.impl.XulElement;
 
+import java.beans.PropertyChangeListener;
 import java.util.HashSet;
 import java.util.List;
 import java.util.ArrayList;
@@ -77,10 +80,69 @@ public class TaskList extends XulElement implements AfterCompose {
 
     private Map<Task, TaskComponent> taskComponentByTask;
 
+    /**
+     * Components whose row is currently in the list, by their task.
+     */
+    private Map<Task, TaskComponent> shownComponentByTask = new HashMap<>();
+
     private Map<TaskContainer, IExpandListener> autoRemovedListers = new WeakHashMap<>();
 
     private Map<TaskComponent, Menupopup> contextMenus = new HashMap<>();
 
+    /**
+     * Rows materialized before the client reports its viewport.
+     */
+    private static final int INITIAL_VIRTUALIZED_ROWS = 60;
+
+    /**
+     * Rows materialized above and below the viewport.
+     */
+    private static final int BUFFER_ROWS = 20;
+
+    /**
+     * Only used if rendering is virtualized.
+     */
+    private Viewport viewport = Viewport.firstRows(INITIAL_VIRTUALIZED_ROWS);
+
+    /**
+     * Tasks of the rows of the list, in order. Only kept if rendering is virtualized.
+     */
+    private List<Task> shownTasks = new ArrayList<>();
+
+    /**
+     * Index of the rows in the list by their task. Only kept if rendering is virtualized.
+     */
+    private Map<Task, Integer> rowIndexByTask = new HashMap<>();
+
+    private Set<Task> topLevelTasks = new HashSet<>();
+
+    /**
+     * Rows of the list with a component when rendering is virtualized, the
+     * viewport rows that exist. It's empty if <code>windowLastRow</code> is
+     * before <code>windowFirstRow</code>.
+     */
+    private int windowFirstRow = 0;
+
+    private int windowLastRow = -1;
+
+    private final TaskRowsSpacer rowsAbove = new TaskRowsSpacer();
+
+    private final TaskRowsSpacer rowsBelow = new TaskRowsSpacer();
+
+    /**
+     * Applied to the components created later when rendering is virtualized.
+     */
+    private String progressType;
+
+    /**
+     * A task moved by itself or by the dependencies, like on a cascade reschedule, can enter or leave the viewport.
+     */
+    private final PropertyChangeListener positionChangedListener = evt -> {
+        if ( "beginDate".equals(evt.getPropertyName()) || "endDate".equals(evt.getPropertyName()) ) {
+            positionChanged((Task) evt.getSource());
+        }
+    };
+
     public TaskList(
             FunctionalityExposedForExtensions<?> context,
             CommandOnTaskContextualized<?> doubleClickCommand,
@@ -98,6 +160,7 @@ public class TaskList extends XulElement implements AfterCompose {
     }
 
     public void updateCompletion(String progressType) {
+        this.progressType = progressType;
         for (TaskComponent task: getTaskComponents()) {
             task.updateCompletion(progressType);
             task.updateCompletionReportedHours();
@@ -144,6 +207,7 @@ public class TaskList extends XulElement implements AfterCompose {
             TaskRow beforeThis, final TaskComponent taskComponent, boolean relocate) {
 
         insertBefore(taskComponent.getRow(), beforeThis);
+        shownComponentByTask.put(taskComponent.getTask(), taskComponent);
         addContextMenu(taskComponent);
         addListenerForTaskComponentEditForm(taskComponent);
         taskComponent.afterCompose();
@@ -154,7 +218,9 @@ public class TaskList extends XulElement implements AfterCompose {
     }
 
     public void addTasks(Position position, Collection<? extends Task> newTasks) {
-        createAndPublishComponentsIfNeeded(newTasks);
+        if ( !isVirtualized() ) {
+            createAndPublishComponentsIfNeeded(newTasks);
+        }
 
         if ( position.isAppendToTop() ) {
             currentTotalTasks.addAll(newTasks);
@@ -169,13 +235,7 @@ public class TaskList extends XulElement implements AfterCompose {
     }
 
     public TaskComponent find(Task task) {
-        List<TaskComponent> taskComponents = getTaskComponents();
-        for (TaskComponent taskComponent : taskComponents) {
-            if ( taskComponent.getTask().equals(task) ) {
-                return taskComponent;
-            }
-        }
-        return null;
+        return shownComponentByTask.get(task);
     }
 
     private void addListenerForTaskComponentEditForm(final TaskComponent taskComponent) {
@@ -186,7 +246,10 @@ public class TaskList extends XulElement implements AfterCompose {
     }
 
     private void addContextMenu(final TaskComponent taskComponent) {
-        taskComponent.setContext(getContextMenuFor(taskComponent));
+        // Out of a page there is no root to attach the menu to
+        if ( getPage() != null ) {
+            taskComponent.setContext(getContextMenuFor(taskComponent));
+        }
     }
 
     private TimeTrackerComponent getTimeTrackerComponent() {
@@ -214,13 +277,248 @@ public class TaskList extends XulElement implements AfterCompose {
     }
 
     public int getTasksNumber() {
-        return getTaskComponents().size();
+        return isVirtualized() ? shownTasks.size() : shownComponentByTask.size();
+    }
+
+    boolean isVirtualized() {
+        return disabilityConfiguration.isVirtualizedRendering();
+    }
+
+    /**
+     * Creates the components of the rows on the new viewport and releases the rest.
+     */
+    public void setViewport(Viewport viewport) {
+        if ( !isVirtualized() ) {
+            return;
+        }
+
+        this.viewport = viewport.withBuffer(BUFFER_ROWS, viewport.getRightPixel() - viewport.getLeftPixel());
+        applyViewport(false);
+    }
+
+    /**
+     * Only the rows of the viewport have a component, the rest are taken up
+     * by the spacers above and below them. The components of the rows that
+     * are kept are reused.
+     *
+     * @param rowsReindexed
+     *            if the rows have changed since the last time, so any
+     *            dependency can have moved
+     */
+    private void applyViewport(boolean rowsReindexed) {
+        if ( !isVirtualized() ) {
+            return;
+        }
+
+        int previousFirstRow = windowFirstRow;
+        int previousLastRow = windowLastRow;
+        windowFirstRow = Math.min(viewport.getFirstRow(), shownTasks.size());
+        windowLastRow = Math.min(viewport.getLastRow(), shownTasks.size() - 1);
+        List<Task> windowTasks = shownTasks.subList(windowFirstRow, Math.max(windowFirstRow, windowLastRow + 1));
+
+        Set<Task> inWindow = new HashSet<>(windowTasks);
+        for (Task task : new ArrayList<>(shownComponentByTask.keySet())) {
+            if ( !inWindow.contains(task) ) {
+                releaseComponent(task);
+            }
+        }
+
+        List<Task> materializationChanged = new ArrayList<>();
+        Component next = rowsAbove.getNextSibling();
+        int rowIndex = windowFirstRow;
+        for (Task task : windowTasks) {
+            TaskComponent taskComponent = shownComponentByTask.get(task);
+            boolean created = taskComponent == null;
+            if ( created ) {
+                taskComponent = createComponent(task);
+            }
+
+            TaskRow row = taskComponent.getRow();
+            if ( row == next ) {
+                next = next.getNextSibling();
+            } else {
+                insertBefore(row, next);
+            }
+
+            if ( created ) {
+                composeCreated(taskComponent);
+            }
+
+            if ( updateMaterialization(row, rowIndex) ) {
+                materializationChanged.add(task);
+            }
+            rowIndex++;
+        }
+
+        rowsAbove.setRows(windowFirstRow);
+        rowsBelow.setRows(shownTasks.size() - windowFirstRow - windowTasks.size());
+
+        DependencyList dependencyList = getGanttPanel().getDependencyList();
+        if ( rowsReindexed || previousFirstRow > previousLastRow || windowFirstRow > windowLastRow ) {
+            dependencyList.rowsChanged();
+        } else {
+            dependencyList.viewportChanged(
+                    materializationChanged,
+                    Math.min(previousFirstRow, windowFirstRow),
+                    Math.max(previousLastRow, windowLastRow));
+        }
+    }
+
+    private TaskComponent createComponent(Task task) {
+        TaskComponent result = TaskComponent.asTaskComponent(
+                task, disabilityConfiguration, topLevelTasks.contains(task));
+
+        // It's materialized later if its bar falls on the viewport
+        result.getRow().dematerialize();
+        shownComponentByTask.put(task, result);
+
+        return result;
+    }
+
+    private void composeCreated(TaskComponent taskComponent) {
+        addListenerForTaskComponentEditForm(taskComponent);
+        taskComponent.afterCompose();
+
+        if ( progressType != null ) {
+            taskComponent.updateCompletion(progressType);
+            taskComponent.updateCompletionReportedHours();
+            taskComponent.updateTooltipText(progressType);
+        }
+    }
+
+    private void releaseComponent(Task task) {
+        TaskComponent taskComponent = shownComponentByTask.remove(task);
+        if ( taskComponent == null ) {
+            return;
+        }
+
+        dematerialize(taskComponent.getRow());
+        taskComponent.getRow().detach();
+        taskComponent.release();
+    }
+
+    /**
+     * @return if the row has been materialized or released
+     */
+    private boolean updateMaterialization(TaskRow row, int rowIndex) {
+        boolean mustBeMaterialized = isOnViewport(row.getChild(), rowIndex);
+
+        if ( mustBeMaterialized == row.isMaterialized() ) {
+            return false;
+        }
+
+        if ( mustBeMaterialized ) {
+            materialize(row);
+        } else {
+            dematerialize(row);
+        }
+
+        return true;
+    }
+
+    private void positionChanged(Task task) {
+        Integer rowIndex = rowIndexByTask.get(task);
+        if ( rowIndex == null ) {
+            return;
+        }
+
+        TaskComponent taskComponent = shownComponentByTask.get(task);
+        if ( taskComponent != null ) {
+            updateMaterialization(taskComponent.getRow(), rowIndex);
+        }
+        getGanttPanel().getDependencyList().taskPositionChanged(task);
+    }
+
+    /**
+     * @return the row of the task, or <code>null</code> if it's not shown.
+     *         Only kept if rendering is virtualized
+     */
+    Integer rowIndexOf(Task task) {
+        return rowIndexByTask.get(task);
+    }
+
+    Task taskAt(int rowIndex) {
+        return shownTasks.get(rowIndex);
+    }
+
+    int getRowsNumber() {
+        return shownTasks.size();
+    }
+
+    /**
+     * @return if a dependency between the rows <code>firstRowIndex</code> and
+     *         <code>lastRowIndex</code> goes past all the rows with component
+     *         without ending on any of them
+     */
+    boolean spansWindow(int firstRowIndex, int lastRowIndex) {
+        return windowFirstRow <= windowLastRow && firstRowIndex < windowFirstRow && lastRowIndex > windowLastRow;
+    }
+
+    /**
+     * @return if the smallest box holding the bars of both tasks has some part
+     *         on the viewport, so a dependency between them can cross it even
+     *         if none of their rows is materialized
+     */
+    boolean crossesViewport(Task source, Task destination) {
+        if ( !isVirtualized() ) {
+            return true;
+        }
+
+        Integer sourceRow = rowIndexByTask.get(source);
+        Integer destinationRow = rowIndexByTask.get(destination);
+        if ( sourceRow == null || destinationRow == null ) {
+            return false;
+        }
+
+        IDatesMapper mapper = getMapper();
+        int left = Math.min(source.getBeginDate().toPixels(mapper), destination.getBeginDate().toPixels(mapper));
+        int right = Math.max(source.getEndDate().toPixels(mapper), destination.getEndDate().toPixels(mapper));
+
+        return viewport.intersectsRows(Math.min(sourceRow, destinationRow), Math.max(sourceRow, destinationRow))
+                && viewport.intersects(left, right);
+    }
+
+    private boolean isOnViewport(TaskComponent taskComponent, int rowIndex) {
+        if ( !viewport.containsRow(rowIndex) ) {
+            return false;
+        }
+
+        Task task = taskComponent.getTask();
+
+        return viewport.intersects(
+                task.getBeginDate().toPixels(getMapper()),
+                task.getEndDate().toPixels(getMapper()));
+    }
+
+    private void materialize(TaskRow row) {
+        TaskComponent taskComponent = row.getChild();
+        row.materialize();
+        addContextMenu(taskComponent);
+        taskComponent.updateProperties();
+    }
+
+    private void dematerialize(TaskRow row) {
+        TaskComponent taskComponent = row.getChild();
+        row.dematerialize();
+
+        Menupopup contextMenu = contextMenus.remove(taskComponent);
+        if ( contextMenu != null ) {
+            taskComponent.setContext((Menupopup) null);
+            contextMenu.detach();
+        }
     }
 
     @Override
     public void afterCompose() {
-        publishOriginalTasksAsComponents();
+        if ( isVirtualized() ) {
+            appendChild(rowsAbove);
+            appendChild(rowsBelow);
+        } else {
+            publishOriginalTasksAsComponents();
+        }
+
         registerZoomLevelChangedListener();
+        getGanttPanel().getDependencyList().setTaskList(this);
         reload(false);
     }
 
@@ -276,6 +574,7 @@ public class TaskList extends XulElement implements AfterCompose {
                     for (TaskComponent taskComponent : getTaskComponents()) {
                         taskComponent.zoomChanged();
                     }
+                    applyViewport(false);
                     adjustZoomPositionScroll();
                 }
             };
@@ -290,7 +589,8 @@ public class TaskList extends XulElement implements AfterCompose {
 
     private Menupopup getContextMenuFor(TaskComponent taskComponent) {
         if ( contextMenus.get(taskComponent) == null ) {
-            MenuBuilder<TaskComponent> menuBuilder = MenuBuilder.on(getPage(), getTaskComponents());
+            // The context is set by the caller, so the menu is not attached to the rest of components
+            MenuBuilder<TaskComponent> menuBuilder = MenuBuilder.on(getPage(), taskComponent);
 
             if ( disabilityConfiguration.isAddingDependenciesEnabled() ) {
 
@@ -328,15 +628,47 @@ public class TaskList extends XulElement implements AfterCompose {
 
     public void remove(Task task) {
         currentTotalTasks.remove(task);
-        for (TaskComponent taskComponent : getTaskComponents()) {
-            if ( taskComponent.getTask().equals(task) ) {
-                taskComponent.remove();
 
-                return;
+        if ( isVirtualized() ) {
+            if ( visibleTasks.contains(task) ) {
+                forgetShown(task);
+                shownTasks.removeIf(each -> !visibleTasks.contains(each));
+                reindexRows();
+                applyViewport(true);
             }
+            return;
+        }
+
+        TaskComponent taskComponent = shownComponentByTask.get(task);
+        if ( taskComponent != null ) {
+            forgetShown(task);
+            taskComponent.remove();
         }
     }
 
+    /**
+     * The rows of the descendants of a container are detached along with it.
+     */
+    private void forgetShown(Task task) {
+        if ( isVirtualized() ) {
+            releaseComponent(task);
+        } else {
+            shownComponentByTask.remove(task);
+        }
+        visibleTasks.remove(task);
+        stopFollowingPosition(task);
+        if ( task instanceof TaskContainer ) {
+            for (Task each : task.getTasks()) {
+                forgetShown(each);
+            }
+        }
+    }
+
+    private void stopFollowingPosition(Task task) {
+        rowIndexByTask.remove(task);
+        task.removePropertyChangeListener(positionChangedListener);
+    }
+
     public void addDependency(TaskComponent source, TaskComponent destination) {
         context.addDependency(new Dependency(source.getTask(), destination.getTask(), DependencyType.END_START));
     }
@@ -346,12 +678,72 @@ public class TaskList extends XulElement implements AfterCompose {
     }
 
     private void reload(boolean relocate) {
+        if ( isVirtualized() ) {
+            reloadRows(relocate);
+            return;
+        }
+
         ArrayList<Task> tasksPendingToAdd = new ArrayList<>();
         reload(currentTotalTasks, tasksPendingToAdd, relocate);
         addPendingTasks(tasksPendingToAdd, null, relocate);
         getGanttPanel().getDependencyList().redrawDependencies();
     }
 
+    /**
+     * When rendering is virtualized only the shown tasks and their rows are
+     * kept, the components are created by {@link #applyViewport(boolean)}.
+     */
+    private void reloadRows(boolean relocate) {
+        List<Task> tasks = new ArrayList<>();
+        topLevelTasks = new HashSet<>(currentTotalTasks);
+        collectShown(currentTotalTasks, tasks);
+
+        Set<Task> nowShown = new HashSet<>(tasks);
+        for (Task task : new ArrayList<>(visibleTasks)) {
+            if ( !nowShown.contains(task) ) {
+                releaseComponent(task);
+                visibleTasks.remove(task);
+                stopFollowingPosition(task);
+                task.setVisible(false);
+            }
+        }
+
+        for (Task task : tasks) {
+            if ( visibleTasks.add(task) ) {
+                task.addFundamentalPropertiesChangeListener(positionChangedListener);
+                task.setVisible(true);
+            }
+        }
+
+        shownTasks = tasks;
+        reindexRows();
+        applyViewport(true);
+
+        if ( relocate ) {
+            getGanttPanel().adjustZoomColumnsHeight();
+        }
+    }
+
+    private void collectShown(List<Task> tasks, List<Task> result) {
+        for (Task task : tasks) {
+            if ( predicate.accepts(task) ) {
+                result.add(task);
+            }
+
+            if ( task instanceof TaskContainer ) {
+                addExpandListenerTo((TaskContainer) task);
+                collectShown(task.getTasks(), result);
+            }
+        }
+    }
+
+    private void reindexRows() {
+        rowIndexByTask.clear();
+        for (int i = 0; i < shownTasks.size(); i++) {
+            rowIndexByTask.put(shownTasks.get(i), i);
+        }
+    }
+
     private void reload(List<Task> tasks, List<Task> tasksPendingToAdd, boolean relocate) {
         for (Task task : tasks) {
             if ( visibleTasks.contains(task) ) {
@@ -375,7 +767,7 @@ public class TaskList extends XulElement implements AfterCompose {
     }
 
     private void makeDisappear(Task task) {
-        TaskComponent taskComponent = find(task);
+        TaskComponent taskComponent = shownComponentByTask.remove(task);
         removeChild(taskComponent.getRow());
         visibleTasks.remove(task);
         task.setVisible(false);
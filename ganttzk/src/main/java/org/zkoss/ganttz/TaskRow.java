@@ -29,18 +29,48 @@ import org.zkoss.zul.impl.XulElement;
 public class TaskRow extends XulElement {
 
     public static <T extends TaskComponent> T wrapInRow(T taskComponent) {
-        TaskRow parent = new TaskRow();
+        TaskRow parent = new TaskRow(taskComponent);
         parent.appendChild(taskComponent);
+        taskComponent.setRow(parent);
 
         return taskComponent;
     }
 
+    private final TaskComponent taskComponent;
+
+    private TaskRow(TaskComponent taskComponent) {
+        this.taskComponent = taskComponent;
+    }
+
     public TaskList getTaskList() {
         return (TaskList) getParent();
     }
 
+    /**
+     * @return the component of the row, even if it's not attached to it
+     */
     public TaskComponent getChild() {
-        return (TaskComponent) getChildren().get(0);
+        return taskComponent;
+    }
+
+    /**
+     * When rendering is virtualized a row on the viewport whose task is out of
+     * the visible pixels is kept empty, so it still takes up its space.
+     */
+    boolean isMaterialized() {
+        return taskComponent.getParent() == this;
+    }
+
+    void materialize() {
+        if ( !isMaterialized() ) {
+            appendChild(taskComponent);
+        }
+    }
+
+    void dematerialize() {
+        if ( isMaterialized() ) {
+            removeChild(taskComponent);
+        }
     }
 
 }
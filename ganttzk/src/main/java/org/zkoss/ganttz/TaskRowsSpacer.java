@@ -0,0 +1,53 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.zkoss.ganttz;
+
+import java.io.IOException;
+
+import org.zkoss.zk.ui.sys.ContentRenderer;
+import org.zkoss.zul.impl.XulElement;
+
+/**
+ * Takes up the space of the rows of a {@link TaskList} that have no components
+ * when rendering is virtualized. The client sets its height from the number of
+ * rows, as the height of a row depends on the style sheets.
+ */
+public class TaskRowsSpacer extends XulElement {
+
+    private int rows = 0;
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        if ( this.rows != rows ) {
+            this.rows = rows;
+            smartUpdate("rows", rows);
+        }
+    }
+
+    @Override
+    protected void renderProperties(ContentRenderer renderer) throws IOException {
+        super.renderProperties(renderer);
+        render(renderer, "rows", rows);
+    }
+
+}
@@ -56,6 +56,11 @@ public interface IDisabilityConfiguration {
 
     public boolean isExpandPlanningViewCharts();
 
+    /**
+     * If true, only the rows and dependencies on screen have components.
+     */
+    public boolean isVirtualizedRendering();
+
     public boolean isTreeEditable();
 
 }
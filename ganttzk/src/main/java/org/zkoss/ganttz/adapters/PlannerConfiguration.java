@@ -193,6 +193,8 @@ public class PlannerConfiguration<T> implements IDisabilityConfiguration {
 
     private boolean expandPlanningViewCharts;
 
+    private boolean virtualizedRendering = false;
+
     private final List<IGraphChangeListener> preGraphChangeListeners = new ArrayList<>();
 
     private final List<IGraphChangeListener> postGraphChangeListeners = new ArrayList<>();
@@ -490,6 +492,15 @@ public class PlannerConfiguration<T> implements IDisabilityConfiguration {
         return expandPlanningViewCharts;
     }
 
+    public void setVirtualizedRendering(boolean virtualizedRendering) {
+        this.virtualizedRendering = virtualizedRendering;
+    }
+
+    @Override
+    public boolean isVirtualizedRendering() {
+        return virtualizedRendering;
+    }
+
     public void addPreGraphChangeListener(IGraphChangeListener preGraphChangeListener) {
         Validate.notNull(preGraphChangeListener);
         if ( !preGraphChangeListeners.contains(preGraphChangeListener) ) {
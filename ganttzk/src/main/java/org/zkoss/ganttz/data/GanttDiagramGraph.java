@@ -424,6 +424,10 @@ public class GanttDiagramGraph<V, D extends IDependency<V>> implements ICritical
      * parent and child nodes ({@link TaskPoint}) must be placed in the correct order.
      * Also during topological sorting nodes are placed on appropriate levels.
      * Topological sorting can be done using different algorithms, but here is used Khan's algorithm.
+     * <p>
+     * The levels are calculated for the whole graph the first time they are needed. Afterwards, when tasks or
+     * dependencies are added or removed, only the levels of the nodes downstream of the change are calculated again.
+     * </p>
      */
     class TopologicalSorter {
 
@@ -483,7 +487,7 @@ public class GanttDiagramGraph<V, D extends IDependency<V>> implements ICritical
                 }
             }
 
-            return taskPointsByDepthCached = Collections.unmodifiableMap(result);
+            return taskPointsByDepthCached = result;
         }
 
         private <K, T> void initializeIfNeededForKey(Map<K, T> map, K key, T initialValue) {
@@ -501,8 +505,120 @@ public class GanttDiagramGraph<V, D extends IDependency<V>> implements ICritical
             return result;
         }
 
-        public void recalculationNeeded() {
-            taskPointsByDepthCached = null;
+        /**
+         * Must be called after adding tasks or dependencies, or removing dependencies, with the tasks whose incoming
+         * dependencies have changed.
+         */
+        void tasksChanged(Collection<? extends V> tasks) {
+            if ( taskPointsByDepthCached == null ) {
+                return;
+            }
+
+            Set<TaskPoint> changed = new HashSet<>();
+            for (V each : tasks) {
+                if ( graph.containsVertex(each) ) {
+                    changed.addAll(pointsOf(each));
+                }
+            }
+            recalculateDepthsDownstreamOf(changed);
+        }
+
+        /**
+         * Must be called after removing a task, with the tasks that were connected to it.
+         */
+        void taskRemoved(V task, Collection<? extends V> connected) {
+            if ( taskPointsByDepthCached == null ) {
+                return;
+            }
+
+            taskPointsByDepthCached.keySet().removeAll(pointsOf(task));
+            tasksChanged(connected);
+        }
+
+        private List<TaskPoint> pointsOf(V task) {
+            return asList(allPointsPotentiallyModified(task), new TaskPoint(task, getDominatingPoint().getOther()));
+        }
+
+        /**
+         * The level of a node only depends on the levels of its predecessors, so the nodes reachable from the changed
+         * ones are the only ones that could have a different level. They are calculated again visiting them in
+         * topological order, obtaining the same levels that would be obtained for the whole graph.
+         */
+        private void recalculateDepthsDownstreamOf(Set<TaskPoint> changed) {
+            Map<TaskPoint, Integer> depths = taskPointsByDepthCached;
+
+            Set<TaskPoint> affected = new HashSet<>(changed);
+            Queue<TaskPoint> pending = new LinkedList<>(changed);
+            while (!pending.isEmpty()) {
+                for (TaskPoint each : pending.poll().getImmediateSuccessors()) {
+                    if ( affected.add(each) ) {
+                        pending.offer(each);
+                    }
+                }
+            }
+            depths.keySet().removeAll(affected);
+
+            Map<TaskPoint, Set<TaskPoint>> predecessorsPending = new HashMap<>();
+            Queue<TaskPoint> ready = new LinkedList<>();
+            for (TaskPoint each : affected) {
+                Set<TaskPoint> affectedPredecessors = new HashSet<>(each.getImmediatePredecessors());
+                affectedPredecessors.retainAll(affected);
+                if ( affectedPredecessors.isEmpty() ) {
+                    ready.offer(each);
+                } else {
+                    predecessorsPending.put(each, affectedPredecessors);
+                }
+            }
+
+            // The nodes in a loop never get ready, so they are left without level like when sorting the whole graph
+            while (!ready.isEmpty()) {
+                TaskPoint current = ready.poll();
+                Integer depth = calculateDepth(current, depths);
+                if ( depth != null ) {
+                    depths.put(current, depth);
+                }
+
+                for (TaskPoint each : current.getImmediateSuccessors()) {
+                    Set<TaskPoint> pendingOfEach = predecessorsPending.get(each);
+                    if ( pendingOfEach != null && pendingOfEach.remove(current) && pendingOfEach.isEmpty() ) {
+                        predecessorsPending.remove(each);
+                        ready.offer(each);
+                    }
+                }
+            }
+        }
+
+        /**
+         * The initial nodes are on the first level, the rest are one level below the deepest of its predecessors.
+         *
+         * @return <code>null</code> if the node cannot be reached from the initial ones
+         */
+        private Integer calculateDepth(TaskPoint taskPoint, Map<TaskPoint, Integer> depths) {
+            if ( isInitial(taskPoint) ) {
+                return 0;
+            }
+
+            Set<TaskPoint> predecessors = taskPoint.getImmediatePredecessors();
+            if ( predecessors.isEmpty() ) {
+                return null;
+            }
+
+            int result = 0;
+            for (TaskPoint each : predecessors) {
+                Integer depth = depths.get(each);
+                if ( depth == null ) {
+                    return null;
+                }
+                result = Math.max(result, depth + 1);
+            }
+
+            return result;
+        }
+
+        private boolean isInitial(TaskPoint taskPoint) {
+            return taskPoint.areAllPointsPotentiallyModified() &&
+                    !withoutVisibleIncomingDependencies(Collections.singletonList(taskPoint.task)).isEmpty() &&
+                    topLevelTasks.contains(taskPoint.task);
         }
 
         public List<Recalculation> sort(Collection<? extends Recalculation> recalculationsToBeSorted) {
@@ -513,13 +629,8 @@ public class GanttDiagramGraph<V, D extends IDependency<V>> implements ICritical
 
                 @Override
                 public int compare(Recalculation o1, Recalculation o2) {
-                    int o1Depth = onNullDefault(
-                            taskPointsByDepth.get(o1.taskPoint),
-                            Integer.MAX_VALUE, "no depth value for " + o1.taskPoint);
-
-                    int o2Depth = onNullDefault(
-                            taskPointsByDepth.get(o2.taskPoint),
-                            Integer.MAX_VALUE, "no depth value for " + o2.taskPoint);
+                    int o1Depth = depthOf(o1.taskPoint);
+                    int o2Depth = depthOf(o2.taskPoint);
 
                     int result = o1Depth - o2Depth;
 
@@ -530,6 +641,16 @@ public class GanttDiagramGraph<V, D extends IDependency<V>> implements ICritical
                     return result;
                 }
 
+                private int depthOf(TaskPoint taskPoint) {
+                    Integer depth = taskPointsByDepth.get(taskPoint);
+                    if ( depth == null ) {
+                        LOG.warn("no depth value for " + taskPoint);
+                        return Integer.MAX_VALUE;
+                    }
+
+                    return depth;
+                }
+
                 private int asInt(boolean b) {
                     return b ? 1 : 0;
                 }
@@ -539,28 +660,31 @@ public class GanttDiagramGraph<V, D extends IDependency<V>> implements ICritical
         }
     }
 
-    private static <T> T onNullDefault(T value, T defaultValue, String warnMessage) {
-        if ( value == null ) {
-            if ( warnMessage != null ) {
-                LOG.warn(warnMessage);
-            }
-
-            return defaultValue;
-        }
+    /**
+     * @return the levels of the task points used to sort the recalculations
+     */
+    Map<?, Integer> getTaskPointsByDepth() {
+        return new HashMap<>(topologicalSorter.taskPointsByDepth());
+    }
 
-        return value;
+    /**
+     * @return the levels of the task points calculated for the whole graph, ignoring the ones already calculated
+     */
+    Map<?, Integer> calculateTaskPointsByDepth() {
+        return new TopologicalSorter().taskPointsByDepth();
     }
 
     public void addTask(V original) {
         List<V> stack = new LinkedList<>();
         stack.add(original);
         List<D> dependenciesToAdd = new ArrayList<>();
+        List<V> added = new ArrayList<>();
 
         while (!stack.isEmpty()){
 
             V task = stack.remove(0);
             graph.addVertex(task);
-            topologicalSorter.recalculationNeeded();
+            added.add(task);
             adapter.registerDependenciesEnforcerHookOn(task, enforcer);
 
             if ( adapter.isContainer(task) ) {
@@ -582,8 +706,9 @@ public class GanttDiagramGraph<V, D extends IDependency<V>> implements ICritical
         }
 
         for (D each : dependenciesToAdd) {
-            add(each, false);
+            addEdge(each);
         }
+        topologicalSorter.tasksChanged(added);
     }
 
     private interface IDependenciesEnforcer {
@@ -1070,16 +1195,13 @@ public class GanttDiagramGraph<V, D extends IDependency<V>> implements ICritical
             return tasksAffectedByShrinking;
         }
 
+        /**
+         * Only the containers of the modified tasks can need shrinking, as the dates of the children of the rest
+         * have not changed. They are checked bottom-up, so a container is checked after its children.
+         */
         private List<V> shrunkContainersOfModified(Set<V> allModified) {
-            Set<V> topmostToShrink = getTopMostThatCouldPotentiallyNeedShrinking(allModified);
-            List<V> allToShrink = new ArrayList<>();
-
-            for (V each : topmostToShrink) {
-                allToShrink.addAll(getContainersBottomUp(each));
-            }
-
             List<V> result = new ArrayList<>();
-            for (V each : allToShrink) {
+            for (V each : getContainersBottomUp(allModified)) {
                 boolean modified = enforceParentShrinkage(each);
                 if ( modified ) {
                     result.add(each);
@@ -1089,28 +1211,28 @@ public class GanttDiagramGraph<V, D extends IDependency<V>> implements ICritical
             return result;
         }
 
-        private Set<V> getTopMostThatCouldPotentiallyNeedShrinking(Collection<V> modified) {
-            Set<V> result = new HashSet<>();
+        private List<V> getContainersBottomUp(Collection<V> modified) {
+            final Map<V, Integer> levels = new HashMap<>();
             for (V each : modified) {
-                V t = getTopmostFor(each);
-                if ( adapter.isContainer(t) ) {
-                    result.add(t);
+                List<V> pathToTop = fromTaskToTop(each);
+                for (int i = 0; i < pathToTop.size(); i++) {
+                    V task = pathToTop.get(i);
+                    if ( levels.containsKey(task) ) {
+                        break;
+                    }
+                    if ( adapter.isContainer(task) ) {
+                        levels.put(task, pathToTop.size() - i);
+                    }
                 }
             }
 
-            return result;
-        }
-
-        private Collection<? extends V> getContainersBottomUp(V container) {
-            List<V> result = new ArrayList<V>();
-            List<V> tasks = adapter.getChildren(container);
-            for (V each : tasks) {
-                if ( adapter.isContainer(each) ) {
-                    result.addAll(getContainersBottomUp(each));
-                    result.add(each);
+            List<V> result = new ArrayList<>(levels.keySet());
+            Collections.sort(result, new Comparator<V>() {
+                @Override
+                public int compare(V o1, V o2) {
+                    return levels.get(o2) - levels.get(o1);
                 }
-            }
-            result.add(container);
+            });
 
             return result;
         }
@@ -1969,6 +2091,8 @@ public class GanttDiagramGraph<V, D extends IDependency<V>> implements ICritical
 
     public void remove(final V task) {
         Set<V> needingEnforcing = getOutgoingTasksFor(task);
+        Set<V> connected = new HashSet<>(needingEnforcing);
+        connected.addAll(getIncomingTasksFor(task));
         graph.removeVertex(task);
         topLevelTasks.remove(task);
         fromChildToParent.remove(task);
@@ -1979,13 +2103,13 @@ public class GanttDiagramGraph<V, D extends IDependency<V>> implements ICritical
             }
         }
 
-        topologicalSorter.recalculationNeeded();
+        topologicalSorter.taskRemoved(task, connected);
         enforcer.enforceRestrictionsOn(needingEnforcing);
     }
 
     public void removeDependency(D dependency) {
         graph.removeEdge(dependency);
-        topologicalSorter.recalculationNeeded();
+        topologicalSorter.tasksChanged(Collections.singletonList(getDependencyDestination(dependency)));
         V destination = adapter.getDestination(dependency);
         V source = adapter.getSource(dependency);
         enforcer.enforceRestrictionsOn(destination);
@@ -2023,17 +2147,26 @@ public class GanttDiagramGraph<V, D extends IDependency<V>> implements ICritical
     }
 
     private void add(D dependency, boolean enforceRestrictions) {
-        if ( isForbidden(dependency) ) {
+        if ( !addEdge(dependency) ) {
             return;
         }
 
+        topologicalSorter.tasksChanged(Collections.singletonList(getDependencyDestination(dependency)));
+        if ( enforceRestrictions ) {
+            enforceRestrictions(adapter.getDestination(dependency));
+        }
+    }
+
+    private boolean addEdge(D dependency) {
+        if ( isForbidden(dependency) ) {
+            return false;
+        }
+
         V source = adapter.getSource(dependency);
         V destination = adapter.getDestination(dependency);
         graph.addEdge(source, destination, dependency);
-        topologicalSorter.recalculationNeeded();
-        if ( enforceRestrictions ) {
-            enforceRestrictions(destination);
-        }
+
+        return true;
     }
 
     public void enforceRestrictions(final V task) {
@@ -2420,15 +2553,6 @@ public class GanttDiagramGraph<V, D extends IDependency<V>> implements ICritical
 
 
 
-    private V getTopmostFor(V task) {
-        V result = task;
-        while (fromChildToParent.containsKey(result)) {
-            result = fromChildToParent.get(result);
-        }
-
-        return result;
-    }
-
     public boolean isScheduleForward() {
         return !isScheduleBackwards();
     }
@@ -22,14 +22,13 @@
 package org.zkoss.ganttz.data.criticalpath;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Map.Entry;
 
 import org.joda.time.Days;
 import org.joda.time.LocalDate;
@@ -40,11 +39,24 @@ import org.zkoss.ganttz.data.constraint.Constraint;
 
 /**
  * Class that calculates the critical path of a Gantt diagram graph.
+ * <p>
+ * The leaf tasks of the graph are identified by their position and the dependencies between them are kept in int
+ * arrays. The dependencies of containers are translated into dependencies between their leaf tasks. The earliest
+ * start of each task is calculated in a forward pass in topological order and its latest finish in a backward pass
+ * in reverse topological order, pulling the values from its predecessors or successors.
+ * </p>
+ * <p>
+ * After {@link #calculateCriticalPath(ICriticalPathCalculable)} the calculator keeps its state, so when the dates of
+ * one task or one dependency change the critical path can be updated with {@link #taskChanged(Object)} or
+ * {@link #dependencyChanged(Object, Object)} without reading the whole graph again.
+ * </p>
  *
  * @author Manuel Rego Casasnovas <mrego@igalia.com>
  */
 public class CriticalPathCalculator<T, D extends IDependency<T>> {
 
+    private static final int NO_VALUE = Integer.MIN_VALUE;
+
     private final boolean dependenciesConstraintsHavePriority;
 
     public static <T, D extends IDependency<T>> CriticalPathCalculator<T, D> create(
@@ -61,50 +73,147 @@ public class CriticalPathCalculator<T, D extends IDependency<T>> {
 
     private LocalDate initDate;
 
-    private Map<T, Node<T, D>> nodes;
+    private List<T> tasks;
 
-    private InitialNode<T, D> bop;
-    private LastNode<T, D> eop;
+    private Map<T, Integer> indexes;
 
-    private Map<T, Map<T, DependencyType>> dependencies;
+    private int[] starts;
 
-    private class VisitorTracker {
+    private int[] durations;
 
-        private Map<T, Set<T>> visitorsOn = new HashMap<T, Set<T>>();
+    private List<Constraint<GanttDate>> constraints;
 
-        void visit(T visited, T visitor) {
-            if (!visitorsOn.containsKey(visited)) {
-                visitorsOn.put(visited, new HashSet<T>());
-            }
-            visitorsOn.get(visited).add(visitor);
-        }
+    /**
+     * For each task, the types of the dependencies with the tasks following it.
+     */
+    private List<Map<Integer, DependencyType>> dependencies;
 
-        boolean hasBeenVisitedByAll(T current,
-                Collection<? extends T> collection) {
-            return visitorsOn.containsKey(current)
-                    && visitorsOn.get(current).containsAll(collection);
-        }
+    /**
+     * For each task, the types of the dependencies with the tasks following it that come from dependencies of
+     * containers.
+     */
+    private List<Map<Integer, DependencyType>> dependenciesFromContainers;
 
-    }
+    private int[][] next;
+
+    private DependencyType[][] nextTypes;
+
+    private int[][] previous;
+
+    private DependencyType[][] previousTypes;
+
+    /**
+     * Tasks depending on the beginning of the project.
+     */
+    private boolean[] initial;
+
+    /**
+     * Tasks the end of the project depends on.
+     */
+    private boolean[] last;
+
+    /**
+     * All the tasks, with the ones reached by the forward pass first and in topological order.
+     */
+    private int[] forwardOrder;
+
+    private int[] forwardPositions;
+
+    private boolean[] reachedForward;
+
+    /**
+     * All the tasks, with the ones reached by the backward pass first and in reverse topological order.
+     */
+    private int[] backwardOrder;
+
+    private int[] backwardPositions;
+
+    private boolean[] reachedBackward;
+
+    private int[] earliestStarts;
+
+    private int[] latestFinishes;
+
+    private int endOfProject;
 
     public List<T> calculateCriticalPath(ICriticalPathCalculable<T> graph) {
         this.graph = graph;
 
-        dependencies = new HashMap<T, Map<T, DependencyType>>();
-
         initDate = calculateInitDate();
 
-        bop = createBeginningOfProjectNode();
-        eop = createEndOfProjectNode();
+        tasks = removeContainers(graph.getTasks());
+        indexes = new HashMap<T, Integer>();
+        for (int i = 0; i < tasks.size(); i++) {
+            indexes.put(tasks.get(i), i);
+        }
+
+        starts = new int[tasks.size()];
+        durations = new int[tasks.size()];
+        constraints = new ArrayList<Constraint<GanttDate>>();
+        for (int i = 0; i < tasks.size(); i++) {
+            constraints.add(null);
+            readDates(i);
+        }
+
+        createDependencies();
+        updateStructure();
+
+        forward();
+        backward();
+
+        return getCriticalPath();
+    }
+
+    /**
+     * Updates the critical path after the dates or the constraints of a task have changed. Only the tasks after it
+     * are visited in the forward pass and, unless the end of the project changes, only the tasks before it in the
+     * backward pass.
+     */
+    public List<T> taskChanged(T task) {
+        Integer index = indexes.get(task);
+        if (index == null || starts[index] == 0 || daysFromInitDate(graph.getStartDate(task)) < 0) {
+            // The initial date of the project could have changed
+            return calculateCriticalPath(graph);
+        }
+        readDates(index);
 
-        nodes = createGraphNodes();
+        int previousEndOfProject = endOfProject;
+        forwardFrom(index);
+        if (endOfProject != previousEndOfProject) {
+            backward();
+        } else {
+            backwardFrom(index);
+        }
 
-        forward(bop, null, new VisitorTracker());
-        eop.updateLatestValues();
+        return getCriticalPath();
+    }
+
+    /**
+     * Updates the critical path after the dependency between two tasks has been added, removed or changed its type.
+     * The graph is not read again unless one of the tasks is a container.
+     */
+    public List<T> dependencyChanged(T origin, T destination) {
+        Integer from = indexes.get(origin);
+        Integer to = indexes.get(destination);
+        if (from == null || to == null) {
+            return calculateCriticalPath(graph);
+        }
+
+        IDependency<T> dependency = graph.getDependencyFrom(origin, destination);
+        DependencyType fromContainers = dependenciesFromContainers.get(from).get(to);
+        if (dependency != null) {
+            dependencies.get(from).put(to, dependency.getType());
+        } else if (fromContainers != null) {
+            dependencies.get(from).put(to, fromContainers);
+        } else {
+            dependencies.get(from).remove(to);
+        }
 
-        backward(eop, null, new VisitorTracker());
+        updateStructure();
+        forward();
+        backward();
 
-        return getTasksOnCriticalPath();
+        return getCriticalPath();
     }
 
     private LocalDate calculateInitDate() {
@@ -123,7 +232,22 @@ public class CriticalPathCalculator<T, D extends IDependency<T>> {
         return result;
     }
 
-    private Collection<T> removeContainers(Collection<T> tasks) {
+    private int daysFromInitDate(GanttDate date) {
+        return Days.daysBetween(initDate,
+                LocalDate.fromDateFields(date.toDayRoundedDate())).getDays();
+    }
+
+    private void readDates(int index) {
+        T task = tasks.get(index);
+        GanttDate start = graph.getStartDate(task);
+        starts[index] = daysFromInitDate(start);
+        durations[index] = Days.daysBetween(
+                LocalDate.fromDateFields(start.toDayRoundedDate()),
+                LocalDate.fromDateFields(graph.getEndDateFor(task).toDayRoundedDate())).getDays();
+        constraints.set(index, getDateConstraints(task));
+    }
+
+    private List<T> removeContainers(Collection<T> tasks) {
         if (tasks == null) {
             return Collections.emptyList();
         }
@@ -139,325 +263,361 @@ public class CriticalPathCalculator<T, D extends IDependency<T>> {
         return noConatinersTasks;
     }
 
-    private InitialNode<T, D> createBeginningOfProjectNode() {
-        return new InitialNode<T, D>(
-                removeWithVisibleIncomingDependencies(removeContainers(graph
-                .getInitialTasks())));
-    }
-
-
-    private Set<T> removeWithVisibleIncomingDependencies(Collection<T> tasks) {
-        Set<T> result = new HashSet<T>();
-        for (T each : tasks) {
-            if (!graph.hasVisibleIncomingDependencies(each)) {
-                result.add(each);
-            }
+    private void createDependencies() {
+        dependencies = new ArrayList<Map<Integer, DependencyType>>();
+        dependenciesFromContainers = new ArrayList<Map<Integer, DependencyType>>();
+        for (int i = 0; i < tasks.size(); i++) {
+            dependencies.add(new LinkedHashMap<Integer, DependencyType>());
+            dependenciesFromContainers.add(new HashMap<Integer, DependencyType>());
         }
-        return result;
-    }
-
-    private LastNode<T, D> createEndOfProjectNode() {
-        return new LastNode<T, D>(
-                removeWithVisibleOutcomingDependencies(removeContainers(graph
-                        .getLatestTasks())));
-    }
 
-    private Set<T> removeWithVisibleOutcomingDependencies(
-            Collection<T> removeContainers) {
-        Set<T> result = new HashSet<T>();
-        for (T each : removeContainers) {
-            if (!graph.hasVisibleOutcomingDependencies(each)) {
-                result.add(each);
+        for (T task : tasks) {
+            for (T each : graph.getIncomingTasksFor(task)) {
+                addDependency(each, task);
             }
-        }
-        return result;
-    }
-
-    private Map<T, Node<T, D>> createGraphNodes() {
-        Map<T, Node<T, D>> result = new HashMap<T, Node<T, D>>();
-
-        for (T task : graph.getTasks()) {
-            if (!graph.isContainer(task)) {
-                Set<T> in = withoutContainers(task, graph
-                        .getIncomingTasksFor(task));
-                Set<T> out = withoutContainers(task, graph
-                        .getOutgoingTasksFor(task));
-
-                Node<T, D> node = new Node<T, D>(task, in, out, graph
-                        .getStartDate(task), graph.getEndDateFor(task));
-
-                result.put(task, node);
+            for (T each : graph.getOutgoingTasksFor(task)) {
+                addDependency(task, each);
             }
         }
 
         for (T task : graph.getTasks()) {
             if (graph.isContainer(task)) {
-                Collection<T> allChildren = removeContainers(Arrays
-                        .asList(task));
-
-                Set<T> in = removeChildrenAndParents(task, graph
-                        .getIncomingTasksFor(task));
-                for (T t : in) {
-                    IDependency<T> dependency = graph
-                            .getDependencyFrom(t, task);
-                    DependencyType type = DependencyType.END_START;
-                    if (dependency != null) {
-                        type = dependency.getType();
-                    }
-                    addDepedenciesAndRelatedTasks(result,
-                            removeContainers(Arrays.asList(t)), allChildren,
-                            type);
-                }
+                List<T> allChildren = removeContainers(Collections.singletonList(task));
 
-                Set<T> out = removeChildrenAndParents(task, graph
-                        .getOutgoingTasksFor(task));
-                for (T t : out) {
-                    IDependency<T> dependency = graph
-                            .getDependencyFrom(task, t);
-                    DependencyType type = DependencyType.END_START;
-                    if (dependency != null) {
-                        type = dependency.getType();
-                    }
-                    addDepedenciesAndRelatedTasks(result, allChildren,
-                            removeContainers(Arrays.asList(t)), type);
+                for (T t : removeChildrenAndParents(task, graph.getIncomingTasksFor(task))) {
+                    addDependenciesFromContainers(removeContainers(Collections.singletonList(t)),
+                            allChildren, typeOf(graph.getDependencyFrom(t, task)));
+                }
+                for (T t : removeChildrenAndParents(task, graph.getOutgoingTasksFor(task))) {
+                    addDependenciesFromContainers(allChildren,
+                            removeContainers(Collections.singletonList(t)),
+                            typeOf(graph.getDependencyFrom(task, t)));
                 }
             }
         }
+    }
 
-        return result;
+    private static DependencyType typeOf(IDependency<?> dependency) {
+        return dependency != null ? dependency.getType() : DependencyType.END_START;
     }
 
-    private void addDepedenciesAndRelatedTasks(Map<T, Node<T, D>> graph,
-            Collection<T> origins,
+    private void addDependency(T origin, T destination) {
+        Integer from = indexes.get(origin);
+        Integer to = indexes.get(destination);
+        if (from != null && to != null && !dependencies.get(from).containsKey(to)) {
+            dependencies.get(from).put(to, typeOf(graph.getDependencyFrom(origin, destination)));
+        }
+    }
+
+    private void addDependenciesFromContainers(Collection<T> origins,
             Collection<T> destinations, DependencyType type) {
         for (T origin : origins) {
             for (T destination : destinations) {
-                graph.get(origin).addNextTask(destination);
-                graph.get(destination).addPreviousTask(origin);
-                addDependency(origin, destination, type);
+                int from = indexes.get(origin);
+                int to = indexes.get(destination);
+                dependenciesFromContainers.get(from).put(to, type);
+
+                IDependency<T> dependency = graph.getDependencyFrom(origin, destination);
+                dependencies.get(from).put(to, dependency != null ? dependency.getType() : type);
             }
         }
     }
 
-    private Set<T> withoutContainers(T task, Set<T> tasks) {
-        Set<T> result = new HashSet<T>();
+    private List<T> removeChildrenAndParents(T task, Collection<T> tasks) {
+        List<T> result = new ArrayList<T>();
         for (T t : tasks) {
-            if (!graph.isContainer(t)) {
+            if (!graph.contains(task, t) && !graph.contains(t, task)) {
                 result.add(t);
             }
         }
         return result;
     }
 
-    private Set<T> removeChildrenAndParents(T task, Set<T> tasks) {
-        Set<T> result = new HashSet<T>();
-        if (!graph.isContainer(task)) {
-            return result;
-        }
-
-        for (T t : tasks) {
-            if (!graph.contains(task, t) && !graph.contains(t, task)) {
-                result.add(t);
-            }
+    private Constraint<GanttDate> getDateConstraints(T task) {
+        if (dependenciesConstraintsHavePriority || task == null) {
+            return null;
         }
 
-        return result;
+        List<Constraint<GanttDate>> result = new ArrayList<Constraint<GanttDate>>();
+        addAll(result, graph.getStartConstraintsFor(task));
+        addAll(result, graph.getEndConstraintsFor(task));
+        return result.isEmpty() ? null : Constraint.coalesce(result);
     }
 
-    private void addDependency(T from, T destination, DependencyType type) {
-        Map<T, DependencyType> destinations = dependencies.get(from);
-        if (destinations == null) {
-            destinations = new HashMap<T, DependencyType>();
-            dependencies.put(from, destinations);
+    private static <E> void addAll(List<E> list, List<E> elements) {
+        if (elements != null) {
+            list.addAll(elements);
         }
-        destinations.put(destination, type);
     }
 
-    private DependencyType getDependencyTypeEndStartByDefault(T from, T to) {
-        if ((from != null) && (to != null)) {
-            IDependency<T> dependency = graph.getDependencyFrom(from, to);
-            if (dependency != null) {
-                return dependency.getType();
-            } else {
-                Map<T, DependencyType> destinations = dependencies.get(from);
-                if (destinations != null) {
-                    DependencyType type = destinations.get(to);
-                    if (type != null) {
-                        return type;
-                    }
-                }
+    /**
+     * Creates the arrays of dependencies and the order in which the tasks are visited in each pass.
+     */
+    private void updateStructure() {
+        int size = tasks.size();
+
+        int[] previousCounts = new int[size];
+        for (Map<Integer, DependencyType> each : dependencies) {
+            for (Integer to : each.keySet()) {
+                previousCounts[to]++;
             }
         }
-        return DependencyType.END_START;
-    }
 
-    private void forward(Node<T, D> currentNode, T previousTask,
-            VisitorTracker visitorTracker) {
-        T currentTask = currentNode.getTask();
-        int earliestStart = currentNode.getEarliestStart();
-        int earliestFinish = currentNode.getEarliestFinish();
+        next = new int[size][];
+        nextTypes = new DependencyType[size][];
+        previous = new int[size][];
+        previousTypes = new DependencyType[size][];
+        for (int i = 0; i < size; i++) {
+            previous[i] = new int[previousCounts[i]];
+            previousTypes[i] = new DependencyType[previousCounts[i]];
+            previousCounts[i] = 0;
+        }
 
-        Set<T> nextTasks = currentNode.getNextTasks();
-        if (nextTasks.isEmpty()) {
-            eop.setEarliestStart(earliestFinish);
-        } else {
-            int countStartStart = 0;
-
-            for (T task : nextTasks) {
-                visitorTracker.visit(task, currentTask);
-                if (graph.isContainer(currentTask)) {
-                    if (graph.contains(currentTask, previousTask)) {
-                        if (graph.contains(currentTask, task)) {
-                            continue;
-                        }
-                    }
-                }
+        for (int from = 0; from < size; from++) {
+            Map<Integer, DependencyType> outgoing = dependencies.get(from);
+            next[from] = new int[outgoing.size()];
+            nextTypes[from] = new DependencyType[outgoing.size()];
+            int j = 0;
+            for (Entry<Integer, DependencyType> each : outgoing.entrySet()) {
+                int to = each.getKey();
+                next[from][j] = to;
+                nextTypes[from][j] = each.getValue();
+                j++;
+                previous[to][previousCounts[to]] = from;
+                previousTypes[to][previousCounts[to]] = each.getValue();
+                previousCounts[to]++;
+            }
+        }
 
-                Node<T, D> node = nodes.get(task);
-                DependencyType dependencyType = getDependencyTypeEndStartByDefault(
-                        currentTask, task);
-                Constraint<GanttDate> constraint = getDateConstraints(task);
-
-                switch (dependencyType) {
-                case START_START:
-                    setEarliestStart(node, earliestStart, constraint);
-                    countStartStart++;
-                    break;
-                case END_END:
-                    setEarliestStart(node, earliestFinish - node.getDuration(),
-                            constraint);
-                    break;
-                case END_START:
-                default:
-                    setEarliestStart(node, earliestFinish, constraint);
-                    break;
-                }
+        initial = new boolean[size];
+        for (T each : removeContainers(graph.getInitialTasks())) {
+            if (!graph.hasVisibleIncomingDependencies(each)) {
+                initial[indexes.get(each)] = true;
+            }
+        }
+        last = new boolean[size];
+        for (T each : removeContainers(graph.getLatestTasks())) {
+            if (!graph.hasVisibleOutcomingDependencies(each)) {
+                last[indexes.get(each)] = true;
+            }
+        }
 
-                if (visitorTracker.hasBeenVisitedByAll(task,
-                        node.getPreviousTasks())) {
-                    forward(node, currentTask, visitorTracker);
+        reachedForward = new boolean[size];
+        forwardOrder = topologicalOrder(initial, previous, next, reachedForward);
+        forwardPositions = positions(forwardOrder);
+
+        reachedBackward = new boolean[size];
+        backwardOrder = topologicalOrder(last, next, previous, reachedBackward);
+        backwardPositions = positions(backwardOrder);
+    }
+
+    /**
+     * A task is reached once it is a source or it has some predecessors, and all of them have been reached. The
+     * tasks that are not reached are put at the end.
+     */
+    private static int[] topologicalOrder(boolean[] sources, int[][] predecessors,
+            int[][] successors, boolean[] reached) {
+        int size = sources.length;
+        int[] pending = new int[size];
+        int[] result = new int[size];
+        int added = 0;
+
+        for (int i = 0; i < size; i++) {
+            pending[i] = predecessors[i].length;
+            if (sources[i] && pending[i] == 0) {
+                result[added++] = i;
+            }
+        }
+        for (int current = 0; current < added; current++) {
+            int task = result[current];
+            reached[task] = true;
+            for (int each : successors[task]) {
+                if (--pending[each] == 0) {
+                    result[added++] = each;
                 }
             }
-
-            if (nextTasks.size() == countStartStart) {
-                eop.setEarliestStart(earliestFinish);
+        }
+        for (int i = 0; i < size; i++) {
+            if (!reached[i]) {
+                result[added++] = i;
             }
         }
+        return result;
     }
 
-    private void setEarliestStart(Node<T, D> node, int earliestStart,
-            Constraint<GanttDate> constraint) {
-        if (constraint != null) {
-            GanttDate date = GanttDate.createFrom(initDate
-                    .plusDays(earliestStart));
-            date = constraint.applyTo(date);
-            earliestStart = Days.daysBetween(initDate,
-                    LocalDate.fromDateFields(date.toDayRoundedDate()))
-                    .getDays();
+    private static int[] positions(int[] order) {
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[order[i]] = i;
         }
-        node.setEarliestStart(earliestStart);
+        return result;
     }
 
-    private Constraint<GanttDate> getDateConstraints(T task) {
-        if (dependenciesConstraintsHavePriority || task == null) {
-            return null;
+    private void forward() {
+        earliestStarts = new int[tasks.size()];
+        for (int each : forwardOrder) {
+            earliestStarts[each] = calculateEarliestStart(each);
+        }
+        endOfProject = calculateEndOfProject();
+    }
+
+    private void forwardFrom(int task) {
+        boolean[] pending = new boolean[tasks.size()];
+        pending[task] = true;
+        for (int i = forwardPositions[task]; i < forwardOrder.length; i++) {
+            int each = forwardOrder[i];
+            if (pending[each]) {
+                int earliestStart = calculateEarliestStart(each);
+                if (each == task || earliestStart != earliestStarts[each]) {
+                    earliestStarts[each] = earliestStart;
+                    markAll(pending, next[each]);
+                }
+            }
         }
+        endOfProject = calculateEndOfProject();
+    }
 
-        List<Constraint<GanttDate>> startConstraints = graph
-                .getStartConstraintsFor(task);
-        List<Constraint<GanttDate>> endConstraints = graph
-                .getEndConstraintsFor(task);
-        if ((startConstraints == null || startConstraints.isEmpty())
-                && (endConstraints == null || endConstraints.isEmpty())) {
-            return null;
+    private static void markAll(boolean[] pending, int[] tasks) {
+        for (int each : tasks) {
+            pending[each] = true;
         }
-        if (startConstraints == null || startConstraints.isEmpty()) {
-            return Constraint.coalesce(endConstraints);
+    }
+
+    private int calculateEarliestStart(int task) {
+        int result = 0;
+        if (initial[task]) {
+            result = constrainStart(task, 0);
         }
-        if (endConstraints == null || endConstraints.isEmpty()) {
-            return Constraint.coalesce(startConstraints);
+        for (int i = 0; i < previous[task].length; i++) {
+            int each = previous[task][i];
+            if (!reachedForward[each]) {
+                continue;
+            }
+            int earliestFinish = earliestStarts[each] + durations[each];
+            switch (previousTypes[task][i]) {
+            case START_START:
+                result = Math.max(result, constrainStart(task, earliestStarts[each]));
+                break;
+            case END_END:
+                result = Math.max(result, constrainStart(task, earliestFinish - durations[task]));
+                break;
+            case END_START:
+            default:
+                result = Math.max(result, constrainStart(task, earliestFinish));
+                break;
+            }
         }
-        startConstraints.addAll(endConstraints);
-        return Constraint.coalesce(startConstraints);
+        return result;
     }
 
-    private void backward(Node<T, D> currentNode, T nextTask,
-            VisitorTracker visitorTracker) {
-        T currentTask = currentNode.getTask();
-        int latestStart = currentNode.getLatestStart();
-        int latestFinish = currentNode.getLatestFinish();
+    /**
+     * The end of the project follows the tasks without successors or with only start-start successors.
+     */
+    private int calculateEndOfProject() {
+        int result = 0;
+        for (int each : forwardOrder) {
+            if (!reachedForward[each]) {
+                break;
+            }
+            if (onlyStartStart(nextTypes[each])) {
+                result = Math.max(result, earliestStarts[each] + durations[each]);
+            }
+        }
+        return result;
+    }
 
-        Set<T> previousTasks = currentNode.getPreviousTasks();
-        if (previousTasks.isEmpty()) {
-            bop.setLatestFinish(latestStart);
-        } else {
-            int countEndEnd = 0;
-
-            for (T task : previousTasks) {
-                visitorTracker.visit(task, currentTask);
-                if (graph.isContainer(currentTask)) {
-                    if (graph.contains(currentTask, nextTask)) {
-                        if (graph.contains(currentTask, task)) {
-                            continue;
-                        }
-                    }
-                }
+    private static boolean onlyStartStart(DependencyType[] types) {
+        for (DependencyType each : types) {
+            if (each != DependencyType.START_START) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-                Node<T, D> node = nodes.get(task);
-                DependencyType dependencyType = getDependencyTypeEndStartByDefault(
-                        task, currentTask);
-                Constraint<GanttDate> constraint = getDateConstraints(task);
-
-                switch (dependencyType) {
-                case START_START:
-                    setLatestFinish(node, latestStart + node.getDuration(),
-                            constraint);
-                    break;
-                case END_END:
-                    setLatestFinish(node, latestFinish, constraint);
-                    countEndEnd++;
-                    break;
-                case END_START:
-                default:
-                    setLatestFinish(node, latestStart, constraint);
-                    break;
-                }
+    private void backward() {
+        latestFinishes = new int[tasks.size()];
+        for (int each : backwardOrder) {
+            latestFinishes[each] = calculateLatestFinish(each);
+        }
+    }
 
-                if (visitorTracker.hasBeenVisitedByAll(task,
-                        node.getNextTasks())) {
-                    backward(node, currentTask, visitorTracker);
+    private void backwardFrom(int task) {
+        boolean[] pending = new boolean[tasks.size()];
+        pending[task] = true;
+        for (int i = backwardPositions[task]; i < backwardOrder.length; i++) {
+            int each = backwardOrder[i];
+            if (pending[each]) {
+                int latestFinish = calculateLatestFinish(each);
+                if (each == task || latestFinish != latestFinishes[each]) {
+                    latestFinishes[each] = latestFinish;
+                    markAll(pending, previous[each]);
                 }
             }
+        }
+    }
 
-            if (previousTasks.size() == countEndEnd) {
-                bop.setLatestFinish(latestStart);
+    private int calculateLatestFinish(int task) {
+        int result = NO_VALUE;
+        if (last[task]) {
+            result = constrainFinish(task, endOfProject);
+        }
+        for (int i = 0; i < next[task].length; i++) {
+            int each = next[task][i];
+            if (!reachedBackward[each]) {
+                continue;
+            }
+            int latestStart = latestFinishes[each] - durations[each];
+            switch (nextTypes[task][i]) {
+            case START_START:
+                result = min(result, constrainFinish(task, latestStart + durations[task]));
+                break;
+            case END_END:
+                result = min(result, constrainFinish(task, latestFinishes[each]));
+                break;
+            case END_START:
+            default:
+                result = min(result, constrainFinish(task, latestStart));
+                break;
             }
         }
+        return result;
     }
 
-    private void setLatestFinish(Node<T, D> node, int latestFinish,
-            Constraint<GanttDate> constraint) {
-        if (constraint != null) {
-            int duration = node.getDuration();
-            GanttDate date = GanttDate.createFrom(initDate.plusDays(latestFinish - duration));
-            date = constraint.applyTo(date);
-            int daysBetween = Days.daysBetween(initDate,
-                    LocalDate.fromDateFields(date.toDayRoundedDate()))
-                    .getDays();
-            latestFinish = daysBetween + duration;
+    private static int min(int value, int other) {
+        return value == NO_VALUE ? other : Math.min(value, other);
+    }
+
+    private int constrainStart(int task, int earliestStart) {
+        Constraint<GanttDate> constraint = constraints.get(task);
+        if (constraint == null) {
+            return earliestStart;
         }
-        node.setLatestFinish(latestFinish);
+        GanttDate date = GanttDate.createFrom(initDate.plusDays(earliestStart));
+        return daysFromInitDate(constraint.applyTo(date));
     }
 
-    private List<T> getTasksOnCriticalPath() {
-        List<T> result = new ArrayList<T>();
+    private int constrainFinish(int task, int latestFinish) {
+        Constraint<GanttDate> constraint = constraints.get(task);
+        if (constraint == null) {
+            return latestFinish;
+        }
+        int duration = durations[task];
+        GanttDate date = GanttDate.createFrom(initDate.plusDays(latestFinish - duration));
+        return daysFromInitDate(constraint.applyTo(date)) + duration;
+    }
 
-        for (Node<T, D> node : nodes.values()) {
-            if (node.getLatestStart() == node.getEarliestStart()) {
-                result.add(node.getTask());
+    /**
+     * @return the tasks whose earliest start is the same as their latest start, in the order of the graph
+     */
+    public List<T> getCriticalPath() {
+        List<T> result = new ArrayList<T>();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (latestFinishes[i] != NO_VALUE
+                    && latestFinishes[i] - durations[i] == earliestStarts[i]) {
+                result.add(tasks.get(i));
             }
         }
-
         return result;
     }
 
@@ -0,0 +1,117 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.zkoss.ganttz.util;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Part of the Gantt diagram that is on screen: a range of rows and a range of
+ * horizontal pixels.
+ * <p>
+ * It's used when the planner renders only what the user can see, so very
+ * large plans don't create components for every task.
+ */
+public class Viewport {
+
+    /**
+     * Viewport used before the client has reported its scroll position.
+     */
+    public static Viewport firstRows(int rows) {
+        return new Viewport(0, rows - 1, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public static Viewport create(int firstRow, int lastRow, int leftPixel, int rightPixel) {
+        return new Viewport(firstRow, lastRow, leftPixel, rightPixel);
+    }
+
+    private final int firstRow;
+
+    private final int lastRow;
+
+    private final int leftPixel;
+
+    private final int rightPixel;
+
+    private Viewport(int firstRow, int lastRow, int leftPixel, int rightPixel) {
+        Validate.isTrue(firstRow <= lastRow, "firstRow must not be after lastRow");
+        Validate.isTrue(leftPixel <= rightPixel, "leftPixel must not be after rightPixel");
+
+        this.firstRow = firstRow;
+        this.lastRow = lastRow;
+        this.leftPixel = leftPixel;
+        this.rightPixel = rightPixel;
+    }
+
+    /**
+     * Widens the viewport so scrolling a bit doesn't require a round trip.
+     */
+    public Viewport withBuffer(int rows, int pixels) {
+        Validate.isTrue(rows >= 0 && pixels >= 0);
+
+        return new Viewport(
+                Math.max(0, firstRow - rows),
+                saturatedAdd(lastRow, rows),
+                saturatedAdd(leftPixel, -pixels),
+                saturatedAdd(rightPixel, pixels));
+    }
+
+    private static int saturatedAdd(int value, int increment) {
+        long result = (long) value + increment;
+
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, result));
+    }
+
+    public boolean containsRow(int rowIndex) {
+        return firstRow <= rowIndex && rowIndex <= lastRow;
+    }
+
+    /**
+     * @return if some row from <code>firstRowIndex</code> to
+     *         <code>lastRowIndex</code> is on the viewport
+     */
+    public boolean intersectsRows(int firstRowIndex, int lastRowIndex) {
+        return firstRowIndex <= lastRow && lastRowIndex >= firstRow;
+    }
+
+    /**
+     * @return if the horizontal segment [<code>startPixel</code>,
+     *         <code>endPixel</code>] has some part on the viewport
+     */
+    public boolean intersects(int startPixel, int endPixel) {
+        return startPixel <= rightPixel && endPixel >= leftPixel;
+    }
+
+    public int getFirstRow() {
+        return firstRow;
+    }
+
+    public int getLastRow() {
+        return lastRow;
+    }
+
+    public int getLeftPixel() {
+        return leftPixel;
+    }
+
+    public int getRightPixel() {
+        return rightPixel;
+    }
+
+}
@@ -262,14 +262,23 @@ ganttz.DependencyComponent = zk.$extends(
             }));
         },
 
-        draw : function() {
+        /*
+         * The places are only given for the tasks whose rows are not
+         * materialized: their row and their horizontal pixels
+         */
+        draw : function(originPlace, destinationPlace) {
+            if (arguments.length > 0) {
+                this._originPlace = originPlace;
+                this._destinationPlace = destinationPlace;
+            }
+
             this._withOriginAndDestination(function(origin, destination) {
-                var orig = this.findPos_(origin);
-                var dest = this.findPos_(destination);
+                var orig = origin.pos;
+                var dest = destination.pos;
 
                 // This corner case may depend on dependence type
-                var offsetX = origin.outerWidth() - ganttz.TaskComponent.CORNER_WIDTH;
-                var separation = orig.left + origin.outerWidth() - dest.left;
+                var offsetX = origin.width - ganttz.TaskComponent.CORNER_WIDTH;
+                var separation = orig.left + origin.width - dest.left;
 
                 if (separation > 0) {
                     offsetX = offsetX - separation;
@@ -277,8 +286,8 @@ ganttz.DependencyComponent = zk.$extends(
                 if (this.getDependencyType() == this.$class.END_START || this.getDependencyType() == null) {
                     orig.left = orig.left + Math.max(0, offsetX);
                 } else if (this.getDependencyType() == this.$class.END_END) {
-                    orig.left = orig.left + origin.outerWidth();
-                    dest.left = dest.left + destination.outerWidth();
+                    orig.left = orig.left + origin.width;
+                    dest.left = dest.left + destination.width;
                 }
 
                 orig.top = orig.top + ganttz.TaskComponent.HEIGHT;
@@ -293,7 +302,29 @@ ganttz.DependencyComponent = zk.$extends(
         },
 
         _withOriginAndDestination : function(f) {
-            f.call(this, jq('#' + this.getIdTaskOrig()), jq('#' + this.getIdTaskEnd()));
+            var origin = this._findEnd(this.getIdTaskOrig(), this._originPlace);
+            var destination = this._findEnd(this.getIdTaskEnd(), this._destinationPlace);
+
+            if (origin && destination) {
+                f.call(this, origin, destination);
+            }
+        },
+
+        _findEnd : function(idTask, place) {
+            var task = idTask ? jq('#' + idTask) : null;
+            if (task && task.length) {
+                return { pos : this.findPos_(task), width : task.outerWidth() };
+            }
+
+            var taskList = ganttz.TaskList.getInstance();
+            if (!place || !taskList) {
+                return null;
+            }
+
+            var rowOffset = taskList.rowOffset(place.row);
+            var listOffset = jq('#listdependencies').offset();
+            var pos = { left : rowOffset.left - listOffset.left, top : rowOffset.top - listOffset.top };
+            return { pos : { left : pos.left + place.left, top : pos.top }, width : place.width };
         }
     },
     {
@@ -7,7 +7,8 @@ ganttz.GanttPanel = zk.$extends(
     {
         $define: {
             xMouse : null,
-            yMouse : null
+            yMouse : null,
+            virtualized : null
         },
         
         scrollDay: 0,
@@ -25,9 +26,12 @@ ganttz.GanttPanel = zk.$extends(
 
             this.domListen_(this.$n(), 'onMousemove', '_calcXY');
             this.domListen_(this._rightPanelLayout, 'onScroll', '_listenToScroll');
+
+            if (this._virtualized) this._notifyViewport();
         },
         
         unbind_ : function(evt){
+            clearTimeout(this._viewportTimeout);
             this.domUnlisten_(this._rightPanelLayout, 'onScroll', '_listenToScroll');
             this.domUnlisten_(this.$n(), 'onMousemove', '_calcXY');
             this.$supers('unbind_', arguments);
@@ -59,6 +63,32 @@ ganttz.GanttPanel = zk.$extends(
             this._taskdetails.css("top", "-" + this._rightPanelLayout.scrollTop() + "px");
             this._plannergraph.scrollLeft( this._rightPanelLayout.scrollLeft() );
             this.timeplotContainerRescroll();
+
+            if (this._virtualized) this._notifyViewport();
+        },
+
+        /*
+         * With virtualized rendering the server only keeps the components on screen.
+         * It's told about the rows and pixels shown once the scroll stops for a moment.
+         */
+        _notifyViewport : function() {
+            clearTimeout(this._viewportTimeout);
+            this._viewportTimeout = setTimeout(jq.proxy(this._sendViewport, this), this.$class.VIEWPORT_NOTIFICATION_DELAY);
+        },
+
+        _sendViewport : function() {
+            var rowHeight = ganttz.TaskList.rowPitch();
+
+            var top = this._rightPanelLayout.scrollTop();
+            var left = this._rightPanelLayout.scrollLeft();
+            var firstRow = Math.floor(top / rowHeight);
+
+            zAu.send(new zk.Event(this, 'onViewportChange', {
+                firstRow : firstRow,
+                lastRow : firstRow + Math.ceil(this._rightPanelLayout.height() / rowHeight),
+                left : Math.floor(left),
+                right : Math.ceil(left + this._rightPanelLayout.width())
+            }));
         },
         
         /*
@@ -86,6 +116,8 @@ ganttz.GanttPanel = zk.$extends(
         }
     },
     {
+        VIEWPORT_NOTIFICATION_DELAY : 150,  // Milliseconds without scrolling before notifying the viewport
+
         getInstance : function() {
             return this._instance;
         },
@@ -112,6 +112,17 @@ ganttz.TaskComponent = zk.$extends(
             this.domListen_(this.$n(), "onMouseout", '_hideTooltip');
             if( jq(this.$n()).attr('movingtasksenabled') == "true" ) this._addDragDrop();
             if( jq(this.$n()).attr('resizingtasksenabled') == "true" ) this._addResize();
+            this._restoreRowState();
+        },
+        /*
+         * With virtualized rendering the task is attached again when its row
+         * reaches the viewport, so it takes the labels and tooltips state of the row.
+         */
+        _restoreRowState : function() {
+            var row = this.parent;
+            if (!row || row._labelsHidden === undefined) return;
+            if (!row._labelsHidden) this.showLabels();
+            if (!row._resourcesHidden) this.showResourceTooltip();
         },
         unbind_ : function(event) {
             this.domUnlisten_(this.$n(), "onMouseout", '_hideTooltip');
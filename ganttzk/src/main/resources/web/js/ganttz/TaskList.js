@@ -8,24 +8,51 @@ ganttz.TaskList = zk.$extends(
             this.$class.setInstance(this);
         },
 
+        _labelsHidden : true,
+
+        _resourcesHidden : true,
+
         showAllTaskLabels : function() {
+            this._labelsHidden = false;
             for (var child = this.firstChild; child; child = child.nextSibling)
-                child.showLabels();
+                if (child.showLabels) child.showLabels();
         },
 
         hideAllTaskLabels : function() {
+            this._labelsHidden = true;
             for (var child = this.firstChild; child; child = child.nextSibling)
-                child.hideLabels();
+                if (child.hideLabels) child.hideLabels();
         },
 
         showResourceTooltips : function() {
+            this._resourcesHidden = false;
             for (var child = this.firstChild; child; child = child.nextSibling)
-                child.showResourceTooltip();
+                if (child.showResourceTooltip) child.showResourceTooltip();
         },
 
         hideResourceTooltips : function() {
+            this._resourcesHidden = true;
             for(var child = this.firstChild; child; child = child.nextSibling)
-                child.hideResourceTooltip();
+                if (child.hideResourceTooltip) child.hideResourceTooltip();
+        },
+
+        /*
+         * Document offset of the top of a row, even if it has no component.
+         * With virtualized rendering the rows above the first one shown are
+         * taken up by a spacer.
+         */
+        rowOffset : function(rowIndex) {
+            var pitch = this.$class.rowPitch();
+            var first = jq('#listtasks > .row:first');
+            if (first.length) {
+                var spacer = zk.Widget.$(first.prev('.rows-spacer'));
+                var firstIndex = spacer ? spacer.getRows() : 0;
+                var offset = first.offset();
+                return { left : offset.left, top : offset.top + (rowIndex - firstIndex) * pitch };
+            }
+
+            var listOffset = jq('#listtasks').offset();
+            return { left : listOffset.left, top : listOffset.top + rowIndex * pitch };
         },
 
         legendResize : function() {
@@ -50,5 +77,23 @@ ganttz.TaskList = zk.$extends(
 
         getInstance    : function(){
             return this.instance;
+        },
+
+        DEFAULT_ROW_PITCH : 22,
+
+        /*
+         * Distance between the tops of two rows, as it depends on the style sheets.
+         */
+        rowPitch : function() {
+            var rows = jq('#listtasks > .row');
+            if (rows.length > 1) {
+                return jq(rows[1]).offset().top - jq(rows[0]).offset().top;
+            }
+            if (rows.length == 1) {
+                var row = jq(rows[0]);
+                return row.outerHeight()
+                    + Math.max(parseInt(row.css('margin-top'), 10) || 0, parseInt(row.css('margin-bottom'), 10) || 0);
+            }
+            return this.DEFAULT_ROW_PITCH;
         }
     });
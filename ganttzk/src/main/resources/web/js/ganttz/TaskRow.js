@@ -4,25 +4,38 @@ ganttz.TaskRow = zk.$extends(zk.Widget, {
 
     _labelsHidden : true,
 
+    /*
+     * With virtualized rendering the row is created when it reaches the
+     * viewport, so it takes the labels and tooltips state of the list.
+     */
+    bind_ : function() {
+        var taskList = this.parent;
+        if (taskList && taskList._labelsHidden !== undefined) {
+            this._labelsHidden = taskList._labelsHidden;
+            this._resourcesHidden = taskList._resourcesHidden;
+        }
+        this.$supers('bind_', arguments);
+    },
+
     showLabels : function() {
         this._labelsHidden = false;
-        this.firstChild.showLabels();
+        if (this.firstChild) this.firstChild.showLabels();
     },
 
     hideLabels : function() {
         this._labelsHidden = true;
-        this.firstChild.hideLabels();
+        if (this.firstChild) this.firstChild.hideLabels();
     },
 
     _resourcesHidden : true,
 
     hideResourceTooltip : function() {
         this._resourcesHidden = true;
-        this.firstChild.hideResourceTooltip();
+        if (this.firstChild) this.firstChild.hideResourceTooltip();
     },
 
     showResourceTooltip : function() {
         this._resourcesHidden = false;
-        this.firstChild.showResourceTooltip();
+        if (this.firstChild) this.firstChild.showResourceTooltip();
     }
-});
\ No newline at end of file
+});
@@ -0,0 +1,25 @@
+zk.$package("ganttz");
+
+/*
+ * Takes up the space of the rows of the task list without components, so the
+ * scroll and the position of the rest of rows are kept.
+ */
+ganttz.TaskRowsSpacer = zk.$extends(zk.Widget, {
+
+    _rows : 0,
+
+    $define : {
+        rows : function() {
+            if (this.desktop) this._resize();
+        }
+    },
+
+    bind_ : function() {
+        this.$supers('bind_', arguments);
+        this._resize();
+    },
+
+    _resize : function() {
+        jq(this.$n()).height(this._rows * ganttz.TaskList.rowPitch());
+    }
+});
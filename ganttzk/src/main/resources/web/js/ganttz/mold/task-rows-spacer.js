@@ -0,0 +1,3 @@
+function(out){
+    out.push('<div id="'+ this.uuid + '" class="rows-spacer"></div>');
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.zkoss.ganttz;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.zkoss.ganttz.DetachedTaskList.disabilityConfiguration;
+import static org.zkoss.ganttz.DetachedTaskList.leaf;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.zkoss.ganttz.data.Dependency;
+import org.zkoss.ganttz.data.DependencyType;
+import org.zkoss.ganttz.data.Task;
+import org.zkoss.ganttz.data.TaskLeaf;
+
+/**
+ * Tests for the index of the dependency components of {@link DependencyList}.
+ */
+public class DependencyListTest {
+
+    @BeforeClass
+    public static void setUpWebApp() {
+        DetachedTaskList.setUpWebApp();
+    }
+
+    @AfterClass
+    public static void tearDownWebApp() {
+        DetachedTaskList.tearDownWebApp();
+    }
+
+    private TaskLeaf first = leaf("first", 0, 5);
+
+    private TaskLeaf second = leaf("second", 5, 5);
+
+    private TaskLeaf third = leaf("third", 10, 5);
+
+    private TaskLeaf hidden = leaf("hidden", 10, 5);
+
+    private Map<Task, TaskComponent> components = new HashMap<>();
+
+    private DependencyList dependencyList = new DependencyList(null);
+
+    @Before
+    public void hideTask() {
+        hidden.setVisible(false);
+    }
+
+    private TaskComponent componentFor(Task task) {
+        return components.computeIfAbsent(task,
+                t -> TaskComponent.asTaskComponent(t, disabilityConfiguration(false)));
+    }
+
+    private DependencyComponent add(Task source, Task destination) {
+        DependencyComponent result = new DependencyComponent(componentFor(source), componentFor(destination),
+                new Dependency(source, destination, DependencyType.END_START));
+        dependencyList.addDependencyComponent(result);
+
+        return result;
+    }
+
+    @Test
+    public void theDependenciesBetweenVisibleTasksAreShownInTheOrderTheyAreAdded() {
+        DependencyComponent firstToSecond = add(first, second);
+        DependencyComponent secondToThird = add(second, third);
+        DependencyComponent firstToThird = add(first, third);
+        add(first, hidden);
+
+        assertEquals(Arrays.asList(firstToSecond, secondToThird, firstToThird), dependencyList.getChildren());
+    }
+
+    @Test
+    public void removingATaskRemovesItsIncomingAndOutgoingDependencies() {
+        add(first, second);
+        DependencyComponent firstToThird = add(first, third);
+        add(second, third);
+
+        dependencyList.taskRemoved(second);
+
+        assertEquals(Arrays.asList(firstToThird), dependencyList.getChildren());
+    }
+
+    @Test
+    public void removingADependencyKeepsTheOthersOfTheSameSource() {
+        DependencyComponent firstToSecond = add(first, second);
+        DependencyComponent firstToThird = add(first, third);
+
+        dependencyList.remove(firstToSecond.getDependency());
+
+        assertEquals(Arrays.asList(firstToThird), dependencyList.getChildren());
+    }
+
+    @Test
+    public void aDependencyIsShownOnlyWhileBothTasksAreVisible() {
+        DependencyComponent firstToHidden = add(first, hidden);
+
+        hidden.setVisible(true);
+        assertEquals(Arrays.asList(firstToHidden), dependencyList.getChildren());
+
+        first.setVisible(false);
+        assertTrue(dependencyList.getChildren().isEmpty());
+    }
+
+    @Test
+    public void theDependenciesOfARemovedTaskNoLongerListenToItsVisibility() {
+        add(first, hidden);
+
+        dependencyList.taskRemoved(hidden);
+        hidden.setVisible(true);
+
+        assertTrue(dependencyList.getChildren().isEmpty());
+    }
+
+}
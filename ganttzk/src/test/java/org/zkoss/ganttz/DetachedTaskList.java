@@ -0,0 +1,172 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.zkoss.ganttz;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.joda.time.LocalDate;
+import org.zkoss.ganttz.adapters.IDisabilityConfiguration;
+import org.zkoss.ganttz.data.DefaultFundamentalProperties;
+import org.zkoss.ganttz.data.Task;
+import org.zkoss.ganttz.data.TaskContainer;
+import org.zkoss.ganttz.data.TaskLeaf;
+import org.zkoss.ganttz.timetracker.TimeTracker;
+import org.zkoss.ganttz.timetracker.TimeTrackerComponent;
+import org.zkoss.ganttz.util.Interval;
+import org.zkoss.zk.ui.WebApp;
+import org.zkoss.zk.ui.sys.WebAppsCtrl;
+import org.zkoss.zk.ui.util.Configuration;
+
+/**
+ * {@link TaskList} that can be used without a ZK desktop, so the tasks have no context menus. The {@link GanttPanel} it
+ * belongs to is replaced by a stand-in, while its {@link DependencyList} is a real one.
+ * <p>
+ * The shown tasks are the ones accepted with {@link #accept(Task...)}, instead of depending on the expanded containers.
+ * Each day takes up {@link #PIXELS_PER_DAY} pixels from {@link #START}.
+ * </p>
+ */
+class DetachedTaskList extends TaskList {
+
+    static final LocalDate START = new LocalDate(2010, 1, 4);
+
+    static final int PIXELS_PER_DAY = 10;
+
+    private static final int DAYS = 1000;
+
+    static TaskLeaf leaf(String name, int startDay, int days) {
+        return new TaskLeaf(properties(name, startDay, days));
+    }
+
+    static TaskContainer container(String name, Task... children) {
+        TaskContainer result = new TaskContainer(properties(name, 0, 1), true);
+        for (Task each : children) {
+            result.add(each);
+        }
+
+        return result;
+    }
+
+    private static DefaultFundamentalProperties properties(String name, int startDay, int days) {
+        return new DefaultFundamentalProperties(name, START.plusDays(startDay).toDate(), days * 24 * 3600 * 1000L,
+                null, START.toDate(), START.toDate(), START.toDate(), BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO);
+    }
+
+    static IDisabilityConfiguration disabilityConfiguration(boolean virtualizedRendering) {
+        IDisabilityConfiguration result = createNiceMock(IDisabilityConfiguration.class);
+        expect(result.isVirtualizedRendering()).andReturn(virtualizedRendering).anyTimes();
+        replay(result);
+
+        return result;
+    }
+
+    /**
+     * Components cannot be detached without the current web application.
+     */
+    static void setUpWebApp() {
+        WebApp webApp = createNiceMock(WebApp.class);
+        expect(webApp.getConfiguration()).andReturn(new Configuration()).anyTimes();
+        replay(webApp);
+        WebAppsCtrl.setCurrent(webApp);
+    }
+
+    static void tearDownWebApp() {
+        WebAppsCtrl.setCurrent(null);
+    }
+
+    private final AcceptingPredicate predicate;
+
+    private final DependencyList dependencyList = new DependencyList(null);
+
+    private final GanttPanel ganttPanel;
+
+    DetachedTaskList(List<Task> tasks, boolean virtualizedRendering) {
+        this(tasks, virtualizedRendering, new AcceptingPredicate());
+    }
+
+    private DetachedTaskList(List<Task> tasks, boolean virtualizedRendering, AcceptingPredicate predicate) {
+        super(null, null, tasks, Collections.<CommandOnTaskContextualized<?>> emptyList(),
+                disabilityConfiguration(virtualizedRendering), predicate);
+        this.predicate = predicate;
+
+        TimeTracker timeTracker = createNiceMock(TimeTracker.class);
+        expect(timeTracker.getMapper()).andReturn(new DatesMapperOnInterval(
+                DAYS * PIXELS_PER_DAY, new Interval(START, START.plusDays(DAYS)))).anyTimes();
+        TimeTrackerComponent timeTrackerComponent = createNiceMock(TimeTrackerComponent.class);
+        expect(timeTrackerComponent.getTimeTracker()).andReturn(timeTracker).anyTimes();
+        ganttPanel = createNiceMock(GanttPanel.class);
+        expect(ganttPanel.getDependencyList()).andReturn(dependencyList).anyTimes();
+        expect(ganttPanel.getTimeTrackerComponent()).andReturn(timeTrackerComponent).anyTimes();
+        replay(timeTracker, timeTrackerComponent, ganttPanel);
+    }
+
+    /**
+     * The list is not reloaded until {@link #reload()} is called.
+     */
+    void accept(Task... tasks) {
+        predicate.accepted.addAll(Arrays.asList(tasks));
+    }
+
+    void reject(Task... tasks) {
+        predicate.accepted.removeAll(Arrays.asList(tasks));
+    }
+
+    void reload() {
+        setPredicate(predicate);
+    }
+
+    DependencyList getDependencyList() {
+        return dependencyList;
+    }
+
+    @Override
+    GanttPanel getGanttPanel() {
+        return ganttPanel;
+    }
+
+    private static class AcceptingPredicate extends FilterAndParentExpandedPredicates {
+
+        private final Set<Task> accepted = new HashSet<>();
+
+        AcceptingPredicate() {
+            super(null);
+        }
+
+        @Override
+        public boolean accepts(Object object) {
+            return accepted.contains(object);
+        }
+
+        @Override
+        public boolean accpetsFilterPredicate(Task task) {
+            return accepted.contains(task);
+        }
+    }
+
+}
@@ -0,0 +1,314 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.zkoss.ganttz;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.zkoss.ganttz.DetachedTaskList.PIXELS_PER_DAY;
+import static org.zkoss.ganttz.DetachedTaskList.START;
+import static org.zkoss.ganttz.DetachedTaskList.leaf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.zkoss.ganttz.data.Dependency;
+import org.zkoss.ganttz.data.DependencyType;
+import org.zkoss.ganttz.data.GanttDate;
+import org.zkoss.ganttz.data.GanttDiagramGraph;
+import org.zkoss.ganttz.data.GanttDiagramGraph.GanttZKDiagramGraph;
+import org.zkoss.ganttz.data.Task;
+import org.zkoss.ganttz.data.constraint.Constraint;
+import org.zkoss.ganttz.util.Viewport;
+
+/**
+ * Tests for the rows with components and the rows materialized by
+ * {@link TaskList} when rendering is virtualized, and for the dependencies
+ * shown between them.
+ */
+public class TaskListMaterializationTest {
+
+    private static final int ROWS = 100;
+
+    @BeforeClass
+    public static void setUpWebApp() {
+        DetachedTaskList.setUpWebApp();
+    }
+
+    @AfterClass
+    public static void tearDownWebApp() {
+        DetachedTaskList.tearDownWebApp();
+    }
+
+    private List<Task> tasks = new ArrayList<>();
+
+    private DetachedTaskList taskList;
+
+    /**
+     * Each task takes up the first five days, so the rows on the viewport are
+     * the ones from 20 to 69 once the buffer is added.
+     */
+    @Before
+    public void givenAVirtualizedTaskListScrolledToTheMiddle() {
+        for (int i = 0; i < ROWS; i++) {
+            tasks.add(leaf("task " + i, 0, 5));
+        }
+        taskList = new DetachedTaskList(tasks, true);
+        taskList.accept(tasks.toArray(new Task[0]));
+        taskList.afterCompose();
+        taskList.setViewport(Viewport.create(40, 49, 0, 10 * PIXELS_PER_DAY));
+    }
+
+    private TaskComponent componentOf(int row) {
+        return taskList.find(tasks.get(row));
+    }
+
+    private boolean isMaterialized(int row) {
+        return componentOf(row).getRow().isMaterialized();
+    }
+
+    private static void moveTo(Task task, int day) {
+        task.doPositionModifications(position -> position.moveTo(GanttDate.createFrom(START.plusDays(day))));
+    }
+
+    private Dependency addDependency(int sourceRow, int destinationRow) {
+        Dependency result = new Dependency(tasks.get(sourceRow), tasks.get(destinationRow), DependencyType.END_START);
+        taskList.getDependencyList().addDependencies(Collections.singletonList(result));
+
+        return result;
+    }
+
+    private List<Dependency> shownDependencies() {
+        List<Dependency> result = new ArrayList<>();
+        for (Object each : taskList.getDependencyList().getChildren()) {
+            result.add(((DependencyComponent) each).getDependency());
+        }
+
+        return result;
+    }
+
+    private DependencyComponent shownComponentOf(Dependency dependency) {
+        for (Object each : taskList.getDependencyList().getChildren()) {
+            if ( ((DependencyComponent) each).getDependency() == dependency ) {
+                return (DependencyComponent) each;
+            }
+        }
+
+        return null;
+    }
+
+    private int spacerRows(int childIndex) {
+        return ((TaskRowsSpacer) taskList.getChildren().get(childIndex)).getRows();
+    }
+
+    private GanttZKDiagramGraph givenAGraphWith(Task... graphTasks) {
+        GanttZKDiagramGraph result = GanttDiagramGraph.create(false,
+                Collections.<Constraint<GanttDate>> emptyList(), Collections.<Constraint<GanttDate>> emptyList(),
+                false);
+        result.addTopLevel(Arrays.asList(graphTasks));
+
+        return result;
+    }
+
+    @Test
+    public void onlyTheRowsOnTheViewportHaveComponents() {
+        assertNull(componentOf(0));
+        assertNull(componentOf(19));
+        assertTrue(isMaterialized(20));
+        assertTrue(isMaterialized(69));
+        assertNull(componentOf(70));
+        assertNull(componentOf(ROWS - 1));
+        assertEquals(ROWS, taskList.getTasksNumber());
+    }
+
+    @Test
+    public void theRowsWithoutComponentAreTakenUpBySpacers() {
+        assertEquals(50 + 2, taskList.getChildren().size());
+        assertEquals(20, spacerRows(0));
+        assertEquals(30, spacerRows(taskList.getChildren().size() - 1));
+        for (int i = 0; i < 50; i++) {
+            assertEquals(tasks.get(20 + i), taskList.getTaskComponents().get(i).getTask());
+        }
+    }
+
+    @Test
+    public void theRowsWhoseTaskIsOutOfTheVisiblePixelsAreNotMaterialized() {
+        moveTo(tasks.get(45), 50);
+        taskList.setViewport(Viewport.create(40, 49, 0, 10 * PIXELS_PER_DAY));
+
+        assertFalse(isMaterialized(45));
+        assertTrue(isMaterialized(44));
+    }
+
+    @Test
+    public void scrollingCreatesTheComponentsOfTheNewRowsAndReleasesTheOldOnes() {
+        TaskComponent kept = componentOf(60);
+
+        taskList.setViewport(Viewport.create(80, 89, 0, 10 * PIXELS_PER_DAY));
+
+        assertNull(componentOf(59));
+        assertSame(kept, componentOf(60));
+        assertTrue(isMaterialized(60));
+        assertTrue(isMaterialized(ROWS - 1));
+        assertEquals(60, spacerRows(0));
+        assertEquals(0, spacerRows(taskList.getChildren().size() - 1));
+        assertEquals(40, taskList.getTaskComponents().size());
+    }
+
+    @Test
+    public void hidingARowMovesTheRowsBelowIntoTheViewport() {
+        taskList.reject(tasks.get(0));
+        taskList.reload();
+
+        assertNull(componentOf(20));
+        assertTrue(isMaterialized(70));
+        assertEquals(ROWS - 1, taskList.getTasksNumber());
+        assertEquals(29, spacerRows(taskList.getChildren().size() - 1));
+    }
+
+    @Test
+    public void removingATaskMovesTheRowsBelowIntoTheViewport() {
+        taskList.remove(tasks.get(0));
+
+        assertNull(componentOf(20));
+        assertTrue(isMaterialized(70));
+        assertEquals(ROWS - 1, taskList.getTasksNumber());
+    }
+
+    @Test
+    public void aTaskMovedIntoTheViewportIsMaterialized() {
+        Task task = tasks.get(45);
+        moveTo(task, 50);
+        taskList.setViewport(Viewport.create(40, 49, 0, 10 * PIXELS_PER_DAY));
+        givenAGraphWith(task);
+
+        moveTo(task, 0);
+
+        assertTrue(isMaterialized(45));
+    }
+
+    @Test
+    public void aTaskPushedOutOfTheViewportByACascadeIsReleased() {
+        Task source = tasks.get(45);
+        Task destination = tasks.get(46);
+        moveTo(destination, 5);
+        GanttZKDiagramGraph graph = givenAGraphWith(source, destination);
+        graph.add(new Dependency(source, destination, DependencyType.END_START));
+
+        source.resizeTo(START.plusDays(40));
+
+        assertTrue(isMaterialized(45));
+        assertFalse(isMaterialized(46));
+    }
+
+    @Test
+    public void aDependencyWithAMaterializedEndIsShown() {
+        Dependency fromAbove = addDependency(5, 45);
+
+        assertEquals(Arrays.asList(fromAbove), shownDependencies());
+        assertNull(shownComponentOf(fromAbove).getSource());
+        assertSame(componentOf(45), shownComponentOf(fromAbove).getDestination());
+    }
+
+    @Test
+    public void aDependencyCrossingTheViewportIsShownAlthoughNoEndIsMaterialized() {
+        Dependency crossing = addDependency(5, 90);
+
+        assertEquals(Arrays.asList(crossing), shownDependencies());
+    }
+
+    @Test
+    public void aDependencyOutOfTheViewportIsNotShown() {
+        addDependency(5, 10);
+        addDependency(80, 90);
+
+        assertTrue(shownDependencies().isEmpty());
+    }
+
+    @Test
+    public void aDependencyCrossingTheRowsOutOfTheVisiblePixelsIsNotShown() {
+        moveTo(tasks.get(5), 100);
+        moveTo(tasks.get(90), 110);
+
+        addDependency(5, 90);
+
+        assertTrue(shownDependencies().isEmpty());
+    }
+
+    @Test
+    public void onlyTheDependenciesOnTheViewportHaveComponents() {
+        for (int i = 0; i < ROWS - 1; i++) {
+            addDependency(i, i + 1);
+        }
+
+        assertEquals(51, shownDependencies().size());
+    }
+
+    @Test
+    public void scrollingCullsTheDependenciesAgain() {
+        Dependency belowTheViewport = addDependency(75, 90);
+
+        taskList.setViewport(Viewport.create(80, 85, 0, 10 * PIXELS_PER_DAY));
+        assertEquals(Arrays.asList(belowTheViewport), shownDependencies());
+
+        taskList.setViewport(Viewport.create(0, 5, 0, 10 * PIXELS_PER_DAY));
+        assertTrue(shownDependencies().isEmpty());
+    }
+
+    @Test
+    public void aDependencyComesToSpanTheViewportWhenScrolling() {
+        Dependency spanning = addDependency(25, 95);
+
+        taskList.setViewport(Viewport.create(60, 65, 0, 10 * PIXELS_PER_DAY));
+
+        assertNull(componentOf(25));
+        assertNull(componentOf(95));
+        assertEquals(Arrays.asList(spanning), shownDependencies());
+    }
+
+    @Test
+    public void theComponentOfADependencyIsCreatedAgainWhenAnEndReachesTheViewport() {
+        Dependency dependency = addDependency(5, 45);
+
+        taskList.setViewport(Viewport.create(10, 15, 0, 10 * PIXELS_PER_DAY));
+
+        assertEquals(Arrays.asList(dependency), shownDependencies());
+        assertSame(componentOf(5), shownComponentOf(dependency).getSource());
+        assertNull(shownComponentOf(dependency).getDestination());
+    }
+
+    @Test
+    public void aRemovedDependencyIsNotShown() {
+        Dependency dependency = addDependency(5, 45);
+
+        taskList.getDependencyList().remove(dependency);
+
+        assertTrue(shownDependencies().isEmpty());
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.zkoss.ganttz;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.zkoss.ganttz.DetachedTaskList.container;
+import static org.zkoss.ganttz.DetachedTaskList.leaf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.zkoss.ganttz.data.Position;
+import org.zkoss.ganttz.data.Task;
+import org.zkoss.ganttz.data.TaskContainer;
+import org.zkoss.ganttz.data.TaskLeaf;
+
+/**
+ * Tests for the index of the shown components of {@link TaskList}.
+ */
+public class TaskListTest {
+
+    @BeforeClass
+    public static void setUpWebApp() {
+        DetachedTaskList.setUpWebApp();
+    }
+
+    @AfterClass
+    public static void tearDownWebApp() {
+        DetachedTaskList.tearDownWebApp();
+    }
+
+    private TaskLeaf first = leaf("first", 0, 5);
+
+    private TaskLeaf second = leaf("second", 5, 5);
+
+    private TaskLeaf third = leaf("third", 10, 5);
+
+    private TaskContainer parent = container("parent", second, third);
+
+    private DetachedTaskList givenTaskListShowing(Task... shown) {
+        DetachedTaskList result = new DetachedTaskList(Arrays.asList(first, parent), false);
+        result.accept(shown);
+        result.afterCompose();
+
+        return result;
+    }
+
+    private static List<Task> tasksOfTheRows(TaskList taskList) {
+        List<Task> result = new ArrayList<>();
+        for (TaskComponent each : taskList.getTaskComponents()) {
+            result.add(each.getTask());
+        }
+
+        return result;
+    }
+
+    @Test
+    public void theAcceptedTasksAreFoundInTheOrderOfThePlan() {
+        TaskList taskList = givenTaskListShowing(first, parent, second, third);
+
+        assertEquals(Arrays.asList(first, parent, second, third), tasksOfTheRows(taskList));
+        assertEquals(4, taskList.getTasksNumber());
+        for (Task each : Arrays.asList(first, parent, second, third)) {
+            TaskComponent found = taskList.find(each);
+            assertSame(each, found.getTask());
+            assertSame(taskList, found.getRow().getTaskList());
+            assertTrue(each.isVisible());
+        }
+    }
+
+    @Test
+    public void theTasksNotShownAreNotFound() {
+        TaskList taskList = givenTaskListShowing(first, parent);
+
+        assertNull(taskList.find(second));
+        assertNull(taskList.find(third));
+        assertEquals(2, taskList.getTasksNumber());
+    }
+
+    @Test
+    public void aTaskThatDisappearsOnReloadIsForgotten() {
+        DetachedTaskList taskList = givenTaskListShowing(first, parent, second, third);
+
+        taskList.reject(second);
+        taskList.reload();
+
+        assertNull(taskList.find(second));
+        assertFalse(second.isVisible());
+        assertEquals(Arrays.asList(first, parent, third), tasksOfTheRows(taskList));
+        assertEquals(3, taskList.getTasksNumber());
+    }
+
+    @Test
+    public void aTaskThatAppearsOnReloadIsPlacedBeforeTheNextShownOne() {
+        DetachedTaskList taskList = givenTaskListShowing(first, parent, third);
+
+        taskList.accept(second);
+        taskList.reload();
+
+        assertNotNull(taskList.find(second));
+        assertEquals(Arrays.asList(first, parent, second, third), tasksOfTheRows(taskList));
+        assertEquals(4, taskList.getTasksNumber());
+    }
+
+    @Test
+    public void removingAContainerForgetsItsDescendants() {
+        TaskList taskList = givenTaskListShowing(first, parent, second, third);
+
+        taskList.remove(parent);
+
+        assertNull(taskList.find(parent));
+        assertNull(taskList.find(second));
+        assertNull(taskList.find(third));
+        assertEquals(Arrays.<Task> asList(first), tasksOfTheRows(taskList));
+        assertEquals(1, taskList.getTasksNumber());
+        assertEquals(Arrays.<Task> asList(first), taskList.getAllTasks());
+    }
+
+    @Test
+    public void aRemovedTaskCanBeShownAgain() {
+        DetachedTaskList taskList = givenTaskListShowing(first, parent, second, third);
+
+        taskList.remove(parent);
+        taskList.addTasks(Position.createAtTopPosition(1), Arrays.asList(parent));
+
+        assertEquals(Arrays.asList(first, parent, second, third), tasksOfTheRows(taskList));
+        assertEquals(4, taskList.getTasksNumber());
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.zkoss.ganttz;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.zkoss.ganttz.DetachedTaskList.disabilityConfiguration;
+import static org.zkoss.ganttz.DetachedTaskList.leaf;
+
+import java.util.Arrays;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for {@link TaskRow} keeping its component while it's not materialized.
+ */
+public class TaskRowTest {
+
+    @BeforeClass
+    public static void setUpWebApp() {
+        DetachedTaskList.setUpWebApp();
+    }
+
+    @AfterClass
+    public static void tearDownWebApp() {
+        DetachedTaskList.tearDownWebApp();
+    }
+
+    private TaskComponent taskComponent =
+            TaskComponent.asTaskComponent(leaf("task", 0, 5), disabilityConfiguration(true));
+
+    private TaskRow row = taskComponent.getRow();
+
+    @Test
+    public void aNewRowIsMaterialized() {
+        assertTrue(row.isMaterialized());
+        assertEquals(Arrays.asList(taskComponent), row.getChildren());
+    }
+
+    @Test
+    public void aDematerializedRowIsEmptyButKeepsItsComponent() {
+        row.dematerialize();
+
+        assertFalse(row.isMaterialized());
+        assertTrue(row.getChildren().isEmpty());
+        assertSame(taskComponent, row.getChild());
+        assertSame(row, taskComponent.getRow());
+    }
+
+    @Test
+    public void materializingAgainAttachesTheSameComponent() {
+        row.dematerialize();
+        row.dematerialize();
+        row.materialize();
+        row.materialize();
+
+        assertTrue(row.isMaterialized());
+        assertEquals(Arrays.asList(taskComponent), row.getChildren());
+    }
+
+}
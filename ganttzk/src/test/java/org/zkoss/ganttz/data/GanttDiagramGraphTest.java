@@ -0,0 +1,321 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.zkoss.ganttz.data;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.joda.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+import org.zkoss.ganttz.data.SimpleGanttAdapter.SimpleDependency;
+import org.zkoss.ganttz.data.SimpleGanttAdapter.SimpleTask;
+import org.zkoss.ganttz.data.constraint.Constraint;
+import org.zkoss.ganttz.data.criticalpath.CriticalPathCalculator;
+
+public class GanttDiagramGraphTest {
+
+    private static final LocalDate START = new LocalDate(2010, 1, 4);
+
+    private GanttDiagramGraph<SimpleTask, SimpleDependency> graph;
+
+    private List<SimpleTask> tasks;
+
+    private List<SimpleDependency> dependencies;
+
+    @Before
+    public void createGraph() {
+        graph = GanttDiagramGraph.create(false, new SimpleGanttAdapter(),
+                Collections.<Constraint<GanttDate>> emptyList(),
+                Collections.<Constraint<GanttDate>> emptyList(), true);
+        tasks = new ArrayList<>();
+        dependencies = new ArrayList<>();
+    }
+
+    private SimpleTask task(int days) {
+        SimpleTask result = new SimpleTask("T" + tasks.size(), START, days);
+        tasks.add(result);
+        return result;
+    }
+
+    private SimpleTask container(SimpleTask... children) {
+        SimpleTask result = task(0);
+        Collections.addAll(result.children, children);
+        return result;
+    }
+
+    private SimpleDependency endStart(SimpleTask source, SimpleTask destination) {
+        SimpleDependency result = new SimpleDependency(source, destination, DependencyType.END_START, true);
+        dependencies.add(result);
+        return result;
+    }
+
+    private void assertLevelsAsCalculatedFromScratch() {
+        assertEquals(graph.calculateTaskPointsByDepth(), graph.getTaskPointsByDepth());
+    }
+
+    private void givenAChainOfTasks(int size) {
+        SimpleTask previous = null;
+        for (int i = 0; i < size; i++) {
+            SimpleTask current = task(2);
+            graph.addTopLevel(current);
+            if ( previous != null ) {
+                graph.add(endStart(previous, current));
+            }
+            previous = current;
+        }
+    }
+
+    @Test
+    public void theDependenciesAreEnforcedAlongAChain() {
+        givenAChainOfTasks(4);
+
+        assertThat(tasks.get(3).start, equalTo(START.plusDays(6)));
+    }
+
+    @Test
+    public void movingATaskOnlyMovesItsSuccessors() {
+        givenAChainOfTasks(3);
+        SimpleTask isolated = task(2);
+        graph.addTopLevel(isolated);
+
+        tasks.get(1).end = START.plusDays(7);
+        graph.enforceRestrictions(tasks.get(1));
+
+        assertThat(tasks.get(0).start, equalTo(START));
+        assertThat(tasks.get(2).start, equalTo(START.plusDays(7)));
+        assertThat(isolated.start, equalTo(START));
+    }
+
+    @Test
+    public void theLevelsAreUpdatedWhenAddingDependencies() {
+        givenAChainOfTasks(5);
+        SimpleTask other = task(1);
+        graph.addTopLevel(other);
+        graph.getTaskPointsByDepth();
+
+        graph.add(endStart(other, tasks.get(0)));
+
+        assertLevelsAsCalculatedFromScratch();
+    }
+
+    @Test
+    public void theLevelsAreUpdatedWhenRemovingDependencies() {
+        givenAChainOfTasks(5);
+        graph.getTaskPointsByDepth();
+
+        graph.removeDependency(dependencies.get(1));
+
+        assertLevelsAsCalculatedFromScratch();
+    }
+
+    @Test
+    public void theLevelsAreUpdatedWhenAddingAndRemovingTasks() {
+        givenAChainOfTasks(5);
+        graph.getTaskPointsByDepth();
+
+        SimpleTask first = task(1);
+        SimpleTask second = task(1);
+        SimpleTask parent = container(first, second);
+        graph.addTopLevel(parent);
+        graph.add(endStart(tasks.get(2), parent));
+        graph.add(endStart(first, second));
+        assertLevelsAsCalculatedFromScratch();
+
+        graph.remove(tasks.get(3));
+        assertLevelsAsCalculatedFromScratch();
+
+        parent.children.remove(second);
+        graph.remove(second);
+        assertLevelsAsCalculatedFromScratch();
+        assertFalse(graph.getTasks().contains(second));
+    }
+
+    @Test
+    public void theLevelsAreUpdatedWhenChangingRandomDependencies() {
+        Random random = new Random(7);
+        for (int i = 0; i < 30; i++) {
+            graph.addTopLevel(task(1 + random.nextInt(3)));
+        }
+        graph.getTaskPointsByDepth();
+
+        for (int i = 0; i < 60; i++) {
+            if ( !dependencies.isEmpty() && random.nextInt(3) == 0 ) {
+                graph.removeDependency(dependencies.remove(random.nextInt(dependencies.size())));
+            } else {
+                // Dependencies always go forward in the list of tasks, so no loops are created
+                int source = random.nextInt(tasks.size() - 1);
+                int destination = source + 1 + random.nextInt(tasks.size() - source - 1);
+                if ( graph.getDependencyFrom(tasks.get(source), tasks.get(destination)) == null ) {
+                    graph.add(endStart(tasks.get(source), tasks.get(destination)));
+                }
+            }
+            assertLevelsAsCalculatedFromScratch();
+        }
+    }
+
+    @Test
+    public void theContainersAreMovedWithTheirChildren() {
+        SimpleTask child = task(2);
+        SimpleTask parent = container(child);
+        SimpleTask previous = task(3);
+        graph.addTopLevel(previous);
+        graph.addTopLevel(parent);
+
+        graph.add(endStart(previous, parent));
+
+        assertThat(parent.start, equalTo(START.plusDays(3)));
+        assertThat(child.start, equalTo(START.plusDays(3)));
+    }
+
+    private CriticalPathCalculator<SimpleTask, SimpleDependency> criticalPathCalculator() {
+        return CriticalPathCalculator.create(false);
+    }
+
+    private void assertCriticalPathAsCalculatedFromScratch(List<SimpleTask> criticalPath) {
+        assertEquals(criticalPathCalculator().calculateCriticalPath(graph), criticalPath);
+    }
+
+    @Test
+    public void theCriticalPathIsUpdatedWhenATaskChanges() {
+        givenAChainOfTasks(3);
+        SimpleTask parallel = task(3);
+        graph.addTopLevel(parallel);
+        graph.add(endStart(tasks.get(0), parallel));
+        CriticalPathCalculator<SimpleTask, SimpleDependency> calculator = criticalPathCalculator();
+        assertEquals(tasks.subList(0, 3), calculator.calculateCriticalPath(graph));
+
+        parallel.end = parallel.end.plusDays(2);
+        List<SimpleTask> criticalPath = calculator.taskChanged(parallel);
+
+        assertEquals(Arrays.asList(tasks.get(0), parallel), criticalPath);
+        assertCriticalPathAsCalculatedFromScratch(criticalPath);
+    }
+
+    @Test
+    public void theCriticalPathIsUpdatedWhenChangingRandomTasksAndDependencies() {
+        Random random = new Random(11);
+        for (int i = 0; i < 30; i++) {
+            SimpleTask each = task(1 + random.nextInt(5));
+            if ( i > 0 ) {
+                // Only the first task is at the start of the project, so changing the others is done incrementally
+                each.start = each.start.plusDays(1);
+                each.end = each.end.plusDays(1);
+            }
+            graph.addTopLevel(each);
+        }
+        CriticalPathCalculator<SimpleTask, SimpleDependency> calculator = criticalPathCalculator();
+        calculator.calculateCriticalPath(graph);
+
+        for (int i = 0; i < 80; i++) {
+            List<SimpleTask> criticalPath;
+            if ( random.nextBoolean() ) {
+                SimpleTask task = tasks.get(1 + random.nextInt(tasks.size() - 1));
+                task.end = task.start.plusDays(1 + random.nextInt(5));
+                criticalPath = calculator.taskChanged(task);
+            } else if ( !dependencies.isEmpty() && random.nextInt(3) == 0 ) {
+                SimpleDependency dependency = dependencies.remove(random.nextInt(dependencies.size()));
+                graph.removeDependency(dependency);
+                criticalPath = calculator.dependencyChanged(dependency.getSource(), dependency.getDestination());
+            } else {
+                int source = random.nextInt(tasks.size() - 1);
+                int destination = source + 1 + random.nextInt(tasks.size() - source - 1);
+                if ( graph.getDependencyFrom(tasks.get(source), tasks.get(destination)) != null ) {
+                    continue;
+                }
+                graph.add(endStart(tasks.get(source), tasks.get(destination)));
+                criticalPath = calculator.dependencyChanged(tasks.get(source), tasks.get(destination));
+            }
+            assertFalse(criticalPath.isEmpty());
+            assertCriticalPathAsCalculatedFromScratch(criticalPath);
+        }
+    }
+
+    @Test
+    public void theCriticalPathIsUpdatedWhenSeveralChangesAreAppliedTogether() {
+        Random random = new Random(7);
+        for (int i = 0; i < 30; i++) {
+            SimpleTask each = task(1 + random.nextInt(5));
+            if ( i > 0 ) {
+                each.start = each.start.plusDays(1);
+                each.end = each.end.plusDays(1);
+            }
+            graph.addTopLevel(each);
+        }
+        CriticalPathCalculator<SimpleTask, SimpleDependency> calculator = criticalPathCalculator();
+        calculator.calculateCriticalPath(graph);
+
+        for (int round = 0; round < 10; round++) {
+            // The dependencies modified are applied first and then the tasks moved, as the planner does
+            List<SimpleDependency> added = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                int source = random.nextInt(tasks.size() - 1);
+                int destination = source + 1 + random.nextInt(tasks.size() - source - 1);
+                if ( graph.getDependencyFrom(tasks.get(source), tasks.get(destination)) == null ) {
+                    SimpleDependency dependency = endStart(tasks.get(source), tasks.get(destination));
+                    graph.add(dependency);
+                    added.add(dependency);
+                }
+            }
+            List<SimpleTask> moved = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                SimpleTask task = tasks.get(1 + random.nextInt(tasks.size() - 1));
+                task.end = task.start.plusDays(1 + random.nextInt(5));
+                moved.add(task);
+            }
+
+            List<SimpleTask> criticalPath = null;
+            for (SimpleDependency each : added) {
+                criticalPath = calculator.dependencyChanged(each.getSource(), each.getDestination());
+            }
+            for (SimpleTask each : moved) {
+                criticalPath = calculator.taskChanged(each);
+            }
+
+            assertCriticalPathAsCalculatedFromScratch(criticalPath);
+        }
+    }
+
+    @Test
+    public void theCriticalPathGoesThroughTheChildrenOfContainers() {
+        SimpleTask previous = task(2);
+        SimpleTask first = task(3);
+        SimpleTask second = task(1);
+        SimpleTask parent = container(first, second);
+        graph.addTopLevel(previous);
+        graph.addTopLevel(parent);
+        graph.add(endStart(previous, parent));
+
+        List<SimpleTask> criticalPath = criticalPathCalculator().calculateCriticalPath(graph);
+
+        assertTrue(criticalPath.containsAll(Arrays.asList(previous, first)));
+        assertFalse(criticalPath.contains(second));
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.zkoss.ganttz.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.zkoss.ganttz.data.DependencyType.Point;
+import org.zkoss.ganttz.data.GanttDiagramGraph.IAdapter;
+import org.zkoss.ganttz.data.GanttDiagramGraph.IDependenciesEnforcerHookFactory;
+import org.zkoss.ganttz.data.SimpleGanttAdapter.SimpleDependency;
+import org.zkoss.ganttz.data.SimpleGanttAdapter.SimpleTask;
+import org.zkoss.ganttz.data.constraint.Constraint;
+
+/**
+ * {@link IAdapter} for plain tasks without constraints, used to build {@link GanttDiagramGraph graphs} without
+ * components.
+ */
+class SimpleGanttAdapter implements IAdapter<SimpleTask, SimpleDependency> {
+
+    static class SimpleTask {
+
+        private final String name;
+
+        final List<SimpleTask> children = new ArrayList<>();
+
+        LocalDate start;
+
+        LocalDate end;
+
+        SimpleTask(String name, LocalDate start, int days) {
+            this.name = name;
+            this.start = start;
+            this.end = start.plusDays(days);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    static class SimpleDependency implements IDependency<SimpleTask> {
+
+        private final SimpleTask source;
+
+        private final SimpleTask destination;
+
+        private final DependencyType type;
+
+        private final boolean visible;
+
+        SimpleDependency(SimpleTask source, SimpleTask destination, DependencyType type, boolean visible) {
+            this.source = source;
+            this.destination = destination;
+            this.type = type;
+            this.visible = visible;
+        }
+
+        @Override
+        public SimpleTask getSource() {
+            return source;
+        }
+
+        @Override
+        public SimpleTask getDestination() {
+            return destination;
+        }
+
+        @Override
+        public DependencyType getType() {
+            return type;
+        }
+    }
+
+
+    @Override
+    public List<SimpleTask> getChildren(SimpleTask task) {
+        return task.children;
+    }
+
+    @Override
+    public SimpleTask getOwner(SimpleTask task) {
+        return null;
+    }
+
+    @Override
+    public boolean isContainer(SimpleTask task) {
+        return !task.children.isEmpty();
+    }
+
+    @Override
+    public void registerDependenciesEnforcerHookOn(SimpleTask task,
+                                                   IDependenciesEnforcerHookFactory<SimpleTask> hookFactory) {
+    }
+
+    @Override
+    public GanttDate getStartDate(SimpleTask task) {
+        return GanttDate.createFrom(task.start);
+    }
+
+    @Override
+    public void setStartDateFor(SimpleTask task, GanttDate newStart) {
+        int days = Days.daysBetween(task.start, task.end).getDays();
+        task.start = newStart.toLocalDate();
+        task.end = task.start.plusDays(days);
+    }
+
+    @Override
+    public GanttDate getEndDateFor(SimpleTask task) {
+        return GanttDate.createFrom(task.end);
+    }
+
+    @Override
+    public void setEndDateFor(SimpleTask task, GanttDate newEnd) {
+        task.end = newEnd.toLocalDate();
+    }
+
+    @Override
+    public List<Constraint<GanttDate>> getConstraints(ConstraintCalculator<SimpleTask> calculator,
+                                                      Set<SimpleDependency> withDependencies,
+                                                      Point point) {
+        List<Constraint<GanttDate>> result = new ArrayList<>();
+        for (SimpleDependency each : withDependencies) {
+            result.addAll(calculator.getConstraints(each, point));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Constraint<GanttDate>> getStartConstraintsFor(SimpleTask task) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Constraint<GanttDate>> getEndConstraintsFor(SimpleTask task) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public SimpleTask getSource(SimpleDependency dependency) {
+        return dependency.source;
+    }
+
+    @Override
+    public SimpleTask getDestination(SimpleDependency dependency) {
+        return dependency.destination;
+    }
+
+    @Override
+    public Class<SimpleDependency> getDependencyType() {
+        return SimpleDependency.class;
+    }
+
+    @Override
+    public SimpleDependency createInvisibleDependency(SimpleTask origin, SimpleTask destination,
+                                                      DependencyType type) {
+        return new SimpleDependency(origin, destination, type, false);
+    }
+
+    @Override
+    public DependencyType getType(SimpleDependency dependency) {
+        return dependency.type;
+    }
+
+    @Override
+    public boolean isVisible(SimpleDependency dependency) {
+        return dependency.visible;
+    }
+
+    @Override
+    public boolean isFixed(SimpleTask task) {
+        return false;
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.zkoss.ganttz.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ViewportTest {
+
+    @Test
+    public void containsTheRowsBetweenTheFirstAndTheLastOnes() {
+        Viewport viewport = Viewport.create(10, 20, 0, 500);
+
+        assertFalse(viewport.containsRow(9));
+        assertTrue(viewport.containsRow(10));
+        assertTrue(viewport.containsRow(20));
+        assertFalse(viewport.containsRow(21));
+    }
+
+    @Test
+    public void intersectsTheRangesOfRowsWithSomeRowInside() {
+        Viewport viewport = Viewport.create(10, 20, 0, 500);
+
+        assertFalse(viewport.intersectsRows(0, 9));
+        assertTrue(viewport.intersectsRows(0, 10));
+        assertTrue(viewport.intersectsRows(5, 30));
+        assertTrue(viewport.intersectsRows(20, 30));
+        assertFalse(viewport.intersectsRows(21, 30));
+    }
+
+    @Test
+    public void intersectsTheSegmentsWithSomePixelInside() {
+        Viewport viewport = Viewport.create(0, 10, 100, 200);
+
+        assertFalse(viewport.intersects(0, 99));
+        assertTrue(viewport.intersects(0, 100));
+        assertTrue(viewport.intersects(150, 150));
+        assertTrue(viewport.intersects(50, 300));
+        assertFalse(viewport.intersects(201, 300));
+    }
+
+    @Test
+    public void theBufferWidensTheViewportWithoutGoingBeforeTheFirstRow() {
+        Viewport viewport = Viewport.create(5, 20, 100, 200).withBuffer(10, 50);
+
+        assertEquals(0, viewport.getFirstRow());
+        assertEquals(30, viewport.getLastRow());
+        assertEquals(50, viewport.getLeftPixel());
+        assertEquals(250, viewport.getRightPixel());
+    }
+
+    @Test
+    public void theFirstRowsViewportHasNoHorizontalLimits() {
+        Viewport viewport = Viewport.firstRows(60).withBuffer(20, 1000);
+
+        assertTrue(viewport.containsRow(79));
+        assertFalse(viewport.containsRow(80));
+        assertTrue(viewport.intersects(Integer.MIN_VALUE, Integer.MIN_VALUE));
+        assertTrue(viewport.intersects(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void theLastRowCannotBeBeforeTheFirstOne() {
+        Viewport.create(10, 5, 0, 100);
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.calendars.entities;
+
+import static org.libreplan.business.workingday.EffortDuration.hours;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.LocalDate;
+import org.libreplan.business.calendars.entities.CalendarData.Days;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the capacity lookups of a year of days on a calendar derived from a calendar with many exceptions, so the
+ * cost of {@link CalendarCapacityIndex} can be compared for different numbers of exceptions and versions.
+ * <p>
+ * The calendar is derived from a calendar that is itself derived, and both have versions alternating their parent
+ * between the calendar with exceptions and another one. The <code>modifyingAnotherCalendar</code> case modifies an
+ * unrelated calendar before each year of lookups, which must not invalidate the index, and the
+ * <code>alternatingDistantYears</code> case looks up in turns days of two years far apart.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BaseCalendarCapacityBenchmark {
+
+    private static final LocalDate START = new LocalDate(2026, 1, 5);
+
+    private static final int DISTANT_YEARS = 30;
+
+    @Param({"10", "10000"})
+    private int exceptions;
+
+    @Param({"1", "4"})
+    private int versions;
+
+    private BaseCalendar calendar;
+
+    private BaseCalendar unrelatedCalendar;
+
+    @Setup(Level.Trial)
+    public void createCalendars() {
+        BaseCalendar withExceptions = createWorkingWeekCalendar();
+        CalendarExceptionType type = CalendarExceptionType.create(
+                "BENCHMARK", CalendarExceptionTypeColor.DEFAULT, true);
+        LocalDate day = START.minusDays(exceptions / 2);
+        for (int i = 0; i < exceptions; i++) {
+            withExceptions.addExceptionDay(CalendarException.create(day, hours(4), type));
+            day = day.plusDays(1);
+        }
+        BaseCalendar other = createWorkingWeekCalendar();
+
+        BaseCalendar intermediate = withExceptions.newDerivedCalendar();
+        addVersions(intermediate, withExceptions, other);
+        calendar = intermediate.newDerivedCalendar();
+        addVersions(calendar, intermediate, other);
+
+        unrelatedCalendar = createWorkingWeekCalendar();
+    }
+
+    /**
+     * Splits the year of lookups in versions whose parents alternate between the given ones.
+     */
+    private void addVersions(BaseCalendar derived, BaseCalendar parent, BaseCalendar other) {
+        int daysPerVersion = 366 / versions;
+        for (int i = 1; i < versions; i++) {
+            LocalDate versionStart = START.plusDays(i * daysPerVersion);
+            derived.newVersion(versionStart);
+            derived.setParent(i % 2 == 0 ? parent : other, versionStart);
+        }
+    }
+
+    private static BaseCalendar createWorkingWeekCalendar() {
+        BaseCalendar result = BaseCalendar.create();
+        result.setName("benchmark");
+        for (Days each : Days.values()) {
+            result.setCapacityAt(each, Capacity.create(hours(8)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void yearOfLookups(Blackhole blackhole) {
+        lookupYear(blackhole);
+    }
+
+    @Benchmark
+    public void modifyingAnotherCalendar(Blackhole blackhole) {
+        unrelatedCalendar.setCapacityAt(Days.MONDAY, Capacity.create(hours(7)));
+        lookupYear(blackhole);
+    }
+
+    @Benchmark
+    public void alternatingDistantYears(Blackhole blackhole) {
+        for (LocalDate day = START; day.isBefore(START.plusYears(1)); day = day.plusDays(1)) {
+            blackhole.consume(calendar.getCapacityWithOvertime(day));
+            blackhole.consume(calendar.getCapacityWithOvertime(day.plusYears(DISTANT_YEARS)));
+        }
+    }
+
+    private void lookupYear(Blackhole blackhole) {
+        for (LocalDate day = START; day.isBefore(START.plusYears(1)); day = day.plusDays(1)) {
+            blackhole.consume(calendar.getCapacityWithOvertime(day));
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.planner.entities;
+
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.LocalDate;
+import org.joda.time.LocalTime;
+import org.libreplan.business.resources.entities.Worker;
+import org.libreplan.business.workingday.EffortDuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the calculation of the estimated hours per day of 1000 tasks with 100 day assignments each, comparing
+ * {@link HoursCostSeries} with the previous calculation, which formatted each duration and parsed it back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class HoursCostSeriesBenchmark {
+
+    private static final int TASKS = 1000;
+
+    private static final int ASSIGNMENTS_PER_TASK = 100;
+
+    private static final LocalDate START = new LocalDate(2026, 1, 5);
+
+    private List<List<DayAssignment>> assignmentsPerTask;
+
+    @Setup(Level.Trial)
+    public void createAssignments() {
+        Random random = new Random(1);
+        Worker worker = Worker.create();
+        assignmentsPerTask = new ArrayList<>();
+
+        for (int i = 0; i < TASKS; i++) {
+            List<DayAssignment> assignments = new ArrayList<>();
+            LocalDate start = START.plusDays(random.nextInt(365));
+            for (int j = 0; j < ASSIGNMENTS_PER_TASK; j++) {
+                EffortDuration duration = EffortDuration.seconds(random.nextInt(11 * 3600));
+                assignments.add(SpecificDayAssignment.create(start.plusDays(j / 2), duration, worker));
+            }
+            assignmentsPerTask.add(assignments);
+        }
+    }
+
+    @Benchmark
+    public void hoursCostSeries(Blackhole blackhole) {
+        for (List<DayAssignment> each : assignmentsPerTask) {
+            blackhole.consume(HoursCostSeries.hoursPerDay(each, null, null));
+        }
+    }
+
+    @Benchmark
+    public void formattingAndParsingDurations(Blackhole blackhole) {
+        for (List<DayAssignment> each : assignmentsPerTask) {
+            blackhole.consume(formattingAndParsing(each));
+        }
+    }
+
+    /**
+     * The calculation done by {@link HoursCostCalculator} before using {@link HoursCostSeries}.
+     */
+    private static SortedMap<LocalDate, BigDecimal> formattingAndParsing(List<DayAssignment> dayAssignments) {
+        SortedMap<LocalDate, BigDecimal> result = new TreeMap<>();
+        int additionOfAllAssignmentsMinutes = 0;
+
+        for (DayAssignment dayAssignment : dayAssignments) {
+            LocalDate day = dayAssignment.getDay();
+            String currentTime = dayAssignment.getDuration().toFormattedString();
+            Date date = null;
+            try {
+                if ( isParsable("hh:mm", currentTime) ) {
+                    date = new SimpleDateFormat("hh:mm").parse(currentTime);
+                } else if ( isParsable("hh", currentTime) ) {
+                    date = new SimpleDateFormat("hh").parse(currentTime);
+                }
+            } catch (ParseException e) {
+                throw new RuntimeException(e);
+            }
+
+            LocalTime time = new LocalTime(date.getTime());
+            BigDecimal hours = new BigDecimal(time.getHourOfDay());
+            additionOfAllAssignmentsMinutes += time.getMinuteOfHour();
+
+            if ( !result.containsKey(day) ) {
+                result.put(day, BigDecimal.ZERO);
+            }
+            if ( dayAssignment.equals(dayAssignments.get(dayAssignments.size() - 1)) ) {
+                if ( additionOfAllAssignmentsMinutes >= 30 && additionOfAllAssignmentsMinutes <= 60 ) {
+                    hours = BigDecimal.valueOf(hours.intValue() + 1);
+                }
+                if ( additionOfAllAssignmentsMinutes > 60 ) {
+                    hours = BigDecimal.valueOf(hours.intValue() + (additionOfAllAssignmentsMinutes / 60));
+                }
+            }
+            result.put(day, result.get(day).add(hours));
+        }
+
+        return result;
+    }
+
+    private static boolean isParsable(String pattern, String input) {
+        try {
+            new SimpleDateFormat(pattern).parse(input);
+            return true;
+        } catch (ParseException e) {
+            return false;
+        }
+    }
+
+}
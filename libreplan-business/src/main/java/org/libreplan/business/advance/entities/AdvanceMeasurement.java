@@ -75,6 +75,10 @@ public class AdvanceMeasurement extends BaseEntity {
             resetCommunicationDate();
         }
         this.date = date;
+
+        if (advanceAssignment != null && advanceAssignment.getOrderElement() != null) {
+            advanceAssignment.getOrderElement().markAsDirtyLastAdvanceMeasurementForSpreading();
+        }
     }
 
     @NotNull(message = "date not specified")
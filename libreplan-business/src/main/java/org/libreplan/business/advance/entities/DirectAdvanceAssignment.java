@@ -89,6 +89,9 @@ public class DirectAdvanceAssignment extends AdvanceAssignment {
         if (maxValue != null) {
             this.maxValue.setScale(2);
         }
+        if (getOrderElement() != null && !fake) {
+            getOrderElement().markAsDirtyLastAdvanceMeasurementForSpreading();
+        }
     }
 
     public SortedSet<AdvanceMeasurement> getAdvanceMeasurements() {
@@ -99,6 +102,9 @@ public class DirectAdvanceAssignment extends AdvanceAssignment {
             SortedSet<AdvanceMeasurement> advanceMeasurements) {
         this.advanceMeasurements.clear();
         this.advanceMeasurements.addAll(advanceMeasurements);
+        if (getOrderElement() != null) {
+            getOrderElement().markAsDirtyLastAdvanceMeasurementForSpreading();
+        }
     }
 
     public AdvanceMeasurement getLastAdvanceMeasurement() {
@@ -27,6 +27,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.Objects;
+import java.util.WeakHashMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
@@ -74,6 +75,15 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
 
     private Integer lastSequenceCode = 0;
 
+    private transient CalendarCapacityIndex capacityIndex;
+
+    private transient long lastModification = 0;
+
+    /**
+     * Calendars whose capacities depend on this one, so they are notified of its modifications.
+     */
+    private transient Set<BaseCalendar> derivedCalendars = Collections.newSetFromMap(new WeakHashMap<>());
+
     /**
      * Constructor for hibernate. Do not use!
      */
@@ -176,6 +186,82 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
         getCalendarData(date).setParent(parent);
     }
 
+    /**
+     * Returns the {@link CalendarCapacityIndex} of this calendar, rebuilding it if this calendar or some of its
+     * parents was modified since it was created.
+     */
+    private CalendarCapacityIndex getCapacityIndex() {
+        CalendarCapacityIndex result = capacityIndex;
+        if (result == null || !result.isUpToDate(lastModification)) {
+            result = rebuildCapacityIndex();
+        }
+        return result;
+    }
+
+    private synchronized CalendarCapacityIndex rebuildCapacityIndex() {
+        long stamp = lastModification;
+        registerAsOwnerOfParts();
+        registerAsDerivedOfParents();
+        CalendarCapacityIndex result = CalendarCapacityIndex.create(stamp, exceptions);
+        capacityIndex = result;
+        return result;
+    }
+
+    /**
+     * So the modifications done directly on them invalidate the index of this calendar.
+     */
+    private void registerAsOwnerOfParts() {
+        for (CalendarException each : exceptions) {
+            each.setOwner(this);
+        }
+        for (CalendarData each : calendarDataVersions) {
+            each.setOwner(this);
+        }
+        for (CalendarAvailability each : calendarAvailabilities) {
+            each.setOwner(this);
+        }
+    }
+
+    /**
+     * So the modifications of the parents of any of the versions, or of their own parents, invalidate the index of
+     * this calendar.
+     */
+    private void registerAsDerivedOfParents() {
+        for (CalendarData each : calendarDataVersions) {
+            BaseCalendar parent = each.getParent();
+            if (parent != null) {
+                parent.addDerived(this);
+            }
+        }
+    }
+
+    void addDerived(BaseCalendar derived) {
+        synchronized (derivedCalendars) {
+            derivedCalendars.add(derived);
+        }
+        registerAsOwnerOfParts();
+        registerAsDerivedOfParents();
+    }
+
+    void calendarModified() {
+        propagateModification(CalendarCapacityIndex.nextModification());
+    }
+
+    void propagateModification(long modification) {
+        if (lastModification == modification) {
+            return;
+        }
+        lastModification = modification;
+
+        List<BaseCalendar> derived;
+        synchronized (derivedCalendars) {
+            derived = new ArrayList<>(derivedCalendars);
+        }
+        for (BaseCalendar each : derived) {
+            each.propagateModification(modification);
+        }
+    }
+
     public boolean isDerived() {
         return getParent() != null;
     }
@@ -219,13 +305,7 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
     }
 
     private boolean isExceptionDayAlreadyInExceptions(CalendarException exceptionDay) {
-        for (CalendarException day : exceptions) {
-            if (day.getDate().equals(exceptionDay.getDate())) {
-                return true;
-            }
-        }
-
-        return false;
+        return getOwnExceptionDay(exceptionDay.getDate()) != null;
     }
 
     public void addExceptionDay(CalendarException day) {
@@ -239,6 +319,7 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
         }
 
         exceptions.add(day);
+        calendarModified();
     }
 
     public void removeExceptionDay(LocalDate date) {
@@ -249,6 +330,7 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
         }
 
         exceptions.remove(day);
+        calendarModified();
     }
 
     public void updateExceptionDay(LocalDate date, Capacity capacity, CalendarExceptionType type) {
@@ -258,23 +340,36 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
     }
 
     public CalendarException getOwnExceptionDay(LocalDate date) {
-        for (CalendarException exceptionDay : exceptions) {
-            if (exceptionDay.getDate().equals(date)) {
-                return exceptionDay;
-            }
+        return getCapacityIndex().getOwnExceptionOn(date);
+    }
+
+    /**
+     * Returns the exception on the date, the own one or the one inherited from the parent calendar valid at that date.
+     * It gives the same result than searching by date in {@link #getExceptions(LocalDate)}, without building it.
+     */
+    public CalendarException getExceptionDay(LocalDate date) {
+        CalendarException own = getOwnExceptionDay(date);
+        if (own != null) {
+            return own;
         }
 
-        return null;
+        BaseCalendar parent = getParent(date);
+
+        return parent != null ? parent.getExceptionDayConsideringLastParent(date) : null;
     }
 
-    public CalendarException getExceptionDay(LocalDate date) {
-        for (CalendarException exceptionDay : getExceptions(date)) {
-            if (exceptionDay.getDate().equals(date)) {
-                return exceptionDay;
-            }
+    /**
+     * Same as searching by date in {@link #getExceptions()}.
+     */
+    private CalendarException getExceptionDayConsideringLastParent(LocalDate date) {
+        CalendarException own = getOwnExceptionDay(date);
+        if (own != null) {
+            return own;
         }
 
-        return null;
+        BaseCalendar parent = getParent();
+
+        return parent != null ? parent.getExceptionDayConsideringLastParent(date) : null;
     }
 
     @Override
@@ -290,6 +385,13 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
     }
 
     private Capacity findCapacityAt(LocalDate date) {
+        return getCapacityIndex().getCapacityAt(date, this);
+    }
+
+    /**
+     * Calculates the capacity without using the {@link CalendarCapacityIndex}, so it is only called to fill it.
+     */
+    Capacity calculateCapacityNotCachedAt(LocalDate date) {
         if (!isActive(date)) {
             return Capacity.zero();
         }
@@ -444,6 +546,7 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
                         }
 
                         Collections.sort(calendarDataVersions, CalendarData.BY_EXPIRING_DATE_COMPARATOR);
+                        calendarModified();
 
                         return newCalendarData;
                     }
@@ -491,6 +594,7 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
         CalendarData newCalendarData = CalendarData.create();
         calendarDataVersions.add(newCalendarData);
         Collections.sort(calendarDataVersions, CalendarData.BY_EXPIRING_DATE_COMPARATOR);
+        calendarModified();
 
         return newCalendarData;
     }
@@ -508,6 +612,7 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
         newCalendarData.setExpiringDate(expiringDate);
         calendarDataVersions.add(newCalendarData);
         Collections.sort(calendarDataVersions, CalendarData.BY_EXPIRING_DATE_COMPARATOR);
+        calendarModified();
 
         return newCalendarData;
     }
@@ -561,6 +666,7 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
             else{
                 calendarDataVersions.add(version);
                 Collections.sort(calendarDataVersions, CalendarData.BY_EXPIRING_DATE_COMPARATOR);
+                calendarModified();
                 return;
             }
         }
@@ -583,6 +689,7 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
                 }
 
                 calendarDataVersions.add(i, version);
+                calendarModified();
 
                 return;
             }
@@ -590,7 +697,7 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
 
         calendarDataVersions.add(version);
         Collections.sort(calendarDataVersions, CalendarData.BY_EXPIRING_DATE_COMPARATOR);
-
+        calendarModified();
     }
 
     public BaseCalendar newCopy() {
@@ -813,6 +920,7 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
         } else {
             calendarDataVersions.remove(calendarData);
         }
+        calendarModified();
     }
 
     public LocalDate getValidFrom(CalendarData calendarData) {
@@ -867,11 +975,13 @@ public class BaseCalendar extends IntegrationEntity implements ICalendar, IHuman
                 }
             }
             calendarAvailabilities.add(calendarAvailability);
+            calendarModified();
         }
     }
 
     public void removeCalendarAvailability(CalendarAvailability calendarAvailability) {
         calendarAvailabilities.remove(calendarAvailability);
+        calendarModified();
     }
 
     public boolean isActive(LocalDate date) {
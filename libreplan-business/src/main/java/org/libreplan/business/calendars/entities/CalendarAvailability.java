@@ -46,6 +46,8 @@ public class CalendarAvailability extends IntegrationEntity {
 
     private LocalDate endDate;
 
+    private transient BaseCalendar owner;
+
     /**
      * Constructor for hibernate. Do not use!
      */
@@ -81,6 +83,7 @@ public class CalendarAvailability extends IntegrationEntity {
         }
 
         this.startDate = startDate;
+        ownerModified();
     }
 
     public LocalDate getEndDate() {
@@ -92,6 +95,7 @@ public class CalendarAvailability extends IntegrationEntity {
             throw new IllegalArgumentException("End date must be greater or equal than start date");
         }
         this.endDate = endDate;
+        ownerModified();
     }
 
     public boolean isActive(LocalDate date) {
@@ -135,4 +139,14 @@ public class CalendarAvailability extends IntegrationEntity {
         return filterPeriod.overlaps(activationPeriod);
     }
 
+    void setOwner(BaseCalendar owner) {
+        this.owner = owner;
+    }
+
+    private void ownerModified() {
+        if (owner != null) {
+            owner.calendarModified();
+        }
+    }
+
 }
@@ -0,0 +1,159 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.calendars.entities;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.joda.time.LocalDate;
+
+/**
+ * Precomputed lookup structure used by {@link BaseCalendar} to answer capacity queries.
+ * <p>
+ * It keeps the own {@link CalendarException exceptions} of a calendar keyed by date and lazily filled blocks of
+ * per-day {@link Capacity capacities} (the ones resulting of merging exceptions, {@link CalendarData} versions,
+ * {@link CalendarAvailability availabilities} and the derivation chain). Blocks are keyed by their number, so
+ * queries alternating between distant dates keep the blocks of both.
+ * </p>
+ * <p>
+ * The index is stamped with the last modification of its calendar. The modifications of a calendar are propagated
+ * to the calendars derived from it, so checking the index only compares the stamp with a field of the calendar.
+ * </p>
+ */
+class CalendarCapacityIndex {
+
+    /**
+     * Number of days of each block of capacities.
+     */
+    static final int BLOCK_DAYS = 256;
+
+    /**
+     * Maximum number of blocks kept, covering about 45 years.
+     */
+    static final int MAX_BLOCKS = 64;
+
+    private static final AtomicLong modificationsClock = new AtomicLong();
+
+    /**
+     * Returns a value greater than any previous one, to be recorded as the last modification of a calendar.
+     */
+    static long nextModification() {
+        return modificationsClock.incrementAndGet();
+    }
+
+    static CalendarCapacityIndex create(long stamp, Collection<CalendarException> ownExceptions) {
+        return new CalendarCapacityIndex(stamp, ownExceptions);
+    }
+
+    /**
+     * Days since 1970-01-01, computed from the fields of the date so no other object is created for each query.
+     */
+    static int epochDay(LocalDate date) {
+        int month = date.getMonthOfYear();
+        // Years are counted from March, so the leap day is the last one of the year
+        int year = month <= 2 ? date.getYear() - 1 : date.getYear();
+        int era = Math.floorDiv(year, 400);
+        int yearOfEra = year - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + date.getDayOfMonth() - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static class Block {
+
+        private final int number;
+
+        private final Capacity[] capacities = new Capacity[BLOCK_DAYS];
+
+        private Block(int number) {
+            this.number = number;
+        }
+    }
+
+    private final long stamp;
+
+    private final Map<LocalDate, CalendarException> exceptionsByDate;
+
+    private final ConcurrentMap<Integer, Block> blocks = new ConcurrentHashMap<>();
+
+    /**
+     * Consecutive queries usually fall in the same block, so they don't go through the map.
+     */
+    private volatile Block lastBlock;
+
+    private CalendarCapacityIndex(long stamp, Collection<CalendarException> ownExceptions) {
+        this.stamp = stamp;
+        this.exceptionsByDate = new HashMap<>(ownExceptions.size() * 2);
+        for (CalendarException each : ownExceptions) {
+            exceptionsByDate.put(each.getDate(), each);
+        }
+    }
+
+    boolean isUpToDate(long currentStamp) {
+        return stamp == currentStamp;
+    }
+
+    CalendarException getOwnExceptionOn(LocalDate date) {
+        return exceptionsByDate.get(date);
+    }
+
+    Capacity getCapacityAt(LocalDate date, BaseCalendar calendar) {
+        int epochDay = epochDay(date);
+        Block block = getBlock(Math.floorDiv(epochDay, BLOCK_DAYS));
+
+        int position = Math.floorMod(epochDay, BLOCK_DAYS);
+        Capacity result = block.capacities[position];
+
+        if (result == null) {
+            result = calendar.calculateCapacityNotCachedAt(date);
+            block.capacities[position] = result;
+        }
+
+        return result;
+    }
+
+    private Block getBlock(int number) {
+        Block result = lastBlock;
+        if (result != null && result.number == number) {
+            return result;
+        }
+
+        result = blocks.get(number);
+        if (result == null) {
+            if (blocks.size() >= MAX_BLOCKS) {
+                blocks.clear();
+            }
+            Block created = new Block(number);
+            result = blocks.putIfAbsent(number, created);
+            if (result == null) {
+                result = created;
+            }
+        }
+        lastBlock = result;
+
+        return result;
+    }
+
+}
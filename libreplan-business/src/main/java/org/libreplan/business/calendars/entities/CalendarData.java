@@ -76,6 +76,7 @@ public class CalendarData extends IntegrationEntity {
         if (parent != null) {
             this.parent = parent;
         }
+        ownerModified();
     }
 
     public void updateCapacitiesPerDay(Map<Integer, Capacity> capacityPerDay) throws IllegalArgumentException {
@@ -96,6 +97,8 @@ public class CalendarData extends IntegrationEntity {
 
     private BaseCalendar parent;
 
+    private transient BaseCalendar owner;
+
     public enum Days {
         MONDAY(Calendar.MONDAY),
         TUESDAY(Calendar.TUESDAY),
@@ -160,6 +163,7 @@ public class CalendarData extends IntegrationEntity {
 
     public void setCapacityAt(Days day, Capacity capacity) {
         capacityPerDay.put(day.ordinal(), capacity);
+        ownerModified();
     }
 
 
@@ -181,6 +185,7 @@ public class CalendarData extends IntegrationEntity {
 
     public void setExpiringDate(LocalDate expiringDate) {
         this.expiringDate = expiringDate;
+        ownerModified();
     }
 
     public CalendarData copy() {
@@ -198,10 +203,12 @@ public class CalendarData extends IntegrationEntity {
 
     public void setParent(BaseCalendar parent) {
         this.parent = parent;
+        ownerModified();
     }
 
     public void removeExpiringDate() {
         this.expiringDate = null;
+        ownerModified();
     }
 
     public boolean isPosteriorTo(LocalDate date) {
@@ -249,4 +256,14 @@ public class CalendarData extends IntegrationEntity {
         calendar.setCapacityAt(Days.SUNDAY, Capacity.zero());
     }
 
+    void setOwner(BaseCalendar owner) {
+        this.owner = owner;
+    }
+
+    private void ownerModified() {
+        if (owner != null) {
+            owner.calendarModified();
+        }
+    }
+
 }
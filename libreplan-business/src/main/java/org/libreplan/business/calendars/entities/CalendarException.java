@@ -21,6 +21,9 @@
 
 package org.libreplan.business.calendars.entities;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.commons.lang3.Validate;
 import javax.validation.constraints.NotNull;
 import org.joda.time.LocalDate;
@@ -82,6 +85,7 @@ public class CalendarException extends IntegrationEntity {
         if (type != null) {
             this.type = type;
         }
+        ownerModified();
     }
 
     private LocalDate date;
@@ -90,6 +94,11 @@ public class CalendarException extends IntegrationEntity {
 
     private CalendarExceptionType type;
 
+    /**
+     * Usually one, but copies of a calendar share its exceptions.
+     */
+    private transient List<BaseCalendar> owners = new ArrayList<>(1);
+
     /**
      * Constructor for hibernate. Do not use!
      */
@@ -129,4 +138,19 @@ public class CalendarException extends IntegrationEntity {
         return Registry.getCalendarExceptionDAO();
     }
 
+    void setOwner(BaseCalendar owner) {
+        for (BaseCalendar each : owners) {
+            if (each == owner) {
+                return;
+            }
+        }
+        owners.add(owner);
+    }
+
+    private void ownerModified() {
+        for (BaseCalendar each : owners) {
+            each.calendarModified();
+        }
+    }
+
 }
@@ -22,9 +22,17 @@
 package org.libreplan.business.common.daos;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.hibernate.Query;
+import org.libreplan.business.common.AdHocTransactionService;
+import org.libreplan.business.common.IAdHocTransactionService;
 import org.libreplan.business.common.entities.Configuration;
+import org.libreplan.business.common.entities.ConfigurationSnapshot;
+import org.libreplan.business.hibernate.notification.IAutoUpdatedSnapshot;
+import org.libreplan.business.hibernate.notification.ISnapshotRefresherService;
+import org.libreplan.business.hibernate.notification.ReloadOn;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Repository;
@@ -40,6 +48,14 @@ import org.springframework.transaction.annotation.Transactional;
 @Scope(BeanDefinition.SCOPE_SINGLETON)
 public class ConfigurationDAO extends GenericDAOHibernate<Configuration, Long> implements IConfigurationDAO {
 
+    @Autowired
+    private IAdHocTransactionService transactionService;
+
+    @Autowired
+    private ISnapshotRefresherService snapshotRefresherService;
+
+    private volatile IAutoUpdatedSnapshot<ConfigurationSnapshot> configurationSnapshot;
+
     @Override
     @Transactional(readOnly = true)
     public Configuration getConfiguration() {
@@ -54,6 +70,42 @@ public class ConfigurationDAO extends GenericDAOHibernate<Configuration, Long> i
         return getConfiguration();
     }
 
+    @Override
+    public ConfigurationSnapshot getConfigurationSnapshot() {
+        IAutoUpdatedSnapshot<ConfigurationSnapshot> result = configurationSnapshot;
+        if ( result == null ) {
+            synchronized (this) {
+                if ( configurationSnapshot == null ) {
+                    configurationSnapshot = takeConfigurationSnapshot();
+                }
+                result = configurationSnapshot;
+            }
+        }
+
+        return result.getValue();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void reloadConfigurationSnapshot() {
+        IAutoUpdatedSnapshot<ConfigurationSnapshot> snapshot = configurationSnapshot;
+        if ( snapshot == null ) {
+            getConfigurationSnapshot();
+        } else {
+            snapshot.reloadNow();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private IAutoUpdatedSnapshot<ConfigurationSnapshot> takeConfigurationSnapshot() {
+        Callable<ConfigurationSnapshot> calculation = () -> ConfigurationSnapshot.from(getConfiguration());
+
+        return snapshotRefresherService.takeSnapshot(
+                "configuration",
+                AdHocTransactionService.readOnlyProxy(transactionService, Callable.class, calculation),
+                ReloadOn.onChangeOf(Configuration.class));
+    }
+
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void saveChangedDefaultPassword(String user, boolean change) {
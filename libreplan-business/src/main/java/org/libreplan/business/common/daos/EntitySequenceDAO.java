@@ -21,8 +21,13 @@
 
 package org.libreplan.business.common.daos;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.Validate;
 import org.hibernate.NonUniqueResultException;
@@ -47,6 +52,16 @@ import org.springframework.transaction.annotation.Transactional;
 @Scope(BeanDefinition.SCOPE_SINGLETON)
 public class EntitySequenceDAO extends GenericDAOHibernate<EntitySequence, Long> implements IEntitySequenceDAO {
 
+    /**
+     * Number of codes reserved at once when a single code is requested. The ones not returned are kept in memory for
+     * the next requests of the same entity, checking again they are not used before returning them.
+     */
+    private static final int CODES_BLOCK_SIZE = 20;
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final Map<EntityNameEnum, Deque<String>> reservedCodes = new EnumMap<>(EntityNameEnum.class);
+
     @Override
     public List<EntitySequence> getAll() {
         return list(EntitySequence.class);
@@ -98,22 +113,70 @@ public class EntitySequenceDAO extends GenericDAOHibernate<EntitySequence, Long>
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public String getNextEntityCode(EntityNameEnum entityName) {
-        return getNextEntityCodeWithoutTransaction(entityName);
+        List<String> reserved = takeUnusedReservedCodes(entityName, 1);
+        if ( !reserved.isEmpty() ) {
+            return reserved.get(0);
+        }
+
+        List<String> codes = reserveCodes(entityName, CODES_BLOCK_SIZE);
+        if ( codes == null ) {
+            return null;
+        }
+        // The codes are only kept once the new value of the sequence has been written
+        flush();
+        returnReservedCodes(entityName, codes.subList(1, codes.size()));
+
+        return codes.get(0);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<String> getNextEntityCodes(EntityNameEnum entityName, int numberOfCodes) {
+        List<String> result = new ArrayList<>(takeUnusedReservedCodes(entityName, numberOfCodes));
+        if ( result.size() == numberOfCodes ) {
+            return result;
+        }
+
+        List<String> codes = reserveCodes(entityName, numberOfCodes - result.size());
+        if ( codes == null ) {
+            returnReservedCodes(entityName, result);
+            return null;
+        }
+        result.addAll(codes);
+
+        return result;
     }
 
+    @Override
     public String getNextEntityCodeWithoutTransaction(EntityNameEnum entityName) {
-        for (int i = 0; i < 5; i++) {
+        List<String> codes = reserveCodes(entityName, 1);
+        return codes != null ? codes.get(0) : null;
+    }
+
+    /**
+     * Increments the active sequence of the entity until it has generated the requested number of codes not used by
+     * any entity. The uniqueness of the candidates is checked with a single query for each round.
+     *
+     * @return the codes in the order they were generated, or <code>null</code> if the sequence could not be updated
+     */
+    private List<String> reserveCodes(EntityNameEnum entityName, int numberOfCodes) {
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
             try {
-                String code;
                 EntitySequence entitySequence = getActiveEntitySequence(entityName);
+                List<String> result = new ArrayList<>(numberOfCodes);
 
-                do {
-                    entitySequence.incrementLastValue();
-                    code = entitySequence.getCode();
-                } while (entityName.getIntegrationEntityDAO().existsByCode(code));
+                while (result.size() < numberOfCodes) {
+                    List<String> candidates = new ArrayList<>();
+                    for (int j = result.size(); j < numberOfCodes; j++) {
+                        entitySequence.incrementLastValue();
+                        candidates.add(entitySequence.getCode());
+                    }
+
+                    result.addAll(withoutUsedCodes(entityName, candidates));
+                }
 
                 save(entitySequence);
-                return code;
+                return result;
 
             } catch (HibernateOptimisticLockingFailureException | InstanceNotFoundException | NonUniqueResultException e) {
                 // Do nothing (optimistic approach 5 attempts)
@@ -123,6 +186,68 @@ public class EntitySequenceDAO extends GenericDAOHibernate<EntitySequence, Long>
         return null;
     }
 
+    /**
+     * Returns the codes not used by any entity, checked with a single query.
+     */
+    private List<String> withoutUsedCodes(EntityNameEnum entityName, List<String> codes) {
+        Set<String> existing = entityName.getIntegrationEntityDAO().findExistingCodes(codes);
+        List<String> result = new ArrayList<>();
+        for (String each : codes) {
+            if ( !existing.contains(each.trim().toLowerCase()) ) {
+                result.add(each);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Takes up to the requested number of codes kept in memory. An entity could have been given one of them since
+     * they were reserved, e.g. its code was typed by hand or it came from an import, so the used ones are discarded.
+     */
+    private List<String> takeUnusedReservedCodes(EntityNameEnum entityName, int numberOfCodes) {
+        List<String> result = new ArrayList<>();
+        while (result.size() < numberOfCodes) {
+            List<String> reserved = takeReservedCodes(entityName, numberOfCodes - result.size());
+            if ( reserved.isEmpty() ) {
+                break;
+            }
+            result.addAll(withoutUsedCodes(entityName, reserved));
+        }
+        return result;
+    }
+
+    private List<String> takeReservedCodes(EntityNameEnum entityName, int numberOfCodes) {
+        synchronized (reservedCodes) {
+            Deque<String> codes = reservedCodes.get(entityName);
+            List<String> result = new ArrayList<>();
+            while (codes != null && !codes.isEmpty() && result.size() < numberOfCodes) {
+                result.add(codes.poll());
+            }
+            return result;
+        }
+    }
+
+    private void returnReservedCodes(EntityNameEnum entityName, List<String> codes) {
+        synchronized (reservedCodes) {
+            Deque<String> existing = reservedCodes.get(entityName);
+            if ( existing == null ) {
+                existing = new ArrayDeque<>();
+                reservedCodes.put(entityName, existing);
+            }
+            // Codes are kept in the order they were generated
+            for (int i = codes.size() - 1; i >= 0; i--) {
+                existing.addFirst(codes.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void discardReservedCodes() {
+        synchronized (reservedCodes) {
+            reservedCodes.clear();
+        }
+    }
+
     @Override
     public boolean existOtherActiveSequenceByEntityNameForNewObject(EntitySequence entitySequence) {
         Validate.notNull(entitySequence);
@@ -0,0 +1,81 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.common.daos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.Validate;
+import org.hibernate.Query;
+import org.hibernate.Session;
+
+/**
+ * Initializes in bulk the lazy associations of entities that are going to be navigated, avoiding a query for each
+ * entity when they are accessed one by one.
+ * <p>
+ * Each step is an HQL query fetching an association of the entities selected by a set of ids, that are received in
+ * the <code>ids</code> parameter. The entities already in the session get their associations initialized with the
+ * results. The ids are split in chunks small enough to be used in an <code>in</code> clause.
+ * </p>
+ */
+public class FetchPlan {
+
+    private static final int IN_CLAUSE_MAX_SIZE = 500;
+
+    public static FetchPlan of(String... steps) {
+        Validate.noNullElements(steps);
+        return new FetchPlan(Arrays.asList(steps));
+    }
+
+    private final List<String> steps;
+
+    private FetchPlan(List<String> steps) {
+        this.steps = steps;
+    }
+
+    public void fetch(Session session, Collection<Long> ids) {
+        fetch(session, ids, Collections.<String, Object> emptyMap());
+    }
+
+    /**
+     * @param parameters
+     *            values for the other named parameters of the steps. Each step only receives the ones it uses.
+     */
+    public void fetch(Session session, Collection<Long> ids, Map<String, Object> parameters) {
+        List<Long> all = new ArrayList<>(ids);
+        for (String each : steps) {
+            for (int i = 0; i < all.size(); i += IN_CLAUSE_MAX_SIZE) {
+                Query query = session.createQuery(each);
+                query.setParameterList("ids", all.subList(i, Math.min(i + IN_CLAUSE_MAX_SIZE, all.size())));
+                for (String name : query.getNamedParameters()) {
+                    if ( parameters.containsKey(name) ) {
+                        query.setParameter(name, parameters.get(name));
+                    }
+                }
+                query.list();
+            }
+        }
+    }
+
+}
@@ -22,6 +22,7 @@
 package org.libreplan.business.common.daos;
 
 import org.libreplan.business.common.entities.Configuration;
+import org.libreplan.business.common.entities.ConfigurationSnapshot;
 
 /**
  * DAO interface for {@link ConfigurationDAO}.
@@ -40,6 +41,21 @@ public interface IConfigurationDAO extends IGenericDAO<Configuration, Long> {
      */
     Configuration getConfigurationWithReadOnlyTransaction();
 
+    /**
+     * @return The values of the application configuration shared by the whole application, without accessing the
+     *         database. It is refreshed in background when the configuration is modified. It is <code>null</code> if
+     *         there is no configuration yet.
+     */
+    ConfigurationSnapshot getConfigurationSnapshot();
+
+    /**
+     * Calculates again the value returned by {@link #getConfigurationSnapshot()} without waiting for the background
+     * refresh. It is done on its own transaction, so it must be called once the modifications are committed. It is
+     * needed to show them in the next render or when they are not notified, like the bulk update done by
+     * {@link #saveChangedDefaultPassword(String, boolean)}.
+     */
+    void reloadConfigurationSnapshot();
+
     /**
      * It changes the value in the field changedDefaultAdminPassword of a
      * specified user.
@@ -49,10 +49,25 @@ public interface IEntitySequenceDAO extends IGenericDAO<EntitySequence, Long> {
     EntitySequence getActiveEntitySequence(EntityNameEnum entityName)
             throws InstanceNotFoundException, NonUniqueResultException;
 
+    /**
+     * Returns a new code for the entity. Codes are reserved from the active sequence in blocks, so most of the calls
+     * are answered from memory.
+     */
     String getNextEntityCode(EntityNameEnum entityName);
 
+    /**
+     * Returns <code>numberOfCodes</code> new codes for the entity reserving them at once, or <code>null</code> if
+     * they could not be reserved.
+     */
+    List<String> getNextEntityCodes(EntityNameEnum entityName, int numberOfCodes);
+
     String getNextEntityCodeWithoutTransaction(EntityNameEnum entityName);
 
+    /**
+     * Forgets the codes reserved in memory. It must be called when the sequences are modified.
+     */
+    void discardReservedCodes();
+
     boolean existOtherActiveSequenceByEntityNameForNewObject(EntitySequence entitySequence);
 
     Integer getNumberOfDigitsCode(EntityNameEnum entityName);
@@ -21,7 +21,10 @@
 
 package org.libreplan.business.common.daos;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.libreplan.business.common.IntegrationEntity;
 import org.libreplan.business.common.exceptions.InstanceNotFoundException;
@@ -63,9 +66,37 @@ public interface IIntegrationEntityDAO<E extends IntegrationEntity>
 
     public E findExistingEntityByCode(String code);
 
+    /**
+     * It returns the entities having any of the <code>codes</code>, compared
+     * as in {@link #findByCode(String)}. Blank codes are ignored.
+     */
+    public List<E> findByCodes(Collection<String> codes);
+
+    /**
+     * It returns which of the <code>codes</code> are used by any entity,
+     * trimmed and in lower case. Blank codes are ignored.
+     */
+    public Set<String> findExistingCodes(Collection<String> codes);
+
     /**
      * It returns all entities ordered by ascending code.
      */
     public List<E> findAll();
 
+    /**
+     * It returns at most <code>maxResults</code> entities with a code greater
+     * than <code>code</code>, ordered by ascending code. If <code>code</code>
+     * is <code>null</code> it starts from the first entity.
+     */
+    public List<E> findAfterCode(String code, int maxResults);
+
+    /**
+     * It passes all entities ordered by ascending code to
+     * <code>action</code>, reading them as they are needed. The session is
+     * cleared every <code>clearInterval</code> entities, so they must not be
+     * used once <code>action</code> returns.
+     */
+    public void forEachOrderedByCode(int clearInterval,
+        Consumer<? super E> action);
+
 }
@@ -21,9 +21,18 @@
 
 package org.libreplan.business.common.daos;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.Criteria;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.criterion.Order;
 import org.hibernate.criterion.Restrictions;
 import org.libreplan.business.common.IntegrationEntity;
@@ -41,6 +50,8 @@ public class IntegrationEntityDAO<E extends IntegrationEntity>
         extends GenericDAOHibernate<E, Long>
         implements IIntegrationEntityDAO<E> {
 
+    private static final int IN_CLAUSE_MAX_SIZE = 500;
+
     @Override
     public boolean existsByCode(String code) {
         try {
@@ -94,10 +105,96 @@ public class IntegrationEntityDAO<E extends IntegrationEntity>
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<E> findByCodes(Collection<String> codes) {
+        List<String> all = toLowerCaseCodes(codes);
+        List<E> result = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += IN_CLAUSE_MAX_SIZE) {
+            result.addAll(getSession()
+                    .createQuery("SELECT e FROM " + getEntityClass().getName() + " e "
+                            + "WHERE lower(e." + getCodeProperty() + ") IN (:codes)")
+                    .setParameterList("codes", all.subList(i, Math.min(i + IN_CLAUSE_MAX_SIZE, all.size())))
+                    .list());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Set<String> findExistingCodes(Collection<String> codes) {
+        List<String> all = toLowerCaseCodes(codes);
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i < all.size(); i += IN_CLAUSE_MAX_SIZE) {
+            result.addAll(getSession()
+                    .createQuery("SELECT lower(e." + getCodeProperty() + ") FROM " + getEntityClass().getName()
+                            + " e WHERE lower(e." + getCodeProperty() + ") IN (:codes)")
+                    .setParameterList("codes", all.subList(i, Math.min(i + IN_CLAUSE_MAX_SIZE, all.size())))
+                    .list());
+        }
+        return result;
+    }
+
+    private static List<String> toLowerCaseCodes(Collection<String> codes) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String each : codes) {
+            if (!StringUtils.isBlank(each)) {
+                result.add(each.trim().toLowerCase());
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public List<E> findAll() {
         return getSession().createCriteria(getEntityClass()).addOrder(Order.asc("code")).list();
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<E> findAfterCode(String code, int maxResults) {
+        Criteria criteria = createCriteriaOrderedByCode();
+        if (code != null) {
+            criteria.add(Restrictions.gt(getCodeProperty(), code));
+        }
+        return criteria.setMaxResults(maxResults).list();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEachOrderedByCode(int clearInterval, Consumer<? super E> action) {
+        ScrollableResults results = createCriteriaOrderedByCode()
+                .setFetchSize(clearInterval)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        try {
+            int processed = 0;
+            while (results.next()) {
+                action.accept((E) results.get(0));
+                processed++;
+                if (processed % clearInterval == 0) {
+                    getSession().clear();
+                }
+            }
+        } finally {
+            results.close();
+        }
+    }
+
+    /**
+     * Criteria used by {@link #findAfterCode(String, int)} and
+     * {@link #forEachOrderedByCode(int, Consumer)}. Subclasses can override it
+     * to leave out some entities.
+     */
+    protected Criteria createCriteriaOrderedByCode() {
+        return getSession()
+                .createCriteria(getEntityClass())
+                .addOrder(Order.asc(getCodeProperty()));
+    }
+
+    protected String getCodeProperty() {
+        return "code";
+    }
+
 }
@@ -0,0 +1,122 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.common.entities;
+
+/**
+ * Immutable copy of the values of {@link Configuration} read on every page render. As it does not reference other
+ * entities, it can be shared between sessions and threads.
+ * <p>
+ * The values are the ones returned by the getters of {@link Configuration} with the same name.
+ * </p>
+ */
+public class ConfigurationSnapshot {
+
+    public static ConfigurationSnapshot from(Configuration configuration) {
+        return configuration != null ? new ConfigurationSnapshot(configuration) : null;
+    }
+
+    private final String companyLogoURL;
+
+    private final String currencySymbol;
+
+    private final ProgressType progressType;
+
+    private final boolean scenariosVisible;
+
+    private final boolean monteCarloMethodTabVisible;
+
+    private final boolean autocompleteLogin;
+
+    private final boolean changedDefaultAdminPassword;
+
+    private final boolean checkNewVersionEnabled;
+
+    private final boolean allowedToGatherUsageStatsEnabled;
+
+    private final boolean enabledAutomaticBudget;
+
+    private final Integer secondsPlanningWarning;
+
+    private final PersonalTimesheetsPeriodicityEnum personalTimesheetsPeriodicity;
+
+    private ConfigurationSnapshot(Configuration configuration) {
+        companyLogoURL = configuration.getCompanyLogoURL();
+        currencySymbol = configuration.getCurrencySymbol();
+        progressType = configuration.getProgressType();
+        scenariosVisible = Boolean.TRUE.equals(configuration.isScenariosVisible());
+        monteCarloMethodTabVisible = Boolean.TRUE.equals(configuration.isMonteCarloMethodTabVisible());
+        autocompleteLogin = configuration.isAutocompleteLogin();
+        changedDefaultAdminPassword = configuration.getChangedDefaultAdminPassword();
+        checkNewVersionEnabled = configuration.isCheckNewVersionEnabled();
+        allowedToGatherUsageStatsEnabled = configuration.isAllowedToGatherUsageStatsEnabled();
+        enabledAutomaticBudget = Boolean.TRUE.equals(configuration.isEnabledAutomaticBudget());
+        secondsPlanningWarning = configuration.getSecondsPlanningWarning();
+        personalTimesheetsPeriodicity = configuration.getPersonalTimesheetsPeriodicity();
+    }
+
+    public String getCompanyLogoURL() {
+        return companyLogoURL;
+    }
+
+    public String getCurrencySymbol() {
+        return currencySymbol;
+    }
+
+    public ProgressType getProgressType() {
+        return progressType;
+    }
+
+    public boolean isScenariosVisible() {
+        return scenariosVisible;
+    }
+
+    public boolean isMonteCarloMethodTabVisible() {
+        return monteCarloMethodTabVisible;
+    }
+
+    public boolean isAutocompleteLogin() {
+        return autocompleteLogin;
+    }
+
+    public boolean getChangedDefaultAdminPassword() {
+        return changedDefaultAdminPassword;
+    }
+
+    public boolean isCheckNewVersionEnabled() {
+        return checkNewVersionEnabled;
+    }
+
+    public boolean isAllowedToGatherUsageStatsEnabled() {
+        return allowedToGatherUsageStatsEnabled;
+    }
+
+    public boolean isEnabledAutomaticBudget() {
+        return enabledAutomaticBudget;
+    }
+
+    public Integer getSecondsPlanningWarning() {
+        return secondsPlanningWarning;
+    }
+
+    public PersonalTimesheetsPeriodicityEnum getPersonalTimesheetsPeriodicity() {
+        return personalTimesheetsPeriodicity;
+    }
+
+}
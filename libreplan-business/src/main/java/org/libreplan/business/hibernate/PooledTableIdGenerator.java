@@ -0,0 +1,59 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.hibernate;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Identifier generator used by all the entities.
+ * <p>
+ * The next value of each entity table is kept in a row of the {@value #TABLE} table, that is locked when it is
+ * updated, so several application instances can share the same database. Identifiers are reserved in blocks of
+ * {@value #INCREMENT_SIZE} with the pooled optimizer, so the table is only accessed once per block and the inserts of
+ * an entity can be batched.
+ * </p>
+ * <p>
+ * When the row of a table is created by a migration it must be given the maximum identifier of the table plus
+ * {@value #INCREMENT_SIZE}.
+ * </p>
+ */
+public class PooledTableIdGenerator extends TableGenerator {
+
+    public static final String TABLE = DEF_TABLE;
+
+    public static final int INCREMENT_SIZE = 100;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Properties result = new Properties();
+        result.setProperty(CONFIG_PREFER_SEGMENT_PER_ENTITY, "true");
+        result.setProperty(INCREMENT_PARAM, Integer.toString(INCREMENT_SIZE));
+        result.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+        result.putAll(params);
+        super.configure(type, result, serviceRegistry);
+    }
+
+}
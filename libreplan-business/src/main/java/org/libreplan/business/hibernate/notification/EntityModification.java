@@ -0,0 +1,106 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.libreplan.business.hibernate.notification;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An insertion, update or deletion of an entity done in a committed transaction.
+ * <p>
+ * Besides the id of the modified entity, the ids of the entities it referenced through many-to-one associations are
+ * kept, so the owner of a deleted entity can be known. For updates the ones referenced before the update are kept too.
+ * </p>
+ */
+public class EntityModification {
+
+    public enum Type {
+        INSERT, UPDATE, DELETE
+    }
+
+    private final Class<?> entityClass;
+
+    private final Long id;
+
+    private final Type type;
+
+    private final Map<String, Long> referencedIds;
+
+    private final Map<String, Long> previouslyReferencedIds;
+
+    EntityModification(Class<?> entityClass, Long id, Type type, Map<String, Long> referencedIds) {
+        this(entityClass, id, type, referencedIds, Collections.<String, Long> emptyMap());
+    }
+
+    EntityModification(Class<?> entityClass, Long id, Type type, Map<String, Long> referencedIds,
+                       Map<String, Long> previouslyReferencedIds) {
+        this.entityClass = entityClass;
+        this.id = id;
+        this.type = type;
+        this.referencedIds = new HashMap<>(referencedIds);
+        this.previouslyReferencedIds = new HashMap<>(previouslyReferencedIds);
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isDeletion() {
+        return type == Type.DELETE;
+    }
+
+    public boolean isOn(Class<?> klass) {
+        return klass.isAssignableFrom(entityClass);
+    }
+
+    /**
+     * @return the id of the entity referenced by the property, or <code>null</code> if the property is not a
+     *         many-to-one association or it was empty
+     */
+    public Long getReferencedId(String property) {
+        return referencedIds.get(property);
+    }
+
+    /**
+     * @return the id of the entity referenced by the property before an update, or <code>null</code> if it is not
+     *         an update or the previous state was not known
+     */
+    public Long getPreviouslyReferencedId(String property) {
+        return previouslyReferencedIds.get(property);
+    }
+
+    public Map<String, Long> getReferencedIds() {
+        return Collections.unmodifiableMap(referencedIds);
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + entityClass.getSimpleName() + "#" + id;
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.libreplan.business.hibernate.notification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@link EntityModification modifications} done by a committed transaction.
+ */
+public class EntityModifications {
+
+    public static EntityModifications of(Collection<EntityModification> modifications) {
+        return new EntityModifications(modifications);
+    }
+
+    private final List<EntityModification> modifications;
+
+    private EntityModifications(Collection<EntityModification> modifications) {
+        this.modifications = new ArrayList<>(modifications);
+    }
+
+    public List<EntityModification> getAll() {
+        return Collections.unmodifiableList(modifications);
+    }
+
+    public Set<Class<?>> getModifiedClasses() {
+        Set<Class<?>> result = new HashSet<>();
+        for (EntityModification each : modifications) {
+            result.add(each.getEntityClass());
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return modifications.isEmpty();
+    }
+
+    /**
+     * @return the modifications done on entities of the class or any of its subclasses
+     */
+    public List<EntityModification> on(Class<?> klass) {
+        List<EntityModification> result = new ArrayList<>();
+        for (EntityModification each : modifications) {
+            if (each.isOn(klass)) {
+                result.add(each);
+            }
+        }
+        return result;
+    }
+
+    public Set<Long> getIdsOf(Class<?> klass) {
+        Set<Long> result = new HashSet<>();
+        for (EntityModification each : on(klass)) {
+            result.add(each.getId());
+        }
+        return result;
+    }
+
+    public Set<Long> getDeletedIdsOf(Class<?> klass) {
+        Set<Long> result = new HashSet<>();
+        for (EntityModification each : on(klass)) {
+            if (each.isDeletion()) {
+                result.add(each.getId());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the deletion of the entity of the class with the id, or <code>null</code> if it was not deleted.
+     */
+    public EntityModification findDeletion(Class<?> klass, Long id) {
+        for (EntityModification each : on(klass)) {
+            if (each.isDeletion() && each.getId().equals(id)) {
+                return each;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return modifications.toString();
+    }
+
+}
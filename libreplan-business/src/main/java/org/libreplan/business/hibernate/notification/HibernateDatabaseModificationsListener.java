@@ -21,9 +21,13 @@
 package org.libreplan.business.hibernate.notification;
 
 import java.util.ArrayList;
+import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
@@ -53,6 +57,8 @@ import org.hibernate.event.spi.PostUpdateEventListener;
 import org.hibernate.internal.SessionFactoryImpl;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.Type;
+import org.libreplan.business.common.BaseEntity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -74,13 +80,6 @@ public class HibernateDatabaseModificationsListener implements
 
     private ConcurrentMap<Transaction, Dispatcher> pending = new ConcurrentHashMap<>();
 
-    private Set<NotBlockingAutoUpdatedSnapshot<?>> snapshotsInterestedOn(Class<?> entityClass) {
-        List<Class<?>> list = new ArrayList<>(1);
-        list.add(entityClass);
-
-        return snapshotsInterestedOn(list);
-    }
-
     private Set<NotBlockingAutoUpdatedSnapshot<?>> snapshotsInterestedOn(Collection<? extends Class<?>> classesList) {
         Set<NotBlockingAutoUpdatedSnapshot<?>> result = new HashSet<>();
 
@@ -96,16 +95,16 @@ public class HibernateDatabaseModificationsListener implements
 
     private final class Dispatcher implements Synchronization {
 
-        private BlockingQueue<Class<?>> classes = new LinkedBlockingQueue<>();
+        private BlockingQueue<EntityModification> modifications = new LinkedBlockingQueue<>();
         private final Transaction transaction;
 
-        public Dispatcher(Transaction transaction, Class<?> entityClass) {
-            classes.offer(entityClass);
+        public Dispatcher(Transaction transaction, EntityModification modification) {
+            modifications.offer(modification);
             this.transaction = transaction;
         }
 
-        public void add(Class<?> entityClass) {
-            classes.offer(entityClass);
+        public void add(EntityModification modification) {
+            modifications.offer(modification);
         }
 
         @Override
@@ -118,15 +117,16 @@ public class HibernateDatabaseModificationsListener implements
             pending.remove(transaction);
 
             if ( isProbablySucessful(status) ) {
-                List<Class<?>> list = new ArrayList<>();
-                classes.drainTo(list);
+                List<EntityModification> list = new ArrayList<>();
+                modifications.drainTo(list);
                 LOG.debug(list.size() + " modification events recorded");
-                Set<NotBlockingAutoUpdatedSnapshot<?>> toDispatch = snapshotsInterestedOn(list);
+                EntityModifications batch = EntityModifications.of(list);
+                Set<NotBlockingAutoUpdatedSnapshot<?>> toDispatch = snapshotsInterestedOn(batch.getModifiedClasses());
 
                 LOG.debug(
                         "dispatching " + toDispatch + " snapshots to reload due to transaction successful completion");
 
-                dispatch(toDispatch);
+                dispatch(toDispatch, batch);
             }
         }
 
@@ -164,17 +164,79 @@ public class HibernateDatabaseModificationsListener implements
 
     @Override
     public void onPostDelete(PostDeleteEvent event) {
-        modificationOn(inferTransaction(event), inferEntityClass(getEntityObject(event)));
+        Class<?> entityClass = inferEntityClass(getEntityObject(event));
+        if ( isAnySnapshotInterestedOn(entityClass) ) {
+            modificationOn(inferTransaction(event), modification(EntityModification.Type.DELETE,
+                    entityClass, event.getId(), event.getPersister(), event.getDeletedState(), null));
+        }
     }
 
     @Override
     public void onPostUpdate(PostUpdateEvent event) {
-        modificationOn(inferTransaction(event), inferEntityClass(getEntityObject(event)));
+        Class<?> entityClass = inferEntityClass(getEntityObject(event));
+        if ( isAnySnapshotInterestedOn(entityClass) ) {
+            modificationOn(inferTransaction(event), modification(EntityModification.Type.UPDATE,
+                    entityClass, event.getId(), event.getPersister(), event.getState(), event.getOldState()));
+        }
     }
 
     @Override
     public void onPostInsert(PostInsertEvent event) {
-        modificationOn(inferTransaction(event), inferEntityClass(getEntityObject(event)));
+        Class<?> entityClass = inferEntityClass(getEntityObject(event));
+        if ( isAnySnapshotInterestedOn(entityClass) ) {
+            modificationOn(inferTransaction(event), modification(EntityModification.Type.INSERT,
+                    entityClass, event.getId(), event.getPersister(), event.getState(), null));
+        }
+    }
+
+    /**
+     * The snapshots are matched by the exact class of the modified entity, so the modifications on other classes are
+     * discarded before recording anything about them.
+     */
+    private boolean isAnySnapshotInterestedOn(Class<?> entityClass) {
+        return interested.containsKey(entityClass);
+    }
+
+    /**
+     * The ids of the entities referenced by the modified one are taken from the state at the moment of the event,
+     * since the referenced entities could be deleted or detached when the transaction completes.
+     */
+    private static EntityModification modification(EntityModification.Type type, Class<?> entityClass,
+                                                   Serializable id, EntityPersister persister, Object[] state,
+                                                   Object[] oldState) {
+
+        return new EntityModification(
+                entityClass, asLong(id), type,
+                referencedIds(persister, state), referencedIds(persister, oldState));
+    }
+
+    private static Map<String, Long> referencedIds(EntityPersister persister, Object[] state) {
+        Map<String, Long> result = new HashMap<>();
+        if ( state != null ) {
+            String[] names = persister.getPropertyNames();
+            Type[] types = persister.getPropertyTypes();
+
+            for (int i = 0; i < types.length; i++) {
+                Long referencedId = types[i].isEntityType() ? idOf(state[i]) : null;
+                if ( referencedId != null ) {
+                    result.put(names[i], referencedId);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static Long idOf(Object entity) {
+        if ( entity instanceof HibernateProxy ) {
+            return asLong(((HibernateProxy) entity).getHibernateLazyInitializer().getIdentifier());
+        }
+
+        return entity instanceof BaseEntity ? ((BaseEntity) entity).getId() : null;
+    }
+
+    private static Long asLong(Serializable id) {
+        return id instanceof Long ? (Long) id : null;
     }
 
 
@@ -204,41 +266,46 @@ public class HibernateDatabaseModificationsListener implements
         return entity.getClass();
     }
 
-    void modificationOn(Transaction transaction, Class<?> entityClass) {
+    void modificationOn(Transaction transaction, EntityModification modification) {
         if ( transaction == null ) {
-            dispatch(snapshotsInterestedOn(entityClass));
+            EntityModifications batch = EntityModifications.of(Collections.singletonList(modification));
+            dispatch(snapshotsInterestedOn(batch.getModifiedClasses()), batch);
 
             return;
         }
-        Dispatcher newDispatcher = new Dispatcher(transaction, entityClass);
+        Dispatcher newDispatcher = new Dispatcher(transaction, modification);
         Dispatcher previous;
         previous = pending.putIfAbsent(transaction, newDispatcher);
 
         boolean dispatcherAlreadyExisted = previous != null;
         if ( dispatcherAlreadyExisted ) {
-            previous.add(entityClass);
+            previous.add(modification);
         } else {
             transaction.registerSynchronization(newDispatcher);
         }
     }
 
-    private void dispatch(Set<NotBlockingAutoUpdatedSnapshot<?>> toBeDispatched) {
-        toBeDispatched.forEach(this::dispatch);
+    private void dispatch(Set<NotBlockingAutoUpdatedSnapshot<?>> toBeDispatched, EntityModifications modifications) {
+        for (NotBlockingAutoUpdatedSnapshot<?> each : toBeDispatched) {
+            each.reloadNeeded(executor, modifications);
+        }
     }
 
-    private void dispatch(NotBlockingAutoUpdatedSnapshot<?> each) {
-        each.reloadNeeded(executor);
+    @Override
+    public <T> IAutoUpdatedSnapshot<T> takeSnapshot(String name, Callable<T> callable, ReloadOn reloadOn) {
+        return takeSnapshot(name, callable, null, reloadOn);
     }
 
     @Override
-    public <T> IAutoUpdatedSnapshot<T> takeSnapshot(String name, Callable<T> callable, ReloadOn reloadOn) {
+    public <T> IAutoUpdatedSnapshot<T> takeSnapshot(String name, Callable<T> callable, IDeltaUpdater<T> deltaUpdater,
+                                                    ReloadOn reloadOn) {
         if ( !hibernateListenersRegistered ) {
             throw new IllegalStateException(
                     "The hibernate listeners has not been registered. There is some configuration problem.");
         }
 
         final NotBlockingAutoUpdatedSnapshot<T> result;
-        result = new NotBlockingAutoUpdatedSnapshot<>(name, callable);
+        result = new NotBlockingAutoUpdatedSnapshot<>(name, callable, deltaUpdater);
 
         for (Class<?> each : reloadOn.getClassesOnWhichToReload()) {
             interested.putIfAbsent(each, emptyQueue());
@@ -27,4 +27,18 @@ package org.libreplan.business.hibernate.notification;
 public interface IAutoUpdatedSnapshot<T> {
 
     T getValue();
+
+    /**
+     * @return if the value returned now includes all the modifications notified to the snapshot, so there is no
+     *         reload pending or in progress
+     */
+    boolean isUpToDate();
+
+    /**
+     * Calculates the value again in the calling thread, so modifications not notified to the snapshot are taken into
+     * account. The value of a calculation in progress started before is discarded when it finishes.
+     *
+     * @return the new value
+     */
+    T reloadNow();
 }
@@ -0,0 +1,39 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.libreplan.business.hibernate.notification;
+
+/**
+ * Calculates the new value of a snapshot applying the modifications of a transaction to its previous value, instead
+ * of calculating it again from scratch.
+ *
+ * @param <T>
+ *            the type of the value of the snapshot
+ */
+public interface IDeltaUpdater<T> {
+
+    /**
+     * The previous value can be being used by other threads, so it must not be modified. It is executed on a
+     * read-only transaction.
+     *
+     * @return the new value, or <code>null</code> if the modifications cannot be applied incrementally and a full
+     *         reload is needed
+     */
+    T update(T previousValue, EntityModifications modifications) throws Exception;
+
+}
@@ -30,4 +30,11 @@ public interface ISnapshotRefresherService {
 
     public <T> IAutoUpdatedSnapshot<T> takeSnapshot(String name, Callable<T> callable, ReloadOn reloadOn);
 
+    /**
+     * Like {@link #takeSnapshot(String, Callable, ReloadOn)}, but when the snapshot has a value the modifications of
+     * a transaction are applied to it by the {@link IDeltaUpdater} instead of calling the callable again.
+     */
+    public <T> IAutoUpdatedSnapshot<T> takeSnapshot(String name, Callable<T> callable, IDeltaUpdater<T> deltaUpdater,
+                                                    ReloadOn reloadOn);
+
 }
@@ -30,6 +30,14 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 /**
+ * Snapshot whose value is calculated in background when a reload is needed, so the previous value is returned while
+ * the new one is not available.
+ * <p>
+ * If an {@link IDeltaUpdater} is provided, the new value is obtained applying the modifications to the current one
+ * instead of calculating it again from scratch. If the current value is still being calculated, the modifications
+ * are applied once it is available.
+ * </p>
+ *
  * @author Óscar González Fernández
  *
  */
@@ -40,6 +48,8 @@ class NotBlockingAutoUpdatedSnapshot<T> implements IAutoUpdatedSnapshot<T> {
 
     private final Callable<T> callable;
 
+    private final IDeltaUpdater<T> deltaUpdater;
+
     private final AtomicReference<State> currentState;
 
     private final String name;
@@ -59,6 +69,18 @@ class NotBlockingAutoUpdatedSnapshot<T> implements IAutoUpdatedSnapshot<T> {
         boolean hasBeenInitialized() {
             return true;
         }
+
+        /**
+         * @return if the value is already calculated, so it can be retrieved without waiting
+         */
+        abstract boolean isCalculated();
+
+        /**
+         * @return the calculation of the value, or <code>null</code> if there is none in progress
+         */
+        Future<T> getOngoingCalculation() {
+            return null;
+        }
     }
 
     private class NotLaunchState extends State {
@@ -78,6 +100,11 @@ class NotBlockingAutoUpdatedSnapshot<T> implements IAutoUpdatedSnapshot<T> {
             return false;
         }
 
+        @Override
+        boolean isCalculated() {
+            return false;
+        }
+
     }
 
     private class NoOngoingCalculation extends State {
@@ -91,6 +118,11 @@ class NotBlockingAutoUpdatedSnapshot<T> implements IAutoUpdatedSnapshot<T> {
         T getValue() {
             return value;
         }
+
+        @Override
+        boolean isCalculated() {
+            return true;
+        }
     }
 
     private class PreviousValueAndOngoingCalculation extends State {
@@ -130,6 +162,16 @@ class NotBlockingAutoUpdatedSnapshot<T> implements IAutoUpdatedSnapshot<T> {
             }
         }
 
+        @Override
+        boolean isCalculated() {
+            return isSuccessfullyDone(ongoingCalculation);
+        }
+
+        @Override
+        Future<T> getOngoingCalculation() {
+            return ongoingCalculation;
+        }
+
         @Override
         void cancel() {
             if (ongoingCalculation.isDone() || ongoingCalculation.isCancelled()) {
@@ -165,13 +207,40 @@ class NotBlockingAutoUpdatedSnapshot<T> implements IAutoUpdatedSnapshot<T> {
             ongoingCalculation.cancel(true);
         }
 
+        @Override
+        Future<T> getOngoingCalculation() {
+            return ongoingCalculation;
+        }
+
+        @Override
+        boolean isCalculated() {
+            return isSuccessfullyDone(ongoingCalculation);
+        }
+
+    }
+
+    private static boolean isSuccessfullyDone(Future<?> future) {
+        if (future.isCancelled() || !future.isDone()) {
+            return false;
+        }
+        try {
+            future.get();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
     }
 
     public NotBlockingAutoUpdatedSnapshot(String name, Callable<T> callable) {
+        this(name, callable, null);
+    }
+
+    public NotBlockingAutoUpdatedSnapshot(String name, Callable<T> callable, IDeltaUpdater<T> deltaUpdater) {
         Validate.notNull(callable);
         Validate.notNull(name);
         this.name = "*" + name + "*";
         this.callable = callable;
+        this.deltaUpdater = deltaUpdater;
         this.currentState = new AtomicReference<State>(new NotLaunchState());
         this.executionsReport = new ExecutionsReport();
     }
@@ -181,19 +250,61 @@ class NotBlockingAutoUpdatedSnapshot<T> implements IAutoUpdatedSnapshot<T> {
         return currentState.get().getValue();
     }
 
+    @Override
+    public boolean isUpToDate() {
+        return currentState.get().isCalculated();
+    }
+
+    @Override
+    public T reloadNow() {
+        State previous = currentState.get();
+        T value;
+        try {
+            value = callableDecoratedWithStatistics().call();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        // If a reload has been requested while calculating, its value is kept as it can be more recent. The previous
+        // calculation is not cancelled, as there can be threads waiting for it
+        currentState.compareAndSet(previous, new NoOngoingCalculation(value));
+        return value;
+    }
+
     public void reloadNeeded(ExecutorService executorService) {
-        Future<T> future = executorService
-                .submit(callableDecoratedWithStatistics());
+        reloadNeeded(executorService, null);
+    }
+
+    /**
+     * Synchronized so deltas are applied in the same order the modifications are committed. If there is an ongoing
+     * calculation, the delta is queued on top of it: it waits for its value and it is not cancelled. Since the
+     * calculations are submitted in order, the ongoing one has already been taken by the executor when the delta
+     * starts waiting for it. Without delta the ongoing calculation is cancelled and a full reload is done instead.
+     */
+    public synchronized void reloadNeeded(ExecutorService executorService, EntityModifications modifications) {
+        State current = currentState.get();
+        Callable<T> calculation;
+        boolean queuedOnOngoing = false;
+        if (deltaUpdater != null && modifications != null && current.isCalculated()) {
+            T calculated = current.getValue();
+            calculation = deltaCalculation(() -> calculated, modifications);
+        } else if (deltaUpdater != null && modifications != null && current.getOngoingCalculation() != null) {
+            calculation = deltaCalculation(current.getOngoingCalculation()::get, modifications);
+            queuedOnOngoing = true;
+        } else {
+            calculation = callableDecoratedWithStatistics();
+        }
+        Future<T> future = executorService.submit(calculation);
+        // The state is only retried when a getValue has replaced a finished calculation, so the submitted one must
+        // not be cancelled
         State previousState;
-        State newState = null;
+        State newState;
         do {
-            if (newState != null) {
-                newState.cancel();
-            }
             previousState = currentState.get();
             newState = previousState.nextState(future);
         } while (!currentState.compareAndSet(previousState, newState));
-        previousState.cancel();
+        if (!queuedOnOngoing) {
+            previousState.cancel();
+        }
     }
 
     public void ensureFirstLoad(ExecutorService executorService) {
@@ -242,24 +353,82 @@ class NotBlockingAutoUpdatedSnapshot<T> implements IAutoUpdatedSnapshot<T> {
         };
     }
 
+    private Callable<T> deltaCalculation(final Callable<T> previousValue, final EntityModifications modifications) {
+        final long requestTime = System.currentTimeMillis();
+        return new Callable<T>() {
+
+            @Override
+            public T call() throws Exception {
+                T previous;
+                try {
+                    previous = previousValue.call();
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    LOG.error("error obtaining the value to apply " + modifications + " to " + name
+                            + ", doing a full reload", e);
+                    return callableDecoratedWithStatistics().call();
+                }
+                long start = System.currentTimeMillis();
+                T result = null;
+                try {
+                    result = deltaUpdater.update(previous, modifications);
+                } catch (Exception e) {
+                    LOG.error("error applying " + modifications + " to " + name + ", doing a full reload", e);
+                }
+                if (result == null) {
+                    return callableDecoratedWithStatistics().call();
+                }
+                executionsReport.newDelta(start - requestTime, System.currentTimeMillis() - start);
+                return result;
+            }
+        };
+    }
+
+    /**
+     * @return the number of times the value has been calculated from scratch
+     */
+    int getFullReloads() {
+        return executionsReport.data.get().executionTimes;
+    }
+
+    /**
+     * @return the number of times the value has been calculated applying the modifications to the previous one
+     */
+    int getDeltaUpdates() {
+        return executionsReport.data.get().deltaUpdates;
+    }
+
     private static class Data {
         final int executionTimes;
         final int errors;
         long totalMsWaiting;
         long totalMsExecuting;
+        final int deltaUpdates;
+        final long totalMsExecutingDeltas;
 
         private Data(int executionTimes, int errors, long totalMsWaiting,
-                long totalMsExecuting) {
+                long totalMsExecuting, int deltaUpdates,
+                long totalMsExecutingDeltas) {
             this.executionTimes = executionTimes;
             this.totalMsWaiting = totalMsWaiting;
             this.totalMsExecuting = totalMsExecuting;
             this.errors = errors;
+            this.deltaUpdates = deltaUpdates;
+            this.totalMsExecutingDeltas = totalMsExecutingDeltas;
         }
 
         public Data newData(long timeWaiting, long timeExcuting, Exception e) {
             return new Data(executionTimes + 1, errors + (e != null ? 1 : 0),
                     totalMsWaiting + timeWaiting,
-                    totalMsExecuting + timeExcuting);
+                    totalMsExecuting + timeExcuting, deltaUpdates,
+                    totalMsExecutingDeltas);
+        }
+
+        public Data newDelta(long timeExecuting) {
+            return new Data(executionTimes, errors, totalMsWaiting,
+                    totalMsExecuting, deltaUpdates + 1,
+                    totalMsExecutingDeltas + timeExecuting);
         }
 
     }
@@ -267,7 +436,7 @@ class NotBlockingAutoUpdatedSnapshot<T> implements IAutoUpdatedSnapshot<T> {
     private class ExecutionsReport {
 
         private AtomicReference<Data> data = new AtomicReference<Data>(
-                new Data(0, 0, 0, 0));
+                new Data(0, 0, 0, 0, 0, 0));
 
         public void newData(long timeWaiting, long timeExecuting,
                 Exception possibleError) {
@@ -281,6 +450,21 @@ class NotBlockingAutoUpdatedSnapshot<T> implements IAutoUpdatedSnapshot<T> {
             report(timeWaiting, timeExecuting, newData, possibleError);
         }
 
+        public void newDelta(long timeWaiting, long timeExecuting) {
+            Data previousData;
+            Data newData;
+            do {
+                previousData = data.get();
+                newData = previousData.newDelta(timeExecuting);
+            } while (!data.compareAndSet(previousData, newData));
+            LOG.debug(name + " delta took " + timeExecuting
+                    + " ms executing after waiting " + timeWaiting + " ms");
+            LOG.debug(name + " has been updated with deltas "
+                    + newData.deltaUpdates + " times, mean time executing: "
+                    + newData.totalMsExecutingDeltas / newData.deltaUpdates
+                    + " ms. Full reloads: " + newData.executionTimes);
+        }
+
         private void report(long timeWaiting, long timeExecuting, Data data,
                 Exception possibleError) {
             LOG.debug(name + " took " + timeExecuting + " ms executing");
@@ -24,8 +24,10 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.Callable;
@@ -53,9 +55,17 @@ import org.libreplan.business.planner.chart.ResourceLoadChartData;
 import org.libreplan.business.planner.daos.IDayAssignmentDAO;
 import org.libreplan.business.planner.daos.ITaskElementDAO;
 import org.libreplan.business.planner.entities.DayAssignment;
+import org.libreplan.business.planner.entities.DayAssignmentsStore;
+import org.libreplan.business.planner.entities.DerivedAllocation;
+import org.libreplan.business.planner.entities.DerivedDayAssignment;
+import org.libreplan.business.planner.entities.DerivedDayAssignmentsContainer;
+import org.libreplan.business.planner.entities.GenericDayAssignment;
+import org.libreplan.business.planner.entities.GenericDayAssignmentsContainer;
 import org.libreplan.business.planner.entities.GenericResourceAllocation;
 import org.libreplan.business.planner.entities.ICostCalculator;
 import org.libreplan.business.planner.entities.ResourceAllocation;
+import org.libreplan.business.planner.entities.SpecificDayAssignment;
+import org.libreplan.business.planner.entities.SpecificDayAssignmentsContainer;
 import org.libreplan.business.planner.entities.SpecificResourceAllocation;
 import org.libreplan.business.planner.entities.Task;
 import org.libreplan.business.planner.entities.TaskElement;
@@ -71,6 +81,7 @@ import org.libreplan.business.resources.entities.Resource;
 import org.libreplan.business.resources.entities.VirtualWorker;
 import org.libreplan.business.resources.entities.Worker;
 import org.libreplan.business.scenarios.IScenarioManager;
+import org.libreplan.business.scenarios.entities.Scenario;
 import org.libreplan.business.workreports.daos.IWorkReportLineDAO;
 import org.libreplan.business.workreports.entities.WorkReportLine;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -156,6 +167,8 @@ public class PredefinedDatabaseSnapshots {
 
     private IAutoUpdatedSnapshot<ResourceLoadChartData> resourceLoadChartData;
 
+    private IAutoUpdatedSnapshot<DayAssignmentsStore> dayAssignmentsStore;
+
     private IAutoUpdatedSnapshot<List<WorkReportLine>> workReportLines;
 
     private IAutoUpdatedSnapshot<Map<TaskElement,SortedMap<LocalDate, BigDecimal>>> estimatedCostPerTask;
@@ -204,6 +217,16 @@ public class PredefinedDatabaseSnapshots {
         return resourceLoadChartData.getValue();
     }
 
+    /**
+     * The store is reloaded asynchronously, so it can lag behind the committed day assignments.
+     *
+     * @return <code>null</code> if the snapshots have not been registered or the store has a reload pending or in
+     *         progress
+     */
+    public DayAssignmentsStore snapshotUpToDateDayAssignmentsStore() {
+        return dayAssignmentsStore != null && dayAssignmentsStore.isUpToDate() ? dayAssignmentsStore.getValue() : null;
+    }
+
     public List<WorkReportLine> snapshotWorkReportLines() {
         return workReportLines.getValue();
     }
@@ -252,15 +275,28 @@ public class PredefinedDatabaseSnapshots {
                 GenericResourceAllocation.class,
                 ResourceAllocation.class);
 
+        dayAssignmentsStore = snapshot(
+                "day assignments store",
+                calculateDayAssignmentsStore(),
+                updateDayAssignmentsStore(),
+                DayAssignment.class,
+                SpecificDayAssignment.class,
+                GenericDayAssignment.class,
+                DerivedDayAssignment.class);
+
         workReportLines = snapshot("work report lines", calculateWorkReportLines(), WorkReportLine.class);
 
         estimatedCostPerTask = snapshot(
                 "estimated cost per task",
                 calculateEstimatedCostPerTask(),
+                updateEstimatedCostPerTask(),
                 TaskElement.class,
                 Task.class,
                 TaskGroup.class,
-                DayAssignment.class);
+                DayAssignment.class,
+                SpecificDayAssignment.class,
+                GenericDayAssignment.class,
+                DerivedDayAssignment.class);
 
         advanceCostPerTask = snapshot(
                 "advance cost per task",
@@ -276,11 +312,25 @@ public class PredefinedDatabaseSnapshots {
                 .takeSnapshot(name, callableOnReadOnlyTransaction(callable), ReloadOn.onChangeOf(reloadOnChangesOf));
     }
 
+    private <T> IAutoUpdatedSnapshot<T> snapshot(String name, Callable<T> callable, IDeltaUpdater<T> deltaUpdater,
+                                                 Class<?>... reloadOnChangesOf) {
+        return snapshotRefresherService.takeSnapshot(
+                name,
+                callableOnReadOnlyTransaction(callable),
+                deltaUpdaterOnReadOnlyTransaction(deltaUpdater),
+                ReloadOn.onChangeOf(reloadOnChangesOf));
+    }
+
     @SuppressWarnings("unchecked")
     private <T> Callable<T> callableOnReadOnlyTransaction(Callable<T> callable) {
         return AdHocTransactionService.readOnlyProxy(transactionService, Callable.class, callable);
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> IDeltaUpdater<T> deltaUpdaterOnReadOnlyTransaction(IDeltaUpdater<T> deltaUpdater) {
+        return AdHocTransactionService.readOnlyProxy(transactionService, IDeltaUpdater.class, deltaUpdater);
+    }
+
     private Callable<SortedMap<CriterionType, List<Criterion>>> calculateCriterionsMap() {
         return () -> {
             SortedMap<CriterionType, List<Criterion>> result = new TreeMap<>(getComparatorByName());
@@ -362,10 +412,54 @@ public class PredefinedDatabaseSnapshots {
 
     private Callable<ResourceLoadChartData> calculateResourceLoadChartData() {
         return () -> {
-            List<DayAssignment> dayAssignments = dayAssignmentDAO.getAllFor(scenarioManager.getCurrent(), null, null);
+            Scenario scenario = scenarioManager.getCurrent();
             List<Resource> resources = resourceDAO.list(Resource.class);
-            return new ResourceLoadChartData(dayAssignments, resources);
+            return ResourceLoadChartData.create(
+                    resources,
+                    receiver -> dayAssignmentDAO.streamAssignedEffortByDayAndResource(scenario, receiver));
+
+        };
+    }
+
+    private Callable<DayAssignmentsStore> calculateDayAssignmentsStore() {
+        return () -> {
+            Scenario scenario = scenarioManager.getCurrent();
+            DayAssignmentsStore.Builder builder = DayAssignmentsStore.builder(scenario.getId());
+            dayAssignmentDAO.streamAssignedEffortByResourceAndDay(scenario, null, builder);
 
+            return builder.build();
+        };
+    }
+
+    /**
+     * Only the rows of the resources whose day assignments have been modified are loaded again. When a day assignment
+     * is moved to another resource both the previous and the new resource are reloaded.
+     */
+    private IDeltaUpdater<DayAssignmentsStore> updateDayAssignmentsStore() {
+        return (previous, modifications) -> {
+            Scenario scenario = scenarioManager.getCurrent();
+            if ( !previous.isFor(scenario) ) {
+                return null;
+            }
+
+            Set<Long> affectedResourceIds = new HashSet<>();
+            for (EntityModification each : modifications.on(DayAssignment.class)) {
+                Long resourceId = each.getReferencedId("resource");
+                if ( resourceId == null ) {
+                    return null;
+                }
+                affectedResourceIds.add(resourceId);
+
+                Long previousResourceId = each.getPreviouslyReferencedId("resource");
+                if ( previousResourceId != null ) {
+                    affectedResourceIds.add(previousResourceId);
+                }
+            }
+
+            DayAssignmentsStore.Builder replacement = DayAssignmentsStore.builder(scenario.getId());
+            dayAssignmentDAO.streamAssignedEffortByResourceAndDay(scenario, affectedResourceIds, replacement);
+
+            return previous.replacingResources(affectedResourceIds, replacement.build());
         };
     }
 
@@ -389,6 +483,92 @@ public class PredefinedDatabaseSnapshots {
         };
     }
 
+    /**
+     * Only the tasks whose day assignments or own data have been modified are recalculated. The task owning a
+     * modified day assignment is found through its container, using the references kept in the modifications when
+     * the container or its allocation have been deleted too.
+     */
+    private IDeltaUpdater<Map<TaskElement, SortedMap<LocalDate, BigDecimal>>> updateEstimatedCostPerTask() {
+        return (previous, modifications) -> {
+            Set<Long> affectedTaskIds = findAffectedTaskIds(modifications);
+            if ( affectedTaskIds == null ) {
+                return null;
+            }
+
+            Map<TaskElement, SortedMap<LocalDate, BigDecimal>> map = new HashMap<>(previous);
+            map.keySet().removeIf(task -> affectedTaskIds.contains(task.getId()));
+
+            for (Task task : taskElementDAO.findTasksByIds(affectedTaskIds)) {
+                map.put(task, hoursCostCalculator.getEstimatedCost(task));
+            }
+
+            return map;
+        };
+    }
+
+    /**
+     * @return the ids of the tasks affected by the modifications or <code>null</code> if some of them cannot be known
+     */
+    private Set<Long> findAffectedTaskIds(EntityModifications modifications) {
+        Set<Long> result = new HashSet<>(modifications.getIdsOf(TaskElement.class));
+
+        Map<Class<?>, Set<Long>> containerIdsByClass = new HashMap<>();
+        Set<Long> allocationIds = new HashSet<>();
+
+        for (EntityModification each : modifications.on(DayAssignment.class)) {
+            Class<?> containerClass = containerClassOf(each.getEntityClass());
+            Long containerId = each.getReferencedId("container");
+            if ( containerClass == null || containerId == null ) {
+                return null;
+            }
+
+            EntityModification containerDeletion = modifications.findDeletion(containerClass, containerId);
+            if ( containerDeletion == null ) {
+                containerIdsByClass.computeIfAbsent(containerClass, k -> new HashSet<>()).add(containerId);
+                continue;
+            }
+
+            Long allocationId = containerDeletion.getReferencedId("resourceAllocation");
+            if ( allocationId == null ) {
+                return null;
+            }
+            if ( DerivedDayAssignmentsContainer.class.equals(containerClass) ) {
+                EntityModification derivedDeletion = modifications.findDeletion(DerivedAllocation.class, allocationId);
+                allocationId = derivedDeletion != null ? derivedDeletion.getReferencedId("derivedFrom") : null;
+                if ( allocationId == null ) {
+                    return null;
+                }
+            }
+
+            EntityModification allocationDeletion = modifications.findDeletion(ResourceAllocation.class, allocationId);
+            if ( allocationDeletion == null ) {
+                allocationIds.add(allocationId);
+            } else if ( allocationDeletion.getReferencedId("task") != null ) {
+                result.add(allocationDeletion.getReferencedId("task"));
+            }
+        }
+
+        for (Map.Entry<Class<?>, Set<Long>> each : containerIdsByClass.entrySet()) {
+            result.addAll(taskElementDAO.findTaskIdsOfContainers(each.getKey(), each.getValue()));
+        }
+        result.addAll(taskElementDAO.findTaskIdsOfAllocations(allocationIds));
+
+        return result;
+    }
+
+    private static Class<?> containerClassOf(Class<?> dayAssignmentClass) {
+        if ( SpecificDayAssignment.class.equals(dayAssignmentClass) ) {
+            return SpecificDayAssignmentsContainer.class;
+        }
+        if ( GenericDayAssignment.class.equals(dayAssignmentClass) ) {
+            return GenericDayAssignmentsContainer.class;
+        }
+        if ( DerivedDayAssignment.class.equals(dayAssignmentClass) ) {
+            return DerivedDayAssignmentsContainer.class;
+        }
+        return null;
+    }
+
     private Callable<Map<TaskElement, SortedMap<LocalDate, BigDecimal>>> calculateAdvanceCostPerTask() {
         return () -> {
             Map<TaskElement, SortedMap<LocalDate, BigDecimal>> map = new HashMap<>();
@@ -22,6 +22,7 @@
 package org.libreplan.business.orders.daos;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -138,4 +139,10 @@ public interface IOrderElementDAO extends IIntegrationEntityDAO<OrderElement> {
     boolean existsByCodeInAnotherOrderAnotherTransaction(
             OrderElement orderElement);
 
+    /**
+     * Initializes with a few queries the advance assignments and labels of the
+     * <code>orderElements</code>, that are navigated when planning them.
+     */
+    void loadPlanningData(Collection<? extends OrderElement> orderElements);
+
 }
@@ -519,6 +519,11 @@ public class OrderDAO extends IntegrationEntityDAO<Order> implements IOrderDAO {
                 .list();
     }
 
+    @Override
+    protected String getCodeProperty() {
+        return "infoComponent.code";
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     @Transactional(readOnly = true)
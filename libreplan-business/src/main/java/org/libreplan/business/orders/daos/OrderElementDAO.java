@@ -25,6 +25,7 @@ import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -37,6 +38,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.hibernate.Criteria;
 import org.hibernate.Query;
 import org.hibernate.criterion.Restrictions;
+import org.libreplan.business.common.daos.FetchPlan;
 import org.libreplan.business.common.daos.IntegrationEntityDAO;
 import org.libreplan.business.common.exceptions.InstanceNotFoundException;
 import org.libreplan.business.email.daos.IEmailNotificationDAO;
@@ -74,6 +76,15 @@ import org.springframework.transaction.annotation.Transactional;
 @Scope(BeanDefinition.SCOPE_SINGLETON)
 public class OrderElementDAO extends IntegrationEntityDAO<OrderElement> implements IOrderElementDAO {
 
+    private static final FetchPlan PLANNING_FETCH_PLAN = FetchPlan.of(
+            "SELECT DISTINCT e FROM OrderElement e LEFT JOIN FETCH e.directAdvanceAssignments WHERE e.id IN (:ids)",
+            "SELECT DISTINCT a FROM DirectAdvanceAssignment a LEFT JOIN FETCH a.advanceMeasurements "
+                    + "LEFT JOIN FETCH a.advanceType WHERE a.orderElement.id IN (:ids)",
+            "SELECT DISTINCT e FROM OrderLineGroup e LEFT JOIN FETCH e.indirectAdvanceAssignments WHERE e.id IN (:ids)",
+            "SELECT DISTINCT a FROM IndirectAdvanceAssignment a LEFT JOIN FETCH a.calculatedConsolidations "
+                    + "WHERE a.orderElement.id IN (:ids)",
+            "SELECT DISTINCT e FROM OrderElement e LEFT JOIN FETCH e.labels WHERE e.id IN (:ids)");
+
     @Autowired
     private IWorkReportLineDAO workReportLineDAO;
 
@@ -206,6 +217,11 @@ public class OrderElementDAO extends IntegrationEntityDAO<OrderElement> implemen
                 .list();
     }
 
+    @Override
+    protected String getCodeProperty() {
+        return "infoComponent.code";
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     @Transactional(readOnly = true)
@@ -589,4 +605,13 @@ public class OrderElementDAO extends IntegrationEntityDAO<OrderElement> implemen
         return !(order1 == null || order2 == null) && Objects.equals(order1.getId(), order2.getId());
     }
 
-}
\ No newline at end of file
+    @Override
+    public void loadPlanningData(Collection<? extends OrderElement> orderElements) {
+        List<Long> ids = new ArrayList<>();
+        for (OrderElement each : orderElements) {
+            ids.add(each.getId());
+        }
+        PLANNING_FETCH_PLAN.fetch(getSession(), ids);
+    }
+
+}
@@ -19,11 +19,13 @@
 
 package org.libreplan.business.orders.daos;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -37,6 +39,7 @@ import org.libreplan.business.orders.entities.Order;
 import org.libreplan.business.orders.entities.OrderElement;
 import org.libreplan.business.orders.entities.OrderLineGroup;
 import org.libreplan.business.orders.entities.SumChargedEffort;
+import org.libreplan.business.orders.entities.TimesheetsSummary;
 import org.libreplan.business.util.Pair;
 import org.libreplan.business.workingday.EffortDuration;
 import org.libreplan.business.workreports.daos.IWorkReportLineDAO;
@@ -254,67 +257,62 @@ public class SumChargedEffortDAO extends
         try {
             Order order = orderDAO.find(orderId);
             resetMapSumChargedEfforts();
-            resetSumChargedEffort(order);
-            calculateDirectChargedEffort(order);
-            calculateTimesheetData(order);
+
+            List<OrderElement> orderElements = new ArrayList<OrderElement>();
+            orderElements.add(order);
+            orderElements.addAll(order.getAllChildren());
+
+            recalculateSumChargedEffortsRecursively(order,
+                    workReportLineDAO.findTimesheetsSummaryByOrderElements(orderElements));
         } catch (InstanceNotFoundException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private void resetSumChargedEffort(OrderElement orderElement) {
-        SumChargedEffort sumChargedEffort = getByOrderElement(orderElement);
-        sumChargedEffort.reset();
-
-        for (OrderElement each : orderElement.getChildren()) {
-            resetSumChargedEffort(each);
+    /**
+     * Fills the {@link SumChargedEffort} of the element and its descendants
+     * with the summaries of their own lines, that were retrieved at once.
+     *
+     * @return the summary of the lines of the whole branch
+     */
+    private TimesheetsSummary recalculateSumChargedEffortsRecursively(
+            OrderElement orderElement,
+            Map<Long, TimesheetsSummary> summariesByOrderElementId) {
+        TimesheetsSummary own = summariesByOrderElementId.get(orderElement
+                .getId());
+        if (own == null) {
+            own = TimesheetsSummary.empty();
         }
-    }
 
-    private void calculateDirectChargedEffort(OrderElement orderElement) {
+        TimesheetsSummary children = TimesheetsSummary.empty();
         for (OrderElement each : orderElement.getChildren()) {
-            calculateDirectChargedEffort(each);
+            children = children.plus(recalculateSumChargedEffortsRecursively(
+                    each, summariesByOrderElementId));
         }
+        TimesheetsSummary branch = own.plus(children);
 
-        EffortDuration effort = EffortDuration.zero();
-        for (WorkReportLine line : workReportLineDAO
-                .findByOrderElement(orderElement)) {
-            effort = effort.plus(line.getEffort());
-        }
-        addDirectChargedEffort(orderElement, effort);
-    }
+        SumChargedEffort sumChargedEffort = getSumChargedEffortOf(orderElement);
+        sumChargedEffort.reset();
+        sumChargedEffort.addDirectChargedEffort(own.getEffort());
+        sumChargedEffort.addIndirectChargedEffort(children.getEffort());
+        sumChargedEffort.setTimesheetDates(branch.getFirstDate(),
+                branch.getLastDate());
+        sumChargedEffort.setFinishedTimesheets(own.isFinished());
+        save(sumChargedEffort);
 
-    private void calculateTimesheetData(OrderElement orderElement) {
-        calculateTimesheetDatesAndChildren(orderElement);
-        calculateFinishedTimesheetsAndChildren(orderElement);
+        return branch;
     }
 
-    private Pair<Date, Date> calculateTimesheetDatesAndChildren(
-            OrderElement orderElement) {
-        Pair<Date, Date> minMax = workReportLineDAO
-                .findMinAndMaxDatesByOrderElement(orderElement);
-
-        Set<Date> minDates = new HashSet<Date>();
-        Set<Date> maxDates = new HashSet<Date>();
-
-        addIfNotNull(minDates, minMax.getFirst());
-        addIfNotNull(maxDates, minMax.getSecond());
-
-        for (OrderElement child : orderElement.getChildren()) {
-            Pair<Date, Date> minMaxChild = calculateTimesheetDatesAndChildren(child);
-            addIfNotNull(minDates, minMaxChild.getFirst());
-            addIfNotNull(maxDates, minMaxChild.getSecond());
+    /**
+     * The {@link SumChargedEffort} is loaded together with its
+     * {@link OrderElement}, so it's not queried again.
+     */
+    private SumChargedEffort getSumChargedEffortOf(OrderElement orderElement) {
+        SumChargedEffort result = orderElement.getSumChargedEffort();
+        if (result == null) {
+            result = getByOrderElement(orderElement);
+            orderElement.setSumChargedEffort(result);
         }
-
-        Pair<Date, Date> result = Pair.create(
-                minDates.isEmpty() ? null : Collections.min(minDates),
-                maxDates.isEmpty() ? null : Collections.max(maxDates));
-
-        SumChargedEffort sumChargedEffort = getByOrderElement(orderElement);
-        sumChargedEffort.setTimesheetDates(result.getFirst(),
-                result.getSecond());
-        save(sumChargedEffort);
-
         return result;
     }
 
@@ -324,15 +322,6 @@ public class SumChargedEffortDAO extends
         }
     }
 
-    private void calculateFinishedTimesheetsAndChildren(
-            OrderElement orderElement) {
-        calculateFinishedTimesheets(orderElement);
-
-        for (OrderElement child : orderElement.getChildren()) {
-            calculateFinishedTimesheetsAndChildren(child);
-        }
-    }
-
     private void calculateFinishedTimesheets(OrderElement orderElement) {
         SumChargedEffort sumChargedEffort = getByOrderElement(orderElement);
         sumChargedEffort.setFinishedTimesheets(workReportLineDAO
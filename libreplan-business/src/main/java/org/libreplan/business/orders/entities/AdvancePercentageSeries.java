@@ -0,0 +1,209 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.orders.entities;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.joda.time.LocalDate;
+import org.libreplan.business.advance.entities.AdvanceMeasurement;
+import org.libreplan.business.advance.entities.DirectAdvanceAssignment;
+
+/**
+ * Advance percentage of an {@link OrderElement} along time. It is a step function: the percentage on a date is the
+ * one of the closest change on that date or before it, or zero before the first change.
+ * <p>
+ * The series of an {@link OrderLineGroup} whose progress comes from its children is calculated merging the series of
+ * its children in a single sweep over their changes, so the percentage of the children is not asked again for each
+ * date.
+ * </p>
+ */
+public class AdvancePercentageSeries {
+
+    private static final AdvancePercentageSeries ZERO = new AdvancePercentageSeries(
+            new LocalDate[0], new BigDecimal[0]);
+
+    public static AdvancePercentageSeries zero() {
+        return ZERO;
+    }
+
+    /**
+     * Creates the series of the values returned by {@link DirectAdvanceAssignment#getAdvancePercentage(LocalDate)}.
+     */
+    public static AdvancePercentageSeries from(DirectAdvanceAssignment assignment) {
+        if ( assignment.getMaxValue().compareTo(BigDecimal.ZERO) == 0 ) {
+            return ZERO;
+        }
+
+        // The measurements are sorted from the most recent one
+        List<AdvanceMeasurement> measurements = new ArrayList<>(assignment.getAdvanceMeasurements());
+        Collections.reverse(measurements);
+
+        LocalDate[] dates = new LocalDate[measurements.size()];
+        BigDecimal[] values = new BigDecimal[measurements.size()];
+        int i = 0;
+        for (AdvanceMeasurement each : measurements) {
+            if ( each.getDate() == null ) {
+                continue;
+            }
+            dates[i] = each.getDate();
+            values[i] = each.getValue() == null
+                    ? BigDecimal.ZERO
+                    : each.getValue().divide(assignment.getMaxValue(), 4, RoundingMode.DOWN);
+            i++;
+        }
+
+        return new AdvancePercentageSeries(Arrays.copyOf(dates, i), Arrays.copyOf(values, i));
+    }
+
+    /**
+     * Calculates the average of the series weighted by the given hours, as
+     * {@link OrderLineGroup#getAdvancePercentageChildren(LocalDate)} does.
+     *
+     * @param dates
+     *            the dates to calculate, in ascending order. If <code>null</code> the dates where any of the series
+     *            changes are used
+     */
+    public static AdvancePercentageSeries weightedAverage(List<AdvancePercentageSeries> series,
+                                                          List<Integer> hours,
+                                                          int totalHours,
+                                                          Iterable<LocalDate> dates) {
+
+        return new WeightedAverageSweep(series, hours, totalHours).calculate(dates);
+    }
+
+    /**
+     * Merges the changes of the series in date order, keeping the sum of the current value of each series multiplied
+     * by its hours.
+     */
+    private static class WeightedAverageSweep {
+
+        private final List<AdvancePercentageSeries> series;
+
+        private final BigDecimal[] hours;
+
+        private final BigDecimal totalHours;
+
+        private final BigDecimal[] current;
+
+        private final int[] positions;
+
+        private final PriorityQueue<Integer> pending;
+
+        private BigDecimal sum = BigDecimal.ZERO;
+
+        private WeightedAverageSweep(List<AdvancePercentageSeries> series, List<Integer> hours, int totalHours) {
+            this.series = series;
+            this.hours = new BigDecimal[series.size()];
+            this.totalHours = totalHours > 0 ? new BigDecimal(totalHours).setScale(2) : null;
+            this.current = new BigDecimal[series.size()];
+            this.positions = new int[series.size()];
+            this.pending = new PriorityQueue<>(Math.max(1, series.size()),
+                    (a, b) -> nextDate(a).compareTo(nextDate(b)));
+
+            for (int i = 0; i < series.size(); i++) {
+                this.hours[i] = new BigDecimal(hours.get(i));
+                this.current[i] = BigDecimal.ZERO;
+                if ( series.get(i).size() > 0 ) {
+                    pending.add(i);
+                }
+            }
+        }
+
+        private LocalDate nextDate(int index) {
+            return series.get(index).dates[positions[index]];
+        }
+
+        private AdvancePercentageSeries calculate(Iterable<LocalDate> requestedDates) {
+            List<LocalDate> dates = new ArrayList<>();
+            List<BigDecimal> values = new ArrayList<>();
+
+            Iterator<LocalDate> iterator = requestedDates != null ? requestedDates.iterator() : null;
+            while (iterator != null ? iterator.hasNext() : !pending.isEmpty()) {
+                LocalDate date = iterator != null ? iterator.next() : nextDate(pending.peek());
+                applyChangesUntil(date);
+                dates.add(date);
+                values.add(average());
+            }
+
+            return new AdvancePercentageSeries(
+                    dates.toArray(new LocalDate[dates.size()]),
+                    values.toArray(new BigDecimal[values.size()]));
+        }
+
+        private void applyChangesUntil(LocalDate date) {
+            while (!pending.isEmpty() && nextDate(pending.peek()).compareTo(date) <= 0) {
+                int index = pending.poll();
+                BigDecimal value = series.get(index).values[positions[index]];
+                sum = sum.add(value.subtract(current[index]).multiply(hours[index]));
+                current[index] = value;
+
+                positions[index]++;
+                if ( positions[index] < series.get(index).size() ) {
+                    pending.add(index);
+                }
+            }
+        }
+
+        private BigDecimal average() {
+            return totalHours == null ? BigDecimal.ZERO : sum.divide(totalHours, 4, RoundingMode.DOWN);
+        }
+    }
+
+    private final LocalDate[] dates;
+
+    private final BigDecimal[] values;
+
+    private AdvancePercentageSeries(LocalDate[] dates, BigDecimal[] values) {
+        this.dates = dates;
+        this.values = values;
+    }
+
+    public int size() {
+        return dates.length;
+    }
+
+    public List<LocalDate> getDates() {
+        return Collections.unmodifiableList(Arrays.asList(dates));
+    }
+
+    public BigDecimal valueAt(LocalDate date) {
+        int index = Arrays.binarySearch(dates, date);
+        if ( index < 0 ) {
+            // Position of the previous change
+            index = -index - 2;
+        }
+        return index < 0 ? BigDecimal.ZERO : values[index];
+    }
+
+    /**
+     * Returns the percentage after the last change.
+     */
+    public BigDecimal getLastValue() {
+        return values.length == 0 ? BigDecimal.ZERO : values[values.length - 1];
+    }
+
+}
@@ -117,6 +117,11 @@ public abstract class OrderElement extends IntegrationEntity implements ICriteri
 
     private Boolean dirtyLastAdvanceMeasurementForSpreading = true;
 
+    /**
+     * This field is transient.
+     */
+    private AdvancePercentageSeries advancePercentageSeries = null;
+
     private SumChargedEffort sumChargedEffort;
 
     private SumExpenses sumExpenses;
@@ -823,6 +828,19 @@ public abstract class OrderElement extends IntegrationEntity implements ICriteri
 
     public abstract BigDecimal getAdvancePercentage(LocalDate date);
 
+    /**
+     * Returns the values of {@link #getAdvancePercentage(LocalDate)} along time. It is kept until the progress of this
+     * element or of any of its descendants changes.
+     */
+    public AdvancePercentageSeries getAdvancePercentageSeries() {
+        if ( advancePercentageSeries == null ) {
+            advancePercentageSeries = calculateAdvancePercentageSeries();
+        }
+        return advancePercentageSeries;
+    }
+
+    protected abstract AdvancePercentageSeries calculateAdvancePercentageSeries();
+
     public abstract Set<IndirectAdvanceAssignment> getIndirectAdvanceAssignments();
 
     public abstract DirectAdvanceAssignment calculateFakeDirectAdvanceAssignment(
@@ -1400,6 +1418,7 @@ public abstract class OrderElement extends IntegrationEntity implements ICriteri
         }
 
         dirtyLastAdvanceMeasurementForSpreading = true;
+        advancePercentageSeries = null;
     }
 
     public void setSumChargedEffort(SumChargedEffort sumChargedHours) {
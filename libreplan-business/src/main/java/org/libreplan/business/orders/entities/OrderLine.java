@@ -208,6 +208,7 @@ public class OrderLine extends OrderElement {
 
     public void setWorkHours(Integer workHours) throws IllegalArgumentException {
         hoursGroupOrderLineHandler.setWorkHours(this, workHours);
+        markAsDirtyLastAdvanceMeasurementForSpreading();
     }
 
     public boolean isTotalHoursValid(Integer total) {
@@ -220,6 +221,7 @@ public class OrderLine extends OrderElement {
 
     public void recalculateHoursGroups() {
         hoursGroupOrderLineHandler.recalculateHoursGroups(this);
+        markAsDirtyLastAdvanceMeasurementForSpreading();
     }
 
     @Override
@@ -236,6 +238,17 @@ public class OrderLine extends OrderElement {
         return BigDecimal.ZERO;
     }
 
+    @Override
+    protected AdvancePercentageSeries calculateAdvancePercentageSeries() {
+        for (DirectAdvanceAssignment directAdvanceAssignment : directAdvanceAssignments) {
+            if ( directAdvanceAssignment.getReportGlobalAdvance() ) {
+                return AdvancePercentageSeries.from(directAdvanceAssignment);
+            }
+        }
+
+        return AdvancePercentageSeries.zero();
+    }
+
     public Set<DirectAdvanceAssignment> getAllDirectAdvanceAssignments(AdvanceType advanceType) {
         Set<DirectAdvanceAssignment> result = new HashSet<>();
         for (DirectAdvanceAssignment directAdvanceAssignment : directAdvanceAssignments) {
@@ -270,6 +270,7 @@ public class OrderLineGroup extends OrderElement implements ITreeParentNode<Orde
     public void remove(OrderElement child) {
         getManipulator().remove(child);
         removeIndirectAdvanceAssignments(child);
+        markAsDirtyLastAdvanceMeasurementForSpreading();
     }
 
     @Override
@@ -278,12 +279,14 @@ public class OrderLineGroup extends OrderElement implements ITreeParentNode<Orde
 
         addIndirectAdvanceAssignments(orderElement);
         removeIndirectAdvanceAssignments(oldOrderElement);
+        markAsDirtyLastAdvanceMeasurementForSpreading();
     }
 
     @Override
     public void add(OrderElement orderElement) {
         getManipulator().add(orderElement);
         addIndirectAdvanceAssignments(orderElement);
+        markAsDirtyLastAdvanceMeasurementForSpreading();
     }
 
     private void addIndirectAdvanceAssignments(OrderElement orderElement) {
@@ -471,6 +474,49 @@ public class OrderLineGroup extends OrderElement implements ITreeParentNode<Orde
         return BigDecimal.ZERO;
     }
 
+    @Override
+    protected AdvancePercentageSeries calculateAdvancePercentageSeries() {
+        for (DirectAdvanceAssignment directAdvanceAssignment : directAdvanceAssignments) {
+            if ( directAdvanceAssignment.getReportGlobalAdvance() ) {
+                return AdvancePercentageSeries.from(directAdvanceAssignment);
+            }
+        }
+
+        for (IndirectAdvanceAssignment indirectAdvanceAssignment : indirectAdvanceAssignments) {
+            if ( indirectAdvanceAssignment.getReportGlobalAdvance() ) {
+
+                if ( indirectAdvanceAssignment.getAdvanceType().getUnitName().equals(
+                        PredefinedAdvancedTypes.CHILDREN.getTypeName()) ) {
+
+                    return calculateAdvancePercentageSeriesChildren(null);
+                }
+                DirectAdvanceAssignment directAdvanceAssignment =
+                        calculateFakeDirectAdvanceAssignment(indirectAdvanceAssignment);
+
+                return directAdvanceAssignment == null
+                        ? AdvancePercentageSeries.zero()
+                        : AdvancePercentageSeries.from(directAdvanceAssignment);
+            }
+        }
+
+        return AdvancePercentageSeries.zero();
+    }
+
+    /**
+     * Calculates {@link #getAdvancePercentageChildren(LocalDate)} for the given dates merging the series of the
+     * children, or for every date where the progress of any child changes if <code>dates</code> is <code>null</code>.
+     */
+    private AdvancePercentageSeries calculateAdvancePercentageSeriesChildren(Iterable<LocalDate> dates) {
+        List<AdvancePercentageSeries> childrenSeries = new ArrayList<>();
+        List<Integer> childrenHours = new ArrayList<>();
+        for (OrderElement orderElement : children) {
+            childrenSeries.add(orderElement.getAdvancePercentageSeries());
+            childrenHours.add(orderElement.getWorkHours());
+        }
+
+        return AdvancePercentageSeries.weightedAverage(childrenSeries, childrenHours, getWorkHours(), dates);
+    }
+
     @Override
     public BigDecimal getAdvancePercentageChildren() {
         return getAdvancePercentageChildren(null);
@@ -486,7 +532,7 @@ public class OrderLineGroup extends OrderElement implements ITreeParentNode<Orde
                 if ( date == null ) {
                     childPercentage = orderElement.getAdvancePercentage();
                 } else {
-                    childPercentage = orderElement.getAdvancePercentage(date);
+                    childPercentage = orderElement.getAdvancePercentageSeries().valueAt(date);
                 }
                 Integer childHours = orderElement.getWorkHours();
                 result = result.add(childPercentage.multiply(new BigDecimal(childHours)));
@@ -534,11 +580,12 @@ public class OrderLineGroup extends OrderElement implements ITreeParentNode<Orde
             advanceMeasurements.addAll(directAdvanceAssignment.getAdvanceMeasurements());
         }
 
-        List<LocalDate> measurementDates = getMeasurementDates(advanceMeasurements);
+        AdvancePercentageSeries series =
+                calculateAdvancePercentageSeriesChildren(getMeasurementDates(advanceMeasurements));
         SortedSet<AdvanceMeasurement> newAdvanceMeasurements = new TreeSet<>(new AdvanceMeasurementComparator());
 
-        for (LocalDate localDate : measurementDates) {
-            BigDecimal value = getAdvancePercentageChildren(localDate).multiply(new BigDecimal(100));
+        for (LocalDate localDate : series.getDates()) {
+            BigDecimal value = series.valueAt(localDate).multiply(new BigDecimal(100));
             AdvanceMeasurement advanceMeasurement = AdvanceMeasurement.create(localDate, value);
             advanceMeasurement.setAdvanceAssignment(newDirectAdvanceAssignment);
             newAdvanceMeasurements.add(advanceMeasurement);
@@ -548,17 +595,12 @@ public class OrderLineGroup extends OrderElement implements ITreeParentNode<Orde
         return newDirectAdvanceAssignment;
     }
 
-    private List<LocalDate> getMeasurementDates(List<AdvanceMeasurement> advanceMeasurements) {
-        List<LocalDate> result = new ArrayList<>();
+    private SortedSet<LocalDate> getMeasurementDates(List<AdvanceMeasurement> advanceMeasurements) {
+        SortedSet<LocalDate> result = new TreeSet<>();
         for (AdvanceMeasurement advanceMeasurement : advanceMeasurements) {
-            LocalDate date = advanceMeasurement.getDate();
-            if ( result.indexOf(date) < 0 ) {
-                result.add(date);
-            }
+            result.add(advanceMeasurement.getDate());
         }
 
-        Collections.sort(result);
-
         return result;
     }
 
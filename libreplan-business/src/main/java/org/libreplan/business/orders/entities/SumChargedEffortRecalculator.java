@@ -19,6 +19,8 @@
 
 package org.libreplan.business.orders.entities;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -42,7 +44,11 @@ import org.springframework.stereotype.Component;
  * received. Moreover, if there's any concurrency issue (because of some reports
  * were saving in the meanwhile) the recalculation is repeated again (with
  * <code>MAX_ATTEMPS_BECAUSE_CONCURRENCY</code> as maximum) till it's performed
- * without concurrency problems.
+ * without concurrency problems.<br />
+ *
+ * The requests for an {@link Order} that is already waiting to be
+ * recalculated are discarded, as the pending recalculation will take into
+ * account all the changes.
  *
  * @author Manuel Rego Casasnovas <rego@igalia.com>
  */
@@ -72,8 +78,19 @@ public class SumChargedEffortRecalculator implements
      */
     private ExecutorService executor = Executors.newSingleThreadExecutor();
 
+    /**
+     * Orders marked to be recalculated whose recalculation has not started
+     * yet.
+     */
+    private Set<Long> pendingOrderIds = ConcurrentHashMap.newKeySet();
+
     @Override
     public void recalculate(Long orderId) {
+        if (!pendingOrderIds.add(orderId)) {
+            LOG.info("Order (id=" + orderId
+                    + ") is already marked to be recalculated");
+            return;
+        }
         LOG.info("Mark order (id=" + orderId + ") to be recalculated");
         executor.execute(getRecalculationThread(orderId));
     }
@@ -83,6 +100,9 @@ public class SumChargedEffortRecalculator implements
 
             @Override
             public void run() {
+                // Removed before starting, so changes done during the
+                // recalculation cause a new one
+                pendingOrderIds.remove(orderId);
                 try {
                     recalculateSumChargedEfforts(orderId);
                 } catch (InterruptedException e) {
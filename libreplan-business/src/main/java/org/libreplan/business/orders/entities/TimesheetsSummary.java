@@ -0,0 +1,103 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.orders.entities;
+
+import java.util.Date;
+
+import org.libreplan.business.workingday.EffortDuration;
+import org.libreplan.business.workreports.entities.WorkReportLine;
+
+/**
+ * Aggregated data of the {@link WorkReportLine WorkReportLines} of an {@link OrderElement}, or of a whole branch of
+ * the tree, needed to fill its {@link SumChargedEffort}.
+ */
+public class TimesheetsSummary {
+
+    private static final TimesheetsSummary EMPTY = new TimesheetsSummary(EffortDuration.zero(), null, null, false);
+
+    public static TimesheetsSummary empty() {
+        return EMPTY;
+    }
+
+    public static TimesheetsSummary create(EffortDuration effort, Date firstDate, Date lastDate, boolean finished) {
+        return new TimesheetsSummary(effort, firstDate, lastDate, finished);
+    }
+
+    private final EffortDuration effort;
+
+    private final Date firstDate;
+
+    private final Date lastDate;
+
+    private final boolean finished;
+
+    private TimesheetsSummary(EffortDuration effort, Date firstDate, Date lastDate, boolean finished) {
+        this.effort = effort;
+        this.firstDate = firstDate;
+        this.lastDate = lastDate;
+        this.finished = finished;
+    }
+
+    public EffortDuration getEffort() {
+        return effort;
+    }
+
+    public Date getFirstDate() {
+        return firstDate;
+    }
+
+    public Date getLastDate() {
+        return lastDate;
+    }
+
+    /**
+     * @return <code>true</code> if there's a {@link WorkReportLine} marking as finished the {@link OrderElement}
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Combines the data of two branches. The finished flag isn't propagated, as it only concerns the lines of each
+     * {@link OrderElement}.
+     */
+    public TimesheetsSummary plus(TimesheetsSummary other) {
+        return new TimesheetsSummary(
+                effort.plus(other.effort),
+                earliest(firstDate, other.firstDate),
+                latest(lastDate, other.lastDate),
+                false);
+    }
+
+    private static Date earliest(Date one, Date other) {
+        if ( one == null ) {
+            return other;
+        }
+        return other == null || one.before(other) ? one : other;
+    }
+
+    private static Date latest(Date one, Date other) {
+        if ( one == null ) {
+            return other;
+        }
+        return other == null || one.after(other) ? one : other;
+    }
+
+}
@@ -27,15 +27,12 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 import org.apache.commons.lang3.Validate;
 import org.joda.time.Days;
 import org.joda.time.LocalDate;
 import org.libreplan.business.planner.chart.ContiguousDaysLine.OnDay;
 import org.libreplan.business.planner.entities.DayAssignment;
-import org.libreplan.business.workingday.EffortDuration;
 
 /**
  * It represents some contiguous days from a start date to a not included end
@@ -113,85 +110,6 @@ public class ContiguousDaysLine<T> implements Iterable<OnDay<T>> {
         return new ContiguousDaysLine<T>(null, 0);
     }
 
-    @SuppressWarnings("unchecked")
-    public static ContiguousDaysLine<EffortDuration> min(
-            ContiguousDaysLine<EffortDuration> a,
-            ContiguousDaysLine<EffortDuration> b) {
-        return join(EffortDuration.class, minTransformer(), a, b);
-    }
-
-    public static IValueTransformer<EffortDuration[], EffortDuration> minTransformer() {
-        return new IValueTransformer<EffortDuration[], EffortDuration>() {
-
-            @Override
-            public EffortDuration transform(LocalDate day,
-                    EffortDuration[] previousValue) {
-                return EffortDuration.min(previousValue);
-            }
-        };
-    }
-
-    /**
-     * Joins both {@link ContiguousDaysLine} substracting from minuend line. An
-     * effortDuration can't be negative so, if subtrahend line is at some point
-     * bigger than minuend, zero is returned at that point.
-     *
-     * @param minuend
-     * @param subtrahend
-     * @return
-     */
-    @SuppressWarnings("unchecked")
-    public static ContiguousDaysLine<EffortDuration> substract(
-            ContiguousDaysLine<EffortDuration> minuend,
-            ContiguousDaysLine<EffortDuration> subtrahend) {
-        return join(EffortDuration.class, substractTransformer(), minuend,
-                subtrahend);
-    }
-
-    private static IValueTransformer<EffortDuration[], EffortDuration> substractTransformer() {
-        return new IValueTransformer<EffortDuration[], EffortDuration>() {
-
-            @Override
-            public EffortDuration transform(LocalDate day,
-                    EffortDuration[] previousValue) {
-                EffortDuration result = previousValue[0];
-                for (int i = 1; i < previousValue.length; i++) {
-                    result = result.minus(EffortDuration.min(previousValue[i],
-                            result));
-                }
-                return result;
-            }
-        };
-    }
-
-    @SuppressWarnings("unchecked")
-    public static ContiguousDaysLine<EffortDuration> sum(
-            ContiguousDaysLine<EffortDuration> summandA,
-            ContiguousDaysLine<EffortDuration> summandB) {
-        return join(EffortDuration.class, additionTransformer(), summandA,
-                summandB);
-    }
-
-    public static SortedMap<LocalDate, EffortDuration> toSortedMap(
-            ContiguousDaysLine<EffortDuration> line) {
-        SortedMap<LocalDate, EffortDuration> result = new TreeMap<LocalDate, EffortDuration>();
-        for (OnDay<EffortDuration> each : line) {
-            result.put(each.getDay(), each.getValue());
-        }
-        return result;
-    }
-
-    private static IValueTransformer<EffortDuration[], EffortDuration> additionTransformer() {
-        return new IValueTransformer<EffortDuration[], EffortDuration>() {
-
-            @Override
-            public EffortDuration transform(LocalDate day,
-                    EffortDuration[] previousValue) {
-                return EffortDuration.sum(previousValue);
-            }
-        };
-    }
-
     public static <T, R> ContiguousDaysLine<R> join(final Class<T> klass,
             final IValueTransformer<T[], R> transformer,
             final ContiguousDaysLine<T>... lines) {
@@ -0,0 +1,245 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.planner.chart;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.Validate;
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.libreplan.business.planner.chart.ContiguousDaysLine.IValueTransformer;
+import org.libreplan.business.planner.chart.ContiguousDaysLine.OnDay;
+import org.libreplan.business.workingday.EffortDuration;
+
+/**
+ * Contiguous days from a start date to a not included end date with an
+ * {@link EffortDuration} on each one. It's the specialization of
+ * {@link ContiguousDaysLine} for efforts: they are kept as seconds in an
+ * <code>int</code> array, so the element-wise operations are simple loops over
+ * primitives and no object is created per day.
+ * <p>
+ * {@link #subInterval(LocalDate, LocalDate)} returns a view sharing the values
+ * of the original line. The {@link SortedMap} used by the charts is only built
+ * at the end by {@link #toSortedMap()}.
+ * </p>
+ */
+public class EffortDaysLine {
+
+    public static EffortDaysLine create(LocalDate fromInclusive,
+            LocalDate endExclusive) {
+        if (fromInclusive.isAfter(endExclusive)) {
+            throw new IllegalArgumentException("fromInclusive ("
+                    + fromInclusive + ") is after endExclusive ("
+                    + endExclusive + ")");
+        }
+        int size = Days.daysBetween(fromInclusive, endExclusive).getDays();
+        return new EffortDaysLine(fromInclusive, new int[size], 0, size);
+    }
+
+    public static EffortDaysLine invalid() {
+        return new EffortDaysLine(null, new int[0], 0, 0);
+    }
+
+    /**
+     * Creates a line with the same days of the given one, the effort of each
+     * day being the one returned by the transformer.
+     */
+    public static <T> EffortDaysLine from(ContiguousDaysLine<T> line,
+            IValueTransformer<T, EffortDuration> transformer) {
+        if (line.isNotValid()) {
+            return invalid();
+        }
+        EffortDaysLine result = create(line.getStart(), line.getEndExclusive());
+        int i = 0;
+        for (OnDay<T> each : line) {
+            EffortDuration value = transformer.transform(each.getDay(),
+                    each.getValue());
+            result.seconds[i++] = value != null ? value.getSeconds() : 0;
+        }
+        return result;
+    }
+
+    /**
+     * Like {@link #total()}, the sum of a day saturates at
+     * {@link Integer#MAX_VALUE} seconds instead of overflowing.
+     */
+    public static EffortDaysLine sum(EffortDaysLine a, EffortDaysLine b) {
+        EffortDaysLine result = createLike(a, b);
+        for (int i = 0; i < result.size; i++) {
+            result.seconds[i] = saturated((long) a.seconds[a.offset + i]
+                    + b.seconds[b.offset + i]);
+        }
+        return result;
+    }
+
+    private static int saturated(long seconds) {
+        return (int) Math.min(seconds, Integer.MAX_VALUE);
+    }
+
+    /**
+     * As efforts cannot be negative, zero is returned for the days the
+     * subtrahend is bigger than the minuend.
+     */
+    public static EffortDaysLine substract(EffortDaysLine minuend,
+            EffortDaysLine subtrahend) {
+        EffortDaysLine result = createLike(minuend, subtrahend);
+        for (int i = 0; i < result.size; i++) {
+            result.seconds[i] = Math.max(0, minuend.seconds[minuend.offset + i]
+                    - subtrahend.seconds[subtrahend.offset + i]);
+        }
+        return result;
+    }
+
+    public static EffortDaysLine min(EffortDaysLine a, EffortDaysLine b) {
+        EffortDaysLine result = createLike(a, b);
+        for (int i = 0; i < result.size; i++) {
+            result.seconds[i] = Math.min(a.seconds[a.offset + i],
+                    b.seconds[b.offset + i]);
+        }
+        return result;
+    }
+
+    public static EffortDaysLine max(EffortDaysLine a, EffortDaysLine b) {
+        EffortDaysLine result = createLike(a, b);
+        for (int i = 0; i < result.size; i++) {
+            result.seconds[i] = Math.max(a.seconds[a.offset + i],
+                    b.seconds[b.offset + i]);
+        }
+        return result;
+    }
+
+    private static EffortDaysLine createLike(EffortDaysLine a, EffortDaysLine b) {
+        if (a.isNotValid() || b.isNotValid()) {
+            return invalid();
+        }
+        Validate.isTrue(a.getStart().equals(b.getStart()),
+                "the start of all lines must be same date");
+        Validate.isTrue(a.size == b.size,
+                "the end of all lines must be same date");
+        return new EffortDaysLine(a.start, new int[a.size], 0, a.size);
+    }
+
+    private final LocalDate start;
+
+    private final int[] seconds;
+
+    private final int offset;
+
+    private final int size;
+
+    private EffortDaysLine(LocalDate start, int[] seconds, int offset, int size) {
+        this.start = start;
+        this.seconds = seconds;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    public boolean isNotValid() {
+        return start == null;
+    }
+
+    public LocalDate getStart() {
+        mustBeValid();
+        return start;
+    }
+
+    private void mustBeValid() {
+        if (isNotValid()) {
+            throw new IllegalStateException("this line is invalid");
+        }
+    }
+
+    public LocalDate getEndExclusive() {
+        return getStart().plusDays(size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int indexOf(LocalDate day) throws IndexOutOfBoundsException {
+        Validate.notNull(day);
+        int index = Days.daysBetween(getStart(), day).getDays();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(day + " is not in the line");
+        }
+        return index;
+    }
+
+    public EffortDuration get(LocalDate day) throws IndexOutOfBoundsException {
+        return EffortDuration.seconds(getSecondsAt(indexOf(day)));
+    }
+
+    public void set(LocalDate day, EffortDuration value)
+            throws IndexOutOfBoundsException {
+        setSecondsAt(indexOf(day), value.getSeconds());
+    }
+
+    public int getSecondsAt(int index) {
+        return seconds[offset + index];
+    }
+
+    public void setSecondsAt(int index, int value) {
+        seconds[offset + index] = value;
+    }
+
+    /**
+     * Returns a view of the days of this line inside the interval, so
+     * modifications on it are done on this line too.
+     */
+    public EffortDaysLine subInterval(LocalDate startInclusive,
+            LocalDate endExclusive) {
+        if (isNotValid() || startInclusive.compareTo(endExclusive) >= 0
+                || startInclusive.compareTo(getEndExclusive()) >= 0
+                || endExclusive.compareTo(getStart()) <= 0) {
+            return invalid();
+        }
+        int from = Math.max(0, Days.daysBetween(start, startInclusive)
+                .getDays());
+        int to = Math.min(size, Days.daysBetween(start, endExclusive)
+                .getDays());
+        return new EffortDaysLine(start.plusDays(from), seconds, offset + from,
+                to - from);
+    }
+
+    public EffortDuration total() {
+        long result = 0;
+        for (int i = 0; i < size; i++) {
+            result += seconds[offset + i];
+        }
+        return EffortDuration.seconds(saturated(result));
+    }
+
+    public SortedMap<LocalDate, EffortDuration> toSortedMap() {
+        SortedMap<LocalDate, EffortDuration> result = new TreeMap<LocalDate, EffortDuration>();
+        LocalDate day = start;
+        for (int i = 0; i < size; i++) {
+            result.put(day, EffortDuration.seconds(seconds[offset + i]));
+            day = day.plusDays(1);
+        }
+        return result;
+    }
+
+}
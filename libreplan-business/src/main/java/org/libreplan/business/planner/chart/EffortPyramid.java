@@ -0,0 +1,221 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.planner.chart;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.joda.time.DateTimeConstants;
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.libreplan.business.workingday.EffortDuration;
+
+/**
+ * The efforts of an {@link EffortDaysLine} aggregated at several resolutions: days, weeks, months and quarters.
+ * <p>
+ * The accumulated effort up to each day and the days where each period of each resolution starts are calculated
+ * once when the pyramid is created. Afterwards the average effort per day of the periods inside any interval is
+ * obtained with a subtraction per period, without going through the days again. The pyramid is immutable, so it can
+ * be shared between threads.
+ * </p>
+ */
+public class EffortPyramid {
+
+    public enum Resolution {
+
+        DAY {
+            @Override
+            public LocalDate periodStart(LocalDate day) {
+                return day;
+            }
+
+            @Override
+            public LocalDate nextPeriodStart(LocalDate periodStart) {
+                return periodStart.plusDays(1);
+            }
+        },
+
+        WEEK {
+            @Override
+            public LocalDate periodStart(LocalDate day) {
+                return day.withDayOfWeek(DateTimeConstants.MONDAY);
+            }
+
+            @Override
+            public LocalDate nextPeriodStart(LocalDate periodStart) {
+                return periodStart.plusWeeks(1);
+            }
+        },
+
+        MONTH {
+            @Override
+            public LocalDate periodStart(LocalDate day) {
+                return day.withDayOfMonth(1);
+            }
+
+            @Override
+            public LocalDate nextPeriodStart(LocalDate periodStart) {
+                return periodStart.plusMonths(1);
+            }
+        },
+
+        QUARTER {
+            @Override
+            public LocalDate periodStart(LocalDate day) {
+                int firstMonthOfQuarter = ((day.getMonthOfYear() - 1) / 3) * 3 + 1;
+                return day.withDayOfMonth(1).withMonthOfYear(firstMonthOfQuarter);
+            }
+
+            @Override
+            public LocalDate nextPeriodStart(LocalDate periodStart) {
+                return periodStart.plusMonths(3);
+            }
+        };
+
+        /**
+         * Returns the first day of the period containing the given day.
+         */
+        public abstract LocalDate periodStart(LocalDate day);
+
+        public abstract LocalDate nextPeriodStart(LocalDate periodStart);
+
+    }
+
+    public static EffortPyramid create(EffortDaysLine line) {
+        return new EffortPyramid(line);
+    }
+
+    private final LocalDate start;
+
+    /**
+     * Seconds accumulated before each day of the line. It has one more position than days in the line.
+     */
+    private final long[] accumulated;
+
+    /**
+     * For each resolution, the offsets of the days of the line where a period starts, followed by the offset where the
+     * period after the last one would start. The first period can start before the line, so its offset can be
+     * negative.
+     */
+    private final Map<Resolution, int[]> periodOffsets = new EnumMap<>(Resolution.class);
+
+    private EffortPyramid(EffortDaysLine line) {
+        if ( line.isNotValid() || line.isEmpty() ) {
+            start = null;
+            accumulated = new long[] { 0 };
+            return;
+        }
+
+        start = line.getStart();
+        accumulated = new long[line.size() + 1];
+        for (int i = 0; i < line.size(); i++) {
+            accumulated[i + 1] = accumulated[i] + line.getSecondsAt(i);
+        }
+
+        for (Resolution each : Resolution.values()) {
+            periodOffsets.put(each, calculatePeriodOffsets(each, line.getEndExclusive()));
+        }
+    }
+
+    private int[] calculatePeriodOffsets(Resolution resolution, LocalDate endExclusive) {
+        // Each period has at least a day of the line
+        int[] result = new int[accumulated.length + 1];
+        int periods = 0;
+
+        LocalDate periodStart = resolution.periodStart(start);
+        while (periodStart.isBefore(endExclusive)) {
+            result[periods++] = offsetOf(periodStart);
+            periodStart = resolution.nextPeriodStart(periodStart);
+        }
+        result[periods++] = offsetOf(periodStart);
+
+        return Arrays.copyOf(result, periods);
+    }
+
+    private int offsetOf(LocalDate day) {
+        return Days.daysBetween(start, day).getDays();
+    }
+
+    /**
+     * Returns the average effort per day of each period of the resolution with days in the interval, keyed by the
+     * first day of the period. Only the effort of the days inside the interval is considered, but it is divided by
+     * all the days of the period.
+     *
+     * @param fromInclusive
+     *            if <code>null</code> the interval starts at the first day with effort
+     * @param toExclusive
+     *            if <code>null</code> the interval ends after the last day with effort
+     */
+    public SortedMap<LocalDate, EffortDuration> averagePerDay(Resolution resolution,
+                                                            LocalDate fromInclusive,
+                                                            LocalDate toExclusive) {
+
+        SortedMap<LocalDate, EffortDuration> result = new TreeMap<>();
+        if ( start == null ) {
+            return result;
+        }
+
+        int size = accumulated.length - 1;
+        int from = fromInclusive == null ? 0 : clamp(offsetOf(fromInclusive), size);
+        int to = toExclusive == null ? size : clamp(offsetOf(toExclusive), size);
+        if ( from >= to ) {
+            return result;
+        }
+
+        int[] offsets = periodOffsets.get(resolution);
+        for (int i = firstPeriodEndingAfter(offsets, from); i < offsets.length - 1 && offsets[i] < to; i++) {
+            int periodStart = offsets[i];
+            int periodEnd = offsets[i + 1];
+
+            long seconds = accumulated[Math.min(periodEnd, to)] - accumulated[Math.max(periodStart, from)];
+            result.put(start.plusDays(periodStart), EffortDuration.seconds(toInt(seconds / (periodEnd - periodStart))));
+        }
+        return result;
+    }
+
+    private static int clamp(int offset, int size) {
+        return Math.max(0, Math.min(offset, size));
+    }
+
+    /**
+     * Binary search of the first period whose end is after the given offset.
+     */
+    private static int firstPeriodEndingAfter(int[] offsets, int offset) {
+        int low = 0;
+        int high = offsets.length - 2;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if ( offsets[middle + 1] <= offset ) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int toInt(long seconds) {
+        return (int) Math.min(seconds, Integer.MAX_VALUE);
+    }
+
+}
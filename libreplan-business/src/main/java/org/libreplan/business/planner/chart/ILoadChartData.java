@@ -3,6 +3,7 @@ package org.libreplan.business.planner.chart;
 import java.util.SortedMap;
 
 import org.joda.time.LocalDate;
+import org.libreplan.business.planner.chart.EffortPyramid.Resolution;
 import org.libreplan.business.workingday.EffortDuration;
 
 /**
@@ -15,4 +16,13 @@ public interface ILoadChartData {
     SortedMap<LocalDate, EffortDuration> getAvailability();
 
     SortedMap<LocalDate, EffortDuration> getOverload();
+
+    /**
+     * Returns the average load per day of each period of the resolution, keyed by the first day of the period.
+     */
+    SortedMap<LocalDate, EffortDuration> getLoad(Resolution resolution);
+
+    SortedMap<LocalDate, EffortDuration> getAvailability(Resolution resolution);
+
+    SortedMap<LocalDate, EffortDuration> getOverload(Resolution resolution);
 }
\ No newline at end of file
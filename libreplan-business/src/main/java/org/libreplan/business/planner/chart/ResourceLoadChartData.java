@@ -22,11 +22,12 @@
 package org.libreplan.business.planner.chart;
 
 import static org.libreplan.business.planner.chart.ContiguousDaysLine.compound;
-import static org.libreplan.business.planner.chart.ContiguousDaysLine.sum;
-import static org.libreplan.business.planner.chart.ContiguousDaysLine.toSortedMap;
 import static org.libreplan.business.workingday.EffortDuration.min;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -34,12 +35,19 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.TreeMap;
 
+import org.apache.commons.lang3.Validate;
+import org.joda.time.Days;
 import org.joda.time.LocalDate;
 import org.libreplan.business.hibernate.notification.PredefinedDatabaseSnapshots;
 import org.libreplan.business.planner.chart.ContiguousDaysLine.IValueTransformer;
+import org.libreplan.business.planner.chart.EffortPyramid.Resolution;
+import org.libreplan.business.planner.daos.IDayAssignmentDAO;
+import org.libreplan.business.planner.daos.IDayAssignmentDAO.IAssignedEffortReceiver;
 import org.libreplan.business.planner.entities.DayAssignment;
 import org.libreplan.business.resources.entities.Resource;
+import org.libreplan.business.scenarios.entities.Scenario;
 import org.libreplan.business.workingday.EffortDuration;
 import org.libreplan.business.workingday.EffortDuration.IEffortFrom;
 import org.libreplan.business.workingday.IntraDayDate.PartialDay;
@@ -48,6 +56,16 @@ import org.libreplan.business.workingday.IntraDayDate.PartialDay;
  * This class groups the calculation of the three values needed for the chart of the company global resource load.
  * The purpose of the class is having these data pre-calculated to prevent heavy algorithms being
  * run each time the chart is shown.
+ * <p>
+ * The values are kept in {@link EffortDaysLine lines} starting on the first day with load. They are accumulated day
+ * by day from the effort assigned to each resource, so the assignments can be streamed from the database already
+ * summed by {@link IDayAssignmentDAO#streamAssignedEffortByDayAndResource(Scenario,
+ * IAssignedEffortReceiver)} without loading any {@link DayAssignment}.
+ * </p>
+ * <p>
+ * An {@link EffortPyramid} is built for each line too, so the values per week, month or quarter needed when the chart
+ * is zoomed out are not recalculated from the days on each zoom change.
+ * </p>
  *
  * @see PredefinedDatabaseSnapshots
  *
@@ -55,11 +73,17 @@ import org.libreplan.business.workingday.IntraDayDate.PartialDay;
  */
 public class ResourceLoadChartData implements ILoadChartData {
 
-    private SortedMap<LocalDate, EffortDuration> load;
+    private final EffortDaysLine load;
 
-    private SortedMap<LocalDate, EffortDuration> overload;
+    private final EffortDaysLine overload;
 
-    private SortedMap<LocalDate, EffortDuration> availability;
+    private final EffortDaysLine availability;
+
+    private final EffortPyramid loadPyramid;
+
+    private final EffortPyramid overloadPyramid;
+
+    private final EffortPyramid availabilityPyramid;
 
     public ResourceLoadChartData(List<DayAssignment> dayAssignments, List<Resource> resources) {
         this(dayAssignments, resources, null, null);
@@ -70,22 +94,208 @@ public class ResourceLoadChartData implements ILoadChartData {
                                  LocalDate startInclusive,
                                  LocalDate endExclusive) {
 
-        ContiguousDaysLine<List<DayAssignment>> assignments = ContiguousDaysLine.byDay(dayAssignments);
+        this(accumulate(dayAssignments, resources, startInclusive, endExclusive));
+    }
+
+    private ResourceLoadChartData(Accumulator unfinished) {
+        Accumulator accumulator = unfinished.finish();
+        int days = accumulator.days;
+        if ( days == 0 ) {
+            this.load = this.overload = this.availability = EffortDaysLine.invalid();
+            this.loadPyramid = this.overloadPyramid = this.availabilityPyramid = EffortPyramid.create(load);
+            return;
+        }
+
+        LocalDate start = accumulator.first;
+        this.load = EffortDaysLine.create(start, start.plusDays(days));
+        this.overload = EffortDaysLine.create(start, start.plusDays(days));
+        this.availability = EffortDaysLine.create(start, start.plusDays(days));
+
+        for (int i = 0; i < days; i++) {
+            int capacity =
+                    sumCalendarCapacitiesForDay(accumulator.availabilityResources, start.plusDays(i)).getSeconds();
+            availability.setSecondsAt(i, capacity);
+            load.setSecondsAt(i, Math.min(accumulator.load[i], capacity));
+            overload.setSecondsAt(i, accumulator.overload[i] + capacity);
+        }
+
+        this.loadPyramid = EffortPyramid.create(load);
+        this.overloadPyramid = EffortPyramid.create(overload);
+        this.availabilityPyramid = EffortPyramid.create(availability);
+    }
+
+    private static Accumulator accumulate(List<DayAssignment> dayAssignments,
+                                          List<Resource> resources,
+                                          LocalDate startInclusive,
+                                          LocalDate endExclusive) {
+
+        Set<Resource> allResources = new HashSet<>(resources);
+        for (DayAssignment each : dayAssignments) {
+            allResources.add(each.getResource());
+        }
+
+        Accumulator result = new Accumulator(allResources, resources);
+        if ( startInclusive != null && endExclusive != null ) {
+            result.restrictTo(startInclusive, endExclusive);
+        }
+
+        List<DayAssignment> sorted = new ArrayList<>(dayAssignments);
+        Collections.sort(sorted, DayAssignment.byDayComparator());
+        for (DayAssignment each : sorted) {
+            result.assigned(each.getDay(), each.getResource().getId(), each.getDuration().getSeconds());
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates the chart data from the effort assigned to each resource on each day.
+     *
+     * @param resources
+     *            the resources whose calendars are used for calculating the overload and the availability
+     * @param streamer
+     *            sends the assigned effort, ordered by day, to the receiver it is given
+     */
+    public static ResourceLoadChartData create(Collection<? extends Resource> resources,
+                                               IAssignedEffortStreamer streamer) {
+        Accumulator accumulator = new Accumulator(resources, resources);
+        streamer.streamTo(accumulator);
+
+        return new ResourceLoadChartData(accumulator);
+    }
+
+    public interface IAssignedEffortStreamer {
+
+        void streamTo(IAssignedEffortReceiver receiver);
+    }
+
+    /**
+     * Accumulates the load and overload of each day. Only the efforts of the resources on the current day are kept
+     * apart, so the overload of the day can be calculated when the next day arrives.
+     */
+    private static class Accumulator implements IAssignedEffortReceiver {
+
+        private final Map<Long, Integer> indexesById = new HashMap<>();
+
+        private final Resource[] resources;
+
+        private final Collection<? extends Resource> availabilityResources;
+
+        private final long[] currentDayEffort;
+
+        private final int[] touched;
+
+        private int touchedSize = 0;
+
+        private long currentDayUnknownEffort = 0;
+
+        private LocalDate startInclusive;
+
+        private LocalDate endExclusive;
+
+        private LocalDate first;
+
+        private LocalDate currentDay;
+
+        private int days = 0;
+
+        private int[] load = new int[0];
+
+        private int[] overload = new int[0];
+
+        private Accumulator(Collection<? extends Resource> resources,
+                            Collection<? extends Resource> availabilityResources) {
+            this.resources = new Resource[resources.size()];
+            this.availabilityResources = availabilityResources;
+            this.currentDayEffort = new long[resources.size()];
+            this.touched = new int[resources.size()];
+
+            int i = 0;
+            for (Resource each : resources) {
+                this.resources[i] = each;
+                if ( each.getId() != null ) {
+                    indexesById.put(each.getId(), i);
+                }
+                i++;
+            }
+        }
+
+        private void restrictTo(LocalDate startInclusive, LocalDate endExclusive) {
+            this.startInclusive = startInclusive;
+            this.endExclusive = endExclusive;
+        }
 
-        if (startInclusive != null && endExclusive != null) {
-            assignments = assignments.subInterval(startInclusive, endExclusive);
+        @Override
+        public void assigned(LocalDate day, Long resourceId, long seconds) {
+            if ( startInclusive != null && day.isBefore(startInclusive)
+                    || endExclusive != null && !day.isBefore(endExclusive) ) {
+                return;
+            }
+            if ( !day.equals(currentDay) ) {
+                Validate.isTrue(currentDay == null || day.isAfter(currentDay), "days must be received in order");
+                finishCurrentDay();
+                currentDay = day;
+                if ( first == null ) {
+                    first = day;
+                }
+            }
+
+            Integer index = resourceId != null ? indexesById.get(resourceId) : null;
+            if ( index == null ) {
+                // Without calendar all the effort is overload
+                currentDayUnknownEffort += seconds;
+                return;
+            }
+            if ( currentDayEffort[index] == 0 ) {
+                touched[touchedSize++] = index;
+            }
+            currentDayEffort[index] += seconds;
         }
 
-        ContiguousDaysLine<EffortDuration> load = assignments.transform(extractLoad());
+        private void finishCurrentDay() {
+            if ( currentDay == null ) {
+                return;
+            }
+            long dayLoad = currentDayUnknownEffort;
+            long dayOverload = currentDayUnknownEffort;
+
+            PartialDay wholeDay = PartialDay.wholeDay(currentDay);
+            for (int i = 0; i < touchedSize; i++) {
+                int index = touched[i];
+                long assigned = currentDayEffort[index];
+                long capacity = calendarCapacityFor(resources[index], wholeDay).getSeconds();
+                dayLoad += assigned;
+                dayOverload += Math.max(0, assigned - capacity);
+                currentDayEffort[index] = 0;
+            }
+            touchedSize = 0;
+            currentDayUnknownEffort = 0;
+
+            int offset = Days.daysBetween(first, currentDay).getDays();
+            ensureCapacity(offset + 1);
+            load[offset] = toInt(dayLoad);
+            overload[offset] = toInt(dayOverload);
+            days = offset + 1;
+        }
+
+        private void ensureCapacity(int size) {
+            if ( size > load.length ) {
+                int newLength = Math.max(size, load.length * 2);
+                load = Arrays.copyOf(load, newLength);
+                overload = Arrays.copyOf(overload, newLength);
+            }
+        }
 
-        ContiguousDaysLine<EffortDuration> overload = assignments.transform(extractOverload());
+        private static int toInt(long seconds) {
+            return (int) Math.min(seconds, Integer.MAX_VALUE);
+        }
 
-        ContiguousDaysLine<EffortDuration> availabilityOnAllResources =
-                assignments.transform(extractAvailabilityOnAllResources(resources));
+        private Accumulator finish() {
+            finishCurrentDay();
+            currentDay = null;
+            return this;
+        }
 
-        this.load = toSortedMap(ContiguousDaysLine.min(load, availabilityOnAllResources));
-        this.overload = toSortedMap(sum(overload, availabilityOnAllResources));
-        this.availability = toSortedMap(availabilityOnAllResources);
     }
 
     public static IValueTransformer<List<DayAssignment>, EffortDuration> extractOverload() {
@@ -157,65 +367,79 @@ public class ResourceLoadChartData implements ILoadChartData {
         };
     }
 
-    private IValueTransformer<List<DayAssignment>, EffortDuration> extractAvailabilityOnAllResources(
-            final List<Resource> resources) {
+    public SortedMap<LocalDate, EffortDuration> getLoad() {
+        return load.toSortedMap();
+    }
 
-        return new IValueTransformer<List<DayAssignment>, EffortDuration>() {
+    public SortedMap<LocalDate, EffortDuration> getOverload() {
+        return overload.toSortedMap();
+    }
 
-            @Override
-            public EffortDuration transform(LocalDate day, List<DayAssignment> previousValue) {
-                return sumCalendarCapacitiesForDay(resources, day);
-            }
-        };
+    public SortedMap<LocalDate, EffortDuration> getAvailability() {
+        return availability.toSortedMap();
     }
 
-    public SortedMap<LocalDate, EffortDuration> getLoad() {
-        return load;
+    @Override
+    public SortedMap<LocalDate, EffortDuration> getLoad(Resolution resolution) {
+        return loadPyramid.averagePerDay(resolution, null, null);
     }
 
-    public SortedMap<LocalDate, EffortDuration> getOverload() {
-        return overload;
+    @Override
+    public SortedMap<LocalDate, EffortDuration> getOverload(Resolution resolution) {
+        return overloadPyramid.averagePerDay(resolution, null, null);
     }
 
-    public SortedMap<LocalDate, EffortDuration> getAvailability() {
-        return availability;
+    @Override
+    public SortedMap<LocalDate, EffortDuration> getAvailability(Resolution resolution) {
+        return availabilityPyramid.averagePerDay(resolution, null, null);
     }
 
     public ILoadChartData on(final LocalDate startInclusive, final LocalDate endExclusive) {
 
         final ResourceLoadChartData original = ResourceLoadChartData.this;
 
-        if (startInclusive == null && endExclusive == null) {
+        if ((startInclusive == null && endExclusive == null) || load.isNotValid()) {
             return original;
         }
 
+        final LocalDate from = startInclusive != null ? startInclusive : load.getStart();
+        final LocalDate to = endExclusive != null ? endExclusive : load.getEndExclusive();
+
         return new ILoadChartData() {
 
             @Override
             public SortedMap<LocalDate, EffortDuration> getOverload() {
-                return filter(original.getOverload());
+                return filter(overload);
             }
 
             @Override
             public SortedMap<LocalDate, EffortDuration> getLoad() {
-                return filter(original.getLoad());
+                return filter(load);
             }
 
             @Override
             public SortedMap<LocalDate, EffortDuration> getAvailability() {
-                return filter(original.getAvailability());
+                return filter(availability);
             }
 
-            private SortedMap<LocalDate, EffortDuration> filter(SortedMap<LocalDate, EffortDuration> map) {
-                if (startInclusive != null) {
-                    return map.tailMap(startInclusive);
-                }
+            @Override
+            public SortedMap<LocalDate, EffortDuration> getOverload(Resolution resolution) {
+                return overloadPyramid.averagePerDay(resolution, from, to);
+            }
 
-                if (endExclusive != null) {
-                    return map.headMap(endExclusive);
-                }
+            @Override
+            public SortedMap<LocalDate, EffortDuration> getLoad(Resolution resolution) {
+                return loadPyramid.averagePerDay(resolution, from, to);
+            }
+
+            @Override
+            public SortedMap<LocalDate, EffortDuration> getAvailability(Resolution resolution) {
+                return availabilityPyramid.averagePerDay(resolution, from, to);
+            }
 
-                return map.subMap(startInclusive, endExclusive);
+            private SortedMap<LocalDate, EffortDuration> filter(EffortDaysLine line) {
+                EffortDaysLine interval = line.subInterval(from, to);
+                return interval.isNotValid() ? new TreeMap<LocalDate, EffortDuration>() : interval.toSortedMap();
             }
         };
     }
@@ -21,13 +21,20 @@
 
 package org.libreplan.business.planner.daos;
 
+import static java.util.Arrays.asList;
+
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.hibernate.Criteria;
 import org.hibernate.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.criterion.Restrictions;
 import org.joda.time.LocalDate;
 import org.libreplan.business.common.daos.GenericDAOHibernate;
@@ -54,6 +61,25 @@ public class DayAssignmentDAO extends GenericDAOHibernate<DayAssignment, Long> i
 
     private final String SCENARIO = "scenario";
 
+    private static final int STREAMING_FETCH_SIZE = 1000;
+
+    /**
+     * Maximum number of resources used in an <code>in</code> clause. Bigger sets of resources are queried in chunks.
+     */
+    private static final int IN_CLAUSE_MAX_SIZE = 500;
+
+    private static final List<String> CONTAINERS = asList(
+            "SpecificDayAssignmentsContainer",
+            "GenericDayAssignmentsContainer",
+            "DerivedDayAssignmentsContainer");
+
+    private static final Comparator<Object[]> BY_DAY = (a, b) -> dayOf(a).compareTo(dayOf(b));
+
+    private static final Comparator<Object[]> BY_RESOURCE_AND_DAY = (a, b) -> {
+        int result = resourceIdOf(a).compareTo(resourceIdOf(b));
+        return result != 0 ? result : dayOf(a).compareTo(dayOf(b));
+    };
+
     @Override
     public void removeDerived(Collection<? extends DerivedDayAssignment> assignments) {
         for (DerivedDayAssignment each : assignments) {
@@ -180,18 +206,180 @@ public class DayAssignmentDAO extends GenericDAOHibernate<DayAssignment, Long> i
 
     @Override
     public List<DayAssignment> findByResources(Scenario scenario, List<Resource> resources) {
-        // TODO incorporate scenario filtering to the query instead of doing it in memory
-        return DayAssignment.withScenario(scenario, findByResources(resources));
+        Set<Long> resourceIds = new HashSet<>();
+        for (Resource each : resources) {
+            // Resources not saved yet cannot have saved assignments
+            if (each.getId() != null) {
+                resourceIds.add(each.getId());
+            }
+        }
+
+        List<DayAssignment> result = new ArrayList<>();
+        for (List<Long> chunk : chunks(resourceIds)) {
+            for (String container : CONTAINERS) {
+                ScrollableResults scroll = scrollAssignments(container, scenario, chunk);
+                try {
+                    while (scroll.next()) {
+                        result.add((DayAssignment) scroll.get(0));
+                    }
+                } finally {
+                    scroll.close();
+                }
+            }
+        }
+        return result;
     }
 
     @Override
     public List<DayAssignment> findByResources(List<Resource> resources) {
-        return resources.isEmpty()
-                ? Collections.emptyList()
-                : getSession()
+        List<DayAssignment> result = new ArrayList<>();
+        for (List<Resource> chunk : chunks(resources)) {
+            result.addAll(getSession()
                     .createCriteria(DayAssignment.class)
-                    .add(Restrictions.in("resource", resources))
-                    .list();
+                    .add(Restrictions.in("resource", chunk))
+                    .list());
+        }
+        return result;
+    }
+
+    private ScrollableResults scrollAssignments(String container, Scenario scenario, Collection<Long> resourceIds) {
+        String queryString = "select d from " + container + " c " +
+                "JOIN c.dayAssignments d where c.scenario = :scenario and d.resource.id in (:resourceIds)";
+
+        return getSession()
+                .createQuery(queryString)
+                .setParameter(SCENARIO, scenario)
+                .setParameterList("resourceIds", resourceIds)
+                .setFetchSize(STREAMING_FETCH_SIZE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    /**
+     * Splits the elements in lists small enough to be used in an <code>in</code> clause.
+     */
+    private static <T> List<List<T>> chunks(Collection<T> elements) {
+        List<T> all = new ArrayList<>(elements);
+        List<List<T>> result = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += IN_CLAUSE_MAX_SIZE) {
+            result.add(all.subList(i, Math.min(i + IN_CLAUSE_MAX_SIZE, all.size())));
+        }
+        return result;
+    }
+
+    @Override
+    public void streamAssignedEffortByDayAndResource(Scenario scenario, IAssignedEffortReceiver receiver) {
+        streamAssignedEffort(scenario, null, null, null, BY_DAY, receiver);
+    }
+
+    @Override
+    public void streamAssignedEffortByResourceAndDay(Scenario scenario,
+                                                     Collection<Long> resourceIds,
+                                                     IAssignedEffortReceiver receiver) {
+
+        streamAssignedEffortByResourceAndDay(scenario, resourceIds, null, null, receiver);
+    }
+
+    @Override
+    public void streamAssignedEffortByResourceAndDay(Scenario scenario,
+                                                     Collection<Long> resourceIds,
+                                                     LocalDate initInclusive,
+                                                     LocalDate endInclusive,
+                                                     IAssignedEffortReceiver receiver) {
+
+        if ( resourceIds == null ) {
+            streamAssignedEffort(scenario, null, initInclusive, endInclusive, BY_RESOURCE_AND_DAY, receiver);
+            return;
+        }
+
+        // The chunks are sent in order of resource id, so the whole output keeps being sorted
+        List<Long> sortedIds = new ArrayList<>(new TreeSet<>(resourceIds));
+        for (List<Long> chunk : chunks(sortedIds)) {
+            streamAssignedEffort(scenario, chunk, initInclusive, endInclusive, BY_RESOURCE_AND_DAY, receiver);
+        }
+    }
+
+    private void streamAssignedEffort(Scenario scenario,
+                                      Collection<Long> resourceIds,
+                                      LocalDate initInclusive,
+                                      LocalDate endInclusive,
+                                      Comparator<Object[]> order,
+                                      IAssignedEffortReceiver receiver) {
+
+        List<ScrollableResults> scrolls = new ArrayList<>();
+        try {
+            for (String container : CONTAINERS) {
+                scrolls.add(scrollAssignedEffort(container, scenario, resourceIds, initInclusive, endInclusive, order));
+            }
+            merge(scrolls, order, receiver);
+        } finally {
+            for (ScrollableResults each : scrolls) {
+                each.close();
+            }
+        }
+    }
+
+    private ScrollableResults scrollAssignedEffort(String container,
+                                                   Scenario scenario,
+                                                   Collection<Long> resourceIds,
+                                                   LocalDate initInclusive,
+                                                   LocalDate endInclusive,
+                                                   Comparator<Object[]> order) {
+
+        String queryString = "select d.day, d.resource.id, sum(d.duration) from " + container + " c " +
+                "JOIN c.dayAssignments d where c.scenario = :scenario " +
+                (resourceIds != null ? "and d.resource.id in (:resourceIds) " : "") +
+                addQueryConditionForInitAndEndDate(initInclusive, endInclusive) +
+                " group by d.day, d.resource.id " +
+                (order == BY_DAY ? "order by d.day" : "order by d.resource.id, d.day");
+
+        Query query = getSession().createQuery(queryString).setParameter(SCENARIO, scenario);
+        if ( resourceIds != null ) {
+            query.setParameterList("resourceIds", resourceIds);
+        }
+        addInitAndEndParameters(query, initInclusive, endInclusive);
+
+        return query
+                .setReadOnly(true)
+                .setFetchSize(STREAMING_FETCH_SIZE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    /**
+     * Each of the scrolls is sorted, so the rows are sent sorted picking always the first one among the current rows
+     * of the scrolls.
+     */
+    private static void merge(List<ScrollableResults> scrolls,
+                              Comparator<Object[]> order,
+                              IAssignedEffortReceiver receiver) {
+
+        Object[][] current = new Object[scrolls.size()][];
+        for (int i = 0; i < current.length; i++) {
+            current[i] = scrolls.get(i).next() ? scrolls.get(i).get() : null;
+        }
+
+        while (true) {
+            int first = -1;
+            for (int i = 0; i < current.length; i++) {
+                if ( current[i] != null && (first == -1 || order.compare(current[i], current[first]) < 0) ) {
+                    first = i;
+                }
+            }
+            if ( first == -1 ) {
+                return;
+            }
+
+            Object[] row = current[first];
+            receiver.assigned(dayOf(row), resourceIdOf(row), ((Number) row[2]).longValue());
+            current[first] = scrolls.get(first).next() ? scrolls.get(first).get() : null;
+        }
+    }
+
+    private static LocalDate dayOf(Object[] row) {
+        return (LocalDate) row[0];
+    }
+
+    private static Long resourceIdOf(Object[] row) {
+        return (Long) row[1];
     }
 
 }
@@ -54,8 +54,49 @@ public interface IDayAssignmentDAO extends IGenericDAO<DayAssignment, Long> {
 
     List<DayAssignment> listFilteredByDate(LocalDate init, LocalDate end);
 
+    /**
+     * Big sets of resources are queried in chunks, and the assignments are added to the result as they are scrolled.
+     */
     public List<DayAssignment> findByResources(Scenario scenario, List<Resource> resources);
 
     public List<DayAssignment> findByResources(List<Resource> resources);
 
+    /**
+     * Receives the effort assigned to the resources on each day. The days are received in ascending order, and the
+     * effort of a resource on a day can be split in several calls.
+     */
+    public interface IAssignedEffortReceiver {
+
+        void assigned(LocalDate day, Long resourceId, long seconds);
+    }
+
+    /**
+     * Sends to the receiver the effort assigned to each resource on each day of the scenario. The effort is summed
+     * on the database and the rows are scrolled, so no {@link DayAssignment} is loaded into memory.
+     */
+    public void streamAssignedEffortByDayAndResource(Scenario scenario, IAssignedEffortReceiver receiver);
+
+    /**
+     * Like {@link #streamAssignedEffortByDayAndResource(Scenario, IAssignedEffortReceiver)}, but the effort is
+     * received ordered by resource id and then by day.
+     *
+     * @param resourceIds
+     *            if not <code>null</code>, only the effort assigned to these resources is sent
+     */
+    public void streamAssignedEffortByResourceAndDay(Scenario scenario, Collection<Long> resourceIds,
+                                                     IAssignedEffortReceiver receiver);
+
+    /**
+     * Like {@link #streamAssignedEffortByResourceAndDay(Scenario, Collection, IAssignedEffortReceiver)}, but only the
+     * effort assigned to the days of the interval is sent. Big sets of resources are queried in chunks.
+     *
+     * @param initInclusive
+     *            if <code>null</code> the interval is not limited at the start
+     * @param endInclusive
+     *            if <code>null</code> the interval is not limited at the end
+     */
+    public void streamAssignedEffortByResourceAndDay(Scenario scenario, Collection<Long> resourceIds,
+                                                     LocalDate initInclusive, LocalDate endInclusive,
+                                                     IAssignedEffortReceiver receiver);
+
 }
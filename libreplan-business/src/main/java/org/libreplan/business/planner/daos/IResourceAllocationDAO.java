@@ -59,6 +59,15 @@ public interface IResourceAllocationDAO extends
             Resource resource,
             LocalDate intervalFilterStartDate, LocalDate intervalFilterEndDate);
 
+    /**
+     * Like {@link #findAllocationsRelatedTo(Scenario, Resource, LocalDate, LocalDate)} for each of the resources, but
+     * the allocations of all of them are retrieved with a couple of queries. The resources are kept in the same order,
+     * including the ones without allocations.
+     */
+    Map<Resource, List<ResourceAllocation<?>>> findAllocationsRelatedToEachOf(Scenario onScenario,
+            List<Resource> resources,
+            LocalDate intervalFilterStartDate, LocalDate intervalFilterEndDate);
+
     Map<Criterion, List<GenericResourceAllocation>> findGenericAllocationsByCriterion(
             Scenario onScenario,
             Date intervalFilterStartDate, Date intervalFilterEndDate);
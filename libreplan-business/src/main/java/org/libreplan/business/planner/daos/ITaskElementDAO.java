@@ -21,12 +21,15 @@
 
 package org.libreplan.business.planner.daos;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
 import org.libreplan.business.common.daos.IGenericDAO;
+import org.libreplan.business.planner.entities.Task;
 import org.libreplan.business.planner.entities.TaskElement;
 import org.libreplan.business.planner.entities.TaskGroup;
+import org.libreplan.business.scenarios.entities.Scenario;
 
 /**
  * @author Óscar González Fernández <ogonzalez@igalia.com>
@@ -44,4 +47,24 @@ public interface ITaskElementDAO extends IGenericDAO<TaskElement, Long> {
 
     List<TaskElement> getTaskElementsWithParentsWithoutMilestones();
 
+    List<Task> findTasksByIds(Collection<Long> ids);
+
+    /**
+     * Returns the ids of the tasks owning the {@link org.libreplan.business.planner.entities.ResourceAllocation
+     * resource allocations} with the given ids.
+     */
+    List<Long> findTaskIdsOfAllocations(Collection<Long> resourceAllocationIds);
+
+    /**
+     * Returns the ids of the tasks owning the day assignments containers of the given class with the given ids. For
+     * derived containers the task is the one of the allocation they derive from.
+     */
+    List<Long> findTaskIdsOfContainers(Class<?> containerClass, Collection<Long> containerIds);
+
+    /**
+     * Initializes with a few queries the allocations, day assignments on the <code>scenario</code>, assigned
+     * resources and dependencies of the <code>taskElements</code>, that are navigated when planning them.
+     */
+    void loadPlanningData(Collection<? extends TaskElement> taskElements, Scenario scenario);
+
 }
@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -58,6 +59,11 @@ public class ResourceAllocationDAO
         extends GenericDAOHibernate<ResourceAllocation, Long>
         implements IResourceAllocationDAO {
 
+    /**
+     * Maximum number of resources used in an <code>in</code> clause. Bigger sets of resources are queried in chunks.
+     */
+    private static final int IN_CLAUSE_MAX_SIZE = 500;
+
     @Override
     public List<ResourceAllocation<?>> findAllocationsRelatedToAnyOf(Scenario onScenario, List<Resource> resources) {
         List<ResourceAllocation<?>> result = new ArrayList<>();
@@ -169,6 +175,95 @@ public class ResourceAllocationDAO
                 onScenario, Collections.singletonList(resource), intervalFilterStartDate, intervalFilterEndDate));
     }
 
+    @Override
+    public Map<Resource, List<ResourceAllocation<?>>> findAllocationsRelatedToEachOf(
+            Scenario onScenario,
+            List<Resource> resources,
+            LocalDate intervalFilterStartDate,
+            LocalDate intervalFilterEndDate) {
+
+        Map<Long, List<ResourceAllocation<?>>> byResourceId = new HashMap<>();
+        Map<Resource, List<ResourceAllocation<?>>> result = new LinkedHashMap<>();
+        for (Resource each : resources) {
+            List<ResourceAllocation<?>> allocations = new ArrayList<>();
+            result.put(each, allocations);
+            byResourceId.put(each.getId(), allocations);
+        }
+
+        for (List<Resource> chunk : chunks(resources)) {
+            for (SpecificResourceAllocation each : findSpecificAllocationsRelatedTo(
+                    onScenario, chunk, intervalFilterStartDate, intervalFilterEndDate)) {
+
+                addIfHasAssignments(byResourceId.get(each.getResource().getId()), each);
+            }
+            for (Object[] each : findGenericAllocationsWithResourceFor(
+                    onScenario, chunk, intervalFilterStartDate, intervalFilterEndDate)) {
+
+                addIfHasAssignments(byResourceId.get(each[1]), (GenericResourceAllocation) each[0]);
+            }
+        }
+        return result;
+    }
+
+    private static void addIfHasAssignments(List<ResourceAllocation<?>> allocations, ResourceAllocation<?> allocation) {
+        if (allocations != null && allocation.hasAssignments()) {
+            allocations.add(allocation);
+        }
+    }
+
+    /**
+     * Returns each generic allocation together with the id of each of the given resources it has day assignments for.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> findGenericAllocationsWithResourceFor(
+            final Scenario onScenario,
+            final List<Resource> resources,
+            final LocalDate intervalFilterStartDate,
+            final LocalDate intervalFilterEndDate) {
+
+        QueryBuilder queryBuilder = new QueryBuilder() {
+
+            @Override
+            protected String getBaseQuery() {
+                return "select distinct generic, dayAssignment.resource.id from GenericResourceAllocation generic "
+                        + "join generic.task task "
+                        + "join generic.genericDayAssignmentsContainers container "
+                        + "join container.dayAssignments dayAssignment";
+            }
+
+            @Override
+            protected String getBaseConditions() {
+                return "where dayAssignment.resource in (:resources)";
+            }
+
+            @Override
+            protected void setBaseParameters(Query query) {
+                query.setParameterList("resources", resources);
+            }
+
+            @Override
+            protected IQueryPart[] getExtraParts() {
+                return new IQueryPart[] {
+                        new DatesInterval("task", intervalFilterStartDate, intervalFilterEndDate),
+                        new OnScenario("task", onScenario) };
+            }
+
+        };
+
+        return queryBuilder.build(getSession()).list();
+    }
+
+    /**
+     * Splits the resources in lists small enough to be used in an <code>in</code> clause.
+     */
+    private static List<List<Resource>> chunks(List<Resource> resources) {
+        List<List<Resource>> result = new ArrayList<>();
+        for (int i = 0; i < resources.size(); i += IN_CLAUSE_MAX_SIZE) {
+            result.add(resources.subList(i, Math.min(i + IN_CLAUSE_MAX_SIZE, resources.size())));
+        }
+        return result;
+    }
+
     private <R extends ResourceAllocation<?>> List<R> stripAllocationsWithoutAssignations(List<R> allocations) {
         List<R> result = new ArrayList<>();
         for (R eachAllocation : allocations) {
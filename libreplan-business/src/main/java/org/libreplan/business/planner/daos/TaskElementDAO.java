@@ -21,6 +21,9 @@
 
 package org.libreplan.business.planner.daos;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -29,10 +32,14 @@ import org.hibernate.Hibernate;
 import org.hibernate.Query;
 import org.hibernate.criterion.Restrictions;
 import org.joda.time.LocalDate;
+import org.libreplan.business.common.daos.FetchPlan;
 import org.libreplan.business.common.daos.GenericDAOHibernate;
+import org.libreplan.business.planner.entities.DerivedDayAssignmentsContainer;
 import org.libreplan.business.planner.entities.ResourceAllocation;
+import org.libreplan.business.planner.entities.Task;
 import org.libreplan.business.planner.entities.TaskElement;
 import org.libreplan.business.planner.entities.TaskGroup;
+import org.libreplan.business.scenarios.entities.Scenario;
 import org.libreplan.business.workingday.EffortDuration;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
@@ -48,6 +55,31 @@ import org.springframework.transaction.annotation.Transactional;
 @Scope(BeanDefinition.SCOPE_SINGLETON)
 public class TaskElementDAO extends GenericDAOHibernate<TaskElement, Long> implements ITaskElementDAO {
 
+    private static final FetchPlan PLANNING_FETCH_PLAN = FetchPlan.of(
+            "SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.resourceAllocations WHERE t.id IN (:ids)",
+            "SELECT DISTINCT t FROM TaskElement t LEFT JOIN FETCH t.dependenciesWithThisOrigin WHERE t.id IN (:ids)",
+            "SELECT DISTINCT t FROM TaskElement t LEFT JOIN FETCH t.dependenciesWithThisDestination "
+                    + "WHERE t.id IN (:ids)",
+            "SELECT DISTINCT r FROM ResourceAllocation r LEFT JOIN FETCH r.derivedAllocations WHERE r.task.id IN (:ids)",
+            "SELECT DISTINCT r FROM SpecificResourceAllocation r LEFT JOIN FETCH r.resource "
+                    + "LEFT JOIN FETCH r.specificDayAssignmentsContainers WHERE r.task.id IN (:ids)",
+            "SELECT DISTINCT r FROM GenericResourceAllocation r LEFT JOIN FETCH r.genericDayAssignmentsContainers "
+                    + "WHERE r.task.id IN (:ids)",
+            "SELECT DISTINCT r FROM GenericResourceAllocation r LEFT JOIN FETCH r.criterions WHERE r.task.id IN (:ids)",
+            "SELECT DISTINCT d FROM DerivedAllocation d LEFT JOIN FETCH d.derivedDayAssignmentsContainers "
+                    + "WHERE d.derivedFrom.task.id IN (:ids)",
+            "SELECT DISTINCT c FROM SpecificDayAssignmentsContainer c LEFT JOIN FETCH c.dayAssignments "
+                    + "WHERE c.resourceAllocation.task.id IN (:ids) AND c.scenario = :scenario",
+            "SELECT DISTINCT c FROM GenericDayAssignmentsContainer c LEFT JOIN FETCH c.dayAssignments "
+                    + "WHERE c.resourceAllocation.task.id IN (:ids) AND c.scenario = :scenario",
+            "SELECT DISTINCT c FROM DerivedDayAssignmentsContainer c LEFT JOIN FETCH c.dayAssignments "
+                    + "WHERE c.resourceAllocation.derivedFrom.task.id IN (:ids) AND c.scenario = :scenario",
+            "SELECT DISTINCT d.resource FROM GenericDayAssignment d "
+                    + "WHERE d.container.resourceAllocation.task.id IN (:ids) AND d.container.scenario = :scenario",
+            "SELECT DISTINCT d.resource FROM DerivedDayAssignment d "
+                    + "WHERE d.container.resourceAllocation.derivedFrom.task.id IN (:ids) "
+                    + "AND d.container.scenario = :scenario");
+
     @SuppressWarnings("unchecked")
     @Override
     public List<TaskElement> findChildrenOf(TaskGroup each) {
@@ -155,4 +187,51 @@ public class TaskElementDAO extends GenericDAOHibernate<TaskElement, Long> imple
         return query.list();
     }
 
+    @Override
+    public List<Task> findTasksByIds(Collection<Long> ids) {
+        if ( ids.isEmpty() ) {
+            return Collections.emptyList();
+        }
+        Query query = getSession().createQuery("FROM Task WHERE id IN (:ids)");
+        query.setParameterList("ids", ids);
+        return query.list();
+    }
+
+    @Override
+    public List<Long> findTaskIdsOfAllocations(Collection<Long> resourceAllocationIds) {
+        if ( resourceAllocationIds.isEmpty() ) {
+            return Collections.emptyList();
+        }
+        String strQuery = "SELECT r.task.id FROM ResourceAllocation r "
+                + "WHERE r.task IS NOT NULL AND r.id IN (:ids)";
+        Query query = getSession().createQuery(strQuery);
+        query.setParameterList("ids", resourceAllocationIds);
+        return query.list();
+    }
+
+    @Override
+    public List<Long> findTaskIdsOfContainers(Class<?> containerClass, Collection<Long> containerIds) {
+        if ( containerIds.isEmpty() ) {
+            return Collections.emptyList();
+        }
+        String allocation = DerivedDayAssignmentsContainer.class.equals(containerClass)
+                ? "c.resourceAllocation.derivedFrom"
+                : "c.resourceAllocation";
+
+        String strQuery = "SELECT " + allocation + ".task.id FROM " + containerClass.getSimpleName() + " c "
+                + "WHERE " + allocation + ".task IS NOT NULL AND c.id IN (:ids)";
+        Query query = getSession().createQuery(strQuery);
+        query.setParameterList("ids", containerIds);
+        return query.list();
+    }
+
+    @Override
+    public void loadPlanningData(Collection<? extends TaskElement> taskElements, Scenario scenario) {
+        List<Long> ids = new ArrayList<>();
+        for (TaskElement each : taskElements) {
+            ids.add(each.getId());
+        }
+        PLANNING_FETCH_PLAN.fetch(getSession(), ids, Collections.<String, Object> singletonMap("scenario", scenario));
+    }
+
 }
@@ -0,0 +1,267 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.planner.entities;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.Validate;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.libreplan.business.planner.daos.IDayAssignmentDAO.IAssignedEffortReceiver;
+import org.libreplan.business.scenarios.entities.Scenario;
+import org.libreplan.business.workingday.EffortDuration;
+
+/**
+ * Read-only columnar copy of the effort assigned by the {@link DayAssignment day assignments} of a scenario.
+ * <p>
+ * For each resource and day with assigned effort it only keeps the resource id, the day as days since the epoch and
+ * the summed seconds, in three primitive arrays sorted by resource and day. It is meant for the views that only need
+ * to read the assigned effort, so they don't have to load the {@link DayAssignment} entities. Being immutable it can
+ * be shared between threads; it's kept in sync with the database replacing the rows of the resources whose
+ * assignments are modified.
+ * </p>
+ * <p>
+ * All the rows of the scenario are kept on the heap: 16 bytes for each resource and day with assigned effort, so a
+ * scenario with a million of them takes about 16 MB. While it is being built or updated the growing arrays of the
+ * {@link Builder} and the store being replaced are alive too, so the peak is about three times that.
+ * </p>
+ *
+ * @see org.libreplan.business.hibernate.notification.PredefinedDatabaseSnapshots
+ */
+public class DayAssignmentsStore {
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    static int epochDay(LocalDate date) {
+        return (int) (date.toDateTimeAtStartOfDay(DateTimeZone.UTC).getMillis() / MILLIS_PER_DAY);
+    }
+
+    static LocalDate dateOf(int epochDay) {
+        return new LocalDate(epochDay * MILLIS_PER_DAY, DateTimeZone.UTC);
+    }
+
+    /**
+     * @param scenarioId
+     *            the id of the scenario whose assignments are going to be added
+     */
+    public static Builder builder(Long scenarioId) {
+        return new Builder(scenarioId);
+    }
+
+    /**
+     * Receives the assigned effort ordered by resource and day. The efforts received for the same resource and day
+     * are summed.
+     */
+    public static class Builder implements IAssignedEffortReceiver {
+
+        private final Long scenarioId;
+
+        private long[] resourceIds = new long[16];
+
+        private int[] days = new int[16];
+
+        private int[] seconds = new int[16];
+
+        private int size = 0;
+
+        private Builder(Long scenarioId) {
+            this.scenarioId = scenarioId;
+        }
+
+        @Override
+        public void assigned(LocalDate day, Long resourceId, long effortSeconds) {
+            add(resourceId, epochDay(day), (int) effortSeconds);
+        }
+
+        private void add(long resourceId, int day, int effortSeconds) {
+            if ( size > 0 && resourceIds[size - 1] == resourceId && days[size - 1] == day ) {
+                seconds[size - 1] += effortSeconds;
+                return;
+            }
+            Validate.isTrue(size == 0 || resourceIds[size - 1] < resourceId
+                    || resourceIds[size - 1] == resourceId && days[size - 1] < day,
+                    "the effort must be received ordered by resource and day");
+
+            if ( size == resourceIds.length ) {
+                resourceIds = Arrays.copyOf(resourceIds, size * 2);
+                days = Arrays.copyOf(days, size * 2);
+                seconds = Arrays.copyOf(seconds, size * 2);
+            }
+            resourceIds[size] = resourceId;
+            days[size] = day;
+            seconds[size] = effortSeconds;
+            size++;
+        }
+
+        private void addRows(DayAssignmentsStore store, int from, int to) {
+            for (int i = from; i < to; i++) {
+                add(store.resourceIds[i], store.days[i], store.seconds[i]);
+            }
+        }
+
+        public DayAssignmentsStore build() {
+            return new DayAssignmentsStore(scenarioId,
+                    Arrays.copyOf(resourceIds, size), Arrays.copyOf(days, size), Arrays.copyOf(seconds, size));
+        }
+    }
+
+    private final Long scenarioId;
+
+    private final long[] resourceIds;
+
+    private final int[] days;
+
+    private final int[] seconds;
+
+    private DayAssignmentsStore(Long scenarioId, long[] resourceIds, int[] days, int[] seconds) {
+        this.scenarioId = scenarioId;
+        this.resourceIds = resourceIds;
+        this.days = days;
+        this.seconds = seconds;
+    }
+
+    public boolean isFor(Scenario scenario) {
+        return scenario != null && scenarioId != null && scenarioId.equals(scenario.getId());
+    }
+
+    public Long getScenarioId() {
+        return scenarioId;
+    }
+
+    /**
+     * @return the number of resource and day pairs with assigned effort
+     */
+    public int size() {
+        return resourceIds.length;
+    }
+
+    public Set<Long> getResourceIds() {
+        Set<Long> result = new HashSet<>();
+        for (long each : resourceIds) {
+            result.add(each);
+        }
+        return result;
+    }
+
+    public EffortDuration getEffortOn(Long resourceId, LocalDate day) {
+        int index = find(resourceId, epochDay(day));
+        return EffortDuration.seconds(index >= 0 ? seconds[index] : 0);
+    }
+
+    /**
+     * Returns the effort assigned to the resource on each day of the interval with assigned effort.
+     *
+     * @param startInclusive
+     *            if <code>null</code> the interval is not limited at the start
+     * @param endInclusive
+     *            if <code>null</code> the interval is not limited at the end
+     */
+    public SortedMap<LocalDate, EffortDuration> getEffortsByDay(Long resourceId,
+                                                                LocalDate startInclusive,
+                                                                LocalDate endInclusive) {
+        SortedMap<LocalDate, EffortDuration> result = new TreeMap<>();
+        int to = toIndex(resourceId, endInclusive);
+        for (int i = fromIndex(resourceId, startInclusive); i < to; i++) {
+            result.put(dateOf(days[i]), EffortDuration.seconds(seconds[i]));
+        }
+        return result;
+    }
+
+    public EffortDuration getTotalEffort(Long resourceId, LocalDate startInclusive, LocalDate endInclusive) {
+        long result = 0;
+        int to = toIndex(resourceId, endInclusive);
+        for (int i = fromIndex(resourceId, startInclusive); i < to; i++) {
+            result += seconds[i];
+        }
+        return EffortDuration.seconds((int) Math.min(result, Integer.MAX_VALUE));
+    }
+
+    private int fromIndex(long resourceId, LocalDate startInclusive) {
+        return lowerBound(resourceId, startInclusive == null ? Integer.MIN_VALUE : epochDay(startInclusive));
+    }
+
+    private int toIndex(long resourceId, LocalDate endInclusive) {
+        return endInclusive == null
+                ? lowerBound(resourceId + 1, Integer.MIN_VALUE)
+                : lowerBound(resourceId, epochDay(endInclusive) + 1);
+    }
+
+    private int find(long resourceId, int day) {
+        int index = lowerBound(resourceId, day);
+        return index < resourceIds.length && resourceIds[index] == resourceId && days[index] == day ? index : -1;
+    }
+
+    /**
+     * @return the position of the first row not before the given resource and day
+     */
+    private int lowerBound(long resourceId, int day) {
+        int low = 0;
+        int high = resourceIds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if ( resourceIds[middle] < resourceId || resourceIds[middle] == resourceId && days[middle] < day ) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns a new store where the rows of the given resources are the ones of the replacement.
+     *
+     * @param replacement
+     *            it must only contain rows of the replaced resources
+     */
+    public DayAssignmentsStore replacingResources(Collection<Long> replacedResourceIds,
+                                                  DayAssignmentsStore replacement) {
+        long[] replaced = new long[replacedResourceIds.size()];
+        int i = 0;
+        for (Long each : replacedResourceIds) {
+            replaced[i++] = each;
+        }
+        Arrays.sort(replaced);
+
+        Builder result = builder(scenarioId);
+        int position = 0;
+        int replacementPosition = 0;
+        for (long each : replaced) {
+            int start = lowerBound(each, Integer.MIN_VALUE);
+            int replacementStart = replacement.lowerBound(each, Integer.MIN_VALUE);
+            result.addRows(replacement, replacementPosition, replacementStart);
+            result.addRows(this, position, start);
+
+            replacementPosition = replacement.lowerBound(each + 1, Integer.MIN_VALUE);
+            result.addRows(replacement, replacementStart, replacementPosition);
+            position = lowerBound(each + 1, Integer.MIN_VALUE);
+        }
+        result.addRows(replacement, replacementPosition, replacement.size());
+        result.addRows(this, position, size());
+
+        return result.build();
+    }
+
+}
@@ -24,17 +24,12 @@ package org.libreplan.business.planner.entities;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
-import java.sql.Time;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.SortedMap;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.Date;
 
 import org.joda.time.LocalDate;
-import org.joda.time.LocalTime;
 import org.libreplan.business.advance.entities.AdvanceMeasurement;
 import org.libreplan.business.advance.entities.DirectAdvanceAssignment;
 import org.libreplan.business.planner.entities.DayAssignment.FilterType;
@@ -109,6 +104,8 @@ public class HoursCostCalculator implements ICostCalculator {
     /**
      * BCWS values are calculating here.
      * MAX(BCWS) equals addition of all dayAssignments.
+     *
+     * @see HoursCostSeries
      */
     @Override
     public SortedMap<LocalDate, BigDecimal> getEstimatedCost(Task task,
@@ -119,88 +116,9 @@ public class HoursCostCalculator implements ICostCalculator {
             return getAdvanceCost(task);
         }
 
-        SortedMap<LocalDate, BigDecimal> result = new TreeMap<LocalDate, BigDecimal>();
-
         List<DayAssignment> dayAssignments = task.getDayAssignments(FilterType.WITHOUT_DERIVED);
-        if ( dayAssignments.isEmpty() ) {
-            return result;
-        }
-
-        int additionOfAllAssignmentsMinutes = 0;
-
-        for (DayAssignment dayAssignment : dayAssignments) {
-            LocalDate day = dayAssignment.getDay();
-            if( ((filterStartDate == null) || day.compareTo(filterStartDate) >= 0) &&
-                    ((filterEndDate == null) || day.compareTo(filterEndDate) <= 0) ) {
-
-                String currentTime = dayAssignment.getDuration().toFormattedString();
-
-                SimpleDateFormat format1 = new SimpleDateFormat("hh:mm");
-                SimpleDateFormat format2 = new SimpleDateFormat("hh");
-
-                Date date = null;
-
-                try {
-                    if ( isParsableWithFormat1(currentTime) ) {
-                        date = format1.parse(currentTime);
-                    } else if ( isParsableWithFormat2(currentTime) ) {
-                        date = format2.parse(currentTime);
-                    }
-                } catch (ParseException e) {
-                    e.printStackTrace();
-                }
-
-                assert date != null;
 
-                LocalTime time = new LocalTime(date.getTime());
-                // Time time = new Time(date.getTime());
-
-                BigDecimal hours = new BigDecimal(time.getHourOfDay());
-                additionOfAllAssignmentsMinutes += time.getMinuteOfHour();
-
-                if ( !result.containsKey(day) ) {
-                    result.put(day, BigDecimal.ZERO);
-                }
-
-                /**
-                 * On last day assignment app will check addition of minutes of all assignments.
-                 * If it is between 30 and 60 - add 1 hour to the last value of result.
-                 * If it is more than 60 then divide on 60 and calculate hours.
-                 * E.G. 120 minutes / 60 = 2 hours.
-                 */
-                if ( dayAssignment.equals(dayAssignments.get(dayAssignments.size() - 1)) ){
-
-                    if ( additionOfAllAssignmentsMinutes >= 30 && additionOfAllAssignmentsMinutes <= 60 )
-                        hours = BigDecimal.valueOf(hours.intValue() + 1);
-
-                    if ( additionOfAllAssignmentsMinutes > 60 )
-                        hours = BigDecimal.valueOf(hours.intValue() + (additionOfAllAssignmentsMinutes / 60));
-                }
-                result.put(day, result.get(day).add(hours));
-            }
-        }
-        return result;
-    }
-
-    private boolean isParsableWithFormat1(String input){
-        boolean parsable = true;
-        try {
-            SimpleDateFormat format = new SimpleDateFormat("hh:mm");
-            format.parse(input);
-        } catch (ParseException e) {
-            parsable = false;
-        }
-        return parsable;
-    }
-    private boolean isParsableWithFormat2(String input){
-        boolean parsable = true;
-        try {
-            SimpleDateFormat format = new SimpleDateFormat("hh");
-            format.parse(input);
-        } catch (ParseException e) {
-            parsable = false;
-        }
-        return parsable;
+        return HoursCostSeries.hoursPerDay(dayAssignments, filterStartDate, filterEndDate);
     }
 
     @Override
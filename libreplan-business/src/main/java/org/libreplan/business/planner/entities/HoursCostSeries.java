@@ -0,0 +1,137 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.planner.entities;
+
+import static org.libreplan.business.planner.entities.DayAssignmentsStore.dateOf;
+import static org.libreplan.business.planner.entities.DayAssignmentsStore.epochDay;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.joda.time.LocalDate;
+
+/**
+ * Sums the hours of a list of {@link DayAssignment} per day, working directly on the seconds of their durations.
+ * <p>
+ * Each duration is rounded to the nearest minute. Its whole hours are added to its day and its minutes are
+ * accumulated. The accumulated minutes are carried over to the day of the last assignment of the list: from 30 to
+ * 60 minutes add one hour, and more than 60 minutes add their whole hours.
+ * </p>
+ * <p>
+ * The hours are accumulated in an array indexed by the days since the first day, so only the result is boxed.
+ * </p>
+ *
+ * @see HoursCostCalculator#getEstimatedCost(Task, LocalDate, LocalDate)
+ */
+public class HoursCostSeries {
+
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private static final int MINUTES_PER_HOUR = 60;
+
+    private HoursCostSeries() {
+    }
+
+    /**
+     * @param filterStartDate
+     *            if not <code>null</code> the assignments before it are ignored
+     * @param filterEndDate
+     *            if not <code>null</code> the assignments after it are ignored
+     */
+    public static SortedMap<LocalDate, BigDecimal> hoursPerDay(List<? extends DayAssignment> dayAssignments,
+                                                               LocalDate filterStartDate,
+                                                               LocalDate filterEndDate) {
+
+        int size = dayAssignments.size();
+        int[] days = new int[size];
+        int[] minutes = new int[size];
+        int included = 0;
+        int firstDay = Integer.MAX_VALUE;
+        int lastDay = Integer.MIN_VALUE;
+        boolean lastIncluded = false;
+
+        for (int i = 0; i < size; i++) {
+            DayAssignment each = dayAssignments.get(i);
+            LocalDate day = each.getDay();
+            if ( isIncluded(day, filterStartDate, filterEndDate) ) {
+                days[included] = epochDay(day);
+                minutes[included] = roundedMinutes(each.getDuration().getSeconds());
+                firstDay = Math.min(firstDay, days[included]);
+                lastDay = Math.max(lastDay, days[included]);
+                included++;
+                lastIncluded = i == size - 1;
+            }
+        }
+
+        SortedMap<LocalDate, BigDecimal> result = new TreeMap<>();
+        if ( included == 0 ) {
+            return result;
+        }
+
+        long[] hours = new long[lastDay - firstDay + 1];
+        boolean[] assigned = new boolean[hours.length];
+        long remainingMinutes = 0;
+
+        for (int i = 0; i < included; i++) {
+            int position = days[i] - firstDay;
+            hours[position] += minutes[i] / MINUTES_PER_HOUR;
+            assigned[position] = true;
+            remainingMinutes += minutes[i] % MINUTES_PER_HOUR;
+        }
+
+        if ( lastIncluded ) {
+            hours[days[included - 1] - firstDay] += carriedHours(remainingMinutes);
+        }
+
+        for (int i = 0; i < hours.length; i++) {
+            if ( assigned[i] ) {
+                result.put(dateOf(firstDay + i), BigDecimal.valueOf(hours[i]));
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean isIncluded(LocalDate day, LocalDate filterStartDate, LocalDate filterEndDate) {
+        return (filterStartDate == null || day.compareTo(filterStartDate) >= 0) &&
+                (filterEndDate == null || day.compareTo(filterEndDate) <= 0);
+    }
+
+    /**
+     * Same rounding as {@link org.libreplan.business.workingday.EffortDuration#atNearestMinute()}.
+     */
+    static int roundedMinutes(int seconds) {
+        int remainder = seconds % SECONDS_PER_MINUTE;
+        int minutes = seconds / SECONDS_PER_MINUTE;
+
+        return remainder >= SECONDS_PER_MINUTE / 2 ? minutes + 1 : minutes;
+    }
+
+    static long carriedHours(long minutes) {
+        if ( minutes > MINUTES_PER_HOUR ) {
+            return minutes / MINUTES_PER_HOUR;
+        }
+
+        return minutes >= MINUTES_PER_HOUR / 2 ? 1 : 0;
+    }
+
+}
@@ -20,9 +20,8 @@
 package org.libreplan.business.planner.entities;
 
 import org.libreplan.business.orders.entities.Order;
-import org.libreplan.business.planner.chart.ContiguousDaysLine;
+import org.libreplan.business.planner.chart.EffortDaysLine;
 import org.libreplan.business.resources.entities.IAssignmentsOnResourceCalculator;
-import org.libreplan.business.workingday.EffortDuration;
 
 
 /**
@@ -36,14 +35,14 @@ public interface IOrderResourceLoadCalculator {
     void setOrder(Order order,
             IAssignmentsOnResourceCalculator assignmentsOnResourceCalculator);
 
-    ContiguousDaysLine<EffortDuration> getMaxCapacityOnResources();
+    EffortDaysLine getMaxCapacityOnResources();
 
-    ContiguousDaysLine<EffortDuration> getOrderLoad();
+    EffortDaysLine getOrderLoad();
 
-    ContiguousDaysLine<EffortDuration> getAllLoad();
+    EffortDaysLine getAllLoad();
 
-    ContiguousDaysLine<EffortDuration> getOrderOverload();
+    EffortDaysLine getOrderOverload();
 
-    ContiguousDaysLine<EffortDuration> getAllOverload();
+    EffortDaysLine getAllOverload();
 
 }
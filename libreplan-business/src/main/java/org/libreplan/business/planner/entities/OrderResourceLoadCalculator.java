@@ -30,11 +30,11 @@ import org.libreplan.business.calendars.entities.AvailabilityTimeLine;
 import org.libreplan.business.orders.entities.Order;
 import org.libreplan.business.planner.chart.ContiguousDaysLine;
 import org.libreplan.business.planner.chart.ContiguousDaysLine.OnDay;
+import org.libreplan.business.planner.chart.EffortDaysLine;
 import org.libreplan.business.planner.chart.ResourceLoadChartData;
 import org.libreplan.business.planner.entities.DayAssignment.FilterType;
 import org.libreplan.business.resources.entities.IAssignmentsOnResourceCalculator;
 import org.libreplan.business.resources.entities.Resource;
-import org.libreplan.business.workingday.EffortDuration;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
@@ -55,15 +55,15 @@ public class OrderResourceLoadCalculator implements IOrderResourceLoadCalculator
 
     private ContiguousDaysLine<List<DayAssignment>> filteredAssignments;
 
-    private ContiguousDaysLine<EffortDuration> maxCapacityOnResources;
+    private EffortDaysLine maxCapacityOnResources;
 
-    private ContiguousDaysLine<EffortDuration> orderLoad;
+    private EffortDaysLine orderLoad;
 
-    private ContiguousDaysLine<EffortDuration> allLoad;
+    private EffortDaysLine allLoad;
 
-    private ContiguousDaysLine<EffortDuration> orderOverload;
+    private EffortDaysLine orderOverload;
 
-    private ContiguousDaysLine<EffortDuration> allOverload;
+    private EffortDaysLine allOverload;
 
     @Override
     public void setOrder(Order order,
@@ -84,11 +84,10 @@ public class OrderResourceLoadCalculator implements IOrderResourceLoadCalculator
     }
 
     @Override
-    public ContiguousDaysLine<EffortDuration> getMaxCapacityOnResources() {
+    public EffortDaysLine getMaxCapacityOnResources() {
         if (maxCapacityOnResources == null) {
-            maxCapacityOnResources = getOrderAssignments()
-                     .transform(ResourceLoadChartData
-                             .extractAvailabilityOnAssignedResources());
+            maxCapacityOnResources = EffortDaysLine.from(getOrderAssignments(),
+                    ResourceLoadChartData.extractAvailabilityOnAssignedResources());
         }
         return maxCapacityOnResources;
     }
@@ -103,19 +102,19 @@ public class OrderResourceLoadCalculator implements IOrderResourceLoadCalculator
     }
 
     @Override
-    public ContiguousDaysLine<EffortDuration> getOrderLoad() {
+    public EffortDaysLine getOrderLoad() {
         if (orderLoad == null) {
-            orderLoad = getOrderAssignments()
-                     .transform(ResourceLoadChartData.extractLoad());
+            orderLoad = EffortDaysLine.from(getOrderAssignments(),
+                    ResourceLoadChartData.extractLoad());
         }
         return orderLoad;
     }
 
     @Override
-    public ContiguousDaysLine<EffortDuration> getAllLoad() {
+    public EffortDaysLine getAllLoad() {
         if (allLoad == null) {
-            allLoad = getFilteredAssignments()
-                     .transform(ResourceLoadChartData.extractLoad());
+            allLoad = EffortDaysLine.from(getFilteredAssignments(),
+                    ResourceLoadChartData.extractLoad());
         }
         return allLoad;
     }
@@ -198,19 +197,19 @@ public class OrderResourceLoadCalculator implements IOrderResourceLoadCalculator
     }
 
     @Override
-    public ContiguousDaysLine<EffortDuration> getOrderOverload() {
+    public EffortDaysLine getOrderOverload() {
         if (orderOverload == null) {
-            orderOverload = getOrderAssignments()
-                     .transform(ResourceLoadChartData.extractOverload());
+            orderOverload = EffortDaysLine.from(getOrderAssignments(),
+                    ResourceLoadChartData.extractOverload());
         }
         return orderOverload;
     }
 
     @Override
-    public ContiguousDaysLine<EffortDuration> getAllOverload() {
+    public EffortDaysLine getAllOverload() {
         if (allOverload == null) {
-            allOverload = getFilteredAssignments()
-                     .transform(ResourceLoadChartData.extractOverload());
+            allOverload = EffortDaysLine.from(getFilteredAssignments(),
+                    ResourceLoadChartData.extractOverload());
         }
         return allOverload;
     }
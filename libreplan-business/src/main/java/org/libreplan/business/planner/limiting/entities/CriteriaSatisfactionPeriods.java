@@ -0,0 +1,137 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.planner.limiting.entities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.joda.time.LocalDate;
+import org.libreplan.business.calendars.entities.AvailabilityTimeLine.DatePoint;
+import org.libreplan.business.calendars.entities.AvailabilityTimeLine.FixedPoint;
+import org.libreplan.business.calendars.entities.AvailabilityTimeLine.Interval;
+import org.libreplan.business.planner.entities.AvailabilityCalculator;
+import org.libreplan.business.resources.entities.Criterion;
+import org.libreplan.business.resources.entities.Resource;
+
+/**
+ * Periods of time in which a {@link Resource} satisfies a set of {@link Criterion}.
+ * <p>
+ * The timeline of the satisfactions is calculated only once, so many gaps can be split into the parts satisfying the
+ * criteria with a binary search each one, instead of building the timeline again for every gap.
+ * </p>
+ *
+ * @see Gap#splitIntoGapsSatisfyingCriteria(Resource, CriteriaSatisfactionPeriods)
+ */
+public class CriteriaSatisfactionPeriods {
+
+    public static CriteriaSatisfactionPeriods of(Resource resource, Collection<? extends Criterion> criteria) {
+        return new CriteriaSatisfactionPeriods(
+                AvailabilityCalculator.getCriterionsAvailabilityFor(criteria, resource).getValidPeriods());
+    }
+
+    /**
+     * Start of each period. <code>null</code> means the start of time.
+     */
+    private final LocalDate[] starts;
+
+    /**
+     * Exclusive end of each period. <code>null</code> means the end of time.
+     */
+    private final LocalDate[] ends;
+
+    private CriteriaSatisfactionPeriods(List<Interval> validPeriods) {
+        starts = new LocalDate[validPeriods.size()];
+        ends = new LocalDate[validPeriods.size()];
+        for (int i = 0; i < validPeriods.size(); i++) {
+            starts[i] = dateOf(validPeriods.get(i).getStart());
+            ends[i] = dateOf(validPeriods.get(i).getEnd());
+        }
+    }
+
+    private static LocalDate dateOf(DatePoint point) {
+        return point instanceof FixedPoint ? ((FixedPoint) point).getDate() : null;
+    }
+
+    /**
+     * Returns the parts of the periods between <code>start</code> and <code>end</code>. They are the valid periods
+     * that the timeline of the satisfactions would have after invalidating it until <code>start</code> and from
+     * <code>end</code>.
+     *
+     * @param start
+     *            if <code>null</code> the periods are not limited at the start
+     * @param end
+     *            exclusive. If <code>null</code> the periods are not limited at the end
+     */
+    public List<Interval> within(LocalDate start, LocalDate end) {
+        List<Interval> result = new ArrayList<>();
+
+        for (int i = firstEndingAfter(start); i < starts.length; i++) {
+            LocalDate periodStart = latest(starts[i], start);
+            LocalDate periodEnd = earliest(ends[i], end);
+
+            if ( periodStart != null && periodEnd != null && !periodStart.isBefore(periodEnd) ) {
+                if ( end != null && starts[i] != null && !starts[i].isBefore(end) ) {
+                    break;
+                }
+                continue;
+            }
+            result.add(Interval.create(periodStart, periodEnd));
+        }
+
+        return result;
+    }
+
+    private int firstEndingAfter(LocalDate date) {
+        if ( date == null ) {
+            return 0;
+        }
+
+        int low = 0;
+        int high = ends.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if ( ends[middle] != null && !ends[middle].isAfter(date) ) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    private static LocalDate latest(LocalDate startOrStartOfTime, LocalDate other) {
+        if ( startOrStartOfTime == null ) {
+            return other;
+        }
+
+        return other == null || startOrStartOfTime.isAfter(other) ? startOrStartOfTime : other;
+    }
+
+    private static LocalDate earliest(LocalDate endOrEndOfTime, LocalDate other) {
+        if ( endOrEndOfTime == null ) {
+            return other;
+        }
+
+        return other == null || endOrEndOfTime.isBefore(other) ? endOrEndOfTime : other;
+    }
+
+}
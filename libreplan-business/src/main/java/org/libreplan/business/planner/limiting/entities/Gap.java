@@ -55,16 +55,22 @@ import org.libreplan.business.workingday.IntraDayDate.PartialDay;
  */
 public class Gap implements Comparable<Gap> {
 
+    private final Resource resource;
+
     private DateAndHour startTime;
 
     private DateAndHour endTime;
 
+    /**
+     * Calculated when first needed, as it requires visiting the calendar for all the days of the gap and many gaps
+     * are only used to be split or discarded by their dates.
+     */
     private Integer hoursInGap;
 
     public Gap(Resource resource, DateAndHour startTime, DateAndHour endTime) {
+        this.resource = resource;
         this.startTime = startTime;
         this.endTime = endTime;
-        hoursInGap = calculateHoursInGap(resource, startTime, endTime);
     }
 
     public static class GapOnQueue {
@@ -107,6 +113,11 @@ public class Gap implements Comparable<Gap> {
             return GapOnQueue.onQueue(originQueue, gap.splitIntoGapsSatisfyingCriteria(originQueue.getResource(), criteria));
         }
 
+        public List<GapOnQueue> splitIntoGapsSatisfyingCriteria(CriteriaSatisfactionPeriods satisfactionPeriods) {
+            return GapOnQueue.onQueue(
+                    originQueue, gap.splitIntoGapsSatisfyingCriteria(originQueue.getResource(), satisfactionPeriods));
+        }
+
         @Override
         public String toString() {
             return "queue: " + originQueue + "; gap: " + gap;
@@ -260,7 +271,14 @@ public class Gap implements Comparable<Gap> {
 
         return canSatisfyStartConstraint(startAfter) &&
                 canSatisfyEndConstraint(endsAfter) &&
-                hoursInGap >= candidate.getIntentedTotalHours();
+                getHoursInGap() >= candidate.getIntentedTotalHours();
+    }
+
+    private int getHoursInGap() {
+        if (hoursInGap == null) {
+            hoursInGap = calculateHoursInGap(resource, startTime, endTime);
+        }
+        return hoursInGap;
     }
 
     private boolean canSatisfyStartConstraint(final LocalDate startsAfter) {
@@ -310,6 +328,21 @@ public class Gap implements Comparable<Gap> {
         return splitIntoGapsSatisfyingCriteria(resource, criteria, getStartTime(), getEndTime());
     }
 
+    /**
+     * Same as {@link #splitIntoGapsSatisfyingCriteria(Resource, Set)} using the satisfaction periods of the criteria
+     * calculated beforehand, so splitting many gaps for the same criteria and resource is cheap.
+     */
+    public List<Gap> splitIntoGapsSatisfyingCriteria(Resource resource, CriteriaSatisfactionPeriods satisfactionPeriods) {
+        LocalDate start = startTime != null ? startTime.getDate() : null;
+        LocalDate end = endTime != null ? endTime.getDate() : null;
+
+        List<Gap> result = new ArrayList<>();
+        for (Interval each : satisfactionPeriods.within(start, end)) {
+            result.add(createGap(resource, each, startTime, endTime));
+        }
+        return result;
+    }
+
     /**
      * Returns a set of {@link Gap} composed by those gaps which satisfy <em>criteria</em> within the period:
      * <em>gapStartTime</em> till <em>gapEndTime</em>.
@@ -107,11 +107,13 @@ public class LimitingResourceAllocator {
     public static Gap getFirstValidGap(LimitingResourceQueue queue, LimitingResourceQueueElement element) {
 
         final Resource resource = queue.getResource();
-        final List<LimitingResourceQueueElement> elements = new LinkedList<>(queue.getLimitingResourceQueueElements());
+        final List<LimitingResourceQueueElement> elements = queue.getElementsByStartTime();
         final int size = elements.size();
         final DateAndHour startTime = getStartTimeBecauseOfGantt(element);
+        final CriteriaSatisfactionPeriods satisfactionPeriods = satisfactionPeriodsFor(element, resource);
 
-        int pos = 0;
+        // The gaps before elements starting before startTime are empty
+        int pos = queue.getPositionOfFirstElementNotStartingBefore(startTime);
 
         // Iterate through queue elements
         while (pos <= size) {
@@ -119,7 +121,7 @@ public class LimitingResourceAllocator {
 
             if ( gap != null ) {
 
-                List<Gap> subgaps = getFittingSubgaps(element, gap, resource);
+                List<Gap> subgaps = getFittingSubgaps(element, gap, resource, satisfactionPeriods);
 
                 if ( !subgaps.isEmpty() ) {
                     return subgaps.get(0);
@@ -131,16 +133,27 @@ public class LimitingResourceAllocator {
         return null;
     }
 
+    /**
+     * The periods in which <code>resource</code> satisfies the criteria of a generic <code>element</code>, calculated
+     * once to split all the gaps of the queue.
+     */
+    private static CriteriaSatisfactionPeriods satisfactionPeriodsFor(LimitingResourceQueueElement element,
+                                                                      Resource resource) {
+
+        return isGeneric(element) ? CriteriaSatisfactionPeriods.of(resource, element.getCriteria()) : null;
+    }
+
     private static List<Gap> getFittingSubgaps(LimitingResourceQueueElement element,
                                                final Gap gap,
-                                               final Resource resource) {
+                                               final Resource resource,
+                                               final CriteriaSatisfactionPeriods satisfactionPeriods) {
 
         List<Gap> result = new ArrayList<>();
 
         if ( isSpecific(element) && gap.canFit(element) ) {
             result.add(gap);
         } else if ( isGeneric(element) ) {
-            final List<Gap> gaps = gap.splitIntoGapsSatisfyingCriteria(resource, element.getCriteria());
+            final List<Gap> gaps = gap.splitIntoGapsSatisfyingCriteria(resource, satisfactionPeriods);
             for (Gap subgap : gaps) {
 
                 if ( subgap.canFit(element) ) {
@@ -167,10 +180,11 @@ public class LimitingResourceAllocator {
         List<Gap> result = new ArrayList<>();
 
         final Resource resource = queue.getResource();
-        final List<LimitingResourceQueueElement> elements = new LinkedList<>(queue.getLimitingResourceQueueElements());
+        final List<LimitingResourceQueueElement> elements = queue.getElementsByStartTime();
         final int size = elements.size();
+        final CriteriaSatisfactionPeriods satisfactionPeriods = satisfactionPeriodsFor(element, resource);
 
-        int pos = moveUntil(elements, since);
+        int pos = queue.getPositionOfFirstElementNotStartingBefore(since);
 
         // Iterate through queue elements
         while (pos <= size) {
@@ -179,7 +193,7 @@ public class LimitingResourceAllocator {
 
             // The queue cannot hold this element (queue.resource doesn't meet element.criteria)
             if ( gap != null ) {
-                List<Gap> subgaps = getFittingSubgaps(element, gap, resource);
+                List<Gap> subgaps = getFittingSubgaps(element, gap, resource, satisfactionPeriods);
                 result.addAll(subgaps);
             }
         }
@@ -187,28 +201,6 @@ public class LimitingResourceAllocator {
         return result;
     }
 
-    private static int moveUntil(List<LimitingResourceQueueElement> elements, DateAndHour until) {
-        int pos = 0;
-
-        if ( elements.size() > 0 ) {
-            // Space between until and first element start time
-            LimitingResourceQueueElement first = elements.get(0);
-            if (until.isBefore(first.getStartTime())) {
-                return 0;
-            }
-
-            for (pos = 1; pos < elements.size(); pos++) {
-                final LimitingResourceQueueElement each = elements.get(pos);
-                final DateAndHour startTime = each.getStartTime();
-
-                if ( until.isBefore(startTime) || until.isEquals(startTime) ) {
-                    return pos;
-                }
-            }
-        }
-        return pos;
-    }
-
     private static boolean isGeneric(LimitingResourceQueueElement element) {
         return element.getResourceAllocation() instanceof GenericResourceAllocation;
     }
@@ -70,6 +70,13 @@ public interface IResourceDAO extends IIntegrationEntityDAO<Resource> {
      */
     List<Resource> getResources();
 
+    /**
+     * Returns the ids of all {@link Resource} without loading them
+     *
+     * @return
+     */
+    List<Long> getResourceIds();
+
     /**
      * Returns all {@link Worker} which are virtual
      *
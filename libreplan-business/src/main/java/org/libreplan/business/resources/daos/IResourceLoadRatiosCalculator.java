@@ -20,6 +20,8 @@
 package org.libreplan.business.resources.daos;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
 
 import org.joda.time.LocalDate;
 import org.libreplan.business.resources.entities.Resource;
@@ -77,4 +79,15 @@ public interface IResourceLoadRatiosCalculator {
             LocalDate startDate,
             LocalDate endDate, Scenario scenario);
 
+    /**
+     * Calculates the load ratios of several resources at once, retrieving the
+     * assigned effort of all of them together.
+     *
+     * @return the load ratios calculated for each resource, in the order of
+     *         the given resources.
+     */
+    <T extends Resource> Map<T, ILoadRatiosDataType> calculateLoadRatios(
+            Collection<T> resources, LocalDate startDate, LocalDate endDate,
+            Scenario scenario);
+
 }
@@ -26,9 +26,12 @@ import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 
+import org.hibernate.Criteria;
 import org.hibernate.Query;
+import org.hibernate.criterion.DetachedCriteria;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
+import org.hibernate.criterion.Subqueries;
 import org.libreplan.business.common.daos.IntegrationEntityDAO;
 import org.libreplan.business.labels.entities.Label;
 import org.libreplan.business.reports.dtos.HoursWorkedPerResourceDTO;
@@ -38,6 +41,7 @@ import org.libreplan.business.resources.entities.Criterion;
 import org.libreplan.business.resources.entities.LimitingResourceQueue;
 import org.libreplan.business.resources.entities.Machine;
 import org.libreplan.business.resources.entities.Resource;
+import org.libreplan.business.resources.entities.VirtualWorker;
 import org.libreplan.business.resources.entities.Worker;
 import org.libreplan.business.scenarios.IScenarioManager;
 import org.libreplan.business.workingday.EffortDuration;
@@ -92,6 +96,22 @@ public class ResourceDAO extends IntegrationEntityDAO<Resource> implements IReso
         return list(Resource.class);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> getResourceIds() {
+        return getSession().createQuery("select r.id from Resource r").list();
+    }
+
+    /**
+     * Virtual workers are left out, as they are groups of workers and not
+     * resources by themselves.
+     */
+    @Override
+    protected Criteria createCriteriaOrderedByCode() {
+        return super.createCriteriaOrderedByCode().add(Subqueries.propertyNotIn("id",
+                DetachedCriteria.forClass(VirtualWorker.class).setProjection(Projections.id())));
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public List<Resource> getAllLimitingResources() {
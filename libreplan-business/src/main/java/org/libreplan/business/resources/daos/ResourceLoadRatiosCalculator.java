@@ -20,14 +20,20 @@
 package org.libreplan.business.resources.daos;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.joda.time.LocalDate;
+import org.libreplan.business.hibernate.notification.PredefinedDatabaseSnapshots;
 import org.libreplan.business.planner.daos.IDayAssignmentDAO;
-import org.libreplan.business.planner.entities.DayAssignment;
+import org.libreplan.business.planner.entities.DayAssignmentsStore;
 import org.libreplan.business.resources.entities.Resource;
 import org.libreplan.business.scenarios.entities.Scenario;
 import org.libreplan.business.workingday.EffortDuration;
@@ -37,6 +43,7 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Class designed to be used as a singleton spring bean implementing the
@@ -55,6 +62,9 @@ public class ResourceLoadRatiosCalculator implements IResourceLoadRatiosCalculat
     @Autowired
     private IResourceDAO resourceDAO;
 
+    @Autowired
+    private PredefinedDatabaseSnapshots databaseSnapshots;
+
     private static class LoadRatiosDataType implements IResourceLoadRatiosCalculator.ILoadRatiosDataType {
         private EffortDuration load;
 
@@ -119,17 +129,42 @@ public class ResourceLoadRatiosCalculator implements IResourceLoadRatiosCalculat
                                                    final LocalDate startDate,
                                                    final LocalDate endDate,
                                                    final Scenario scenario) {
-        resourceDAO.reattach(resource);
 
+        return calculateLoadRatios(Collections.singletonList(resource), startDate, endDate, scenario).get(resource);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <T extends Resource> Map<T, ILoadRatiosDataType> calculateLoadRatios(Collection<T> resources,
+                                                                              LocalDate startDate,
+                                                                              LocalDate endDate,
+                                                                              Scenario scenario) {
+
+        Map<Long, SortedMap<LocalDate, EffortDuration>> effortsByResource =
+                getAllEffortPerDateFor(scenario, startDate, endDate, resources);
+
+        Map<T, ILoadRatiosDataType> result = new LinkedHashMap<>();
+        for (T each : resources) {
+            resourceDAO.reattach(each);
+
+            SortedMap<LocalDate, EffortDuration> efforts = effortsByResource.get(each.getId());
+            result.put(each, calculateLoadRatios(each, startDate, endDate,
+                    efforts != null ? efforts : Collections.<LocalDate, EffortDuration> emptySortedMap()));
+        }
+
+        return result;
+    }
+
+    private ILoadRatiosDataType calculateLoadRatios(Resource resource,
+                                                    LocalDate startDate,
+                                                    LocalDate endDate,
+                                                    SortedMap<LocalDate, EffortDuration> efforts) {
         EffortDuration
                 totalLoad = EffortDuration.zero(),
                 totalOverload = EffortDuration.zero(),
                 totalCapacity;
 
-        Set<Map.Entry<LocalDate, EffortDuration>> efforts =
-                getAllEffortPerDateFor(scenario, startDate, endDate, resource).entrySet();
-
-        for (Map.Entry<LocalDate, EffortDuration> each : efforts) {
+        for (Map.Entry<LocalDate, EffortDuration> each : efforts.entrySet()) {
             totalLoad = totalLoad.plus(each.getValue());
             totalOverload = addOverload(totalOverload, resource, each.getValue(), each.getKey());
         }
@@ -139,24 +174,39 @@ public class ResourceLoadRatiosCalculator implements IResourceLoadRatiosCalculat
         return new LoadRatiosDataType(totalLoad, totalOverload, totalCapacity);
     }
 
-    private Map<LocalDate, EffortDuration> getAllEffortPerDateFor(
-            Scenario scenario, LocalDate startDate, LocalDate endDate, Resource resource) {
-
-        HashMap<LocalDate, EffortDuration> result;
-        result = new HashMap<>();
-
-        List<DayAssignment> l = dayAssignmentDAO.getAllFor(scenario, startDate, endDate, resource);
+    /**
+     * The efforts are taken from the {@link DayAssignmentsStore} snapshot only when it's known to have the same data
+     * the query would read: it's for the scenario, it has no reload pending and the transaction is read-only, so it
+     * cannot have modifications of its own not seen by the snapshot. Otherwise they are summed on the database for
+     * all the resources at once.
+     */
+    private Map<Long, SortedMap<LocalDate, EffortDuration>> getAllEffortPerDateFor(
+            Scenario scenario, LocalDate startDate, LocalDate endDate, Collection<? extends Resource> resources) {
+
+        Set<Long> resourceIds = new HashSet<>();
+        for (Resource each : resources) {
+            if ( each.getId() != null ) {
+                resourceIds.add(each.getId());
+            }
+        }
 
-        EffortDuration newValue;
+        Map<Long, SortedMap<LocalDate, EffortDuration>> result = new HashMap<>();
+        DayAssignmentsStore store = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? databaseSnapshots.snapshotUpToDateDayAssignmentsStore()
+                : null;
 
-        for (DayAssignment each : l) {
-            if (result.containsKey(each.getDay())) {
-                newValue = result.get(each.getDay()).plus(each.getDuration());
-            } else {
-                newValue = each.getDuration();
+        if ( store != null && store.isFor(scenario) ) {
+            for (Long each : resourceIds) {
+                result.put(each, store.getEffortsByDay(each, startDate, endDate));
             }
-            result.put(each.getDay(), newValue);
+            return result;
         }
+
+        dayAssignmentDAO.streamAssignedEffortByResourceAndDay(scenario, resourceIds, startDate, endDate,
+                (day, resourceId, seconds) -> result
+                        .computeIfAbsent(resourceId, k -> new TreeMap<>())
+                        .merge(day, EffortDuration.seconds((int) seconds), EffortDuration::plus));
+
         return result;
     }
 
@@ -0,0 +1,115 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.resources.entities;
+
+import static org.libreplan.business.workingday.EffortDuration.zero;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.joda.time.LocalDate;
+import org.libreplan.business.common.BaseEntity;
+import org.libreplan.business.planner.entities.DayAssignment;
+import org.libreplan.business.workingday.EffortDuration;
+
+/**
+ * Effort assigned to a {@link Resource} on each day, updated in place when {@link DayAssignment DayAssignments} are
+ * added or removed instead of being calculated again from all the assignments of the resource.
+ * <p>
+ * Besides the total of each day, the assignments of the day are kept, so the effort of some allocations can be
+ * discounted from the total. They are not grouped by allocation beforehand, as the allocation of an assignment can
+ * change after it's associated to the resource.
+ * </p>
+ */
+class DayLoadLedger {
+
+    private static class DayLoad {
+
+        private EffortDuration total = zero();
+
+        private final List<DayAssignment> assignments = new ArrayList<DayAssignment>(2);
+    }
+
+    private final Map<LocalDate, DayLoad> loadsByDay = new HashMap<LocalDate, DayLoad>();
+
+    void add(DayAssignment assignment) {
+        DayLoad load = loadsByDay.get(assignment.getDay());
+        if ( load == null ) {
+            load = new DayLoad();
+            loadsByDay.put(assignment.getDay(), load);
+        }
+        load.assignments.add(assignment);
+        load.total = load.total.plus(assignment.getDuration());
+    }
+
+    /**
+     * Does nothing if the assignment was not added.
+     */
+    void remove(DayAssignment assignment) {
+        DayLoad load = loadsByDay.get(assignment.getDay());
+        if ( load == null || !load.assignments.remove(assignment) ) {
+            return;
+        }
+        if ( load.assignments.isEmpty() ) {
+            loadsByDay.remove(assignment.getDay());
+        } else {
+            load.total = load.total.minus(assignment.getDuration());
+        }
+    }
+
+    /**
+     * @return a copy of the assignments added on the day
+     */
+    List<DayAssignment> getAssignmentsOn(LocalDate day) {
+        DayLoad load = loadsByDay.get(day);
+        return load != null ? new ArrayList<DayAssignment>(load.assignments) : new ArrayList<DayAssignment>();
+    }
+
+    EffortDuration getAssignedEffort(LocalDate day) {
+        DayLoad load = loadsByDay.get(day);
+        return load != null ? load.total : zero();
+    }
+
+    /**
+     * @return the effort assigned on the day minus the effort of the assignments belonging to some of
+     *         <code>allocations</code>
+     */
+    EffortDuration getAssignedEffortDiscounting(Map<Long, Set<BaseEntity>> allocations, LocalDate day) {
+        DayLoad load = loadsByDay.get(day);
+        if ( load == null ) {
+            return zero();
+        }
+        if ( allocations.isEmpty() ) {
+            return load.total;
+        }
+
+        EffortDuration discounted = zero();
+        for (DayAssignment each : load.assignments) {
+            if ( each.belongsToSomeOf(allocations) ) {
+                discounted = discounted.plus(each.getDuration());
+            }
+        }
+        return load.total.minus(discounted);
+    }
+
+}
@@ -56,6 +56,8 @@ public class LimitingResourceQueue extends BaseEntity {
 
     private List<GapOnQueue> cachedGaps;
 
+    private List<LimitingResourceQueueElement> cachedElementsByStartTime;
+
     public static Collection<LimitingResourceQueue> queuesOf(
             Collection<LimitingResourceQueueElement> queueElements) {
         Set<LimitingResourceQueue> result = new HashSet<LimitingResourceQueue>();
@@ -95,6 +97,7 @@ public class LimitingResourceQueue extends BaseEntity {
 
     private void invalidCachedGaps() {
         cachedGaps = null;
+        cachedElementsByStartTime = null;
     }
 
     public List<GapOnQueue> getGaps() {
@@ -130,29 +133,69 @@ public class LimitingResourceQueue extends BaseEntity {
         return Collections.unmodifiableSortedSet(limitingResourceQueueElements);
     }
 
+    /**
+     * @return the elements of the queue ordered by start time, as a list with
+     *         constant time access by position. It's kept until the queue
+     *         changes.
+     */
+    public List<LimitingResourceQueueElement> getElementsByStartTime() {
+        if (cachedElementsByStartTime == null) {
+            cachedElementsByStartTime = Collections.unmodifiableList(
+                    new ArrayList<LimitingResourceQueueElement>(limitingResourceQueueElements));
+        }
+        return cachedElementsByStartTime;
+    }
+
+    /**
+     * @return the position in {@link #getElementsByStartTime()} of the first
+     *         element not starting before <code>time</code>, or the number of
+     *         elements if all of them start before
+     */
+    public int getPositionOfFirstElementNotStartingBefore(DateAndHour time) {
+        List<LimitingResourceQueueElement> elements = getElementsByStartTime();
+        int low = 0;
+        int high = elements.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (elements.get(middle).getStartTime().isBefore(time)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
     /**
      * @return the gaps that could potentially be valid for
      *         <code>requirements</code> ordered by start date
      */
     public List<GapOnQueue> getGapsPotentiallyValidFor(
             InsertionRequirements requirements) {
-        List<GapOnQueue> result = new ArrayList<GapOnQueue>();
-        for (GapOnQueue each : getGaps()) {
-            if (requirements.isPotentiallyValid(each.getGap())) {
-                result.add(each);
+        List<GapOnQueue> gaps = getGaps();
+        // The ends of the gaps grow along the queue, so once a gap is
+        // potentially valid all the following ones are too
+        int low = 0;
+        int high = gaps.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (requirements.isPotentiallyValid(gaps.get(middle).getGap())) {
+                high = middle;
+            } else {
+                low = middle + 1;
             }
         }
-        return result;
+        return new ArrayList<GapOnQueue>(gaps.subList(low, gaps.size()));
     }
 
     public List<LimitingResourceQueueElement> getElementsAfter(
             LimitingResourceQueueElement element) {
-        List<LimitingResourceQueueElement> queueElements = new ArrayList<LimitingResourceQueueElement>(
-                        limitingResourceQueueElements);
+        List<LimitingResourceQueueElement> queueElements = getElementsByStartTime();
         int position = Collections.binarySearch(queueElements, element,
                 LimitingResourceQueueElement.byStartTimeComparator());
         assert position >= 0 : "the element must be in the list";
-        return queueElements.subList(position + 1, queueElements.size());
+        return new ArrayList<LimitingResourceQueueElement>(
+                queueElements.subList(position + 1, queueElements.size()));
     }
 
     public List<LimitingResourceQueueElement> getElementsSince(DateAndHour time) {
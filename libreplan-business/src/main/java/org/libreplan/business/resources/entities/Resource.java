@@ -133,8 +133,6 @@ public abstract class Resource extends IntegrationEntity implements IHumanIdenti
 
     private Set<DayAssignment> dayAssignments = new HashSet<DayAssignment>();
 
-    private Map<LocalDate, List<DayAssignment>> assignmentsByDayCached = null;
-
     private Set<ResourcesCostCategoryAssignment> resourcesCostCategoryAssignments =
             new HashSet<ResourcesCostCategoryAssignment>();
 
@@ -142,52 +140,117 @@ public abstract class Resource extends IntegrationEntity implements IHumanIdenti
 
     private LimitingResourceQueue limitingResourceQueue;
 
-    private void clearCachedData() {
-        assignmentsByDayCached = null;
-        dayAssignmentsState.clearCachedData();
-    }
-
-    private List<DayAssignment> getAssignmentsForDay(LocalDate date) {
-        if ( assignmentsByDayCached == null ) {
-            assignmentsByDayCached = DayAssignment.byDay(getAssignments());
-        }
-        List<DayAssignment> list = assignmentsByDayCached.get(date);
-        if ( list == null ){
-            return Collections.emptyList();
-        }
-        return list;
-    }
-
     private abstract class DayAssignmentsState {
 
         private List<DayAssignment> cachedAssignments;
 
-        abstract List<DayAssignment> calculateAssignments();
+        /**
+         * The included assignments that already had a scenario when they were
+         * added. It's kept up to date when assignments are added or removed, so
+         * it's only built once for each state.
+         */
+        private DayLoadLedger ledger;
+
+        /**
+         * The assignments without scenario. Their scenario can be set after they
+         * are added, through their container, so they are checked again each
+         * time their day is looked up.
+         */
+        private DayLoadLedger withoutScenario;
+
+        abstract boolean isIncluded(DayAssignment assignment);
+
+        abstract boolean includesAssignmentsWithoutScenario();
 
         List<DayAssignment> getAssignments() {
             if ( cachedAssignments != null ) {
                 return cachedAssignments;
             }
-            return cachedAssignments = calculateAssignments();
+            List<DayAssignment> result = new ArrayList<DayAssignment>();
+            boolean someWithoutScenario = false;
+            for (DayAssignment each : dayAssignments) {
+                someWithoutScenario = someWithoutScenario || each.getScenario() == null;
+                if ( isIncluded(each) ) {
+                    result.add(each);
+                }
+            }
+            // Whether they are included can change later
+            if ( !someWithoutScenario ) {
+                cachedAssignments = result;
+            }
+            return result;
+        }
+
+        EffortDuration getAssignedEffort(LocalDate day) {
+            updateLedgersOn(day);
+            EffortDuration result = ledger.getAssignedEffort(day);
+            return includesAssignmentsWithoutScenario() ? result.plus(withoutScenario.getAssignedEffort(day)) : result;
         }
 
-        void clearCachedData() {
+        EffortDuration getAssignedEffortDiscounting(Map<Long, Set<BaseEntity>> allocations, LocalDate day) {
+            updateLedgersOn(day);
+            EffortDuration result = ledger.getAssignedEffortDiscounting(allocations, day);
+            return includesAssignmentsWithoutScenario()
+                    ? result.plus(withoutScenario.getAssignedEffortDiscounting(allocations, day))
+                    : result;
+        }
+
+        /**
+         * Moves the assignments of the day that have been given a scenario
+         * since they were added to the ledger, if they are included.
+         */
+        private void updateLedgersOn(LocalDate day) {
+            if ( ledger == null ) {
+                ledger = new DayLoadLedger();
+                withoutScenario = new DayLoadLedger();
+                for (DayAssignment each : dayAssignments) {
+                    add(each);
+                }
+                return;
+            }
+            for (DayAssignment each : withoutScenario.getAssignmentsOn(day)) {
+                if ( each.getScenario() != null ) {
+                    withoutScenario.remove(each);
+                    add(each);
+                }
+            }
+        }
+
+        private void add(DayAssignment assignment) {
+            if ( assignment.getScenario() == null ) {
+                withoutScenario.add(assignment);
+            } else if ( isIncluded(assignment) ) {
+                ledger.add(assignment);
+            }
+        }
+
+        void assignmentAdded(DayAssignment assignment) {
             cachedAssignments = null;
+            if ( ledger != null ) {
+                add(assignment);
+            }
+        }
+
+        void assignmentRemoved(DayAssignment assignment) {
+            cachedAssignments = null;
+            if ( ledger != null ) {
+                ledger.remove(assignment);
+                withoutScenario.remove(assignment);
+            }
         }
     }
 
     private class UsingScenarioManager extends DayAssignmentsState {
 
         @Override
-        List<DayAssignment> calculateAssignments() {
-            List<DayAssignment> result = new ArrayList<DayAssignment>();
+        boolean isIncluded(DayAssignment assignment) {
             Scenario current = Registry.getScenarioManager().getCurrent();
-            for (DayAssignment each : dayAssignments) {
-                if ( each.getScenario() != null && each.getScenario().equals(current) ) {
-                    result.add(each);
-                }
-            }
-            return result;
+            return assignment.getScenario() != null && assignment.getScenario().equals(current);
+        }
+
+        @Override
+        boolean includesAssignmentsWithoutScenario() {
+            return false;
         }
     }
 
@@ -200,14 +263,13 @@ public abstract class Resource extends IntegrationEntity implements IHumanIdenti
         }
 
         @Override
-        List<DayAssignment> calculateAssignments() {
-            List<DayAssignment> result = new ArrayList<DayAssignment>();
-            for (DayAssignment each : dayAssignments) {
-                if ( isTransient(each) || each.getScenario().equals(currentScenario) ) {
-                    result.add(each);
-                }
-            }
-            return result;
+        boolean isIncluded(DayAssignment assignment) {
+            return isTransient(assignment) || assignment.getScenario().equals(currentScenario);
+        }
+
+        @Override
+        boolean includesAssignmentsWithoutScenario() {
+            return true;
         }
 
         private boolean isTransient(DayAssignment each) {
@@ -844,34 +906,33 @@ public abstract class Resource extends IntegrationEntity implements IHumanIdenti
     }
 
     public EffortDuration getAssignedEffort(LocalDate localDate) {
-        return DayAssignment.sum(getAssignmentsForDay(localDate));
+        return dayAssignmentsState.getAssignedEffort(localDate);
     }
 
     public EffortDuration getAssignedDurationDiscounting(
             Map<Long, Set<BaseEntity>> allocationsFromWhichDiscountHours,
             LocalDate day) {
 
-        EffortDuration result = zero();
-        for (DayAssignment dayAssignment : getAssignmentsForDay(day)) {
-
-            if ( !dayAssignment.belongsToSomeOf(allocationsFromWhichDiscountHours) ) {
-                result = result.plus(dayAssignment.getDuration());
-            }
-        }
-        return result;
+        return dayAssignmentsState.getAssignedEffortDiscounting(allocationsFromWhichDiscountHours, day);
     }
 
     public void addNewAssignments(Collection<? extends DayAssignment> assignments) {
         Validate.notNull(assignments);
         Validate.noNullElements(assignments);
-        clearCachedData();
-        this.dayAssignments.addAll(assignments);
+        for (DayAssignment each : assignments) {
+            if ( this.dayAssignments.add(each) ) {
+                dayAssignmentsState.assignmentAdded(each);
+            }
+        }
     }
 
     public void removeAssignments(Collection<? extends DayAssignment> assignments) {
         Validate.noNullElements(assignments);
-        clearCachedData();
-        this.dayAssignments.removeAll(assignments);
+        for (DayAssignment each : assignments) {
+            if ( this.dayAssignments.remove(each) ) {
+                dayAssignmentsState.assignmentRemoved(each);
+            }
+        }
     }
 
     public List<DayAssignment> getAssignments() {
@@ -21,11 +21,14 @@
 
 package org.libreplan.business.workreports.daos;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import org.libreplan.business.common.daos.IIntegrationEntityDAO;
 import org.libreplan.business.orders.entities.OrderElement;
+import org.libreplan.business.orders.entities.TimesheetsSummary;
 import org.libreplan.business.reports.dtos.WorkReportLineDTO;
 import org.libreplan.business.resources.entities.Resource;
 import org.libreplan.business.util.Pair;
@@ -74,6 +77,18 @@ public interface IWorkReportLineDAO extends
 
     Boolean isFinished(OrderElement orderElement);
 
+    /**
+     * Returns the {@link TimesheetsSummary} of the {@link WorkReportLine
+     * WorkReportLines} of each of the <code>orderElements</code>, calculated
+     * with a grouped query instead of querying each element.<br />
+     *
+     * The elements without lines are not included in the result.
+     *
+     * @return the summaries by the id of their {@link OrderElement}
+     */
+    Map<Long, TimesheetsSummary> findTimesheetsSummaryByOrderElements(
+            Collection<? extends OrderElement> orderElements);
+
     List<WorkReportLine> findByOrderElementAndWorkReports(
             OrderElement orderElement, List<WorkReport> workReports);
     /**
@@ -25,16 +25,20 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.Criteria;
 import org.hibernate.Query;
 import org.hibernate.criterion.Restrictions;
 import org.libreplan.business.common.daos.IntegrationEntityDAO;
 import org.libreplan.business.orders.entities.OrderElement;
+import org.libreplan.business.orders.entities.TimesheetsSummary;
 import org.libreplan.business.reports.dtos.WorkReportLineDTO;
 import org.libreplan.business.resources.entities.Resource;
 import org.libreplan.business.util.Pair;
+import org.libreplan.business.workingday.EffortDuration;
 import org.libreplan.business.workreports.entities.WorkReport;
 import org.libreplan.business.workreports.entities.WorkReportLine;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -55,6 +59,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class WorkReportLineDAO extends IntegrationEntityDAO<WorkReportLine>
         implements IWorkReportLineDAO {
 
+    private static final int IN_CLAUSE_MAX_SIZE = 500;
+
     @SuppressWarnings("unchecked")
     @Override
     public List<WorkReportLine> findByOrderElement(OrderElement orderElement){
@@ -200,6 +206,38 @@ public class WorkReportLineDAO extends IntegrationEntityDAO<WorkReportLine>
         return criteria.uniqueResult() != null;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public Map<Long, TimesheetsSummary> findTimesheetsSummaryByOrderElements(
+            Collection<? extends OrderElement> orderElements) {
+
+        String strQuery = "SELECT wrl.orderElement.id, SUM(wrl.effort), MIN(wrl.date), MAX(wrl.date), "
+                + "SUM(CASE WHEN wrl.finished = true THEN 1 ELSE 0 END) "
+                + "FROM WorkReportLine wrl "
+                + "WHERE wrl.orderElement.id IN (:ids) "
+                + "GROUP BY wrl.orderElement.id";
+
+        List<Long> ids = new ArrayList<Long>();
+        for (OrderElement each : orderElements) {
+            ids.add(each.getId());
+        }
+
+        Map<Long, TimesheetsSummary> result = new HashMap<Long, TimesheetsSummary>();
+        for (int i = 0; i < ids.size(); i += IN_CLAUSE_MAX_SIZE) {
+            Query query = getSession().createQuery(strQuery);
+            query.setParameterList("ids", ids.subList(i, Math.min(i + IN_CLAUSE_MAX_SIZE, ids.size())));
+
+            for (Object[] row : (List<Object[]>) query.list()) {
+                result.put((Long) row[0], TimesheetsSummary.create(
+                        EffortDuration.seconds(((Number) row[1]).intValue()),
+                        (Date) row[2],
+                        (Date) row[3],
+                        ((Number) row[4]).longValue() > 0));
+            }
+        }
+        return result;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public List<WorkReportLine> findByOrderElementAndWorkReports(
@@ -488,7 +488,7 @@ public class WorkReport extends IntegrationEntity implements IWorkReportsElement
 
         PersonalTimesheetsPeriodicityEnum periodicity = Registry
                 .getConfigurationDAO()
-                .getConfigurationWithReadOnlyTransaction()
+                .getConfigurationSnapshot()
                 .getPersonalTimesheetsPeriodicity();
 
         LocalDate min = periodicity.getStart(workReportDate);
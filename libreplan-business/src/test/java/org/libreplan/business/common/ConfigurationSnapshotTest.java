@@ -0,0 +1,82 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.libreplan.business.common.entities.Configuration;
+import org.libreplan.business.common.entities.ConfigurationSnapshot;
+import org.libreplan.business.common.entities.ProgressType;
+
+/**
+ * Tests for {@link ConfigurationSnapshot}.
+ */
+public class ConfigurationSnapshotTest {
+
+    @Test
+    public void theSnapshotCopiesTheValuesOfTheConfiguration() {
+        Configuration configuration = Configuration.create();
+        configuration.setCompanyLogoURL("/logo.png");
+        configuration.setCurrencySymbol("$");
+        configuration.setScenariosVisible(true);
+        configuration.setProgressType(ProgressType.ALL_NUMHOURS);
+
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.from(configuration);
+        configuration.setCurrencySymbol("€");
+        configuration.setScenariosVisible(false);
+
+        assertEquals("/logo.png", snapshot.getCompanyLogoURL());
+        assertEquals("$", snapshot.getCurrencySymbol());
+        assertTrue(snapshot.isScenariosVisible());
+        assertEquals(ProgressType.ALL_NUMHOURS, snapshot.getProgressType());
+    }
+
+    @Test
+    public void theDefaultsOfTheConfigurationAreKept() {
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.from(Configuration.create());
+
+        assertEquals(ProgressType.SPREAD_PROGRESS, snapshot.getProgressType());
+        assertFalse(snapshot.isMonteCarloMethodTabVisible());
+        assertTrue(snapshot.isCheckNewVersionEnabled());
+    }
+
+    @Test
+    public void theLoginValuesAreCopied() {
+        Configuration configuration = Configuration.create();
+        configuration.setAutocompleteLogin(false);
+        configuration.setChangedDefaultAdminPassword(true);
+
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.from(configuration);
+
+        assertFalse(snapshot.isAutocompleteLogin());
+        assertTrue(snapshot.getChangedDefaultAdminPassword());
+        assertFalse(ConfigurationSnapshot.from(Configuration.create()).getChangedDefaultAdminPassword());
+    }
+
+    @Test
+    public void thereIsNoSnapshotWithoutConfiguration() {
+        assertNull(ConfigurationSnapshot.from(null));
+    }
+
+}
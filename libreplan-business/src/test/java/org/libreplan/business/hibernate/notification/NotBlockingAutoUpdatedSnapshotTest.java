@@ -0,0 +1,234 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.hibernate.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NotBlockingAutoUpdatedSnapshotTest {
+
+    private ExecutorService executor;
+
+    private AtomicInteger fullCalculations;
+
+    @Before
+    public void createExecutor() {
+        executor = Executors.newSingleThreadExecutor();
+        fullCalculations = new AtomicInteger();
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    private Callable<List<Long>> fullCalculation() {
+        return () -> {
+            fullCalculations.incrementAndGet();
+            return Collections.emptyList();
+        };
+    }
+
+    private IDeltaUpdater<List<Long>> addingModifiedIds() {
+        return (previous, modifications) -> {
+            List<Long> result = new ArrayList<>(previous);
+            result.addAll(modifications.getIdsOf(Object.class));
+            return result;
+        };
+    }
+
+    private static EntityModifications modificationOf(long id) {
+        return EntityModifications.of(Collections.singletonList(
+                new EntityModification(String.class, id, EntityModification.Type.UPDATE,
+                        Collections.<String, Long> emptyMap())));
+    }
+
+    private <T> T valueAfterPendingCalculations(NotBlockingAutoUpdatedSnapshot<T> snapshot) throws Exception {
+        executor.submit(() -> null).get(10, TimeUnit.SECONDS);
+        return snapshot.getValue();
+    }
+
+    @Test
+    public void theModificationsAreAppliedToTheCalculatedValue() throws Exception {
+        NotBlockingAutoUpdatedSnapshot<List<Long>> snapshot =
+                new NotBlockingAutoUpdatedSnapshot<>("test", fullCalculation(), addingModifiedIds());
+        snapshot.ensureFirstLoad(executor);
+        valueAfterPendingCalculations(snapshot);
+
+        snapshot.reloadNeeded(executor, modificationOf(1L));
+        valueAfterPendingCalculations(snapshot);
+        snapshot.reloadNeeded(executor, modificationOf(2L));
+
+        assertEquals(Arrays.asList(1L, 2L), valueAfterPendingCalculations(snapshot));
+        assertEquals(1, fullCalculations.get());
+        assertEquals(2, snapshot.getDeltaUpdates());
+        assertEquals(1, snapshot.getFullReloads());
+    }
+
+    @Test
+    public void aFullReloadIsDoneIfTheUpdaterCannotApplyTheModifications() throws Exception {
+        IDeltaUpdater<List<Long>> unableToApply = (previous, modifications) -> null;
+        NotBlockingAutoUpdatedSnapshot<List<Long>> snapshot =
+                new NotBlockingAutoUpdatedSnapshot<>("test", fullCalculation(), unableToApply);
+        snapshot.ensureFirstLoad(executor);
+        valueAfterPendingCalculations(snapshot);
+
+        snapshot.reloadNeeded(executor, modificationOf(1L));
+
+        assertEquals(Collections.emptyList(), valueAfterPendingCalculations(snapshot));
+        assertEquals(2, fullCalculations.get());
+        assertEquals(0, snapshot.getDeltaUpdates());
+    }
+
+    @Test
+    public void aFullReloadIsDoneIfThereIsNoUpdater() throws Exception {
+        NotBlockingAutoUpdatedSnapshot<List<Long>> snapshot =
+                new NotBlockingAutoUpdatedSnapshot<>("test", fullCalculation());
+        snapshot.ensureFirstLoad(executor);
+        valueAfterPendingCalculations(snapshot);
+
+        snapshot.reloadNeeded(executor, modificationOf(1L));
+        valueAfterPendingCalculations(snapshot);
+
+        assertEquals(2, fullCalculations.get());
+        assertEquals(2, snapshot.getFullReloads());
+    }
+
+    @Test
+    public void theModificationsArrivingDuringACalculationAreAppliedOnceItFinishes() throws Exception {
+        CountDownLatch firstLoadCanFinish = new CountDownLatch(1);
+        Callable<List<Long>> waitingFirstLoad = () -> {
+            firstLoadCanFinish.await();
+            return fullCalculation().call();
+        };
+        NotBlockingAutoUpdatedSnapshot<List<Long>> snapshot =
+                new NotBlockingAutoUpdatedSnapshot<>("test", waitingFirstLoad, addingModifiedIds());
+        snapshot.ensureFirstLoad(executor);
+
+        snapshot.reloadNeeded(executor, modificationOf(1L));
+        snapshot.reloadNeeded(executor, modificationOf(2L));
+        firstLoadCanFinish.countDown();
+
+        assertEquals(Arrays.asList(1L, 2L), valueAfterPendingCalculations(snapshot));
+        assertEquals(1, fullCalculations.get());
+        assertEquals(2, snapshot.getDeltaUpdates());
+    }
+
+    @Test
+    public void aFullReloadIsDoneIfTheCalculationTheModificationsWaitForFails() throws Exception {
+        CountDownLatch firstLoadCanFinish = new CountDownLatch(1);
+        Callable<List<Long>> failingOnce = () -> {
+            if (fullCalculations.getAndIncrement() == 0) {
+                firstLoadCanFinish.await();
+                throw new IllegalStateException("first load failed");
+            }
+            return Collections.emptyList();
+        };
+        NotBlockingAutoUpdatedSnapshot<List<Long>> snapshot =
+                new NotBlockingAutoUpdatedSnapshot<>("test", failingOnce, addingModifiedIds());
+        snapshot.ensureFirstLoad(executor);
+
+        snapshot.reloadNeeded(executor, modificationOf(1L));
+        firstLoadCanFinish.countDown();
+
+        assertEquals(Collections.emptyList(), valueAfterPendingCalculations(snapshot));
+        assertEquals(2, fullCalculations.get());
+        assertEquals(0, snapshot.getDeltaUpdates());
+    }
+
+    @Test
+    public void itIsNotUpToDateWhileAReloadIsInProgress() throws Exception {
+        CountDownLatch reloadCanFinish = new CountDownLatch(1);
+        Callable<List<Long>> waitingReload = () -> {
+            if (fullCalculations.getAndIncrement() > 0) {
+                reloadCanFinish.await();
+            }
+            return Collections.emptyList();
+        };
+        NotBlockingAutoUpdatedSnapshot<List<Long>> snapshot =
+                new NotBlockingAutoUpdatedSnapshot<>("test", waitingReload);
+        snapshot.ensureFirstLoad(executor);
+        valueAfterPendingCalculations(snapshot);
+        assertTrue(snapshot.isUpToDate());
+
+        snapshot.reloadNeeded(executor, modificationOf(1L));
+        assertFalse(snapshot.isUpToDate());
+
+        reloadCanFinish.countDown();
+        valueAfterPendingCalculations(snapshot);
+        assertTrue(snapshot.isUpToDate());
+    }
+
+    @Test
+    public void reloadNowCalculatesTheValueInTheCallingThread() throws Exception {
+        NotBlockingAutoUpdatedSnapshot<List<Long>> snapshot =
+                new NotBlockingAutoUpdatedSnapshot<>("test", fullCalculation(), addingModifiedIds());
+        snapshot.ensureFirstLoad(executor);
+        snapshot.reloadNeeded(executor, modificationOf(1L));
+        valueAfterPendingCalculations(snapshot);
+
+        assertEquals(Collections.emptyList(), snapshot.reloadNow());
+        assertEquals(Collections.emptyList(), snapshot.getValue());
+        assertTrue(snapshot.isUpToDate());
+        assertEquals(2, snapshot.getFullReloads());
+    }
+
+    @Test
+    public void reloadNowReplacesTheValueOfACalculationInProgress() throws Exception {
+        CountDownLatch reloadStarted = new CountDownLatch(1);
+        CountDownLatch reloadCanFinish = new CountDownLatch(1);
+        Callable<List<Long>> waitingReload = () -> {
+            long calculation = fullCalculations.incrementAndGet();
+            if (calculation == 2) {
+                reloadStarted.countDown();
+                reloadCanFinish.await();
+            }
+            return Collections.singletonList(calculation);
+        };
+        NotBlockingAutoUpdatedSnapshot<List<Long>> snapshot =
+                new NotBlockingAutoUpdatedSnapshot<>("test", waitingReload);
+        snapshot.ensureFirstLoad(executor);
+        valueAfterPendingCalculations(snapshot);
+        snapshot.reloadNeeded(executor);
+        assertTrue(reloadStarted.await(10, TimeUnit.SECONDS));
+
+        assertEquals(Collections.singletonList(3L), snapshot.reloadNow());
+
+        reloadCanFinish.countDown();
+        assertEquals(Collections.singletonList(3L), valueAfterPendingCalculations(snapshot));
+    }
+
+}
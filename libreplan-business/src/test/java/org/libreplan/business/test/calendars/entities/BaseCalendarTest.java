@@ -838,4 +838,155 @@ public class BaseCalendarTest {
         AvailabilityTimeLine availability = calendar.getAvailability();
         assertFalse(availability.isValid(MONDAY_LOCAL_DATE));
     }
+
+    @Test
+    public void theCapacityOfADerivedCalendarIsUpdatedWhenTheParentChanges() {
+        BaseCalendar parent = createBasicCalendar();
+        BaseCalendar calendar = parent.newDerivedCalendar();
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(8)));
+
+        parent.addExceptionDay(CalendarException.create(WEDNESDAY_LOCAL_DATE, zero(), createCalendarExceptionType()));
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(zero()));
+
+        parent.removeExceptionDay(WEDNESDAY_LOCAL_DATE);
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(8)));
+    }
+
+    @Test
+    public void theCapacityIsUpdatedWhenAnotherParentIsSet() {
+        BaseCalendar calendar = createBasicCalendar().newDerivedCalendar();
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(8)));
+
+        BaseCalendar anotherParent = createBasicCalendar();
+        anotherParent.setCapacityAt(Days.WEDNESDAY, withNormalDuration(hours(4)));
+        calendar.setParent(anotherParent);
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(4)));
+    }
+
+    @Test
+    public void eachExceptionGivesItsCapacityWhenThereAreManyOfThem() {
+        BaseCalendar calendar = calendarWithExceptions(1000);
+
+        assertThat(calendar.getCapacityOn(wholeDay(MONDAY_LOCAL_DATE.minusDays(1))), equalTo(hours(4)));
+        assertThat(calendar.getCapacityOn(wholeDay(MONDAY_LOCAL_DATE.minusDays(1000))), equalTo(hours(4)));
+        assertThat(calendar.getCapacityOn(wholeDay(MONDAY_LOCAL_DATE.minusDays(1001))), equalTo(hours(8)));
+        assertThat(calendar.getCapacityOn(wholeDay(MONDAY_LOCAL_DATE)), equalTo(hours(8)));
+    }
+
+    @Test
+    public void theCapacityIsUpdatedWhenAnExceptionIsMovedDirectly() {
+        BaseCalendar calendar = createBasicCalendar();
+        CalendarException exception = CalendarException.create(
+                WEDNESDAY_LOCAL_DATE, hours(4), createCalendarExceptionType());
+        calendar.addExceptionDay(exception);
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(4)));
+
+        exception.updateUnvalidated(THURSDAY_LOCAL_DATE, null, null);
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(8)));
+        assertThat(calendar.getCapacityOn(wholeDay(THURSDAY_LOCAL_DATE)), equalTo(hours(4)));
+    }
+
+    @Test
+    public void theCopiesSharingAnExceptionAreUpdatedWhenItIsModified() {
+        BaseCalendar calendar = createBasicCalendar();
+        CalendarException exception = CalendarException.create(
+                WEDNESDAY_LOCAL_DATE, hours(4), createCalendarExceptionType());
+        calendar.addExceptionDay(exception);
+        BaseCalendar copy = calendar.newCopy();
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(4)));
+        assertThat(copy.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(4)));
+
+        exception.updateUnvalidated(THURSDAY_LOCAL_DATE, null, null);
+        assertThat(calendar.getCapacityOn(wholeDay(THURSDAY_LOCAL_DATE)), equalTo(hours(4)));
+        assertThat(copy.getCapacityOn(wholeDay(THURSDAY_LOCAL_DATE)), equalTo(hours(4)));
+    }
+
+    @Test
+    public void theDerivedCalendarsAreUpdatedWhenTheWorkWeekOfTheirParentIsModifiedDirectly() {
+        BaseCalendar parent = createBasicCalendar();
+        BaseCalendar calendar = parent.newDerivedCalendar();
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(8)));
+
+        parent.getCalendarData(WEDNESDAY_LOCAL_DATE).setCapacityAt(Days.WEDNESDAY, withNormalDuration(hours(6)));
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(6)));
+    }
+
+    @Test
+    public void theModificationsOfAParentReachTheCalendarsDerivedFromItsDerivedOnes() {
+        BaseCalendar grandParent = createBasicCalendar();
+        BaseCalendar calendar = grandParent.newDerivedCalendar().newDerivedCalendar();
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(8)));
+
+        grandParent.getCalendarData(WEDNESDAY_LOCAL_DATE).setCapacityAt(Days.WEDNESDAY, withNormalDuration(hours(6)));
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(6)));
+
+        grandParent.addExceptionDay(CalendarException.create(
+                WEDNESDAY_LOCAL_DATE, hours(2), createCalendarExceptionType()));
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(2)));
+    }
+
+    @Test
+    public void theVersionsOfADerivedCalendarFollowTheirOwnParents() {
+        BaseCalendar firstParent = createBasicCalendar();
+        BaseCalendar secondParent = createBasicCalendar();
+        BaseCalendar calendar = firstParent.newDerivedCalendar();
+        calendar.newVersion(THURSDAY_LOCAL_DATE);
+        calendar.setParent(secondParent, THURSDAY_LOCAL_DATE);
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(8)));
+        assertThat(calendar.getCapacityOn(wholeDay(FRIDAY_LOCAL_DATE)), equalTo(hours(8)));
+
+        firstParent.getCalendarData(WEDNESDAY_LOCAL_DATE).setCapacityAt(Days.WEDNESDAY, withNormalDuration(hours(6)));
+        secondParent.getCalendarData(FRIDAY_LOCAL_DATE).setCapacityAt(Days.FRIDAY, withNormalDuration(hours(5)));
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(6)));
+        assertThat(calendar.getCapacityOn(wholeDay(FRIDAY_LOCAL_DATE)), equalTo(hours(5)));
+    }
+
+    @Test
+    public void theCapacitiesFollowTheNewParentWhenTheParentOfAVersionIsChanged() {
+        BaseCalendar oldParent = createBasicCalendar();
+        BaseCalendar newParent = createBasicCalendar();
+        BaseCalendar calendar = oldParent.newDerivedCalendar();
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(8)));
+
+        calendar.getCalendarData(WEDNESDAY_LOCAL_DATE).setParent(newParent);
+        newParent.getCalendarData(WEDNESDAY_LOCAL_DATE).setCapacityAt(Days.WEDNESDAY, withNormalDuration(hours(3)));
+        assertThat(calendar.getCapacityOn(wholeDay(WEDNESDAY_LOCAL_DATE)), equalTo(hours(3)));
+    }
+
+    @Test
+    public void theCapacitiesAreRightWhenAlternatingDistantDates() {
+        BaseCalendar calendar = calendarWithExceptions(10);
+        LocalDate farAway = MONDAY_LOCAL_DATE.minusDays(1).plusYears(20);
+        calendar.addExceptionDay(CalendarException.create(farAway, hours(2), createCalendarExceptionType()));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(calendar.getCapacityOn(wholeDay(MONDAY_LOCAL_DATE.minusDays(1))), equalTo(hours(4)));
+            assertThat(calendar.getCapacityOn(wholeDay(MONDAY_LOCAL_DATE)), equalTo(hours(8)));
+            assertThat(calendar.getCapacityOn(wholeDay(farAway)), equalTo(hours(2)));
+            assertThat(calendar.getCapacityOn(wholeDay(farAway.minusYears(40))), equalTo(
+                    calendar.getCapacityOn(wholeDay(farAway.minusYears(40).plusDays(7)))));
+        }
+    }
+
+    @Test
+    public void modifyingAnUnrelatedCalendarDoesNotChangeTheCapacities() {
+        BaseCalendar calendar = calendarWithExceptions(10);
+        BaseCalendar unrelated = createBasicCalendar();
+        assertThat(calendar.getCapacityOn(wholeDay(MONDAY_LOCAL_DATE.minusDays(1))), equalTo(hours(4)));
+
+        unrelated.addExceptionDay(CalendarException.create(
+                MONDAY_LOCAL_DATE.minusDays(1), hours(1), createCalendarExceptionType()));
+        assertThat(calendar.getCapacityOn(wholeDay(MONDAY_LOCAL_DATE.minusDays(1))), equalTo(hours(4)));
+        assertThat(unrelated.getCapacityOn(wholeDay(MONDAY_LOCAL_DATE.minusDays(1))), equalTo(hours(1)));
+    }
+
+    private BaseCalendar calendarWithExceptions(int numberOfExceptions) {
+        BaseCalendar calendar = createBasicCalendar();
+        LocalDate day = MONDAY_LOCAL_DATE.minusDays(numberOfExceptions);
+        for (int i = 0; i < numberOfExceptions; i++) {
+            calendar.addExceptionDay(CalendarException.create(day, hours(4), createCalendarExceptionType()));
+            day = day.plusDays(1);
+        }
+        return calendar;
+    }
 }
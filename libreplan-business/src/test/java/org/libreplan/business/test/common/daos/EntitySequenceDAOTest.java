@@ -0,0 +1,195 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.test.common.daos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.libreplan.business.BusinessGlobalNames.BUSINESS_SPRING_CONFIG_FILE;
+import static org.libreplan.business.test.BusinessGlobalNames.BUSINESS_SPRING_CONFIG_TEST_FILE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.libreplan.business.common.IAdHocTransactionService;
+import org.libreplan.business.common.daos.IEntitySequenceDAO;
+import org.libreplan.business.common.entities.EntityNameEnum;
+import org.libreplan.business.common.entities.EntitySequence;
+import org.libreplan.business.common.exceptions.InstanceNotFoundException;
+import org.libreplan.business.materials.daos.IUnitTypeDAO;
+import org.libreplan.business.materials.entities.UnitType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * Tests for the codes reserved by {@link IEntitySequenceDAO}. The codes are taken in their own transactions, so the
+ * data they depend on is committed and no test method is transactional.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = { BUSINESS_SPRING_CONFIG_FILE, BUSINESS_SPRING_CONFIG_TEST_FILE })
+public class EntitySequenceDAOTest {
+
+    private static final EntityNameEnum ENTITY = EntityNameEnum.UNIT_TYPE;
+
+    private static final int CODES_BLOCK_SIZE = 20;
+
+    @Autowired
+    private IEntitySequenceDAO entitySequenceDAO;
+
+    @Autowired
+    private IUnitTypeDAO unitTypeDAO;
+
+    @Autowired
+    private IAdHocTransactionService transactionService;
+
+    private List<EntitySequence> previouslyActive = new ArrayList<>();
+
+    private EntitySequence sequence;
+
+    @Before
+    public void activateNewSequence() {
+        entitySequenceDAO.discardReservedCodes();
+        sequence = transactionService.runOnAnotherTransaction(() -> {
+            for (EntitySequence each : entitySequenceDAO.getAll()) {
+                if ( each.getEntityName() == ENTITY && each.isActive() ) {
+                    each.setActive(false);
+                    entitySequenceDAO.save(each);
+                    previouslyActive.add(each);
+                }
+            }
+            entitySequenceDAO.flush();
+
+            EntitySequence result = EntitySequence.create("UT-" + UUID.randomUUID(), ENTITY);
+            result.setActive(true);
+            entitySequenceDAO.save(result);
+
+            return result;
+        });
+    }
+
+    @After
+    public void restorePreviousSequences() {
+        entitySequenceDAO.discardReservedCodes();
+        transactionService.runOnAnotherTransaction(() -> {
+            EntitySequence created = entitySequenceDAO.findExistingEntity(sequence.getId());
+            created.setActive(false);
+            entitySequenceDAO.save(created);
+            entitySequenceDAO.flush();
+
+            for (EntitySequence each : previouslyActive) {
+                EntitySequence previous = entitySequenceDAO.findExistingEntity(each.getId());
+                previous.setActive(true);
+                entitySequenceDAO.save(previous);
+            }
+
+            return null;
+        });
+    }
+
+    private int getLastValue() {
+        return transactionService.runOnAnotherReadOnlyTransaction(() -> {
+            try {
+                return entitySequenceDAO.getActiveEntitySequence(ENTITY).getLastValue();
+            } catch (InstanceNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private String codeOf(int value) {
+        return sequence.getPrefix() + EntitySequence.formatValue(sequence.getNumberOfDigits(), value);
+    }
+
+    private void givenUnitTypeWithCode(final String code) {
+        transactionService.runOnAnotherTransaction(() -> {
+            unitTypeDAO.save(UnitType.create(code, "measure-" + UUID.randomUUID()));
+            return null;
+        });
+    }
+
+    @Test
+    public void aBlockOfCodesIsReservedAndTheNextCodesComeFromIt() {
+        assertEquals(codeOf(1), entitySequenceDAO.getNextEntityCode(ENTITY));
+        assertEquals(CODES_BLOCK_SIZE, getLastValue());
+
+        assertEquals(codeOf(2), entitySequenceDAO.getNextEntityCode(ENTITY));
+        assertEquals(Arrays.asList(codeOf(3), codeOf(4)), entitySequenceDAO.getNextEntityCodes(ENTITY, 2));
+        assertEquals(CODES_BLOCK_SIZE, getLastValue());
+    }
+
+    @Test
+    public void whenThereAreNotEnoughReservedCodesTheSequenceIsIncremented() {
+        entitySequenceDAO.getNextEntityCode(ENTITY);
+
+        List<String> codes = entitySequenceDAO.getNextEntityCodes(ENTITY, CODES_BLOCK_SIZE + 1);
+
+        assertEquals(CODES_BLOCK_SIZE + 1, codes.size());
+        assertEquals(codeOf(2), codes.get(0));
+        assertEquals(codeOf(CODES_BLOCK_SIZE + 2), codes.get(CODES_BLOCK_SIZE));
+        assertEquals(CODES_BLOCK_SIZE + 2, getLastValue());
+    }
+
+    @Test
+    public void aReservedCodeUsedMeanwhileIsNotReturned() {
+        entitySequenceDAO.getNextEntityCode(ENTITY);
+        givenUnitTypeWithCode(codeOf(2));
+
+        assertEquals(codeOf(3), entitySequenceDAO.getNextEntityCode(ENTITY));
+    }
+
+    @Test
+    public void theCodesAlreadyUsedAreSkippedWhenReservingThem() {
+        givenUnitTypeWithCode(codeOf(1));
+        givenUnitTypeWithCode(codeOf(3));
+
+        assertEquals(Arrays.asList(codeOf(2), codeOf(4)), entitySequenceDAO.getNextEntityCodes(ENTITY, 2));
+        assertEquals(4, getLastValue());
+    }
+
+    @Test
+    public void theDiscardedCodesAreNotReturned() {
+        entitySequenceDAO.getNextEntityCode(ENTITY);
+        entitySequenceDAO.discardReservedCodes();
+
+        assertEquals(codeOf(CODES_BLOCK_SIZE + 1), entitySequenceDAO.getNextEntityCode(ENTITY));
+        assertEquals(2 * CODES_BLOCK_SIZE, getLastValue());
+    }
+
+    @Test
+    public void theExistingCodesAreFoundIgnoringCaseAndSpaces() {
+        final String code = codeOf(1);
+        givenUnitTypeWithCode(code);
+
+        List<String> existing = transactionService.runOnAnotherReadOnlyTransaction(
+                () -> new ArrayList<>(unitTypeDAO.findExistingCodes(
+                        Arrays.asList(" " + code.toUpperCase() + " ", codeOf(2), null, ""))));
+
+        assertEquals(Collections.singletonList(code.toLowerCase()), existing);
+        assertFalse(existing.contains(codeOf(2).toLowerCase()));
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.test.orders.entities;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.libreplan.business.advance.entities.AdvanceMeasurement;
+import org.libreplan.business.advance.entities.DirectAdvanceAssignment;
+import org.libreplan.business.orders.entities.AdvancePercentageSeries;
+
+/**
+ * Tests for {@link AdvancePercentageSeries}.
+ */
+public class AdvancePercentageSeriesTest {
+
+    private static final LocalDate START = new LocalDate(2010, 1, 1);
+
+    private static DirectAdvanceAssignment assignment(int maxValue, Object... datesAndValues) {
+        DirectAdvanceAssignment result = DirectAdvanceAssignment.create(false, new BigDecimal(maxValue));
+        for (int i = 0; i < datesAndValues.length; i += 2) {
+            result.addAdvanceMeasurements(AdvanceMeasurement.create(
+                    (LocalDate) datesAndValues[i], new BigDecimal((Integer) datesAndValues[i + 1])));
+        }
+        return result;
+    }
+
+    private static void assertSameValue(BigDecimal expected, BigDecimal actual) {
+        assertEquals(expected + " expected but was " + actual, 0, expected.compareTo(actual));
+    }
+
+    @Test
+    public void theSeriesOfAnAssignmentHasTheValueOfItsLastMeasurement() {
+        DirectAdvanceAssignment assignment = assignment(200, START.plusDays(5), 50, START.plusDays(10), 150);
+
+        AdvancePercentageSeries series = AdvancePercentageSeries.from(assignment);
+
+        for (int i = -2; i < 15; i++) {
+            LocalDate date = START.plusDays(i);
+            assertSameValue(assignment.getAdvancePercentage(date), series.valueAt(date));
+        }
+        assertSameValue(new BigDecimal("0.75"), series.getLastValue());
+    }
+
+    @Test
+    public void anAssignmentWithoutMaxValueHasNoProgress() {
+        AdvancePercentageSeries series = AdvancePercentageSeries.from(assignment(0, START, 10));
+
+        assertThat(series.size(), equalTo(0));
+        assertSameValue(BigDecimal.ZERO, series.valueAt(START.plusDays(1)));
+    }
+
+    @Test
+    public void theWeightedAverageChangesWhereAnySeriesChanges() {
+        AdvancePercentageSeries first = AdvancePercentageSeries.from(
+                assignment(100, START, 20, START.plusDays(4), 60));
+        AdvancePercentageSeries second = AdvancePercentageSeries.from(
+                assignment(100, START.plusDays(2), 50, START.plusDays(4), 100));
+
+        AdvancePercentageSeries average = AdvancePercentageSeries.weightedAverage(
+                Arrays.asList(first, second), Arrays.asList(100, 300), 400, null);
+
+        assertThat(average.getDates(), equalTo(Arrays.asList(START, START.plusDays(2), START.plusDays(4))));
+        assertSameValue(new BigDecimal("0.05"), average.valueAt(START.plusDays(1)));
+        assertSameValue(new BigDecimal("0.425"), average.valueAt(START.plusDays(3)));
+        assertSameValue(new BigDecimal("0.9"), average.valueAt(START.plusDays(4)));
+    }
+
+    @Test
+    public void theWeightedAverageIsTheSameAsCalculatingEachDate() {
+        Random random = new Random(3);
+        List<DirectAdvanceAssignment> assignments = new ArrayList<>();
+        List<AdvancePercentageSeries> series = new ArrayList<>();
+        List<Integer> hours = new ArrayList<>();
+        int totalHours = 0;
+
+        for (int i = 0; i < 20; i++) {
+            int maxValue = 1 + random.nextInt(300);
+            DirectAdvanceAssignment assignment = assignment(maxValue);
+            int value = 0;
+            for (int day = 0; day < 60; day += 1 + random.nextInt(10)) {
+                value = Math.min(maxValue, value + random.nextInt(40));
+                assignment.addAdvanceMeasurements(AdvanceMeasurement.create(START.plusDays(day),
+                        new BigDecimal(value)));
+            }
+            assignments.add(assignment);
+            series.add(AdvancePercentageSeries.from(assignment));
+            hours.add(random.nextInt(500));
+            totalHours += hours.get(i);
+        }
+
+        List<LocalDate> dates = new ArrayList<>();
+        for (int day = -1; day < 70; day++) {
+            dates.add(START.plusDays(day));
+        }
+        AdvancePercentageSeries average = AdvancePercentageSeries.weightedAverage(series, hours, totalHours, dates);
+
+        for (LocalDate date : dates) {
+            BigDecimal expected = BigDecimal.ZERO;
+            for (int i = 0; i < assignments.size(); i++) {
+                expected = expected.add(
+                        assignments.get(i).getAdvancePercentage(date).multiply(new BigDecimal(hours.get(i))));
+            }
+            expected = expected.divide(new BigDecimal(totalHours).setScale(2), 4, RoundingMode.DOWN);
+
+            assertSameValue(expected, average.valueAt(date));
+        }
+    }
+
+}
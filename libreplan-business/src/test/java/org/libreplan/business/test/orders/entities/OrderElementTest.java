@@ -38,6 +38,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.UUID;
 
 import javax.annotation.Resource;
@@ -1075,6 +1076,71 @@ public class OrderElementTest {
         assertThat(orderLine.getReportGlobalAdvanceAssignment().getAdvanceType(), equalTo(advanceType2));
     }
 
+    @Test
+    @Transactional
+    public void checkAdvancePercentageOrderGroupLineAfterChangingTheDateOfAMeasurement()
+            throws DuplicateValueTrueReportGlobalAdvanceException, DuplicateAdvanceAssignmentForOrderElementException {
+
+        LocalDate today = new LocalDate();
+        OrderElement orderElement = givenOrderLineGroupWithMeasurementsAt(today);
+        assertSameValue(division.divide(20, 100), orderElement.getAdvancePercentage(today));
+
+        /* The measurement of the first line is moved after today, so only the second one counts today. */
+        OrderElement orderLine = orderElement.getChildren().get(0);
+        orderLine.getReportGlobalAdvanceAssignment().getLastAdvanceMeasurement().setDate(today.plusDays(10));
+
+        assertTrue(orderElement.getAdvancePercentage(today).compareTo(division.divide(20, 100)) < 0);
+        assertSameValue(division.divide(20, 100), orderElement.getAdvancePercentage(today.plusDays(10)));
+    }
+
+    @Test
+    @Transactional
+    public void checkAdvancePercentageOrderGroupLineAfterReplacingTheMeasurements()
+            throws DuplicateValueTrueReportGlobalAdvanceException, DuplicateAdvanceAssignmentForOrderElementException {
+
+        LocalDate today = new LocalDate();
+        OrderElement orderElement = givenOrderLineGroupWithMeasurementsAt(today);
+        assertSameValue(division.divide(20, 100), orderElement.getAdvancePercentage(today));
+
+        /* The first line is completed today: 100% of 1000 hours and 10% of 2000 hours. */
+        DirectAdvanceAssignment advanceAssignment =
+                orderElement.getChildren().get(0).getReportGlobalAdvanceAssignment();
+        AdvanceMeasurement advanceMeasurement = AdvanceMeasurement.create(today, new BigDecimal(1000));
+        advanceMeasurement.setAdvanceAssignment(advanceAssignment);
+        SortedSet<AdvanceMeasurement> advanceMeasurements = new TreeSet<>(new AdvanceMeasurementComparator());
+        advanceMeasurements.add(advanceMeasurement);
+        advanceAssignment.setAdvanceMeasurements(advanceMeasurements);
+
+        assertSameValue(division.divide(40, 100), orderElement.getAdvancePercentage(today));
+    }
+
+    /**
+     * Returns a group with two lines of 1000 and 2000 hours, having a progress of 40% and 10% measured at the given
+     * date. The progress of the group at that date is calculated, so it is kept until something changes.
+     */
+    private static OrderElement givenOrderLineGroupWithMeasurementsAt(LocalDate date)
+            throws DuplicateValueTrueReportGlobalAdvanceException, DuplicateAdvanceAssignmentForOrderElementException {
+
+        OrderElement orderElement = givenOrderLineGroupWithTwoOrderLines(1000, 2000);
+        List<OrderElement> children = orderElement.getChildren();
+
+        AdvanceType advanceType1 = AdvanceType.create("test1", new BigDecimal(10000), true, new BigDecimal(1), true, false);
+        addAdvanceAssignmentWithMeasurement(
+                children.get(0), advanceType1, new BigDecimal(1000), new BigDecimal(400), true, date);
+
+        AdvanceType advanceType2 = AdvanceType.create("test2", new BigDecimal(10000), true, new BigDecimal(1), true, false);
+        addAdvanceAssignmentWithMeasurement(
+                children.get(1), advanceType2, new BigDecimal(2000), new BigDecimal(200), true, date);
+
+        orderElement.getAdvancePercentage(date);
+
+        return orderElement;
+    }
+
+    private static void assertSameValue(BigDecimal expected, BigDecimal actual) {
+        assertTrue(expected + " expected but was " + actual, expected.compareTo(actual) == 0);
+    }
+
     @Test
     @Transactional
     public void checkPositiveBudgetInOrderLine() {
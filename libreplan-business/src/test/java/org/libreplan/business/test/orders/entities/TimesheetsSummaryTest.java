@@ -0,0 +1,73 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.test.orders.entities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.Date;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.libreplan.business.orders.entities.TimesheetsSummary;
+import org.libreplan.business.workingday.EffortDuration;
+
+/**
+ * Tests for {@link TimesheetsSummary}.
+ */
+public class TimesheetsSummaryTest {
+
+    private static Date date(int day) {
+        return new LocalDate(2012, 3, day).toDateTimeAtStartOfDay().toDate();
+    }
+
+    @Test
+    public void theEffortsAreAddedAndTheDatesWidened() {
+        TimesheetsSummary one = TimesheetsSummary.create(EffortDuration.hours(3), date(5), date(10), false);
+        TimesheetsSummary other = TimesheetsSummary.create(EffortDuration.hours(4), date(2), date(7), false);
+
+        TimesheetsSummary result = one.plus(other);
+
+        assertEquals(EffortDuration.hours(7), result.getEffort());
+        assertEquals(date(2), result.getFirstDate());
+        assertEquals(date(10), result.getLastDate());
+    }
+
+    @Test
+    public void anEmptySummaryDoesNotChangeTheOther() {
+        TimesheetsSummary one = TimesheetsSummary.create(EffortDuration.hours(3), date(5), date(10), false);
+
+        TimesheetsSummary result = TimesheetsSummary.empty().plus(one);
+
+        assertEquals(EffortDuration.hours(3), result.getEffort());
+        assertEquals(date(5), result.getFirstDate());
+        assertEquals(date(10), result.getLastDate());
+        assertNull(TimesheetsSummary.empty().getFirstDate());
+    }
+
+    @Test
+    public void theFinishedFlagIsNotPropagated() {
+        TimesheetsSummary finished = TimesheetsSummary.create(EffortDuration.hours(1), date(1), date(1), true);
+
+        assertFalse(TimesheetsSummary.empty().plus(finished).isFinished());
+    }
+
+}
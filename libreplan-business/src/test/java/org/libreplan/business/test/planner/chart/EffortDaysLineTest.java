@@ -0,0 +1,135 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.test.planner.chart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.libreplan.business.workingday.EffortDuration.hours;
+import static org.libreplan.business.workingday.EffortDuration.zero;
+
+import java.util.SortedMap;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.libreplan.business.planner.chart.EffortDaysLine;
+import org.libreplan.business.workingday.EffortDuration;
+
+public class EffortDaysLineTest {
+
+    private static final LocalDate someDate = new LocalDate(2002, 2, 10);
+
+    private static EffortDaysLine lineWithHours(int... hours) {
+        EffortDaysLine result = EffortDaysLine.create(someDate,
+                someDate.plusDays(hours.length));
+        for (int i = 0; i < hours.length; i++) {
+            result.set(someDate.plusDays(i), hours(hours[i]));
+        }
+        return result;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aLineCannotBeCreatedWithAStartBeforeTheEnd() {
+        EffortDaysLine.create(someDate, someDate.minusDays(1));
+    }
+
+    @Test
+    public void initiallyTheValuesAreZero() {
+        EffortDaysLine line = EffortDaysLine.create(someDate,
+                someDate.plusDays(3));
+        assertThat(line.size(), equalTo(3));
+        assertThat(line.get(someDate.plusDays(2)), equalTo(zero()));
+    }
+
+    @Test
+    public void theOperationsAreDoneDayByDay() {
+        EffortDaysLine a = lineWithHours(1, 5, 3);
+        EffortDaysLine b = lineWithHours(2, 2, 3);
+
+        assertThat(EffortDaysLine.sum(a, b).toSortedMap().values()
+                .toArray(), equalTo(new Object[] { hours(3), hours(7),
+                hours(6) }));
+        assertThat(EffortDaysLine.min(a, b).get(someDate.plusDays(1)),
+                equalTo(hours(2)));
+        assertThat(EffortDaysLine.max(a, b).get(someDate), equalTo(hours(2)));
+    }
+
+    @Test
+    public void substractingABiggerEffortReturnsZero() {
+        EffortDaysLine result = EffortDaysLine.substract(lineWithHours(1, 5),
+                lineWithHours(2, 2));
+        assertThat(result.get(someDate), equalTo(zero()));
+        assertThat(result.get(someDate.plusDays(1)), equalTo(hours(3)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void theLinesMustHaveTheSameDays() {
+        EffortDaysLine.sum(lineWithHours(1, 2), lineWithHours(1, 2, 3));
+    }
+
+    @Test
+    public void theSumOfADaySaturatesInsteadOfOverflowing() {
+        EffortDaysLine a = EffortDaysLine.create(someDate, someDate.plusDays(1));
+        a.setSecondsAt(0, Integer.MAX_VALUE - 10);
+
+        assertThat(EffortDaysLine.sum(a, lineWithHours(1)).getSecondsAt(0),
+                equalTo(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void operatingWithAnInvalidLineGivesAnInvalidLine() {
+        EffortDaysLine valid = lineWithHours(1, 2);
+
+        assertTrue(EffortDaysLine.sum(valid, EffortDaysLine.invalid())
+                .isNotValid());
+        assertTrue(EffortDaysLine.max(EffortDaysLine.invalid(), valid)
+                .isNotValid());
+    }
+
+    @Test
+    public void aSubIntervalIsAViewOfTheLine() {
+        EffortDaysLine line = lineWithHours(1, 2, 3, 4);
+        EffortDaysLine view = line.subInterval(someDate.plusDays(1),
+                someDate.plusDays(10));
+
+        assertThat(view.getStart(), equalTo(someDate.plusDays(1)));
+        assertThat(view.size(), equalTo(3));
+        assertThat(view.total(), equalTo(hours(9)));
+
+        view.set(someDate.plusDays(2), hours(8));
+        assertThat(line.get(someDate.plusDays(2)), equalTo(hours(8)));
+    }
+
+    @Test
+    public void aSubIntervalOutsideTheLineIsInvalid() {
+        assertTrue(lineWithHours(1, 2).subInterval(someDate.plusDays(2),
+                someDate.plusDays(4)).isNotValid());
+    }
+
+    @Test
+    public void itCanBeConvertedToASortedMap() {
+        SortedMap<LocalDate, EffortDuration> map = lineWithHours(1, 2)
+                .toSortedMap();
+        assertThat(map.firstKey(), equalTo(someDate));
+        assertThat(map.get(someDate.plusDays(1)), equalTo(hours(2)));
+        assertThat(map.size(), equalTo(2));
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.test.planner.chart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.libreplan.business.workingday.EffortDuration.hours;
+
+import java.util.SortedMap;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.libreplan.business.planner.chart.EffortDaysLine;
+import org.libreplan.business.planner.chart.EffortPyramid;
+import org.libreplan.business.planner.chart.EffortPyramid.Resolution;
+import org.libreplan.business.workingday.EffortDuration;
+
+public class EffortPyramidTest {
+
+    /**
+     * It is a Wednesday.
+     */
+    private static final LocalDate START = new LocalDate(2014, 1, 1);
+
+    private static EffortPyramid pyramidWithHoursPerDay(int hoursPerDay, int days) {
+        EffortDaysLine line = EffortDaysLine.create(START, START.plusDays(days));
+        for (int i = 0; i < days; i++) {
+            line.set(START.plusDays(i), hours(hoursPerDay));
+        }
+        return EffortPyramid.create(line);
+    }
+
+    @Test
+    public void theDaysAreKeptAsTheyAre() {
+        SortedMap<LocalDate, EffortDuration> days = pyramidWithHoursPerDay(8, 10)
+                .averagePerDay(Resolution.DAY, null, null);
+
+        assertThat(days.size(), equalTo(10));
+        assertThat(days.firstKey(), equalTo(START));
+        assertThat(days.get(START.plusDays(9)), equalTo(hours(8)));
+    }
+
+    @Test
+    public void theWeeksAreKeyedByMondayAndAverageAllTheirDays() {
+        SortedMap<LocalDate, EffortDuration> weeks = pyramidWithHoursPerDay(7, 12)
+                .averagePerDay(Resolution.WEEK, null, null);
+
+        assertThat(weeks.size(), equalTo(2));
+        // The first week only has load from Wednesday to Sunday
+        assertThat(weeks.get(new LocalDate(2013, 12, 30)), equalTo(hours(5)));
+        assertThat(weeks.get(new LocalDate(2014, 1, 6)), equalTo(hours(7)));
+    }
+
+    @Test
+    public void theMonthsAndQuartersAverageTheDaysOfEachPeriod() {
+        EffortPyramid pyramid = pyramidWithHoursPerDay(8, 365);
+
+        SortedMap<LocalDate, EffortDuration> months = pyramid.averagePerDay(Resolution.MONTH, null, null);
+        assertThat(months.size(), equalTo(12));
+        assertThat(months.get(new LocalDate(2014, 2, 1)), equalTo(hours(8)));
+
+        SortedMap<LocalDate, EffortDuration> quarters = pyramid.averagePerDay(Resolution.QUARTER, null, null);
+        assertThat(quarters.size(), equalTo(4));
+        assertThat(quarters.firstKey(), equalTo(START));
+        assertThat(quarters.lastKey(), equalTo(new LocalDate(2014, 10, 1)));
+        assertThat(quarters.get(new LocalDate(2014, 4, 1)), equalTo(hours(8)));
+    }
+
+    @Test
+    public void onlyTheDaysInsideTheIntervalAreConsidered() {
+        SortedMap<LocalDate, EffortDuration> weeks = pyramidWithHoursPerDay(7, 28)
+                .averagePerDay(Resolution.WEEK, new LocalDate(2014, 1, 8), new LocalDate(2014, 1, 15));
+
+        assertThat(weeks.size(), equalTo(2));
+        assertThat(weeks.get(new LocalDate(2014, 1, 6)), equalTo(hours(5)));
+        assertThat(weeks.get(new LocalDate(2014, 1, 13)), equalTo(hours(2)));
+    }
+
+    @Test
+    public void anIntervalOutsideTheLineHasNoValues() {
+        EffortPyramid pyramid = pyramidWithHoursPerDay(8, 10);
+
+        assertTrue(pyramid.averagePerDay(Resolution.MONTH, START.plusDays(20), START.plusDays(30)).isEmpty());
+        assertTrue(EffortPyramid.create(EffortDaysLine.invalid())
+                .averagePerDay(Resolution.DAY, null, null).isEmpty());
+    }
+
+}
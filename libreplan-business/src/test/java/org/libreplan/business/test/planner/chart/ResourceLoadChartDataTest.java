@@ -0,0 +1,115 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.test.planner.chart;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.libreplan.business.workingday.EffortDuration.hours;
+import static org.libreplan.business.workingday.EffortDuration.zero;
+
+import java.util.Arrays;
+import java.util.SortedMap;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.libreplan.business.calendars.entities.SameWorkHoursEveryDay;
+import org.libreplan.business.planner.chart.ILoadChartData;
+import org.libreplan.business.planner.chart.ResourceLoadChartData;
+import org.libreplan.business.resources.entities.Resource;
+import org.libreplan.business.workingday.EffortDuration;
+
+public class ResourceLoadChartDataTest {
+
+    private static final LocalDate someDate = new LocalDate(2002, 2, 10);
+
+    private final Resource first = resource(1L);
+
+    private final Resource second = resource(2L);
+
+    private static Resource resource(Long id) {
+        Resource result = createNiceMock(Resource.class);
+        expect(result.getId()).andReturn(id).anyTimes();
+        expect(result.getCalendarOrDefault()).andReturn(SameWorkHoursEveryDay.getDefaultWorkingDay()).anyTimes();
+        replay(result);
+        return result;
+    }
+
+    private static int seconds(int hours) {
+        return hours(hours).getSeconds();
+    }
+
+    @Test
+    public void theOverloadIsCalculatedForEachResourceAndAddedToTheAvailability() {
+        ResourceLoadChartData data = ResourceLoadChartData.create(Arrays.asList(first, second), receiver -> {
+            receiver.assigned(someDate, 1L, seconds(10));
+            receiver.assigned(someDate, 2L, seconds(4));
+        });
+
+        assertThat(data.getLoad().get(someDate), equalTo(hours(14)));
+        assertThat(data.getAvailability().get(someDate), equalTo(hours(16)));
+        assertThat(data.getOverload().get(someDate), equalTo(hours(18)));
+    }
+
+    @Test
+    public void theEffortOfAResourceCanBeReceivedInSeveralParts() {
+        ResourceLoadChartData data = ResourceLoadChartData.create(Arrays.asList(first, second), receiver -> {
+            receiver.assigned(someDate, 1L, seconds(6));
+            receiver.assigned(someDate, 2L, seconds(1));
+            receiver.assigned(someDate, 1L, seconds(6));
+        });
+
+        assertThat(data.getLoad().get(someDate), equalTo(hours(13)));
+        assertThat(data.getOverload().get(someDate), equalTo(hours(20)));
+    }
+
+    @Test
+    public void theDaysWithoutLoadBetweenLoadedDaysAreIncluded() {
+        ResourceLoadChartData data = ResourceLoadChartData.create(Arrays.asList(first), receiver -> {
+            receiver.assigned(someDate, 1L, seconds(2));
+            receiver.assigned(someDate.plusDays(3), 1L, seconds(2));
+        });
+
+        SortedMap<LocalDate, EffortDuration> load = data.getLoad();
+        assertThat(load.size(), equalTo(4));
+        assertThat(load.get(someDate.plusDays(1)), equalTo(zero()));
+        assertThat(data.getAvailability().get(someDate.plusDays(1)), equalTo(hours(8)));
+    }
+
+    @Test
+    public void theDataCanBeRestrictedToAnInterval() {
+        ResourceLoadChartData data = ResourceLoadChartData.create(Arrays.asList(first), receiver -> {
+            for (int i = 0; i < 10; i++) {
+                receiver.assigned(someDate.plusDays(i), 1L, seconds(i));
+            }
+        });
+
+        ILoadChartData restricted = data.on(someDate.plusDays(2), someDate.plusDays(5));
+
+        assertThat(restricted.getLoad().firstKey(), equalTo(someDate.plusDays(2)));
+        assertThat(restricted.getLoad().lastKey(), equalTo(someDate.plusDays(4)));
+        assertThat(restricted.getLoad().get(someDate.plusDays(3)), equalTo(hours(3)));
+        assertTrue(data.on(someDate.minusDays(5), someDate).getLoad().isEmpty());
+    }
+
+}
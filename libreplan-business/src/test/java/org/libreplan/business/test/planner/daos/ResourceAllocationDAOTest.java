@@ -28,9 +28,11 @@ import static org.junit.Assert.assertTrue;
 import static org.libreplan.business.BusinessGlobalNames.BUSINESS_SPRING_CONFIG_FILE;
 import static org.libreplan.business.test.BusinessGlobalNames.BUSINESS_SPRING_CONFIG_TEST_FILE;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.joda.time.LocalDate;
@@ -301,4 +303,45 @@ public class ResourceAllocationDAOTest {
                 resources,
                 intervalInitDate, null).contains(resourceAllocation1));
   }
+
+    @Test
+    @Transactional
+    public void testFindAllocationsRelatedToEachOfKeepsAllTheResources() {
+        Scenario current = scenarioManager.getCurrent();
+        ResourceAllocation<?> resourceAllocation = createValidSpecificResourceAllocation();
+        resourceAllocationDAO.save(resourceAllocation);
+        List<Resource> resources = resourceAllocation.getAssociatedResources();
+
+        Map<Resource, List<ResourceAllocation<?>>> found = resourceAllocationDAO.findAllocationsRelatedToEachOf(
+                current, resources, null, null);
+
+        assertEquals(resources, new ArrayList<>(found.keySet()));
+        for (Resource each : resources) {
+            assertEquals(resourceAllocationDAO.findAllocationsRelatedTo(current, each, null, null), found.get(each));
+        }
+    }
+
+    @Test
+    @Transactional
+    public void testFindAllocationsRelatedToEachOfMoreResourcesThanAnInClauseAllows() {
+        Scenario current = scenarioManager.getCurrent();
+        ResourceAllocation<?> resourceAllocation = createValidSpecificResourceAllocation();
+        resourceAllocationDAO.save(resourceAllocation);
+
+        /* The resource of the allocation is the first one of the second chunk of 500 resources. */
+        List<Resource> resources = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            resources.add(createValidWorker());
+        }
+        resources.addAll(resourceAllocation.getAssociatedResources());
+        resources.add(createValidWorker());
+
+        Map<Resource, List<ResourceAllocation<?>>> found = resourceAllocationDAO.findAllocationsRelatedToEachOf(
+                current, resources, null, null);
+
+        assertEquals(resources, new ArrayList<>(found.keySet()));
+        for (Resource each : resources) {
+            assertEquals(resourceAllocationDAO.findAllocationsRelatedTo(current, each, null, null), found.get(each));
+        }
+    }
 }
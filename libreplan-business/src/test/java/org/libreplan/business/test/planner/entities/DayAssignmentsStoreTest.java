@@ -0,0 +1,130 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.test.planner.entities;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.libreplan.business.workingday.EffortDuration.hours;
+import static org.libreplan.business.workingday.EffortDuration.zero;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.SortedMap;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.libreplan.business.planner.entities.DayAssignmentsStore;
+import org.libreplan.business.workingday.EffortDuration;
+
+public class DayAssignmentsStoreTest {
+
+    private static final LocalDate someDate = new LocalDate(2002, 2, 10);
+
+    private static final long HOUR = 3600;
+
+    private static DayAssignmentsStore storeWith(long resourceId, int... hours) {
+        DayAssignmentsStore.Builder builder = DayAssignmentsStore.builder(1L);
+        for (int i = 0; i < hours.length; i++) {
+            builder.assigned(someDate.plusDays(i), resourceId, hours[i] * HOUR);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void theEffortOfTheSameResourceAndDayIsSummed() {
+        DayAssignmentsStore.Builder builder = DayAssignmentsStore.builder(1L);
+        builder.assigned(someDate, 3L, 2 * HOUR);
+        builder.assigned(someDate, 3L, 4 * HOUR);
+        DayAssignmentsStore store = builder.build();
+
+        assertThat(store.size(), equalTo(1));
+        assertThat(store.getEffortOn(3L, someDate), equalTo(hours(6)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void theEffortMustBeReceivedOrderedByResourceAndDay() {
+        DayAssignmentsStore.Builder builder = DayAssignmentsStore.builder(1L);
+        builder.assigned(someDate, 3L, HOUR);
+        builder.assigned(someDate, 2L, HOUR);
+    }
+
+    @Test
+    public void theDaysWithoutEffortHaveZeroEffort() {
+        DayAssignmentsStore store = storeWith(3L, 8, 4);
+
+        assertThat(store.getEffortOn(3L, someDate.minusDays(1)), equalTo(zero()));
+        assertThat(store.getEffortOn(3L, someDate.plusDays(2)), equalTo(zero()));
+        assertThat(store.getEffortOn(4L, someDate), equalTo(zero()));
+    }
+
+    @Test
+    public void theEffortsByDayAreRestrictedToTheInclusiveInterval() {
+        DayAssignmentsStore store = storeWith(3L, 1, 2, 3, 4);
+
+        SortedMap<LocalDate, EffortDuration> efforts =
+                store.getEffortsByDay(3L, someDate.plusDays(1), someDate.plusDays(2));
+
+        assertThat(efforts.keySet().toArray(), equalTo(new Object[] { someDate.plusDays(1), someDate.plusDays(2) }));
+        assertThat(efforts.values().toArray(), equalTo(new Object[] { hours(2), hours(3) }));
+        assertThat(store.getEffortsByDay(3L, null, null).size(), equalTo(4));
+        assertThat(store.getTotalEffort(3L, someDate.plusDays(2), null), equalTo(hours(7)));
+    }
+
+    @Test
+    public void theEffortsOfOtherResourcesAreNotIncluded() {
+        DayAssignmentsStore.Builder builder = DayAssignmentsStore.builder(1L);
+        builder.assigned(someDate, 2L, HOUR);
+        builder.assigned(someDate, 3L, 2 * HOUR);
+        builder.assigned(someDate.plusDays(1), 3L, 3 * HOUR);
+        builder.assigned(someDate, 4L, 4 * HOUR);
+        DayAssignmentsStore store = builder.build();
+
+        assertThat(store.getTotalEffort(3L, null, null), equalTo(hours(5)));
+        assertThat(store.getResourceIds(), equalTo(new HashSet<>(Arrays.asList(2L, 3L, 4L))));
+    }
+
+    @Test
+    public void theRowsOfTheReplacedResourcesAreTheOnesOfTheReplacement() {
+        DayAssignmentsStore.Builder builder = DayAssignmentsStore.builder(1L);
+        builder.assigned(someDate, 2L, HOUR);
+        builder.assigned(someDate, 3L, 2 * HOUR);
+        builder.assigned(someDate, 5L, 5 * HOUR);
+        DayAssignmentsStore store = builder.build();
+
+        DayAssignmentsStore replacement = storeWith(4L, 8, 8);
+        DayAssignmentsStore result = store.replacingResources(Arrays.asList(3L, 4L), replacement);
+
+        assertThat(result.size(), equalTo(4));
+        assertThat(result.getEffortOn(2L, someDate), equalTo(hours(1)));
+        assertThat(result.getEffortOn(3L, someDate), equalTo(zero()));
+        assertThat(result.getTotalEffort(4L, null, null), equalTo(hours(16)));
+        assertThat(result.getEffortOn(5L, someDate), equalTo(hours(5)));
+        assertThat(store.getEffortOn(3L, someDate), equalTo(hours(2)));
+    }
+
+    @Test
+    public void theStoreIsForTheScenarioItWasBuiltFor() {
+        assertTrue(storeWith(3L).getScenarioId().equals(1L));
+        assertFalse(storeWith(3L).isFor(null));
+    }
+
+}
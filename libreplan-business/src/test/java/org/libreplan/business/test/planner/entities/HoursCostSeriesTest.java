@@ -0,0 +1,137 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.test.planner.entities;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.libreplan.business.workingday.EffortDuration.hours;
+import static org.libreplan.business.workingday.EffortDuration.minutes;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.libreplan.business.planner.entities.DayAssignment;
+import org.libreplan.business.planner.entities.HoursCostSeries;
+import org.libreplan.business.planner.entities.SpecificDayAssignment;
+import org.libreplan.business.resources.entities.Worker;
+import org.libreplan.business.workingday.EffortDuration;
+
+public class HoursCostSeriesTest {
+
+    private static final LocalDate DAY = new LocalDate(2026, 3, 2);
+
+    private Worker worker = Worker.create();
+
+    private List<DayAssignment> assignments = new ArrayList<>();
+
+    private void givenAssignment(LocalDate day, EffortDuration duration) {
+        assignments.add(SpecificDayAssignment.create(day, duration, worker));
+    }
+
+    private SortedMap<LocalDate, BigDecimal> hoursPerDay() {
+        return HoursCostSeries.hoursPerDay(assignments, null, null);
+    }
+
+    @Test
+    public void withoutAssignmentsTheSeriesIsEmpty() {
+        assertTrue(hoursPerDay().isEmpty());
+    }
+
+    @Test
+    public void theHoursOfTheSameDayAreAdded() {
+        givenAssignment(DAY, hours(3));
+        givenAssignment(DAY, hours(4));
+        givenAssignment(DAY.plusDays(2), hours(8));
+
+        SortedMap<LocalDate, BigDecimal> result = hoursPerDay();
+
+        assertThat(result.size(), equalTo(2));
+        assertThat(result.get(DAY), equalTo(BigDecimal.valueOf(7)));
+        assertThat(result.get(DAY.plusDays(2)), equalTo(BigDecimal.valueOf(8)));
+    }
+
+    @Test
+    public void theDaysWithoutWholeHoursAreKept() {
+        givenAssignment(DAY, minutes(10));
+        givenAssignment(DAY.plusDays(1), hours(1));
+
+        assertThat(hoursPerDay().get(DAY), equalTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    public void theMinutesAreCarriedOverToTheLastAssignment() {
+        givenAssignment(DAY, hours(2).and(40, EffortDuration.Granularity.MINUTES));
+        givenAssignment(DAY.plusDays(1), hours(2).and(50, EffortDuration.Granularity.MINUTES));
+        givenAssignment(DAY.plusDays(2), hours(1).and(45, EffortDuration.Granularity.MINUTES));
+
+        SortedMap<LocalDate, BigDecimal> result = hoursPerDay();
+
+        assertThat(result.get(DAY), equalTo(BigDecimal.valueOf(2)));
+        assertThat(result.get(DAY.plusDays(1)), equalTo(BigDecimal.valueOf(2)));
+        // 135 minutes add two hours
+        assertThat(result.get(DAY.plusDays(2)), equalTo(BigDecimal.valueOf(3)));
+    }
+
+    @Test
+    public void halfAnHourOfMinutesAddsOneHour() {
+        givenAssignment(DAY, minutes(20));
+        givenAssignment(DAY.plusDays(1), hours(1).and(10, EffortDuration.Granularity.MINUTES));
+
+        assertThat(hoursPerDay().get(DAY.plusDays(1)), equalTo(BigDecimal.valueOf(2)));
+    }
+
+    @Test
+    public void theDurationsAreRoundedToTheNearestMinute() {
+        givenAssignment(DAY, hours(1).and(29 * 60 + 30, EffortDuration.Granularity.SECONDS));
+
+        assertThat(hoursPerDay().get(DAY), equalTo(BigDecimal.valueOf(2)));
+    }
+
+    @Test
+    public void longDurationsAreNotWrappedAroundAClock() {
+        givenAssignment(DAY, hours(12));
+        givenAssignment(DAY.plusDays(1), hours(25));
+
+        SortedMap<LocalDate, BigDecimal> result = hoursPerDay();
+
+        assertThat(result.get(DAY), equalTo(BigDecimal.valueOf(12)));
+        assertThat(result.get(DAY.plusDays(1)), equalTo(BigDecimal.valueOf(25)));
+    }
+
+    @Test
+    public void theAssignmentsOutsideTheFilterAreIgnored() {
+        givenAssignment(DAY, hours(1).and(40, EffortDuration.Granularity.MINUTES));
+        givenAssignment(DAY.plusDays(1), hours(2).and(40, EffortDuration.Granularity.MINUTES));
+        givenAssignment(DAY.plusDays(2), hours(3));
+
+        SortedMap<LocalDate, BigDecimal> result =
+                HoursCostSeries.hoursPerDay(assignments, DAY.plusDays(1), DAY.plusDays(1));
+
+        // The minutes are only carried over when the last assignment is not filtered
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(DAY.plusDays(1)), equalTo(BigDecimal.valueOf(2)));
+    }
+
+}
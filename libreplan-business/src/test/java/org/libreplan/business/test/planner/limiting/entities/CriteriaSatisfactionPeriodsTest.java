@@ -0,0 +1,149 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.test.planner.limiting.entities;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.libreplan.business.planner.limiting.entities.CriteriaSatisfactionPeriods;
+import org.libreplan.business.planner.limiting.entities.DateAndHour;
+import org.libreplan.business.planner.limiting.entities.Gap;
+import org.libreplan.business.resources.entities.Criterion;
+import org.libreplan.business.resources.entities.CriterionSatisfaction;
+import org.libreplan.business.resources.entities.Interval;
+import org.libreplan.business.resources.entities.Resource;
+
+/**
+ * Tests for {@link CriteriaSatisfactionPeriods}.
+ */
+public class CriteriaSatisfactionPeriodsTest {
+
+    private static final LocalDate START = new LocalDate(2010, 1, 1);
+
+    private final Random random = new Random(3);
+
+    private final Criterion criterion = createNiceMock(Criterion.class);
+
+    private final Criterion otherCriterion = createNiceMock(Criterion.class);
+
+    private Resource resource;
+
+    private void givenResourceSatisfying(List<CriterionSatisfaction> satisfactions,
+                                         List<CriterionSatisfaction> otherSatisfactions) {
+
+        expect(resource.getSatisfactionsFor(criterion)).andReturn(satisfactions).anyTimes();
+        expect(resource.getSatisfactionsFor(otherCriterion)).andReturn(otherSatisfactions).anyTimes();
+        replay(resource);
+    }
+
+    private List<CriterionSatisfaction> randomSatisfactions(Criterion satisfied) {
+        List<CriterionSatisfaction> result = new ArrayList<>();
+        LocalDate date = START.plusDays(random.nextInt(10));
+        int size = random.nextInt(8);
+        for (int i = 0; i < size; i++) {
+            LocalDate end = date.plusDays(1 + random.nextInt(20));
+            boolean last = i == size - 1 && random.nextBoolean();
+            result.add(CriterionSatisfaction.create(
+                    satisfied, resource, last ? Interval.from(date) : Interval.range(date, end)));
+            date = end.plusDays(random.nextInt(10));
+        }
+        return result;
+    }
+
+    private DateAndHour randomTime(LocalDate after) {
+        return new DateAndHour(after.plusDays(random.nextInt(60)), random.nextInt(8));
+    }
+
+    private Set<Criterion> bothCriteria() {
+        return new HashSet<>(Arrays.asList(criterion, otherCriterion));
+    }
+
+    private static void assertSameGaps(List<Gap> expected, List<Gap> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getStartTime(), actual.get(i).getStartTime());
+            assertEquals(expected.get(i).getEndTime(), actual.get(i).getEndTime());
+        }
+    }
+
+    @Test
+    public void theGapIsSplitInThePartsSatisfyingTheCriteria() {
+        resource = createNiceMock(Resource.class);
+        givenResourceSatisfying(
+                Arrays.asList(
+                        CriterionSatisfaction.create(criterion, resource, Interval.range(START, START.plusDays(5))),
+                        CriterionSatisfaction.create(criterion, resource, Interval.from(START.plusDays(10)))),
+                Arrays.asList(CriterionSatisfaction.create(otherCriterion, resource, Interval.from(START))));
+        CriteriaSatisfactionPeriods periods = CriteriaSatisfactionPeriods.of(resource, bothCriteria());
+
+        Gap gap = Gap.create(resource, new DateAndHour(START.plusDays(2), 3), new DateAndHour(START.plusDays(12), 0));
+        List<Gap> subgaps = gap.splitIntoGapsSatisfyingCriteria(resource, periods);
+
+        assertEquals(2, subgaps.size());
+        assertEquals(new DateAndHour(START.plusDays(2), 3), subgaps.get(0).getStartTime());
+        assertEquals(new DateAndHour(START.plusDays(5), 0), subgaps.get(0).getEndTime());
+        assertEquals(new DateAndHour(START.plusDays(10), 0), subgaps.get(1).getStartTime());
+        assertEquals(new DateAndHour(START.plusDays(12), 0), subgaps.get(1).getEndTime());
+    }
+
+    @Test
+    public void aGapIsNotSplitIfTheCriteriaAreNeverSatisfied() {
+        resource = createNiceMock(Resource.class);
+        givenResourceSatisfying(new ArrayList<CriterionSatisfaction>(), new ArrayList<CriterionSatisfaction>());
+        CriteriaSatisfactionPeriods periods = CriteriaSatisfactionPeriods.of(resource, bothCriteria());
+
+        assertTrue(Gap.create(resource, new DateAndHour(START, 0), null)
+                .splitIntoGapsSatisfyingCriteria(resource, periods).isEmpty());
+    }
+
+    @Test
+    public void theGapsAreSplitAsWhenCalculatingTheSatisfactionsForEachGap() {
+        for (int i = 0; i < 200; i++) {
+            resource = createNiceMock(Resource.class);
+            givenResourceSatisfying(randomSatisfactions(criterion), randomSatisfactions(otherCriterion));
+            CriteriaSatisfactionPeriods periods = CriteriaSatisfactionPeriods.of(resource, bothCriteria());
+
+            for (int j = 0; j < 10; j++) {
+                DateAndHour start = random.nextInt(5) == 0 ? null : randomTime(START.minusDays(10));
+                DateAndHour end = random.nextInt(5) == 0
+                        ? null
+                        : randomTime(start != null ? start.getDate() : START);
+                Gap gap = Gap.create(resource, start, end);
+
+                assertSameGaps(
+                        gap.splitIntoGapsSatisfyingCriteria(resource, bothCriteria()),
+                        gap.splitIntoGapsSatisfyingCriteria(resource, periods));
+            }
+        }
+    }
+
+}
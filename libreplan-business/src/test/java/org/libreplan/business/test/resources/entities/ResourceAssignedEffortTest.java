@@ -0,0 +1,161 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.business.test.resources.entities;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.libreplan.business.workingday.EffortDuration.hours;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.joda.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+import org.libreplan.business.common.BaseEntity;
+import org.libreplan.business.planner.entities.SpecificDayAssignment;
+import org.libreplan.business.planner.entities.SpecificResourceAllocation;
+import org.libreplan.business.resources.entities.Worker;
+import org.libreplan.business.scenarios.entities.Scenario;
+
+/**
+ * Tests for the effort assigned to a {@link Worker} as day assignments are added and removed.
+ */
+public class ResourceAssignedEffortTest {
+
+    private static final LocalDate DAY = new LocalDate(2012, 5, 7);
+
+    private Worker worker;
+
+    private Scenario scenario;
+
+    private SpecificResourceAllocation allocation;
+
+    private SpecificResourceAllocation otherAllocation;
+
+    @Before
+    public void createWorker() {
+        worker = Worker.create("firstName", "surName", "2333232");
+        scenario = createNiceMock(Scenario.class);
+        worker.useScenario(scenario);
+        allocation = createNiceMock(SpecificResourceAllocation.class);
+        otherAllocation = createNiceMock(SpecificResourceAllocation.class);
+        replay(allocation, otherAllocation);
+    }
+
+    private SpecificDayAssignment assignment(LocalDate day, int hours, SpecificResourceAllocation parent) {
+        SpecificDayAssignment result = SpecificDayAssignment.create(day, hours(hours), worker);
+        result.setSpecificResourceAllocation(parent);
+        return result;
+    }
+
+    private Map<Long, Set<BaseEntity>> discounting(SpecificResourceAllocation... allocations) {
+        return BaseEntity.byId(Arrays.<BaseEntity> asList(allocations));
+    }
+
+    @Test
+    public void theAssignedEffortIsUpdatedWhenAddingAndRemovingAssignments() {
+        SpecificDayAssignment first = assignment(DAY, 3, allocation);
+        SpecificDayAssignment second = assignment(DAY, 4, otherAllocation);
+        worker.addNewAssignments(Arrays.asList(first, assignment(DAY.plusDays(1), 2, allocation)));
+        assertEquals(hours(3), worker.getAssignedEffort(DAY));
+
+        worker.addNewAssignments(Collections.singletonList(second));
+        assertEquals(hours(7), worker.getAssignedEffort(DAY));
+
+        worker.removeAssignments(Collections.singletonList(first));
+        assertEquals(hours(4), worker.getAssignedEffort(DAY));
+        assertEquals(hours(2), worker.getAssignedEffort(DAY.plusDays(1)));
+
+        worker.removeAssignments(Collections.singletonList(second));
+        assertEquals(hours(0), worker.getAssignedEffort(DAY));
+    }
+
+    @Test
+    public void addingTheSameAssignmentTwiceCountsItOnce() {
+        SpecificDayAssignment first = assignment(DAY, 3, allocation);
+        worker.getAssignedEffort(DAY);
+
+        worker.addNewAssignments(Collections.singletonList(first));
+        worker.addNewAssignments(Collections.singletonList(first));
+
+        assertEquals(hours(3), worker.getAssignedEffort(DAY));
+    }
+
+    @Test
+    public void theEffortOfTheDiscountedAllocationsIsSubtracted() {
+        worker.addNewAssignments(Arrays.asList(assignment(DAY, 3, allocation), assignment(DAY, 4, otherAllocation)));
+
+        assertEquals(hours(7), worker.getAssignedDurationDiscounting(discounting(), DAY));
+        assertEquals(hours(4), worker.getAssignedDurationDiscounting(discounting(allocation), DAY));
+        assertEquals(hours(0), worker.getAssignedDurationDiscounting(discounting(allocation, otherAllocation), DAY));
+    }
+
+    @Test
+    public void theAllocationOfAnAssignmentIsCheckedWhenDiscounting() {
+        SpecificDayAssignment first = SpecificDayAssignment.create(DAY, hours(3), worker);
+        worker.addNewAssignments(Collections.singletonList(first));
+        assertEquals(hours(3), worker.getAssignedEffort(DAY));
+
+        first.setSpecificResourceAllocation(allocation);
+
+        assertEquals(hours(0), worker.getAssignedDurationDiscounting(discounting(allocation), DAY));
+        assertEquals(hours(3), worker.getAssignedDurationDiscounting(discounting(otherAllocation), DAY));
+    }
+
+    /**
+     * An assignment whose scenario is set after being added to the worker, as when it's given a container.
+     */
+    private static class AssignmentGivenAScenarioLater extends SpecificDayAssignment {
+
+        private Scenario scenario;
+
+        AssignmentGivenAScenarioLater(LocalDate day, int hours, Worker worker) {
+            super(day, hours(hours), worker);
+        }
+
+        @Override
+        public Scenario getScenario() {
+            return scenario;
+        }
+    }
+
+    @Test
+    public void anAssignmentWithoutScenarioIsCheckedAgainWhenItIsGivenOne() {
+        AssignmentGivenAScenarioLater onOtherScenario = new AssignmentGivenAScenarioLater(DAY, 3, worker);
+        AssignmentGivenAScenarioLater onScenario = new AssignmentGivenAScenarioLater(DAY, 4, worker);
+        worker.getAssignedEffort(DAY);
+        worker.addNewAssignments(Arrays.asList(onOtherScenario, onScenario));
+        assertEquals(hours(7), worker.getAssignedEffort(DAY));
+
+        onOtherScenario.scenario = createNiceMock(Scenario.class);
+        onScenario.scenario = scenario;
+
+        assertEquals(hours(4), worker.getAssignedEffort(DAY));
+        assertEquals(Collections.singletonList(onScenario), worker.getAssignments());
+
+        worker.removeAssignments(Collections.singletonList(onScenario));
+        assertEquals(hours(0), worker.getAssignedEffort(DAY));
+    }
+
+}
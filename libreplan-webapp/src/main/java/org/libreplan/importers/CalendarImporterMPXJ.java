@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -139,11 +140,18 @@ public class CalendarImporterMPXJ implements ICalendarImporter {
     public List<BaseCalendar> getBaseCalendars(List<CalendarDTO> calendarDTOs) throws InstanceNotFoundException {
         List<BaseCalendar> baseCalendars = new ArrayList<>();
 
+        if (calendarDTOs.isEmpty()) {
+            return baseCalendars;
+        }
+
+        Iterator<String> codes = getCodes(EntityNameEnum.CALENDAR, calendarDTOs.size()).iterator();
+        int numberOfDigits = entitySequenceDAO.getNumberOfDigitsCode(EntityNameEnum.CALENDAR);
+
         for (CalendarDTO calendarDTO : calendarDTOs) {
 
             if (calendarDTO.parent == null) {
 
-                baseCalendars.add(toBaseCalendar(calendarDTO, null));
+                baseCalendars.add(toBaseCalendar(calendarDTO, null, codes.next(), numberOfDigits));
 
             } else {
 
@@ -152,7 +160,7 @@ public class CalendarImporterMPXJ implements ICalendarImporter {
 
                 if (parent != null) {
 
-                    baseCalendars.add(toBaseCalendar(calendarDTO, parent));
+                    baseCalendars.add(toBaseCalendar(calendarDTO, parent, codes.next(), numberOfDigits));
 
                 } else {
 
@@ -195,12 +203,13 @@ public class CalendarImporterMPXJ implements ICalendarImporter {
      *
      * @param calendarDTO
      *            CalendarDTO to extract data from.
+     * @param code
+     *            Code reserved for the calendar.
      * @return BaseCalendar with the calendar that we want.
      * @throws InstanceNotFoundException, ValidationException
      */
-    private BaseCalendar toBaseCalendar(CalendarDTO calendarDTO, BaseCalendar parent) throws InstanceNotFoundException {
-
-        String code = getCode(EntityNameEnum.CALENDAR);
+    private BaseCalendar toBaseCalendar(CalendarDTO calendarDTO, BaseCalendar parent, String code, int numberOfDigits)
+            throws InstanceNotFoundException {
 
         String name = validateName(calendarDTO.name);
 
@@ -218,28 +227,30 @@ public class CalendarImporterMPXJ implements ICalendarImporter {
             baseCalendar.setParent(parent);
         }
 
-        baseCalendar.generateCalendarExceptionCodes(entitySequenceDAO.getNumberOfDigitsCode(EntityNameEnum.CALENDAR));
+        baseCalendar.generateCalendarExceptionCodes(numberOfDigits);
 
         return baseCalendar;
     }
 
     /**
-     * Calculate the next code for the entity.
+     * Reserve the next codes for the entity at once.
      *
      * @param entity
      *         EntityNameEnum Entity
-     * @return String new code.
+     * @param numberOfCodes
+     *         Number of codes to reserve.
+     * @return List<String> new codes.
      */
-    private String getCode(EntityNameEnum entity) {
+    private List<String> getCodes(EntityNameEnum entity, int numberOfCodes) {
 
-        String code = entitySequenceDAO.getNextEntityCode(entity);
+        List<String> codes = entitySequenceDAO.getNextEntityCodes(entity, numberOfCodes);
 
-        if (code == null) {
+        if (codes == null) {
             throw new ConcurrentModificationException(
                     "Could not retrieve Code. Please, try again later");
         }
 
-        return code;
+        return codes;
     }
 
     /**
@@ -250,6 +250,8 @@ public class ConfigurationController extends GenericForwardComposer {
             if ( checkValidEntitySequenceRows() ) {
                 try {
                     configurationModel.confirm();
+                    // The pages rendered from now on must show the saved values
+                    configurationDAO.reloadConfigurationSnapshot();
                     configurationModel.init();
                     messages.showMessage(Level.INFO, _("Changes saved"));
 
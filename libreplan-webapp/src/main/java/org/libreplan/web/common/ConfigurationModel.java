@@ -188,6 +188,7 @@ public class ConfigurationModel implements IConfigurationModel {
         saveConnectors();
         try {
             storeAndRemoveEntitySequences();
+            entitySequenceDAO.discardReservedCodes();
         } catch (IllegalStateException e) {
             throw new OptimisticLockingFailureException("concurrency problem in entity sequences");
         }
@@ -39,7 +39,7 @@ public class ConfirmCloseUtil {
 
     public static void setConfirmClose(Desktop desktop, final String message) {
         final Integer seconds = Registry.getConfigurationDAO()
-                .getConfigurationWithReadOnlyTransaction()
+                .getConfigurationSnapshot()
                 .getSecondsPlanningWarning();
 
         if (seconds > 0) {
@@ -754,7 +754,7 @@ public class CustomMenuController extends Div implements IMenuItemsRegister {
     }
 
     public boolean isScenariosVisible() {
-        return Registry.getConfigurationDAO().getConfigurationWithReadOnlyTransaction().isScenariosVisible();
+        return Registry.getConfigurationDAO().getConfigurationSnapshot().isScenariosVisible();
     }
 
 }
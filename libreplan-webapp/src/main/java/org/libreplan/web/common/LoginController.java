@@ -22,7 +22,7 @@
 package org.libreplan.web.common;
 
 import org.libreplan.business.common.daos.IConfigurationDAO;
-import org.libreplan.business.common.entities.Configuration;
+import org.libreplan.business.common.entities.ConfigurationSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
@@ -54,7 +54,7 @@ public class LoginController extends GenericForwardComposer {
      * It returns the login value in function of the property autocompleteLogin.
      */
     public String getLoginValue() {
-        Configuration configuration = configurationDAO.getConfigurationWithReadOnlyTransaction();
+        ConfigurationSnapshot configuration = configurationDAO.getConfigurationSnapshot();
 
         return ((configuration.isAutocompleteLogin()) && (!configuration.getChangedDefaultAdminPassword()))
                 ? this.autocompletedLoginValue
@@ -201,9 +201,8 @@ public class TemplateModel implements ITemplateModel {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public String getCompanyLogoURL() {
-        return configurationDAO.getConfiguration().getCompanyLogoURL();
+        return configurationDAO.getConfigurationSnapshot().getCompanyLogoURL();
     }
 
     @Override
@@ -399,9 +398,8 @@ public class TemplateModel implements ITemplateModel {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean isScenariosVisible() {
-        return configurationDAO.getConfiguration().isScenariosVisible();
+        return configurationDAO.getConfigurationSnapshot().isScenariosVisible();
     }
 
     @Override
@@ -435,9 +433,8 @@ public class TemplateModel implements ITemplateModel {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean isCheckNewVersionEnabled() {
-        return configurationDAO.getConfiguration().isCheckNewVersionEnabled();
+        return configurationDAO.getConfigurationSnapshot().isCheckNewVersionEnabled();
     }
 
 }
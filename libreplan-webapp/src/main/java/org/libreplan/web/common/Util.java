@@ -763,8 +763,7 @@ public class Util {
      * @return Currency symbol configured in the application
      */
     public static String getCurrencySymbol() {
-        return Registry.getTransactionService().runOnReadOnlyTransaction(
-                () -> Registry.getConfigurationDAO().getConfiguration().getCurrencySymbol());
+        return Registry.getConfigurationDAO().getConfigurationSnapshot().getCurrencySymbol();
     }
 
     /**
@@ -947,7 +946,7 @@ public class Util {
     static void findLogo() {
         String name = Registry
                 .getConfigurationDAO()
-                .getConfigurationWithReadOnlyTransaction()
+                .getConfigurationSnapshot()
                 .getCompanyLogoURL();
 
         try {
@@ -64,6 +64,7 @@ import org.libreplan.business.planner.limiting.daos.ILimitingResourceQueueDAO;
 import org.libreplan.business.planner.limiting.daos.ILimitingResourceQueueDependencyDAO;
 import org.libreplan.business.planner.limiting.daos.ILimitingResourceQueueElementDAO;
 import org.libreplan.business.planner.limiting.entities.AllocationSpec;
+import org.libreplan.business.planner.limiting.entities.CriteriaSatisfactionPeriods;
 import org.libreplan.business.planner.limiting.entities.DateAndHour;
 import org.libreplan.business.planner.limiting.entities.Gap;
 import org.libreplan.business.planner.limiting.entities.Gap.GapOnQueue;
@@ -647,9 +648,11 @@ public class LimitingResourceQueueModel implements ILimitingResourceQueueModel {
 
     private AllocationSpec findAllocationSpecFor(List<GapOnQueue> gapsOnQueue, InsertionRequirements requirements) {
         boolean generic = requirements.getElement().isGeneric();
+        Map<LimitingResourceQueue, CriteriaSatisfactionPeriods> satisfactionPeriodsByQueue = new HashMap<>();
         for (GapOnQueue each : gapsOnQueue) {
 
-            for (GapOnQueue eachSubGap : getSubGaps(each, requirements.getElement(), generic)) {
+            for (GapOnQueue eachSubGap : getSubGaps(each, requirements.getElement(), generic,
+                    satisfactionPeriodsByQueue)) {
 
                 AllocationSpec allocation = requirements.guessValidity(eachSubGap);
 
@@ -741,10 +744,22 @@ public class LimitingResourceQueueModel implements ILimitingResourceQueueModel {
         return checkAllocationIsAppropriative;
     }
 
-    private List<GapOnQueue> getSubGaps(GapOnQueue each, LimitingResourceQueueElement element, boolean generic) {
-        return generic
-                ? each.splitIntoGapsSatisfyingCriteria(element.getCriteria())
-                : Collections.singletonList(each);
+    /**
+     * For generic elements the satisfaction periods of the criteria are calculated once per queue and reused for all
+     * its gaps.
+     */
+    private List<GapOnQueue> getSubGaps(GapOnQueue each, LimitingResourceQueueElement element, boolean generic,
+                                        Map<LimitingResourceQueue, CriteriaSatisfactionPeriods> satisfactionPeriodsByQueue) {
+        if ( !generic ) {
+            return Collections.singletonList(each);
+        }
+        LimitingResourceQueue queue = each.getOriginQueue();
+        CriteriaSatisfactionPeriods satisfactionPeriods = satisfactionPeriodsByQueue.get(queue);
+        if ( satisfactionPeriods == null ) {
+            satisfactionPeriods = CriteriaSatisfactionPeriods.of(queue.getResource(), element.getCriteria());
+            satisfactionPeriodsByQueue.put(queue, satisfactionPeriods);
+        }
+        return each.splitIntoGapsSatisfyingCriteria(satisfactionPeriods);
     }
 
     private AllocationSpec applyAllocation(final AllocationSpec allocationStillNotDone) {
@@ -38,6 +38,13 @@ public interface IMonteCarloModel {
     Map<LocalDate, BigDecimal> calculateMonteCarlo(List<MonteCarloTask> tasks,
             int times, IDesktopUpdatesEmitter<Integer> iterationProgress);
 
+    /**
+     * Same as {@link #calculateMonteCarlo(List, int, IDesktopUpdatesEmitter)}, but the same result is always returned
+     * for the same seed.
+     */
+    Map<LocalDate, BigDecimal> calculateMonteCarlo(List<MonteCarloTask> tasks,
+            int times, long seed, IDesktopUpdatesEmitter<Integer> iterationProgress);
+
     void setCriticalPath(List<TaskElement> criticalPath);
 
     String getOrderName();
@@ -24,8 +24,10 @@ package org.libreplan.web.montecarlo;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.libreplan.business.planner.entities.Dependency;
@@ -50,14 +52,24 @@ import org.libreplan.business.planner.entities.TaskGroup;
  * It could be the case some of the tasks in that list  finish at the same time (in parallel for instance).
  * In those cases there are many critical paths and it's what this classes solves.
  *
+ * Paths are only extended through tasks in the critical path that can reach an end without leaving it, so the work
+ * done is proportional to the size of the critical paths found and not to all the paths of the project.
+ *
  * @author Diego Pino García <dpino@igalia.com>
  */
 public class MonteCarloCriticalPathBuilder {
 
     private List<Task> tasksInCriticalPath;
 
+    private Set<Task> criticalTasks;
+
+    private Map<TaskElement, List<Task>> destinationsByTask = new HashMap<>();
+
+    private Map<Task, Boolean> reachesAnEnd = new HashMap<>();
+
     private MonteCarloCriticalPathBuilder(List<Task> tasksInCriticalPath) {
         this.tasksInCriticalPath = tasksInCriticalPath;
+        this.criticalTasks = new HashSet<>(tasksInCriticalPath);
     }
 
     public static MonteCarloCriticalPathBuilder create(List<Task> tasksInCriticalPath) {
@@ -68,8 +80,7 @@ public class MonteCarloCriticalPathBuilder {
      * Constructs all possible paths starting from those tasks in the critical
      * path have no incoming dependencies or have incoming dependencies to other tasks not in the critical path.
      *
-     * Once all possible path were constructed, filter only those paths which
-     * all their tasks are in the list of tasks in the critical path.
+     * Only the paths which all their tasks are in the list of tasks in the critical path are constructed.
      *
      * @return {@link List<List<Task>>}
      */
@@ -81,15 +92,9 @@ public class MonteCarloCriticalPathBuilder {
             return result;
         }
 
-        List<List<Task>> allPaths = new ArrayList<>();
-
         for (Task each : getStartingTasks(tasksInCriticalPath)) {
-            allPaths.addAll(allPossiblePaths(each));
-        }
-
-        for (List<Task> path : allPaths) {
-            if (isCriticalPath(path)) {
-                result.add(path);
+            if (reachesAnEndThroughCriticalTasks(each)) {
+                result.addAll(allPossiblePaths(each));
             }
         }
 
@@ -110,13 +115,39 @@ public class MonteCarloCriticalPathBuilder {
 
         if (!destinations.isEmpty()) {
             for (Task each : destinations) {
-                allPossiblePaths(newPath(path, each), allPaths);
+                if (reachesAnEndThroughCriticalTasks(each)) {
+                    allPossiblePaths(newPath(path, each), allPaths);
+                }
             }
         } else {
             allPaths.add(path);
         }
     }
 
+    /**
+     * A path ends in a task without destinations, and it is only critical if all its tasks are in the critical path.
+     */
+    private boolean reachesAnEndThroughCriticalTasks(Task task) {
+        if (!criticalTasks.contains(task)) {
+            return false;
+        }
+
+        Boolean result = reachesAnEnd.get(task);
+        if (result == null) {
+            List<Task> destinations = getDestinations(task);
+            result = destinations.isEmpty();
+            for (Task each : destinations) {
+                if (result) {
+                    break;
+                }
+                result = reachesAnEndThroughCriticalTasks(each);
+            }
+            reachesAnEnd.put(task, result);
+        }
+
+        return result;
+    }
+
     private TaskElement getLastTask(List<Task> path) {
         return path.get(path.size() - 1);
     }
@@ -130,6 +161,16 @@ public class MonteCarloCriticalPathBuilder {
     }
 
     private List<Task> getDestinations(TaskElement task) {
+        List<Task> result = destinationsByTask.get(task);
+        if (result == null) {
+            result = calculateDestinations(task);
+            destinationsByTask.put(task, result);
+        }
+
+        return result;
+    }
+
+    private List<Task> calculateDestinations(TaskElement task) {
         Set<Task> result = new HashSet<>();
         Set<Dependency> dependencies = getOutgoingDependencies(task);
         TaskGroup parent = task.getParent();
@@ -241,14 +282,4 @@ public class MonteCarloCriticalPathBuilder {
         return parent == null;
     }
 
-    private boolean isCriticalPath(List<Task> path) {
-        for (Task each : path) {
-            if (!tasksInCriticalPath.contains(each)) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
 }
\ No newline at end of file
@@ -29,15 +29,16 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
-import org.apache.commons.lang3.Validate;
 import org.hibernate.Hibernate;
 import org.joda.time.LocalDate;
+import org.libreplan.business.calendars.entities.BaseCalendar;
 import org.libreplan.business.orders.entities.Order;
 import org.libreplan.business.orders.entities.OrderElement;
 import org.libreplan.business.planner.daos.ITaskElementDAO;
@@ -48,6 +49,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
+import org.libreplan.web.montecarlo.MonteCarloSimulation.IWorkingDaysTables;
 import org.springframework.transaction.annotation.Transactional;
 import org.zkoss.ganttz.util.LongOperationFeedback.IDesktopUpdatesEmitter;
 
@@ -75,6 +77,26 @@ public class MonteCarloModel implements IMonteCarloModel {
 
     private List<Task> tasksInCriticalPath;
 
+    /**
+     * Working days tables by calendar, shared by all the tasks and kept between calculations. Tables are only requested
+     * and grown while creating a {@link MonteCarloSimulation}, before its iterations are run in other threads.
+     */
+    private final Map<BaseCalendar, WorkingDaysTable> tablesByCalendar = new ConcurrentHashMap<>();
+
+    /**
+     * For the tasks without calendar, which can't be a key of {@link #tablesByCalendar}.
+     */
+    private final AtomicReference<WorkingDaysTable> tableWithoutCalendar = new AtomicReference<>();
+
+    private final IWorkingDaysTables workingDaysTables = (calendar, notAfter) -> {
+        WorkingDaysTable result = calendar == null
+                ? tableWithoutCalendar.updateAndGet(each -> each != null ? each : WorkingDaysTable.create(null, notAfter))
+                : tablesByCalendar.computeIfAbsent(calendar, each -> WorkingDaysTable.create(each, notAfter));
+        result.moveOriginTo(notAfter);
+
+        return result;
+    };
+
     @Override
     @Transactional(readOnly = true)
     public void setCriticalPath(List<TaskElement> tasksInCriticalPath) {
@@ -88,6 +110,8 @@ public class MonteCarloModel implements IMonteCarloModel {
             return;
         }
 
+        tablesByCalendar.clear();
+        tableWithoutCalendar.set(null);
         Collections.sort(this.tasksInCriticalPath, Task.getByStartDateComparator());
         initializeTasksInOrder(getOrderFor(this.tasksInCriticalPath));
         initializeOrderNameFor(this.tasksInCriticalPath);
@@ -199,18 +223,28 @@ public class MonteCarloModel implements IMonteCarloModel {
                                                           int iterations,
                                                           IDesktopUpdatesEmitter<Integer> iterationProgress) {
 
-        MonteCarloCalculation monteCarloCalculation = new MonteCarloCalculation(
-                copyOf(tasks), iterations, iterationProgress);
-        Map<LocalDate, BigDecimal> monteCarloValues = monteCarloCalculation.doCalculation();
+        return calculateMonteCarlo(tasks, iterations, (new Date()).getTime(), iterationProgress);
+    }
+
+    @Override
+    public Map<LocalDate, BigDecimal> calculateMonteCarlo(List<MonteCarloTask> tasks,
+                                                          int iterations,
+                                                          long seed,
+                                                          IDesktopUpdatesEmitter<Integer> iterationProgress) {
+
+        Map<LocalDate, Integer> times = MonteCarloSimulation.create(copyOf(tasks), workingDaysTables)
+                .run(iterations, seed, iterationProgress);
 
         // Convert number of times to probability
-        for (LocalDate key : monteCarloValues.keySet()) {
-            BigDecimal times = monteCarloValues.get(key);
-            BigDecimal probability = times.divide(BigDecimal.valueOf(iterations), 8, RoundingMode.HALF_UP);
-            monteCarloValues.put(key, probability);
+        Map<LocalDate, BigDecimal> result = new HashMap<>();
+        for (Entry<LocalDate, Integer> each : times.entrySet()) {
+            BigDecimal probability = BigDecimal.valueOf(each.getValue())
+                    .divide(BigDecimal.valueOf(iterations), 8, RoundingMode.HALF_UP);
+
+            result.put(each.getKey(), probability);
         }
 
-        return monteCarloValues;
+        return result;
     }
 
     private List<MonteCarloTask> copyOf(List<MonteCarloTask> tasks) {
@@ -228,128 +262,4 @@ public class MonteCarloModel implements IMonteCarloModel {
         return orderName;
     }
 
-    private static class MonteCarloCalculation {
-
-        private Map<MonteCarloTask, Set<EstimationRange>> estimationRangesForTasks = new HashMap<>();
-
-        private List<MonteCarloTask> tasks;
-
-        private int iterations;
-
-        private IDesktopUpdatesEmitter<Integer> iterationProgress;
-
-        public MonteCarloCalculation(List<MonteCarloTask> tasks,
-                                     int iterations,
-                                     IDesktopUpdatesEmitter<Integer> iterationProgress) {
-
-            adjustDurationDays(tasks);
-            initializeEstimationRanges(tasks);
-            this.tasks = tasks;
-            this.iterations = iterations;
-            this.iterationProgress = iterationProgress;
-        }
-
-        public Map<LocalDate, BigDecimal> doCalculation() {
-            Map<LocalDate, BigDecimal> result = new HashMap<>();
-
-            final int onePercent = iterations / 100;
-            Random randomGenerator = new Random((new Date()).getTime());
-
-            // Calculate number of times a date is repeated
-            for (int i = 0; i < iterations; i++) {
-                LocalDate endDate = calculateEndDateFor(tasks, randomGenerator);
-                BigDecimal times = result.get(endDate);
-
-                times = times != null ? times.add(BigDecimal.ONE) : BigDecimal.ONE;
-
-                result.put(endDate, times);
-
-                if (i % onePercent == 0) {
-                    increaseProgressMeter((i * 100) / iterations);
-                }
-            }
-
-            return result;
-        }
-
-        private void increaseProgressMeter(int completedPercent) {
-            iterationProgress.doUpdate(completedPercent);
-        }
-
-        private LocalDate calculateEndDateFor(List<MonteCarloTask> tasks, Random randomGenerator) {
-            Validate.notEmpty(tasks);
-            BigDecimal durationDays = BigDecimal.ZERO;
-            MonteCarloTask first = tasks.get(0);
-
-            for (MonteCarloTask each : tasks) {
-                BigDecimal randomNumber = generate(randomGenerator);
-                durationDays = durationDays.add(getDuration(each, randomNumber));
-            }
-
-            return first.getStartDate().plusDays(durationDays.intValue());
-        }
-
-        private BigDecimal generate(Random randomGenerator) {
-            return BigDecimal.valueOf(randomGenerator.nextDouble());
-        }
-
-        private BigDecimal getDuration(MonteCarloTask each, BigDecimal random) {
-            ESTIMATION_TYPE type = getEstimationType(each, random);
-            Validate.notNull(type);
-            switch (type) {
-
-                case PESSIMISTIC:
-                    return each.getPessimisticDuration();
-
-                case NORMAL:
-                    return each.getNormalDuration();
-
-                case OPTIMISTIC:
-                    return each.getOptimisticDuration();
-
-                default:
-                    break;
-            }
-
-            return BigDecimal.ZERO;
-        }
-
-        private void adjustDurationDays(List<MonteCarloTask> tasks) {
-            for (MonteCarloTask each : tasks) {
-                each.setPessimisticDuration(MonteCarloTask.calculateRealDurationFor(each, each.getPessimisticDuration()));
-                each.setNormalDuration(MonteCarloTask.calculateRealDurationFor(each, each.getNormalDuration()));
-                each.setOptimisticDuration(MonteCarloTask.calculateRealDurationFor(each, each.getOptimisticDuration()));
-            }
-        }
-
-        private void initializeEstimationRanges(List<MonteCarloTask> tasks) {
-            estimationRangesForTasks.clear();
-
-            for (MonteCarloTask each : tasks) {
-                createEstimationRangesFor(each);
-            }
-        }
-
-        private void createEstimationRangesFor(MonteCarloTask task) {
-            Set<EstimationRange> estimationRanges = new HashSet<>();
-            estimationRanges.add(EstimationRange.pessimisticRangeFor(task));
-            estimationRanges.add(EstimationRange.normalRangeFor(task));
-            estimationRanges.add(EstimationRange.optimisticRangeFor(task));
-            estimationRangesForTasks.put(task, estimationRanges);
-        }
-
-        public ESTIMATION_TYPE getEstimationType(MonteCarloTask task, BigDecimal random) {
-            Set<EstimationRange> estimationRanges = estimationRangesForTasks.get(task);
-
-            for (EstimationRange each : estimationRanges) {
-                if (each.contains(random)) {
-                    return each.getEstimationType();
-                }
-            }
-
-            return null;
-        }
-
-    }
-
 }
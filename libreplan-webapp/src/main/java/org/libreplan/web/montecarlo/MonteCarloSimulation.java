@@ -0,0 +1,247 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.web.montecarlo;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.Validate;
+import org.joda.time.LocalDate;
+import org.libreplan.business.calendars.entities.BaseCalendar;
+import org.zkoss.ganttz.util.LongOperationFeedback.IDesktopUpdatesEmitter;
+
+/**
+ * Runs the iterations of a MonteCarlo simulation over a path of {@link MonteCarloTask}.
+ * <p>
+ * The durations in working days and the probability limits of the tasks are copied into primitive arrays, so
+ * iterations do not allocate anything. Each task starts when the previous one in the path ends, and its working days
+ * are translated into calendar days from that start using the {@link WorkingDaysTable} of its calendar. Iterations are split in chunks that are run in parallel, each one with its own
+ * {@link SplittableRandom} and its own histogram of end dates. The chunks and their random generators only depend on
+ * the number of iterations and the seed, so the same distribution is obtained for a fixed seed whatever the number
+ * of available processors.
+ * </p>
+ */
+public class MonteCarloSimulation {
+
+    private static final int MIN_ITERATIONS_PER_CHUNK = 1000;
+
+    private static final int MAX_CHUNKS = 100;
+
+    /**
+     * Shared by all the simulations. Its threads are daemon ones, so they never keep the application from stopping.
+     */
+    private static final ExecutorService executor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            runnable -> {
+                Thread result = new Thread(runnable, "montecarlo-simulation");
+                result.setDaemon(true);
+                return result;
+            });
+
+    private final LocalDate startDate;
+
+    private final int[] pessimisticDays;
+
+    private final int[] normalDays;
+
+    private final int[] optimisticDays;
+
+    private final WorkingDaysTable[] tables;
+
+    /**
+     * Offset of the start of the simulation in the table of each task.
+     */
+    private final int[] tableShifts;
+
+    private final double[] pessimisticUpperLimits;
+
+    private final double[] normalUpperLimits;
+
+    /**
+     * Minimum number of calendar days a path can take, used as the first position of the histograms.
+     */
+    private final int minDays;
+
+    private final int histogramSize;
+
+    /**
+     * @param tasks
+     *            the tasks of the path, with durations expressed in working days. The start of the first one is the
+     *            start of the simulation.
+     * @param tables
+     *            provides the {@link WorkingDaysTable} of each calendar. The tables are grown as needed.
+     */
+    public static MonteCarloSimulation create(List<MonteCarloTask> tasks, IWorkingDaysTables tables) {
+        Validate.notEmpty(tasks);
+        return new MonteCarloSimulation(tasks, tables);
+    }
+
+    public interface IWorkingDaysTables {
+
+        /**
+         * Returns the table for the calendar, with an origin not after the given date.
+         */
+        WorkingDaysTable getTableFor(BaseCalendar calendar, LocalDate notAfter);
+    }
+
+    private MonteCarloSimulation(List<MonteCarloTask> tasks, IWorkingDaysTables tablesProvider) {
+        int size = tasks.size();
+        startDate = tasks.get(0).getStartDate();
+        pessimisticDays = new int[size];
+        normalDays = new int[size];
+        optimisticDays = new int[size];
+        tables = new WorkingDaysTable[size];
+        tableShifts = new int[size];
+        pessimisticUpperLimits = new double[size];
+        normalUpperLimits = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            MonteCarloTask each = tasks.get(i);
+            pessimisticDays[i] = toWorkingDays(each.getPessimisticDuration());
+            normalDays[i] = toWorkingDays(each.getNormalDuration());
+            optimisticDays[i] = toWorkingDays(each.getOptimisticDuration());
+            pessimisticUpperLimits[i] = each.getPessimisticDurationPercentageUpperLimit().doubleValue();
+            normalUpperLimits[i] = each.getNormalDurationPercentageUpperLimit().doubleValue();
+        }
+
+        // Tables are requested once all tasks are known, as moving the origin of a table invalidates its offsets
+        for (int i = 0; i < size; i++) {
+            tables[i] = tablesProvider.getTableFor(tasks.get(i).getCalendar(), startDate);
+        }
+        for (int i = 0; i < size; i++) {
+            tableShifts[i] = tables[i].offsetOf(startDate);
+        }
+
+        // The end of a task only grows with its start and its duration, so every iteration ends between these two
+        minDays = endOfPathGrowingTables(true);
+        histogramSize = endOfPathGrowingTables(false) - minDays + 1;
+    }
+
+    private static int toWorkingDays(BigDecimal days) {
+        return days.setScale(0, RoundingMode.CEILING).intValue();
+    }
+
+    private int endOfPathGrowingTables(boolean shortest) {
+        int days = 0;
+        for (int i = 0; i < tables.length; i++) {
+            int workingDays = shortest
+                    ? Math.min(pessimisticDays[i], Math.min(normalDays[i], optimisticDays[i]))
+                    : Math.max(pessimisticDays[i], Math.max(normalDays[i], optimisticDays[i]));
+
+            days = tables[i].addWorkingDays(days + tableShifts[i], workingDays) - tableShifts[i];
+        }
+        return days;
+    }
+
+    /**
+     * Runs the simulation and returns how many times each end date has been reached.
+     *
+     * @param iterationProgress
+     *            receives the completed percentage. It is always called from the thread calling this method.
+     */
+    public Map<LocalDate, Integer> run(int iterations, long seed, IDesktopUpdatesEmitter<Integer> iterationProgress) {
+        Validate.isTrue(iterations > 0);
+
+        int iterationsPerChunk = Math.max(MIN_ITERATIONS_PER_CHUNK, (iterations + MAX_CHUNKS - 1) / MAX_CHUNKS);
+        int chunks = (iterations + iterationsPerChunk - 1) / iterationsPerChunk;
+
+        List<Future<int[]>> submitted = new ArrayList<>(chunks);
+        try {
+            CompletionService<int[]> completionService = new ExecutorCompletionService<>(executor);
+            SplittableRandom root = new SplittableRandom(seed);
+
+            for (int i = 0; i < chunks; i++) {
+                final int chunkIterations = Math.min(iterationsPerChunk, iterations - i * iterationsPerChunk);
+                final SplittableRandom random = root.split();
+                submitted.add(completionService.submit(() -> simulate(chunkIterations, random)));
+            }
+
+            int[] histogram = new int[histogramSize];
+            for (int i = 0; i < chunks; i++) {
+                int[] chunkHistogram = completionService.take().get();
+                for (int j = 0; j < histogramSize; j++) {
+                    histogram[j] += chunkHistogram[j];
+                }
+                iterationProgress.doUpdate(((i + 1) * 100) / chunks);
+            }
+
+            return toEndDates(histogram);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            // Only does something if the simulation has been interrupted or has failed
+            for (Future<int[]> each : submitted) {
+                each.cancel(true);
+            }
+        }
+    }
+
+    private int[] simulate(int iterations, SplittableRandom random) {
+        int[] histogram = new int[histogramSize];
+        int tasks = normalDays.length;
+
+        for (int i = 0; i < iterations; i++) {
+            int days = 0;
+            for (int j = 0; j < tasks; j++) {
+                int workingDays = durationFor(j, random.nextDouble());
+                days = tables[j].addWorkingDaysWithoutGrowing(days + tableShifts[j], workingDays) - tableShifts[j];
+            }
+            histogram[days - minDays]++;
+        }
+
+        return histogram;
+    }
+
+    private int durationFor(int task, double random) {
+        if (random <= pessimisticUpperLimits[task]) {
+            return pessimisticDays[task];
+        }
+        if (random <= normalUpperLimits[task]) {
+            return normalDays[task];
+        }
+        return optimisticDays[task];
+    }
+
+    private Map<LocalDate, Integer> toEndDates(int[] histogram) {
+        Map<LocalDate, Integer> result = new HashMap<>();
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] > 0) {
+                result.put(startDate.plusDays(minDays + i), histogram[i]);
+            }
+        }
+        return result;
+    }
+
+}
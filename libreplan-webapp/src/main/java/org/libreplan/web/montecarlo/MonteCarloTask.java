@@ -22,13 +22,9 @@ import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
 
-import org.apache.commons.lang3.Validate;
-import org.joda.time.Days;
 import org.joda.time.LocalDate;
 import org.libreplan.business.calendars.entities.BaseCalendar;
 import org.libreplan.business.planner.entities.Task;
-import org.libreplan.business.workingday.EffortDuration;
-import org.libreplan.business.workingday.IntraDayDate.PartialDay;
 
 /**
  * @author Diego Pino Garcia<dpino@igalia.com>
@@ -83,32 +79,6 @@ public class MonteCarloTask {
         return new MonteCarloTask(task);
     }
 
-    public static BigDecimal calculateRealDurationFor(MonteCarloTask task, BigDecimal daysDuration) {
-        LocalDate start = task.getStartDate();
-        Validate.notNull(start);
-        LocalDate end = calculateEndDateFor(task, daysDuration);
-        Days daysBetween = Days.daysBetween(start, end);
-
-        return BigDecimal.valueOf(daysBetween.getDays());
-    }
-
-    private static LocalDate calculateEndDateFor(MonteCarloTask task, BigDecimal daysDuration) {
-        BaseCalendar calendar = task.getCalendar();
-        LocalDate day = new LocalDate(task.getStartDate());
-
-        double duration = daysDuration.doubleValue();
-        for (int i = 0; i < duration;) {
-            EffortDuration workableTime = calendar.getCapacityOn(PartialDay.wholeDay(day));
-
-            if (!EffortDuration.zero().equals(workableTime)) {
-                i++;
-            }
-
-            day = day.plusDays(1);
-        }
-        return day;
-    }
-
     public Task getTask() {
         return task;
     }
@@ -117,7 +87,7 @@ public class MonteCarloTask {
         return task.getStartAsLocalDate();
     }
 
-    private BaseCalendar getCalendar() {
+    public BaseCalendar getCalendar() {
         return task.getCalendar();
     }
 
@@ -0,0 +1,180 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.web.montecarlo;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang3.Validate;
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.libreplan.business.calendars.entities.BaseCalendar;
+import org.libreplan.business.workingday.IntraDayDate.PartialDay;
+
+/**
+ * Translation table between working days and calendar days for a {@link BaseCalendar}.
+ * <p>
+ * Days are identified by their offset from the origin of the table. For each offset the number of working days
+ * before it is kept, together with the offset of each working day, so adding a number of working days to a day is
+ * answered with two array lookups. The table grows when a day or a working day outside it is requested; growing is
+ * not thread safe, so {@link #ensureCovers(int, int)} must be called before sharing it between threads.
+ * </p>
+ * <p>
+ * If the calendar is <code>null</code> every day is considered a working day.
+ * </p>
+ */
+public class WorkingDaysTable {
+
+    private static final int INITIAL_DAYS = 366;
+
+    /**
+     * Growing is stopped beyond this number of days to avoid looping forever on calendars without working days.
+     */
+    private static final int MAX_DAYS = 100 * 366;
+
+    public static WorkingDaysTable create(BaseCalendar calendar, LocalDate origin) {
+        Validate.notNull(origin);
+        return new WorkingDaysTable(calendar, origin);
+    }
+
+    private final BaseCalendar calendar;
+
+    private LocalDate origin;
+
+    /**
+     * Number of working days in the days before each offset. It has one more position than the covered days.
+     */
+    private int[] workingDaysBefore = new int[] { 0 };
+
+    /**
+     * Offset of each working day in the covered days.
+     */
+    private int[] workingDayOffsets = new int[0];
+
+    private WorkingDaysTable(BaseCalendar calendar, LocalDate origin) {
+        this.calendar = calendar;
+        this.origin = origin;
+        growUntil(INITIAL_DAYS);
+    }
+
+    public BaseCalendar getCalendar() {
+        return calendar;
+    }
+
+    public LocalDate getOrigin() {
+        return origin;
+    }
+
+    public int offsetOf(LocalDate date) {
+        return Days.daysBetween(origin, date).getDays();
+    }
+
+    public LocalDate dateAt(int offset) {
+        return origin.plusDays(offset);
+    }
+
+    private int coveredDays() {
+        return workingDaysBefore.length - 1;
+    }
+
+    /**
+     * Returns the offset of the day just after the last of the next <code>workingDays</code> working days counting
+     * from the day at <code>startOffset</code>, growing the table if needed. For zero working days it returns
+     * <code>startOffset</code>.
+     */
+    public int addWorkingDays(int startOffset, int workingDays) {
+        Validate.isTrue(startOffset >= 0);
+        Validate.isTrue(workingDays >= 0);
+
+        if (workingDays == 0) {
+            return startOffset;
+        }
+        ensureCovers(startOffset, workingDays);
+
+        int lastWorkingDay = workingDaysBefore[startOffset] + workingDays - 1;
+
+        return workingDayOffsets[lastWorkingDay] + 1;
+    }
+
+    /**
+     * Same as {@link #addWorkingDays(int, int)} but it never grows the table, so it can be used concurrently once
+     * {@link #ensureCovers(int, int)} has been called for the largest values that are going to be requested.
+     */
+    int addWorkingDaysWithoutGrowing(int startOffset, int workingDays) {
+        if (workingDays == 0) {
+            return startOffset;
+        }
+        return workingDayOffsets[workingDaysBefore[startOffset] + workingDays - 1] + 1;
+    }
+
+    /**
+     * Grows the table so the given number of working days from the day at <code>startOffset</code> can be looked up.
+     */
+    public void ensureCovers(int startOffset, int workingDays) {
+        Validate.isTrue(startOffset >= 0);
+
+        growUntil(startOffset + 1);
+        while (workingDayOffsets.length < workingDaysBefore[startOffset] + workingDays) {
+            Validate.validState(coveredDays() < MAX_DAYS, "there are not enough working days in the calendar");
+            growUntil(Math.min(coveredDays() * 2, MAX_DAYS));
+        }
+    }
+
+    /**
+     * Moves the origin of the table to an earlier date. The offsets previously returned are no longer valid.
+     */
+    public void moveOriginTo(LocalDate newOrigin) {
+        if (!newOrigin.isBefore(origin)) {
+            return;
+        }
+        int days = coveredDays() - offsetOf(newOrigin);
+        origin = newOrigin;
+        workingDaysBefore = new int[] { 0 };
+        workingDayOffsets = new int[0];
+        growUntil(days);
+    }
+
+    private void growUntil(int days) {
+        int previousDays = coveredDays();
+        if (days <= previousDays) {
+            return;
+        }
+
+        int[] newWorkingDaysBefore = Arrays.copyOf(workingDaysBefore, days + 1);
+        int[] newWorkingDayOffsets = Arrays.copyOf(workingDayOffsets, workingDayOffsets.length + days - previousDays);
+        int workingDays = workingDayOffsets.length;
+
+        LocalDate day = dateAt(previousDays);
+        for (int offset = previousDays; offset < days; offset++) {
+            if (isWorkingDay(day)) {
+                newWorkingDayOffsets[workingDays++] = offset;
+            }
+            newWorkingDaysBefore[offset + 1] = workingDays;
+            day = day.plusDays(1);
+        }
+
+        workingDaysBefore = newWorkingDaysBefore;
+        workingDayOffsets = Arrays.copyOf(newWorkingDayOffsets, workingDays);
+    }
+
+    private boolean isWorkingDay(LocalDate day) {
+        return calendar == null || !calendar.getCapacityOn(PartialDay.wholeDay(day)).isZero();
+    }
+
+}
@@ -39,7 +39,7 @@ import org.zkoss.zul.Treeitem;
 public class OrdersTreeComponent extends TreeComponent {
 
     protected boolean resourcesBudgetEnabled =
-            Registry.getConfigurationDAO().getConfigurationWithReadOnlyTransaction().isEnabledAutomaticBudget();
+            Registry.getConfigurationDAO().getConfigurationSnapshot().isEnabledAutomaticBudget();
 
     abstract class OrdersTreeColumn extends Column {
         OrdersTreeColumn(String label, String cssClass, String tooltip) {
@@ -670,7 +670,7 @@ public class TaskElementAdapter {
             }
 
             private ProgressType getProgressTypeFromConfiguration() {
-                return transactionService.runOnReadOnlyTransaction(() -> configurationDAO.getConfiguration().getProgressType());
+                return configurationDAO.getConfigurationSnapshot().getProgressType();
             }
 
             private GanttDate getAdvanceBarEndDate(BigDecimal advancePercentage) {
@@ -93,13 +93,19 @@ public class ResourceAllocationModel implements IResourceAllocationModel {
         allocationRowsHandler.addSpecificResourceAllocationFor(reloadResources(resources));
     }
 
+    /**
+     * The reloaded resources are kept by the planning state, as the order may not reference them yet.
+     */
     @SuppressWarnings("unchecked")
     private <T extends Resource> List<T> reloadResources(Collection<? extends T> resources) {
-        List<T> result = new ArrayList<>();
+        List<T> reloaded = new ArrayList<>();
         for (T each : resources) {
-            Resource reloaded = resourceDAO.findExistingEntity(each.getId());
-            reattachResource(reloaded);
-            result.add((T) reloaded);
+            reloaded.add((T) resourceDAO.findExistingEntity(each.getId()));
+        }
+
+        List<T> result = planningState.addResourcesLoadedForAllocation(reloaded);
+        for (T each : result) {
+            reattachResource(each);
         }
 
         return result;
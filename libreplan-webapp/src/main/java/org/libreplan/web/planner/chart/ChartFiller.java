@@ -45,6 +45,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.joda.time.DateTime;
 import org.joda.time.Days;
 import org.joda.time.LocalDate;
+import org.libreplan.business.planner.chart.EffortPyramid.Resolution;
 import org.libreplan.business.planner.entities.DayAssignment;
 import org.libreplan.business.resources.entities.Resource;
 import org.libreplan.business.workingday.EffortDuration;
@@ -166,7 +167,7 @@ public abstract class ChartFiller implements IChartFiller {
             return convertAsNeededByZoom(date);
         }
 
-        private LocalDate convertAsNeededByZoom(LocalDate date) {
+        protected LocalDate convertAsNeededByZoom(LocalDate date) {
             if (isZoomByDayOrWeek()) {
                 return date;
             } else {
@@ -309,6 +310,53 @@ public abstract class ChartFiller implements IChartFiller {
 
     }
 
+    /**
+     * Draws each value of the map, keyed by the start of a period of the
+     * {@link Resolution}, along the whole period.
+     */
+    protected class PeriodsGraphicSpecificationCreator extends
+            GraphicSpecificationCreator {
+
+        private final Resolution resolution;
+
+        private PeriodsGraphicSpecificationCreator(LocalDate finish,
+                SortedMap<LocalDate, BigDecimal> map, LocalDate start,
+                Resolution resolution) {
+            super(finish, map, start);
+            this.resolution = resolution;
+        }
+
+        @Override
+        protected LocalDate convertAsNeededByZoom(LocalDate date) {
+            return resolution.periodStart(date);
+        }
+
+        @Override
+        protected void fillInnerValues(PrintWriter writer, LocalDate firstDay,
+                LocalDate lastDay) {
+            for (LocalDate periodStart = firstDay; periodStart
+                    .compareTo(lastDay) <= 0; periodStart = resolution
+                    .nextPeriodStart(periodStart)) {
+                printIntervalLine(writer, periodStart,
+                        getHoursForDay(periodStart), true);
+            }
+        }
+
+        @Override
+        protected DateTime getInitOfInterval(LocalDate day,
+                boolean isZoomByDayOrWeek) {
+            return resolution.periodStart(day).toDateTimeAtStartOfDay();
+        }
+
+        @Override
+        protected DateTime getFinishOfInterval(LocalDate day,
+                boolean isZoomByDayOrWeek) {
+            return resolution.nextPeriodStart(resolution.periodStart(day))
+                    .toDateTimeAtStartOfDay().minusSeconds(1);
+        }
+
+    }
+
     /**
      * Number of days to Thursday since the beginning of the week. In order to
      * calculate the middle of a week.
@@ -345,6 +393,25 @@ public abstract class ChartFiller implements IChartFiller {
                 .equals(ZoomLevel.DETAIL_FOUR));
     }
 
+    /**
+     * Returns the resolution of the values drawn for the current zoom level.
+     * The days are drawn when zooming by day or week, and when zooming out
+     * each value covers a smaller period than the ones shown in the time
+     * tracker.
+     */
+    protected Resolution getResolution() {
+        switch (zoomLevel) {
+        case DETAIL_ONE:
+            return Resolution.QUARTER;
+        case DETAIL_TWO:
+            return Resolution.MONTH;
+        case DETAIL_THREE:
+            return Resolution.WEEK;
+        default:
+            return Resolution.DAY;
+        }
+    }
+
     protected void resetMinimumAndMaximumValueForChart() {
         this.minimumValueForChart = BigDecimal.ZERO;
         this.maximumValueForChart = BigDecimal.ZERO;
@@ -567,6 +634,23 @@ public abstract class ChartFiller implements IChartFiller {
         return createPlotinfo(toHoursDecimal(map), interval);
     }
 
+    /**
+     * Creates the {@link Plotinfo} for the values of the periods of the
+     * resolution, keyed by the start of each period.
+     */
+    protected Plotinfo createPlotinfoFromPeriods(
+            SortedMap<LocalDate, EffortDuration> map, Resolution resolution,
+            Interval interval) {
+        SortedMap<LocalDate, BigDecimal> hours = toHoursDecimal(map);
+        if (!hours.isEmpty()) {
+            setMinimumValueForChartIfLess(Collections.min(hours.values()));
+            setMaximumValueForChartIfGreater(Collections.max(hours.values()));
+        }
+        return createPlotInfoFrom(hours.isEmpty() ? null
+                : new PeriodsGraphicSpecificationCreator(interval.getFinish(),
+                        hours, interval.getStart(), resolution));
+    }
+
     public static <K> SortedMap<K, BigDecimal> toHoursDecimal(
             Map<K, EffortDuration> map) {
         SortedMap<K, BigDecimal> result = new TreeMap<K, BigDecimal>();
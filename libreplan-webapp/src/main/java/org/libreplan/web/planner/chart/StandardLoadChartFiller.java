@@ -3,11 +3,10 @@ package org.libreplan.web.planner.chart;
 import static java.util.Arrays.asList;
 
 import java.util.Collections;
-import java.util.SortedMap;
 
 import org.joda.time.LocalDate;
+import org.libreplan.business.planner.chart.EffortPyramid.Resolution;
 import org.libreplan.business.planner.chart.ILoadChartData;
-import org.libreplan.business.workingday.EffortDuration;
 import org.zkforge.timeplot.Plotinfo;
 import org.zkoss.ganttz.util.Interval;
 
@@ -16,17 +15,18 @@ public abstract class StandardLoadChartFiller extends LoadChartFiller {
     @Override
     protected Plotinfo[] getPlotInfo(Interval interval) {
         final ILoadChartData data = getDataOn(interval);
+        Resolution resolution = getResolution();
 
-        Plotinfo plotInfoLoad = createPlotinfoFromDurations(getLoad(data), interval);
+        Plotinfo plotInfoLoad = createPlotinfoFromPeriods(data.getLoad(resolution), resolution, interval);
         plotInfoLoad.setFillColor(COLOR_ASSIGNED_LOAD);
         plotInfoLoad.setLineWidth(0);
 
-        Plotinfo plotInfoMax = createPlotinfoFromDurations(getCalendarMaximumAvailability(data), interval);
+        Plotinfo plotInfoMax = createPlotinfoFromPeriods(data.getAvailability(resolution), resolution, interval);
         plotInfoMax.setLineColor(COLOR_CAPABILITY_LINE);
         plotInfoMax.setFillColor("#FFFFFF");
         plotInfoMax.setLineWidth(2);
 
-        Plotinfo plotInfoOverload = createPlotinfoFromDurations(getOverload(data), interval);
+        Plotinfo plotInfoOverload = createPlotinfoFromPeriods(data.getOverload(resolution), resolution, interval);
         plotInfoOverload.setFillColor(COLOR_OVERLOAD);
         plotInfoOverload.setLineWidth(0);
 
@@ -48,16 +48,4 @@ public abstract class StandardLoadChartFiller extends LoadChartFiller {
                 : Collections.min(asList(explicitlySpecifiedEnd, interval.getFinish()));
     }
 
-    private SortedMap<LocalDate, EffortDuration> getLoad(ILoadChartData data) {
-        return groupAsNeededByZoom(data.getLoad());
-    }
-
-    private SortedMap<LocalDate, EffortDuration> getOverload(ILoadChartData data) {
-        return groupAsNeededByZoom(data.getOverload());
-    }
-
-    private SortedMap<LocalDate, EffortDuration> getCalendarMaximumAvailability(ILoadChartData data) {
-        return groupAsNeededByZoom(data.getAvailability());
-    }
-
 }
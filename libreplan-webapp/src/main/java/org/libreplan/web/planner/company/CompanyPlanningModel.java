@@ -895,9 +895,8 @@ public class CompanyPlanningModel implements ICompanyPlanningModel {
     }
 
     @Override
-    @Transactional(readOnly=true)
     public ProgressType getProgressTypeFromConfiguration() {
-        return configurationDAO.getConfiguration().getProgressType();
+        return configurationDAO.getConfigurationSnapshot().getProgressType();
     }
 
     @Override
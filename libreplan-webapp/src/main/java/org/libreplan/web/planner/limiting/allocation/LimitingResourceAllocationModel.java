@@ -170,6 +170,10 @@ public class LimitingResourceAllocationModel implements ILimitingResourceAllocat
         for (Resource each: resources) {
             result.add(resourceDAO.findExistingEntity(each.getId()));
         }
+        if (planningState != null) {
+            // The order may not reference them yet
+            return planningState.addResourcesLoadedForAllocation(result);
+        }
         return result;
     }
 
@@ -0,0 +1,70 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.web.planner.order;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.libreplan.business.common.exceptions.InstanceNotFoundException;
+import org.libreplan.business.resources.daos.IResourceDAO;
+import org.libreplan.business.resources.entities.Resource;
+
+/**
+ * Finds the {@link Resource resources} created since the planning of an order was loaded. Only their ids are queried
+ * to tell them apart, so the resources loaded are just the new ones.
+ */
+class NewResourcesFinder {
+
+    /**
+     * Must be called inside a transaction.
+     */
+    static NewResourcesFinder knowingExistentResources(IResourceDAO resourceDAO) {
+        return new NewResourcesFinder(resourceDAO, new HashSet<>(resourceDAO.getResourceIds()));
+    }
+
+    private final IResourceDAO resourceDAO;
+
+    private final Set<Long> knownIds;
+
+    private NewResourcesFinder(IResourceDAO resourceDAO, Set<Long> knownIds) {
+        this.resourceDAO = resourceDAO;
+        this.knownIds = knownIds;
+    }
+
+    /**
+     * Returns the resources created since the previous call, or since this finder was created for the first call.
+     * Must be called inside a transaction.
+     */
+    Set<Resource> findNew() {
+        Set<Resource> result = new HashSet<>();
+        for (Long each : resourceDAO.getResourceIds()) {
+            if ( knownIds.add(each) ) {
+                try {
+                    result.add(resourceDAO.find(each));
+                } catch (InstanceNotFoundException e) {
+                    // Removed after its id was read
+                }
+            }
+        }
+
+        return result;
+    }
+
+}
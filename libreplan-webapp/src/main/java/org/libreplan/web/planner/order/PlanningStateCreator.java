@@ -23,12 +23,16 @@ import static org.libreplan.business.planner.entities.TaskElement.justTasks;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.Validate;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.hibernate.Hibernate;
 import org.joda.time.LocalDate;
 import org.libreplan.business.advance.entities.DirectAdvanceAssignment;
@@ -39,6 +43,7 @@ import org.libreplan.business.common.daos.IEntitySequenceDAO;
 import org.libreplan.business.common.entities.EntityNameEnum;
 import org.libreplan.business.labels.entities.Label;
 import org.libreplan.business.orders.daos.IOrderDAO;
+import org.libreplan.business.orders.daos.IOrderElementDAO;
 import org.libreplan.business.orders.entities.HoursGroup;
 import org.libreplan.business.orders.entities.Order;
 import org.libreplan.business.orders.entities.OrderElement;
@@ -106,6 +111,8 @@ import org.zkoss.zk.ui.Desktop;
 @Scope(BeanDefinition.SCOPE_SINGLETON)
 public class PlanningStateCreator {
 
+    private static final Log LOG = LogFactory.getLog(PlanningStateCreator.class);
+
     private static final String ATTRIBUTE_NAME = PlanningState.class.getName();
 
     /**
@@ -157,6 +164,9 @@ public class PlanningStateCreator {
     @Autowired
     private IOrderDAO orderDAO;
 
+    @Autowired
+    private IOrderElementDAO orderElementDAO;
+
     @Autowired
     private IScenarioDAO scenarioDAO;
 
@@ -274,15 +284,24 @@ public class PlanningStateCreator {
     }
 
     private PlanningState createPlanning(Order orderReloaded) {
-        final List<Resource> allResources = resourceDAO.list(Resource.class);
+        long start = System.currentTimeMillis();
         criterionDAO.list(Criterion.class);
 
         forceLoadOfOrderAssociatedData(orderReloaded);
         TaskGroup rootTask = orderReloaded.getAssociatedTaskElement();
 
+        // Only the resources referenced by the order are loaded, the rest are added when they are allocated
+        Set<Resource> referencedResources = new HashSet<>();
+
         if (rootTask != null) {
-            forceLoadOf(rootTask);
-            forceLoadDayAssignments(orderReloaded.getResources(FilterType.KEEP_ALL));
+            List<TaskElement> taskElements = loadTaskElementsTree(rootTask);
+            taskDAO.loadPlanningData(taskElements, scenarioManager.getCurrent());
+
+            for (TaskElement each : taskElements) {
+                forceLoadOfDataAssociatedTo(orderReloaded, each, referencedResources);
+            }
+            referencedResources.addAll(orderReloaded.getResources(FilterType.KEEP_ALL));
+            forceLoadDayAssignments(referencedResources);
             forceLoadOfDepedenciesCollections(rootTask);
             forceLoadOfLabels(Collections.singletonList(rootTask));
         }
@@ -291,13 +310,15 @@ public class PlanningStateCreator {
             BaseCalendarModel.forceLoadBaseCalendar(orderReloaded.getCalendar());
         }
 
-        PlanningState result = new PlanningState(orderReloaded, allResources
-        );
+        PlanningState result = new PlanningState(orderReloaded, referencedResources);
 
         forceLoadOfWorkingHours(result.getInitial());
 
         moneyCostCalculator.resetMoneyCostMap();
 
+        LOG.info("Planning of order " + orderReloaded.getCode() + " loaded in "
+                + (System.currentTimeMillis() - start) + " ms");
+
         return result;
     }
 
@@ -305,6 +326,8 @@ public class PlanningStateCreator {
         List<OrderElement> all = new ArrayList<>();
         all.add(order);
         all.addAll(order.getAllChildren());
+        orderElementDAO.loadPlanningData(all);
+
         for (OrderElement each : all) {
 
             for (DirectAdvanceAssignment direct : each.getDirectAdvanceAssignments()) {
@@ -338,27 +361,40 @@ public class PlanningStateCreator {
         }
     }
 
-    private void forceLoadOf(TaskElement taskElement) {
-        forceLoadOfDataAssociatedTo(taskElement);
+    /**
+     * Returns the task elements of the tree in pre-order, loading the children of the groups with a query.
+     */
+    private List<TaskElement> loadTaskElementsTree(TaskElement root) {
+        List<TaskElement> result = new ArrayList<>();
+        addTaskElementsTree(root, result);
+
+        return result;
+    }
+
+    private void addTaskElementsTree(TaskElement taskElement, List<TaskElement> result) {
+        result.add(taskElement);
 
         if (taskElement instanceof TaskGroup) {
             findChildrenWithQueryToAvoidProxies((TaskGroup) taskElement);
 
             for (TaskElement each : taskElement.getChildren()) {
-                forceLoadOf(each);
+                addTaskElementsTree(each, result);
             }
         }
     }
 
-    private void forceLoadOfDataAssociatedTo(TaskElement each) {
-        forceLoadOfResourceAllocationsResourcesAndAssignmentFunction(each);
+    /**
+     * All the task elements belong to the <code>order</code>, so its calendar is used when they have no own calendar.
+     */
+    private static void forceLoadOfDataAssociatedTo(Order order, TaskElement each, Set<Resource> resources) {
+        forceLoadOfResourceAllocationsResourcesAndAssignmentFunction(each, resources);
         forceLoadOfCriterions(each);
         forceLoadOfSubcontractedTaskData(each);
 
         BaseCalendar calendar = each.getOwnCalendar();
 
         if (calendar == null && each.getOrderElement() != null) {
-            calendar = orderDAO.loadOrderAvoidingProxyFor(each.getOrderElement()).getCalendar();
+            calendar = order.getCalendar();
         }
 
         if (calendar != null) {
@@ -369,25 +405,29 @@ public class PlanningStateCreator {
     }
 
     /**
-     * Forcing the load of all resources so the resources at planning state and at allocations are the same.
+     * Forcing the load of the resources referenced by the allocations, that are added to <code>resources</code>, so
+     * the resources at planning state and at allocations are the same.
      * It loads the assignment function too.
      */
-    private static void forceLoadOfResourceAllocationsResourcesAndAssignmentFunction(TaskElement taskElement) {
+    private static void forceLoadOfResourceAllocationsResourcesAndAssignmentFunction(TaskElement taskElement,
+                                                                                      Set<Resource> resources) {
+
         Set<ResourceAllocation<?>> resourceAllocations = taskElement.getAllResourceAllocations();
         for (ResourceAllocation<?> each : resourceAllocations) {
-            each.getAssociatedResources();
+            resources.addAll(each.getAssociatedResources());
 
             for (DerivedAllocation eachDerived : each.getDerivedAllocations()) {
-                forceLoadOfDerivedAllocation(eachDerived);
+                resources.addAll(forceLoadOfDerivedAllocation(eachDerived));
             }
 
             forceLoadOfAssignmentFunction(each);
         }
     }
 
-    private static void forceLoadOfDerivedAllocation(DerivedAllocation derivedAllocation) {
-        derivedAllocation.getResources();
+    private static List<Resource> forceLoadOfDerivedAllocation(DerivedAllocation derivedAllocation) {
         derivedAllocation.getConfigurationUnit().getWorkerAssignments().size();
+
+        return derivedAllocation.getResources();
     }
 
     private static void forceLoadOfAssignmentFunction(ResourceAllocation<?> each) {
@@ -725,6 +765,8 @@ public class PlanningStateCreator {
 
         private Set<Resource> resources = new HashSet<>();
 
+        private final NewResourcesFinder newResourcesFinder;
+
         private final IScenarioInfo scenarioInfo;
 
         private List<OrderAuthorization> orderAuthorizations;
@@ -744,6 +786,7 @@ public class PlanningStateCreator {
             this.scenarioInfo = new ChangeScenarioInfoOnSave(buildScenarioInfo(order), order);
             this.resources = OrderPlanningModel.loadRequiredDataFor(new HashSet<>(initialResources));
             associateWithScenario(this.resources);
+            this.newResourcesFinder = NewResourcesFinder.knowingExistentResources(resourceDAO);
             this.orderAuthorizations = loadOrderAuthorizations();
             this.savedOrderState = order.getState();
         }
@@ -895,7 +938,7 @@ public class PlanningStateCreator {
             }
             // Ensuring no repeated instances of criterions
             reattachCriterions(getExistentCriterions(resources));
-            addingNewlyCreated(resourceDAO);
+            addingNewlyCreated();
         }
 
         private Set<Criterion> getExistentCriterions(Set<Resource> resources) {
@@ -918,20 +961,53 @@ public class PlanningStateCreator {
             }
         }
 
-        private void addingNewlyCreated(IResourceDAO resourceDAO) {
-            Set<Resource> newResources = getNewResources(resourceDAO);
-            OrderPlanningModel.loadRequiredDataFor(newResources);
-            associateWithScenario(newResources);
-            resources.addAll(newResources);
+        /**
+         * Only the resources created since the planning was loaded are added here. The existing ones not referenced
+         * by the order are added when they are loaded for an allocation.
+         *
+         * @see #addResourcesLoadedForAllocation(Collection)
+         */
+        private void addingNewlyCreated() {
+            Set<Resource> newResources = newResourcesFinder.findNew();
+            newResources.removeAll(resources);
+            addResources(newResources);
         }
 
-        private Set<Resource> getNewResources(IResourceDAO resourceDAO) {
-            Set<Resource> result = new HashSet<>(resourceDAO.list(Resource.class));
-            result.removeAll(resources);
+        /**
+         * The resources loaded for an allocation that the planning state doesn't have yet are added like the newly
+         * created ones, so the resources at planning state and at allocations are the same.
+         *
+         * @return the instances kept by the planning state, in the same order
+         */
+        @SuppressWarnings("unchecked")
+        public <T extends Resource> List<T> addResourcesLoadedForAllocation(Collection<? extends T> loaded) {
+            Map<Long, Resource> keptById = new HashMap<>();
+            for (Resource each : resources) {
+                keptById.put(each.getId(), each);
+            }
+
+            List<T> result = new ArrayList<>();
+            Set<Resource> notKept = new HashSet<>();
+            for (T each : loaded) {
+                Resource kept = keptById.get(each.getId());
+                if (kept == null) {
+                    keptById.put(each.getId(), each);
+                    notKept.add(each);
+                    kept = each;
+                }
+                result.add((T) kept);
+            }
+            addResources(notKept);
 
             return result;
         }
 
+        private void addResources(Set<Resource> newResources) {
+            OrderPlanningModel.loadRequiredDataFor(newResources);
+            associateWithScenario(newResources);
+            resources.addAll(newResources);
+        }
+
         public Collection<? extends TaskElement> getToRemove() {
             return Collections.unmodifiableCollection(onlyNotTransient(toRemove));
         }
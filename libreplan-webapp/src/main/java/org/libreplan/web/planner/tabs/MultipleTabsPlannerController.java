@@ -403,8 +403,7 @@ public class MultipleTabsPlannerController implements Composer, IGlobalViewEntry
     }
 
     private boolean isMonteCarloVisible() {
-        Boolean result = configurationDAO.getConfiguration().isMonteCarloMethodTabVisible();
-        return result != null && result;
+        return configurationDAO.getConfigurationSnapshot().isMonteCarloMethodTabVisible();
     }
 
     @SuppressWarnings("unchecked")
@@ -507,7 +506,7 @@ public class MultipleTabsPlannerController implements Composer, IGlobalViewEntry
 
         // Send data to server
         if (!SecurityUtils.isGatheredStatsAlreadySent
-                && (configurationDAO.getConfigurationWithReadOnlyTransaction() == null || configurationDAO.getConfigurationWithReadOnlyTransaction().isAllowedToGatherUsageStatsEnabled())) {
+                && (configurationDAO.getConfigurationSnapshot() == null || configurationDAO.getConfigurationSnapshot().isAllowedToGatherUsageStatsEnabled())) {
             sendDataToServer();
         }
 
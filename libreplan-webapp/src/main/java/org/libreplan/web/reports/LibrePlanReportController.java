@@ -102,7 +102,7 @@ public abstract class LibrePlanReportController extends GenericForwardComposer<C
     private String getLogoLocation() {
         String companyLogo = Registry
                 .getConfigurationDAO()
-                .getConfigurationWithReadOnlyTransaction()
+                .getConfigurationSnapshot()
                 .getCompanyLogoURL();
 
         if ( outputFormat.getOutputFormat().equals(HTML) ) {
@@ -121,15 +121,9 @@ public abstract class LibrePlanReportController extends GenericForwardComposer<C
                 }
 
                 if ( "".equals(url[0]) ) {
-                    companyLogo = "/" + Registry
-                            .getConfigurationDAO()
-                            .getConfigurationWithReadOnlyTransaction()
-                            .getCompanyLogoURL();
+                    companyLogo = "/" + companyLogo;
                 } else {
-                    companyLogo = "/" + url[0] + "/" + Registry
-                            .getConfigurationDAO()
-                            .getConfigurationWithReadOnlyTransaction()
-                            .getCompanyLogoURL();
+                    companyLogo = "/" + url[0] + "/" + companyLogo;
                 }
             }
         } else {
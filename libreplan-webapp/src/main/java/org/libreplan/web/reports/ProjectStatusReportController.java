@@ -31,7 +31,7 @@ import net.sf.jasperreports.engine.JREmptyDataSource;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 
 import org.codehaus.plexus.util.StringUtils;
-import org.libreplan.business.common.entities.Configuration;
+import org.libreplan.business.common.entities.ConfigurationSnapshot;
 import org.libreplan.business.common.Registry;
 import org.libreplan.business.labels.entities.Label;
 import org.libreplan.business.orders.entities.Order;
@@ -91,7 +91,7 @@ public class ProjectStatusReportController extends LibrePlanReportController {
 
     @Override
     protected String getReportName() {
-        Configuration configuration = Registry.getConfigurationDAO().getConfigurationWithReadOnlyTransaction();
+        ConfigurationSnapshot configuration = Registry.getConfigurationDAO().getConfigurationSnapshot();
 
         return configuration != null && configuration.isEnabledAutomaticBudget()
                 ? REPORT_WITH_HOURS_BUDGET_NAME
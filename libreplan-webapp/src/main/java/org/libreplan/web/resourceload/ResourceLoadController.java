@@ -80,6 +80,7 @@ import org.zkoss.ganttz.util.Emitter;
 import org.zkoss.ganttz.util.Interval;
 import org.zkoss.zk.ui.event.Events;
 import org.zkoss.zk.ui.util.Composer;
+import org.zkoss.zul.Checkbox;
 import org.zkoss.zul.Comboitem;
 import org.zkoss.zul.Datebox;
 import org.zkoss.zul.Hbox;
@@ -469,6 +470,43 @@ public class ResourceLoadController implements Composer {
 
     }
 
+    /**
+     * Orders the resources by their load in the interval of the {@link ByDatesFilter}, so the most loaded ones are
+     * shown in the first pages. Its check box is placed next to the dates.
+     */
+    private static class ByLoadSorter extends VisualizationModifier {
+
+        private boolean sortByLoad = false;
+
+        private final Checkbox checkbox = new Checkbox(_("Most loaded first"));
+
+        private ByLoadSorter(Runnable onChange, PlanningState filterBy) {
+            super(onChange, filterBy);
+        }
+
+        @Override
+        void setup(ResourcesLoadPanel panel) {
+            if ( isAppliedToOrder() || panel.getFirstOptionalFilter() == null ) {
+                return;
+            }
+
+            checkbox.setChecked(sortByLoad);
+            checkbox.addEventListener(Events.ON_CHECK, event -> {
+                if ( sortByLoad != checkbox.isChecked() ) {
+                    sortByLoad = checkbox.isChecked();
+                    notifyChange();
+                }
+            });
+            panel.getFirstOptionalFilter().appendChild(checkbox);
+        }
+
+        @Override
+        void applyToParameters(ResourceLoadParameters parameters) {
+            parameters.setSortByLoad(sortByLoad);
+        }
+
+    }
+
     private static class ListenerTracker {
 
         private final List<Object> trackedListeners = new ArrayList<>();
@@ -841,6 +879,7 @@ public class ResourceLoadController implements Composer {
                 }
 
                 result.add(new ByDatesFilter(onChange, filterBy, startDate, endDate));
+                result.add(new ByLoadSorter(onChange, filterBy));
 
                 List<FilterPair> filterPairs = FilterUtils.readResourceLoadsBandbox();
 
@@ -48,6 +48,7 @@ import org.libreplan.business.common.exceptions.InstanceNotFoundException;
 import org.libreplan.business.orders.daos.IOrderDAO;
 import org.libreplan.business.orders.entities.Order;
 import org.libreplan.business.orders.entities.OrderElement;
+import org.libreplan.business.planner.daos.IDayAssignmentDAO;
 import org.libreplan.business.planner.daos.IResourceAllocationDAO;
 import org.libreplan.business.planner.entities.DayAssignment;
 import org.libreplan.business.planner.entities.GenericResourceAllocation;
@@ -108,6 +109,9 @@ public class ResourceLoadModel implements IResourceLoadModel {
     @Autowired
     private IResourceAllocationDAO resourceAllocationDAO;
 
+    @Autowired
+    private IDayAssignmentDAO dayAssignmentDAO;
+
     @Autowired
     private IUserDAO userDAO;
 
@@ -306,7 +310,21 @@ public class ResourceLoadModel implements IResourceLoadModel {
                         }
 
                         private List<Resource> allResourcesActiveBetween(LocalDate startDate, LocalDate endDate) {
-                            List<Resource> allResources = allResources();
+                            List<Resource> resources = activeBetween(allResources(), startDate, endDate);
+                            if ( !parameters.isSortByLoad() ) {
+                                return resources;
+                            }
+
+                            return ResourceLoadSummary.sortByLoad(
+                                    resources,
+                                    ResourceLoadSummary.calculate(
+                                            dayAssignmentDAO, getCurrentScenario(), resources, startDate, endDate));
+                        }
+
+                        private List<Resource> activeBetween(List<Resource> allResources,
+                                                             LocalDate startDate,
+                                                             LocalDate endDate) {
+
                             if ( startDate == null && endDate == null ) {
                                 return allResources;
                             }
@@ -333,20 +351,24 @@ public class ResourceLoadModel implements IResourceLoadModel {
                     });
         }
 
+        /**
+         * The allocations of all the resources of the page are retrieved at once, instead of querying them for each
+         * resource.
+         */
         private Map<Resource, List<ResourceAllocation<?>>> eachWithAllocations(List<Resource> allResources) {
+            Map<Resource, List<ResourceAllocation<?>>> found = resourceAllocationDAO.findAllocationsRelatedToEachOf(
+                    getCurrentScenario(),
+                    allResources,
+                    parameters.getInitDateFilter(),
+                    parameters.getEndDateFilter());
+
             Map<Resource, List<ResourceAllocation<?>>> result = new LinkedHashMap<>();
-            for (Resource resource : allResources) {
-                IAllocationCriteria criteria = and(onInterval(), relatedToResource(resource));
+            for (Entry<Resource, List<ResourceAllocation<?>>> each : found.entrySet()) {
+                IAllocationCriteria criteria = and(onInterval(), relatedToResource(each.getKey()));
 
                 result.put(
-                        resource,
-                        ResourceAllocation.sortedByStartDate(doReplacementsIfNeeded(
-                                resourceAllocationDAO.findAllocationsRelatedTo(
-                                        getCurrentScenario(),
-                                        resource,
-                                        parameters.getInitDateFilter(),
-                                        parameters.getEndDateFilter()),
-                                criteria)));
+                        each.getKey(),
+                        ResourceAllocation.sortedByStartDate(doReplacementsIfNeeded(each.getValue(), criteria)));
             }
 
             return result;
@@ -54,6 +54,11 @@ public class ResourceLoadParameters {
 
     private int pageSize = 10;
 
+    /**
+     * If <code>true</code> the resources are ordered by their load in the interval instead of by name.
+     */
+    private boolean sortByLoad = false;
+
     public ResourceLoadParameters(PlanningState planningState) {
         this.planningState = planningState;
     }
@@ -209,4 +214,12 @@ public class ResourceLoadParameters {
         return filterByResources;
     }
 
+    public void setSortByLoad(boolean sortByLoad) {
+        this.sortByLoad = sortByLoad;
+    }
+
+    public boolean isSortByLoad() {
+        return sortByLoad;
+    }
+
 }
@@ -0,0 +1,173 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.web.resourceload;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.joda.time.LocalDate;
+import org.libreplan.business.planner.daos.IDayAssignmentDAO;
+import org.libreplan.business.planner.daos.IDayAssignmentDAO.IAssignedEffortReceiver;
+import org.libreplan.business.resources.entities.Resource;
+import org.libreplan.business.scenarios.entities.Scenario;
+import org.libreplan.business.workingday.EffortDuration;
+import org.libreplan.business.workingday.IntraDayDate.PartialDay;
+
+/**
+ * Aggregated load of a {@link Resource} in an interval: the total effort assigned to it and the biggest overload it
+ * has on a single day.
+ * <p>
+ * The summaries of many resources are calculated in one pass over the effort assigned by day summed on the database,
+ * so neither the allocations nor the day assignments are loaded. They are used to order the resources before the
+ * page to show is cut, leaving the detailed load of each resource to be calculated only for the resources shown.
+ * </p>
+ */
+public class ResourceLoadSummary {
+
+    private static final Comparator<Resource> BY_NAME =
+            (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(a.getName(), b.getName());
+
+    /**
+     * Returns the summary of each of the resources between the given dates. Resources without assigned effort get an
+     * empty summary.
+     *
+     * @param initInclusive
+     *            if <code>null</code> the interval is not limited at the start
+     * @param endInclusive
+     *            if <code>null</code> the interval is not limited at the end
+     */
+    public static Map<Resource, ResourceLoadSummary> calculate(IDayAssignmentDAO dayAssignmentDAO,
+                                                               Scenario scenario,
+                                                               Collection<? extends Resource> resources,
+                                                               LocalDate initInclusive,
+                                                               LocalDate endInclusive) {
+
+        final Map<Long, Resource> resourcesById = new HashMap<>();
+        final Map<Resource, ResourceLoadSummary> result = new HashMap<>();
+        for (Resource each : resources) {
+            resourcesById.put(each.getId(), each);
+            result.put(each, new ResourceLoadSummary());
+        }
+
+        SummaryCalculator calculator = new SummaryCalculator(resourcesById, result);
+        dayAssignmentDAO.streamAssignedEffortByResourceAndDay(
+                scenario, resourcesById.keySet(), initInclusive, endInclusive, calculator);
+        calculator.flush();
+
+        return result;
+    }
+
+    /**
+     * Sorts the resources putting first the ones with a bigger overload, then the ones with more load. Resources with
+     * the same load are sorted by name.
+     */
+    public static List<Resource> sortByLoad(List<Resource> resources, final Map<Resource, ResourceLoadSummary> summaries) {
+        List<Resource> result = new ArrayList<>(resources);
+        Collections.sort(result, (a, b) -> {
+            int byLoad = summaries.get(b).compareTo(summaries.get(a));
+            return byLoad != 0 ? byLoad : BY_NAME.compare(a, b);
+        });
+        return result;
+    }
+
+    /**
+     * Receives the effort assigned to each resource on each day, sorted by resource and day. The effort of a resource
+     * on a day can come in several rows, so it is accumulated until a different resource or day is received.
+     */
+    private static class SummaryCalculator implements IAssignedEffortReceiver {
+
+        private final Map<Long, Resource> resourcesById;
+
+        private final Map<Resource, ResourceLoadSummary> summaries;
+
+        private Long currentResourceId;
+
+        private LocalDate currentDay;
+
+        private long currentSeconds;
+
+        private SummaryCalculator(Map<Long, Resource> resourcesById, Map<Resource, ResourceLoadSummary> summaries) {
+            this.resourcesById = resourcesById;
+            this.summaries = summaries;
+        }
+
+        @Override
+        public void assigned(LocalDate day, Long resourceId, long seconds) {
+            if ( !resourceId.equals(currentResourceId) || !day.equals(currentDay) ) {
+                flush();
+                currentResourceId = resourceId;
+                currentDay = day;
+            }
+            currentSeconds += seconds;
+        }
+
+        private void flush() {
+            if ( currentResourceId != null ) {
+                Resource resource = resourcesById.get(currentResourceId);
+                summaries.get(resource).add(resource, currentDay, currentSeconds);
+            }
+            currentResourceId = null;
+            currentDay = null;
+            currentSeconds = 0;
+        }
+    }
+
+    private long totalLoadSeconds = 0;
+
+    private long peakOverloadSeconds = 0;
+
+    private ResourceLoadSummary() {
+    }
+
+    private void add(Resource resource, LocalDate day, long assignedSeconds) {
+        totalLoadSeconds += assignedSeconds;
+
+        EffortDuration capacity = resource.getCalendarOrDefault().getCapacityOn(PartialDay.wholeDay(day));
+        long capacitySeconds = capacity != null ? capacity.getSeconds() : 0;
+        peakOverloadSeconds = Math.max(peakOverloadSeconds, assignedSeconds - capacitySeconds);
+    }
+
+    public EffortDuration getTotalLoad() {
+        return EffortDuration.seconds(toInt(totalLoadSeconds));
+    }
+
+    public EffortDuration getPeakOverload() {
+        return EffortDuration.seconds(toInt(peakOverloadSeconds));
+    }
+
+    public boolean isOverloaded() {
+        return peakOverloadSeconds > 0;
+    }
+
+    private static int toInt(long seconds) {
+        return (int) Math.min(seconds, Integer.MAX_VALUE);
+    }
+
+    private int compareTo(ResourceLoadSummary other) {
+        int result = Long.compare(peakOverloadSeconds, other.peakOverloadSeconds);
+        return result != 0 ? result : Long.compare(totalLoadSeconds, other.totalLoadSeconds);
+    }
+
+}
@@ -223,13 +223,14 @@ public class NewAllocationSelectorController extends AllocationSelectorControlle
 
         List<ResourceWithItsLoadRatios> result = new ArrayList<>();
 
-        for (Resource each : listResources) {
-            ILoadRatiosDataType t = resourceLoadRatiosCalculator.calculateLoadRatios(each,
-                    LocalDate.fromDateFields(startDateLoadRatiosDatebox.getValue()),
-                    LocalDate.fromDateFields(endDateLoadRatiosDatebox.getValue()),
-                    scenarioManager.getCurrent());
-
-            result.add(new ResourceWithItsLoadRatios(each, t));
+        Map<? extends Resource, ILoadRatiosDataType> loadRatios = resourceLoadRatiosCalculator.calculateLoadRatios(
+                listResources,
+                LocalDate.fromDateFields(startDateLoadRatiosDatebox.getValue()),
+                LocalDate.fromDateFields(endDateLoadRatiosDatebox.getValue()),
+                scenarioManager.getCurrent());
+
+        for (Map.Entry<? extends Resource, ILoadRatiosDataType> each : loadRatios.entrySet()) {
+            result.add(new ResourceWithItsLoadRatios(each.getKey(), each.getValue()));
         }
 
         return result;
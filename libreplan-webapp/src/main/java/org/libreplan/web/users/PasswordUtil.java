@@ -90,6 +90,8 @@ public class PasswordUtil {
 
         // Save the field changedDefaultAdminPassword in configuration.
         Registry.getConfigurationDAO().saveChangedDefaultPassword(user.getLoginName(), changedPasswd);
+        // The bulk update is not notified, so the login page would keep the previous value
+        Registry.getConfigurationDAO().reloadConfigurationSnapshot();
     }
 
     /**
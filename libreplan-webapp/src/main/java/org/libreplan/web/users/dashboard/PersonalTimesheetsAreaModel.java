@@ -159,9 +159,8 @@ public class PersonalTimesheetsAreaModel implements IPersonalTimesheetsAreaModel
     }
 
     @Override
-    @Transactional(readOnly = true)
     public PersonalTimesheetsPeriodicityEnum getPersonalTimesheetsPeriodicity() {
-        return configurationDAO.getConfiguration().getPersonalTimesheetsPeriodicity();
+        return configurationDAO.getConfigurationSnapshot().getPersonalTimesheetsPeriodicity();
     }
 
 }
@@ -57,7 +57,7 @@ public class UserDashboardController extends GenericForwardComposer {
         if (!StringUtils.isBlank(timesheetSave)) {
             String personalTimesheet = PersonalTimesheetDTO.toString(Registry
                     .getConfigurationDAO()
-                    .getConfigurationWithReadOnlyTransaction()
+                    .getConfigurationSnapshot()
                     .getPersonalTimesheetsPeriodicity(), new LocalDate(
                     timesheetSave));
             messagesForUser.showMessage(Level.INFO,
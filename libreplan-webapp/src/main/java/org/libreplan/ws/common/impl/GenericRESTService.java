@@ -21,12 +21,30 @@
 
 package org.libreplan.ws.common.impl;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
-
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.libreplan.business.common.IAdHocTransactionService;
 import org.libreplan.business.common.IOnTransaction;
 import org.libreplan.business.common.IntegrationEntity;
@@ -36,6 +54,7 @@ import org.libreplan.business.common.exceptions.ValidationException;
 import org.libreplan.ws.common.api.InstanceConstraintViolationsDTO;
 import org.libreplan.ws.common.api.InstanceConstraintViolationsListDTO;
 import org.libreplan.ws.common.api.IntegrationEntityDTO;
+import org.libreplan.ws.common.api.WSCommonGlobalNames;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -47,6 +66,31 @@ import org.springframework.beans.factory.annotation.Autowired;
 public abstract class GenericRESTService<E extends IntegrationEntity,
     DTO extends IntegrationEntityDTO> {
 
+    private static final Log LOG = LogFactory.getLog(GenericRESTService.class);
+
+    /**
+     * Maximum number of entities that can be requested in a page.
+     */
+    protected static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Maximum number of entities saved in the same transaction. Bigger chunk
+     * sizes are reduced to it.
+     */
+    protected static final int MAX_CHUNK_SIZE = 1000;
+
+    /**
+     * Number of entities written when streaming before clearing the session.
+     */
+    private static final int STREAMING_CLEAR_INTERVAL = 100;
+
+    /**
+     * JAXB contexts used when streaming, by DTO class. They are thread safe
+     * and expensive to create, unlike the marshallers created from them.
+     */
+    private static final ConcurrentMap<Class<?>, JAXBContext> JAXB_CONTEXTS =
+        new ConcurrentHashMap<Class<?>, JAXBContext>();
+
     @Autowired
     protected IAdHocTransactionService transactionService;
 
@@ -57,6 +101,141 @@ public abstract class GenericRESTService<E extends IntegrationEntity,
         return toDTO(getIntegrationEntityDAO().findAll());
     }
 
+    /**
+     * It retrieves all entities if <code>limit</code> is <code>null</code>,
+     * writing them as they are read with {@link #streamAll(String)}.
+     * Otherwise it retrieves a page with {@link #findPage(String, int,
+     * UriInfo, Function)}.
+     */
+    protected Response findAllOrPage(String listElementName, String after,
+        Integer limit, UriInfo uriInfo,
+        Function<List<DTO>, ?> toListDTO) {
+
+        if (limit == null) {
+            return Response.ok(streamAll(listElementName)).build();
+        }
+        return findPage(after, limit, uriInfo, toListDTO);
+
+    }
+
+    /**
+     * It retrieves at most <code>limit</code> entities with a code after
+     * <code>after</code>, ordered by code. The first page is retrieved if
+     * <code>after</code> is <code>null</code>.
+     *
+     * If the page is full, a <code>Link</code> header with relation
+     * <code>next</code> points to the following page, having the code of the
+     * last entity of this page as <code>after</code> query parameter.
+     *
+     * If <code>limit</code> is not between 1 and {@link #MAX_PAGE_SIZE} it
+     * returns 400 HTTP status code (BAD_REQUEST).
+     */
+    protected Response findPage(String after, int limit, UriInfo uriInfo,
+        Function<List<DTO>, ?> toListDTO) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Response.status(Status.BAD_REQUEST).build();
+        }
+
+        List<E> entities = getIntegrationEntityDAO().findAfterCode(after,
+            limit);
+        ResponseBuilder response = Response.ok(toListDTO.apply(
+            toDTO(entities)));
+
+        if (entities.size() == limit) {
+            String lastCode = entities.get(entities.size() - 1).getCode();
+            response.link(uriInfo.getRequestUriBuilder()
+                .replaceQueryParam("after", lastCode).build(), "next");
+        }
+
+        return response.build();
+
+    }
+
+    /**
+     * It writes all entities ordered by code inside an element called
+     * <code>listElementName</code>, converting them to DTOs as they are read
+     * in a read-only transaction. The session is cleared periodically, so
+     * memory does not depend on the number of entities.
+     *
+     * Each DTO is written as its root element, that must be the same element
+     * used for it in the corresponding list DTO.
+     */
+    protected StreamingOutput streamAll(final String listElementName) {
+        return output -> transactionService.runOnReadOnlyTransaction(() -> {
+            try {
+                writeAll(listElementName, output);
+            } catch (XMLStreamException | JAXBException e) {
+                throw new WebApplicationException(e);
+            }
+            return null;
+        });
+    }
+
+    private void writeAll(String listElementName, OutputStream output)
+        throws XMLStreamException, JAXBException {
+
+        final XMLStreamWriter writer = XMLOutputFactory.newInstance()
+            .createXMLStreamWriter(output, "UTF-8");
+        final Map<Class<?>, Marshaller> marshallers =
+            new HashMap<Class<?>, Marshaller>();
+
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.setDefaultNamespace(WSCommonGlobalNames.REST_NAMESPACE);
+        writer.writeStartElement(WSCommonGlobalNames.REST_NAMESPACE,
+            listElementName);
+        writer.writeDefaultNamespace(WSCommonGlobalNames.REST_NAMESPACE);
+
+        getIntegrationEntityDAO().forEachOrderedByCode(
+            STREAMING_CLEAR_INTERVAL, entity -> {
+                DTO dto = toDTO(entity);
+                try {
+                    getMarshaller(marshallers, dto.getClass()).marshal(dto,
+                        writer);
+                } catch (JAXBException e) {
+                    throw new WebApplicationException(e);
+                }
+            });
+
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.flush();
+
+    }
+
+    private static Marshaller getMarshaller(
+        Map<Class<?>, Marshaller> marshallers, Class<?> dtoClass)
+        throws JAXBException {
+
+        Marshaller result = marshallers.get(dtoClass);
+
+        if (result == null) {
+            result = getJAXBContext(dtoClass).createMarshaller();
+            result.setProperty(Marshaller.JAXB_FRAGMENT, true);
+            marshallers.put(dtoClass, result);
+        }
+
+        return result;
+
+    }
+
+    private static JAXBContext getJAXBContext(Class<?> dtoClass)
+        throws JAXBException {
+
+        JAXBContext result = JAXB_CONTEXTS.get(dtoClass);
+
+        if (result == null) {
+            result = JAXBContext.newInstance(dtoClass);
+            JAXBContext previous = JAXB_CONTEXTS.putIfAbsent(dtoClass, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+
+        return result;
+
+    }
+
     /**
      * It saves (inserts or updates) a list of entities. Each entity is
      * saved in a separate transaction.
@@ -64,9 +243,68 @@ public abstract class GenericRESTService<E extends IntegrationEntity,
     protected InstanceConstraintViolationsListDTO save(
         List<? extends DTO> entityDTOs) {
 
+        return new InstanceConstraintViolationsListDTO(
+            saveOneByOne(entityDTOs, 1));
+
+    }
+
+    /**
+     * It saves (inserts or updates) a list of entities in chunks of
+     * <code>chunkSize</code> entities. Each chunk is saved in a separate
+     * transaction, retrieving its existing entities with one query. If a
+     * chunk can not be saved, its entities are saved again one by one, so
+     * the errors are reported for each entity as in {@link #save(List)}.
+     *
+     * If <code>chunkSize</code> is <code>null</code> or lower than 2 it is
+     * the same as {@link #save(List)}. If it is bigger than
+     * {@link #MAX_CHUNK_SIZE} that maximum is used instead.
+     */
+    protected InstanceConstraintViolationsListDTO save(
+        List<? extends DTO> entityDTOs, Integer chunkSize) {
+
+        if (chunkSize == null || chunkSize < 2) {
+            return save(entityDTOs);
+        }
+
+        int size = Math.min(chunkSize, MAX_CHUNK_SIZE);
+
+        long start = System.currentTimeMillis();
         List<InstanceConstraintViolationsDTO> instanceConstraintViolationsList =
             new ArrayList<InstanceConstraintViolationsDTO>();
-        long numItem = 1;
+        int chunks = 0;
+        int savedOneByOne = 0;
+
+        for (int i = 0; i < entityDTOs.size(); i += size) {
+            List<? extends DTO> chunk = entityDTOs.subList(i,
+                Math.min(i + size, entityDTOs.size()));
+            chunks++;
+
+            try {
+                insertOrUpdateAll(chunk);
+            } catch (RuntimeException e) {
+                savedOneByOne++;
+                instanceConstraintViolationsList.addAll(
+                    saveOneByOne(chunk, i + 1));
+            }
+        }
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        LOG.info("Saved " + entityDTOs.size() + " entities in " + elapsed
+            + " ms (" + (entityDTOs.size() * 1000L / elapsed)
+            + " per second), " + savedOneByOne + " of " + chunks
+            + " chunks saved again one by one");
+
+        return new InstanceConstraintViolationsListDTO(
+            instanceConstraintViolationsList);
+
+    }
+
+    private List<InstanceConstraintViolationsDTO> saveOneByOne(
+        List<? extends DTO> entityDTOs, long firstNumItem) {
+
+        List<InstanceConstraintViolationsDTO> instanceConstraintViolationsList =
+            new ArrayList<InstanceConstraintViolationsDTO>();
+        long numItem = firstNumItem;
 
         for (DTO entityDTO : entityDTOs) {
 
@@ -101,8 +339,7 @@ public abstract class GenericRESTService<E extends IntegrationEntity,
 
         }
 
-        return new InstanceConstraintViolationsListDTO(
-            instanceConstraintViolationsList);
+        return instanceConstraintViolationsList;
 
     }
 
@@ -137,13 +374,58 @@ public abstract class GenericRESTService<E extends IntegrationEntity,
                     entity = toEntity(entityDTO);
                 }
 
-                /*
-                 * Validate and save (insert or update) the entity.
-                 */
-                entity.validate();
-                beforeSaving(entity);
-                entityDAO.saveWithoutValidating(entity);
-                afterSaving(entity);
+                validateAndSave(entity);
+
+                return null;
+
+            }
+
+        };
+
+        transactionService.runOnAnotherTransaction(save);
+
+    }
+
+    /**
+     * It saves (inserts or updates) a list of entity DTOs by using a new
+     * transaction. If any of them can not be saved, none is saved.
+     *
+     * @throws ValidationException if validations are not passed
+     * @throws RecoverableErrorException if a recoverable error occurs
+     */
+    protected void insertOrUpdateAll(final List<? extends DTO> entityDTOs)
+        throws ValidationException, RecoverableErrorException {
+
+        IOnTransaction<Void> save = new IOnTransaction<Void>() {
+
+            @Override
+            public Void execute() {
+
+                Map<String, E> entitiesByCode = new HashMap<String, E>();
+                List<String> codes = new ArrayList<String>();
+                for (DTO entityDTO : entityDTOs) {
+                    codes.add(entityDTO.code);
+                }
+                for (E each : getIntegrationEntityDAO().findByCodes(codes)) {
+                    entitiesByCode.put(toKey(each.getCode()), each);
+                }
+
+                for (DTO entityDTO : entityDTOs) {
+
+                    /* Insert or update? */
+                    E entity = entitiesByCode.get(toKey(entityDTO.code));
+                    if (entity != null) {
+                        updateEntity(entity, entityDTO);
+                    } else {
+                        entity = toEntity(entityDTO);
+                    }
+
+                    validateAndSave(entity);
+
+                    /* Later DTOs with the same code update this entity */
+                    entitiesByCode.put(toKey(entity.getCode()), entity);
+
+                }
 
                 return null;
 
@@ -155,6 +437,20 @@ public abstract class GenericRESTService<E extends IntegrationEntity,
 
     }
 
+    private static String toKey(String code) {
+        return code == null ? null : code.trim().toLowerCase();
+    }
+
+    /**
+     * Validate and save (insert or update) the entity.
+     */
+    private void validateAndSave(E entity) {
+        entity.validate();
+        beforeSaving(entity);
+        getIntegrationEntityDAO().saveWithoutValidating(entity);
+        afterSaving(entity);
+    }
+
     /**
      * It allows to add operations that must be done before saving.
      *
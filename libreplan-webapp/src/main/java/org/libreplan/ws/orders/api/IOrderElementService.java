@@ -22,6 +22,7 @@
 package org.libreplan.ws.orders.api;
 
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 
 import org.libreplan.business.orders.entities.OrderElement;
 import org.libreplan.ws.common.api.InstanceConstraintViolationsListDTO;
@@ -35,7 +36,21 @@ public interface IOrderElementService {
 
     InstanceConstraintViolationsListDTO addOrders(OrderListDTO orderListDTO);
 
-    OrderListDTO getOrders();
+    /**
+     * Without <code>chunkSize</code> each order is saved in a separate
+     * transaction. Otherwise they are saved in transactions of
+     * <code>chunkSize</code> orders, saving again one by one the ones of a
+     * transaction that fails.
+     */
+    InstanceConstraintViolationsListDTO addOrders(OrderListDTO orderListDTO, Integer chunkSize);
+
+    /**
+     * Without <code>limit</code> all the orders are written as they are read.
+     * Otherwise at most <code>limit</code> orders with a code after
+     * <code>after</code> are returned, with a <code>Link</code> header to the
+     * next page when there are more.
+     */
+    Response getOrders(String after, Integer limit, UriInfo uriInfo);
 
     Response getOrderElement(String code);
 
@@ -30,8 +30,11 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.UriInfo;
 
 import org.libreplan.business.common.daos.IIntegrationEntityDAO;
 import org.libreplan.business.common.exceptions.InstanceNotFoundException;
@@ -79,15 +82,25 @@ public class OrderElementServiceREST
     @Override
     @GET
     @Transactional(readOnly = true)
-    public OrderListDTO getOrders() {
-        return new OrderListDTO(findAll());
+    public Response getOrders(@QueryParam("after") String after,
+                              @QueryParam("limit") Integer limit,
+                              @Context UriInfo uriInfo) {
+
+        return findAllOrPage("order-list", after, limit, uriInfo, OrderListDTO::new);
+    }
+
+    @Override
+    public InstanceConstraintViolationsListDTO addOrders(OrderListDTO orderListDTO) {
+        return addOrders(orderListDTO, null);
     }
 
     @Override
     @POST
     @Consumes("application/xml")
-    public InstanceConstraintViolationsListDTO addOrders(OrderListDTO orderListDTO) {
-        return save(orderListDTO.orderDTOs);
+    public InstanceConstraintViolationsListDTO addOrders(OrderListDTO orderListDTO,
+                                                         @QueryParam("chunk-size") Integer chunkSize) {
+
+        return save(orderListDTO.orderDTOs, chunkSize);
     }
 
     @Override
@@ -22,6 +22,7 @@
 package org.libreplan.ws.resources.api;
 
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 
 import org.libreplan.ws.common.api.InstanceConstraintViolationsListDTO;
 
@@ -41,7 +42,22 @@ public interface IResourceService {
     public InstanceConstraintViolationsListDTO addResources(
         ResourceListDTO resources);
 
-    public ResourceListDTO getResources();
+    /**
+     * Without <code>chunkSize</code> each resource is saved in a separate
+     * transaction. Otherwise they are saved in transactions of
+     * <code>chunkSize</code> resources, saving again one by one the ones of a
+     * transaction that fails.
+     */
+    public InstanceConstraintViolationsListDTO addResources(
+        ResourceListDTO resources, Integer chunkSize);
+
+    /**
+     * Without <code>limit</code> all the resources are written as they are read.
+     * Otherwise at most <code>limit</code> resources with a code after
+     * <code>after</code> are returned, with a <code>Link</code> header to the
+     * next page when there are more.
+     */
+    public Response getResources(String after, Integer limit, UriInfo uriInfo);
 
     Response getResource(String code);
 
@@ -21,9 +21,7 @@
 
 package org.libreplan.ws.resources.impl;
 
-import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
-import java.util.List;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
@@ -31,7 +29,10 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 
 import org.apache.commons.lang3.StringUtils;
 import org.libreplan.business.common.IntegrationEntity;
@@ -40,9 +41,7 @@ import org.libreplan.business.common.daos.IIntegrationEntityDAO;
 import org.libreplan.business.common.entities.EntityNameEnum;
 import org.libreplan.business.common.exceptions.ValidationException;
 import org.libreplan.business.costcategories.entities.ResourcesCostCategoryAssignment;
-import org.libreplan.business.resources.daos.IMachineDAO;
 import org.libreplan.business.resources.daos.IResourceDAO;
-import org.libreplan.business.resources.daos.IWorkerDAO;
 import org.libreplan.business.resources.entities.CriterionSatisfaction;
 import org.libreplan.business.resources.entities.Resource;
 import org.libreplan.ws.common.api.InstanceConstraintViolationsListDTO;
@@ -73,13 +72,22 @@ public class ResourceServiceREST
     @Autowired
     private IEntitySequenceDAO entitySequenceDAO;
 
+    @Override
+    public InstanceConstraintViolationsListDTO addResources(
+        ResourceListDTO resources) {
+
+        return addResources(resources, null);
+
+    }
+
     @Override
     @POST
     @Consumes("application/xml")
     public InstanceConstraintViolationsListDTO addResources(
-        ResourceListDTO resources) {
+        ResourceListDTO resources,
+        @QueryParam("chunk-size") Integer chunkSize) {
 
-        return save(resources.resources);
+        return save(resources.resources, chunkSize);
 
     }
 
@@ -118,25 +126,14 @@ public class ResourceServiceREST
         generateCodes(entity);
     }
 
-    @Autowired
-    private IWorkerDAO workerDAO;
-
-    @Autowired
-    private IMachineDAO machineDAO;
-
     @Override
     @GET
     @Transactional(readOnly = true)
-    public ResourceListDTO getResources() {
-        return new ResourceListDTO(findAll());
-    }
+    public Response getResources(@QueryParam("after") String after,
+        @QueryParam("limit") Integer limit, @Context UriInfo uriInfo) {
 
-    @Override
-    protected List<ResourceDTO> findAll() {
-        List<Resource> result = new ArrayList<Resource>();
-        result.addAll(workerDAO.getWorkers());
-        result.addAll(machineDAO.getAll());
-        return toDTO(result);
+        return findAllOrPage("resource-list", after, limit, uriInfo,
+            ResourceListDTO::new);
     }
 
     private void generateCodes(Resource resource) {
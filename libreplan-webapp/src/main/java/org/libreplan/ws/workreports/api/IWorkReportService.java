@@ -22,6 +22,7 @@
 package org.libreplan.ws.workreports.api;
 
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 
 import org.libreplan.ws.common.api.InstanceConstraintViolationsListDTO;
 
@@ -32,11 +33,26 @@ import org.libreplan.ws.common.api.InstanceConstraintViolationsListDTO;
  */
 public interface IWorkReportService {
 
-    public WorkReportListDTO getWorkReports();
+    /**
+     * Without <code>limit</code> all the work reports are written as they are read.
+     * Otherwise at most <code>limit</code> work reports with a code after
+     * <code>after</code> are returned, with a <code>Link</code> header to the
+     * next page when there are more.
+     */
+    public Response getWorkReports(String after, Integer limit, UriInfo uriInfo);
 
     public InstanceConstraintViolationsListDTO addWorkReports(
             WorkReportListDTO workReportListDTO);
 
+    /**
+     * Without <code>chunkSize</code> each work report is saved in a separate
+     * transaction. Otherwise they are saved in transactions of
+     * <code>chunkSize</code> work reports, saving again one by one the ones of a
+     * transaction that fails.
+     */
+    public InstanceConstraintViolationsListDTO addWorkReports(
+            WorkReportListDTO workReportListDTO, Integer chunkSize);
+
     public Response getWorkReport(String code);
 
     Response removeWorkReport(String code);
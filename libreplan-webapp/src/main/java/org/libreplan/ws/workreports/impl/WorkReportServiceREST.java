@@ -32,8 +32,11 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.UriInfo;
 
 import org.libreplan.business.common.daos.IIntegrationEntityDAO;
 import org.libreplan.business.common.exceptions.InstanceNotFoundException;
@@ -77,15 +80,25 @@ public class WorkReportServiceREST extends GenericRESTService<WorkReport, WorkRe
     @Override
     @GET
     @Transactional(readOnly = true)
-    public WorkReportListDTO getWorkReports() {
-        return new WorkReportListDTO(findAll());
+    public Response getWorkReports(@QueryParam("after") String after,
+                                   @QueryParam("limit") Integer limit,
+                                   @Context UriInfo uriInfo) {
+
+        return findAllOrPage("work-report-list", after, limit, uriInfo, WorkReportListDTO::new);
+    }
+
+    @Override
+    public InstanceConstraintViolationsListDTO addWorkReports(WorkReportListDTO workReportListDTO) {
+        return addWorkReports(workReportListDTO, null);
     }
 
     @Override
     @POST
     @Consumes("application/xml")
-    public InstanceConstraintViolationsListDTO addWorkReports(WorkReportListDTO workReportListDTO) {
-        return save(workReportListDTO.workReports);
+    public InstanceConstraintViolationsListDTO addWorkReports(WorkReportListDTO workReportListDTO,
+                                                             @QueryParam("chunk-size") Integer chunkSize) {
+
+        return save(workReportListDTO.workReports, chunkSize);
     }
 
     @Override
@@ -0,0 +1,112 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.web.montecarlo;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.libreplan.business.calendars.entities.BaseCalendar;
+import org.libreplan.business.planner.entities.Task;
+
+/**
+ * Tests the simulations run by {@link MonteCarloModel}, which share the {@link WorkingDaysTable} of each calendar.
+ */
+public class MonteCarloModelTest {
+
+    private static final LocalDate MONDAY = new LocalDate(2026, 1, 5);
+
+    private static MonteCarloTask taskOf(BaseCalendar calendar, LocalDate start, int workableDays) {
+        Task task = createNiceMock(Task.class);
+        expect(task.getWorkableDays()).andReturn(workableDays).anyTimes();
+        expect(task.getStartAsLocalDate()).andReturn(start).anyTimes();
+        expect(task.getCalendar()).andReturn(calendar).anyTimes();
+        replay(task);
+
+        return MonteCarloTask.create(task);
+    }
+
+    private static Map<LocalDate, BigDecimal> calculate(MonteCarloModel model, List<MonteCarloTask> path, long seed) {
+        return model.calculateMonteCarlo(path, 20000, seed, progress -> {});
+    }
+
+    @Test
+    public void theDurationsAreWorkingDaysOfTheCalendar() {
+        BaseCalendar calendar = WorkingDaysTableTest.fromMondayToFriday();
+        List<MonteCarloTask> path = Arrays.asList(taskOf(calendar, MONDAY, 5));
+
+        Map<LocalDate, BigDecimal> result = calculate(new MonteCarloModel(), path, 1L);
+
+        // Three, five and eight working days from Monday
+        assertThat(result.keySet(), equalTo(new HashSet<>(Arrays.asList(
+                MONDAY.plusDays(3), MONDAY.plusDays(5), MONDAY.plusDays(10)))));
+    }
+
+    @Test
+    public void theProbabilitiesAddUpToOne() {
+        BaseCalendar calendar = WorkingDaysTableTest.fromMondayToFriday();
+        List<MonteCarloTask> path = Arrays.asList(taskOf(calendar, MONDAY, 5), taskOf(null, MONDAY, 3));
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal each : calculate(new MonteCarloModel(), path, 1L).values()) {
+            total = total.add(each);
+        }
+
+        assertThat(total.setScale(4, BigDecimal.ROUND_HALF_UP), equalTo(new BigDecimal("1.0000")));
+    }
+
+    @Test
+    public void reusingTheTablesForAnEarlierStartGivesTheSameResultsThanNewTables() {
+        BaseCalendar calendar = WorkingDaysTableTest.fromMondayToFriday();
+        List<MonteCarloTask> later = Arrays.asList(taskOf(calendar, MONDAY.plusDays(30), 12), taskOf(null, MONDAY, 2));
+        List<MonteCarloTask> earlier = Arrays.asList(taskOf(calendar, MONDAY, 12), taskOf(null, MONDAY, 2));
+
+        MonteCarloModel model = new MonteCarloModel();
+        calculate(model, later, 5L);
+        Map<LocalDate, BigDecimal> withReusedTables = calculate(model, earlier, 5L);
+
+        assertThat(withReusedTables, equalTo(calculate(new MonteCarloModel(), earlier, 5L)));
+    }
+
+    @Test
+    public void theSameSeedGivesTheSameProbabilities() {
+        BaseCalendar calendar = WorkingDaysTableTest.fromMondayToFriday();
+        List<MonteCarloTask> path = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            path.add(taskOf(calendar, MONDAY, i * 3));
+        }
+
+        MonteCarloModel model = new MonteCarloModel();
+
+        assertThat(calculate(model, path, 9L), equalTo(calculate(model, path, 9L)));
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.web.montecarlo;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.libreplan.business.planner.entities.Task;
+import org.libreplan.web.montecarlo.MonteCarloSimulation.IWorkingDaysTables;
+
+/**
+ * Tests for {@link MonteCarloSimulation}.
+ */
+public class MonteCarloSimulationTest {
+
+    private static final LocalDate START = new LocalDate(2026, 1, 5);
+
+    /**
+     * Without calendars every day is a working day.
+     */
+    private static final IWorkingDaysTables WITHOUT_CALENDARS = WorkingDaysTable::create;
+
+    private static MonteCarloTask taskOf(int workableDays) {
+        Task task = createNiceMock(Task.class);
+        expect(task.getWorkableDays()).andReturn(workableDays).anyTimes();
+        expect(task.getStartAsLocalDate()).andReturn(START).anyTimes();
+        replay(task);
+
+        return MonteCarloTask.create(task);
+    }
+
+    private static List<MonteCarloTask> path(int... workableDays) {
+        List<MonteCarloTask> result = new ArrayList<>();
+        for (int each : workableDays) {
+            result.add(taskOf(each));
+        }
+        return result;
+    }
+
+    private static Map<LocalDate, Integer> run(List<MonteCarloTask> path, int iterations, long seed) {
+        return MonteCarloSimulation.create(path, WITHOUT_CALENDARS).run(iterations, seed, progress -> {});
+    }
+
+    @Test
+    public void twoRunsWithTheSameSeedGiveTheSameResult() {
+        List<MonteCarloTask> path = path(10, 4, 20);
+
+        Map<LocalDate, Integer> first = run(path, 50000, 42L);
+        Map<LocalDate, Integer> second = run(path, 50000, 42L);
+
+        assertThat(second, equalTo(first));
+    }
+
+    @Test
+    public void everyIterationIsCounted() {
+        int total = 0;
+        for (int each : run(path(10, 4, 20), 12345, 7L).values()) {
+            total += each;
+        }
+
+        assertThat(total, equalTo(12345));
+    }
+
+    @Test
+    public void aTaskEndsAfterItsOptimisticNormalOrPessimisticDuration() {
+        Map<LocalDate, Integer> result = run(path(10), 10000, 1L);
+
+        assertThat(result.keySet(), equalTo(new HashSet<>(Arrays.asList(
+                START.plusDays(5), START.plusDays(10), START.plusDays(15)))));
+    }
+
+    @Test
+    public void theProgressReachesOneHundredPercent() {
+        List<Integer> progress = new ArrayList<>();
+        MonteCarloSimulation.create(path(3, 3), WITHOUT_CALENDARS).run(5000, 3L, progress::add);
+
+        assertTrue(!progress.isEmpty());
+        assertThat(progress.get(progress.size() - 1), equalTo(100));
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.web.montecarlo;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.libreplan.business.workingday.EffortDuration.hours;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.libreplan.business.calendars.entities.BaseCalendar;
+import org.libreplan.business.calendars.entities.CalendarData.Days;
+import org.libreplan.business.calendars.entities.Capacity;
+import org.libreplan.business.workingday.IntraDayDate.PartialDay;
+
+/**
+ * Tests for {@link WorkingDaysTable}.
+ */
+public class WorkingDaysTableTest {
+
+    private static final LocalDate MONDAY = new LocalDate(2026, 1, 5);
+
+    static BaseCalendar fromMondayToFriday() {
+        BaseCalendar result = BaseCalendar.create();
+        result.setName("test");
+        for (Days each : Days.values()) {
+            boolean weekend = each == Days.SATURDAY || each == Days.SUNDAY;
+            result.setCapacityAt(each, weekend ? Capacity.zero() : Capacity.create(hours(8)));
+        }
+        return result;
+    }
+
+    /**
+     * The day after the last of the working days, walking the calendar day by day.
+     */
+    private static LocalDate addWorkingDaysWalking(BaseCalendar calendar, LocalDate start, int workingDays) {
+        LocalDate day = start;
+        int remaining = workingDays;
+        while (remaining > 0) {
+            if (!calendar.getCapacityOn(PartialDay.wholeDay(day)).isZero()) {
+                remaining--;
+            }
+            day = day.plusDays(1);
+        }
+        return day;
+    }
+
+    @Test
+    public void withoutCalendarEveryDayIsAWorkingDay() {
+        WorkingDaysTable table = WorkingDaysTable.create(null, MONDAY);
+
+        assertThat(table.addWorkingDays(0, 7), equalTo(7));
+        assertThat(table.addWorkingDays(3, 10), equalTo(13));
+    }
+
+    @Test
+    public void addingZeroWorkingDaysGivesTheStart() {
+        WorkingDaysTable table = WorkingDaysTable.create(fromMondayToFriday(), MONDAY);
+
+        assertThat(table.addWorkingDays(5, 0), equalTo(5));
+    }
+
+    @Test
+    public void theWeekendIsSkipped() {
+        WorkingDaysTable table = WorkingDaysTable.create(fromMondayToFriday(), MONDAY);
+
+        // From Monday, five working days end on Friday and six on the next Monday
+        assertThat(table.dateAt(table.addWorkingDays(0, 5)), equalTo(MONDAY.plusDays(5)));
+        assertThat(table.dateAt(table.addWorkingDays(0, 6)), equalTo(MONDAY.plusDays(8)));
+    }
+
+    @Test
+    public void startingOnANonWorkingDayCountsFromTheNextWorkingDay() {
+        WorkingDaysTable table = WorkingDaysTable.create(fromMondayToFriday(), MONDAY);
+        int saturday = table.offsetOf(MONDAY.plusDays(5));
+
+        assertThat(table.dateAt(table.addWorkingDays(saturday, 1)), equalTo(MONDAY.plusDays(8)));
+    }
+
+    @Test
+    public void theTableGrowsToGiveTheSameResultsThanWalkingTheCalendar() {
+        BaseCalendar calendar = fromMondayToFriday();
+        WorkingDaysTable table = WorkingDaysTable.create(calendar, MONDAY);
+
+        for (int workingDays : new int[] { 1, 200, 1000, 3000 }) {
+            assertThat(table.dateAt(table.addWorkingDays(2, workingDays)),
+                    equalTo(addWorkingDaysWalking(calendar, MONDAY.plusDays(2), workingDays)));
+        }
+    }
+
+    @Test
+    public void movingTheOriginKeepsTheResultsForTheSameDates() {
+        BaseCalendar calendar = fromMondayToFriday();
+        WorkingDaysTable table = WorkingDaysTable.create(calendar, MONDAY);
+        LocalDate start = MONDAY.plusDays(10);
+        LocalDate before = table.dateAt(table.addWorkingDays(table.offsetOf(start), 40));
+
+        table.moveOriginTo(MONDAY.minusDays(100));
+
+        assertThat(table.getOrigin(), equalTo(MONDAY.minusDays(100)));
+        assertThat(table.dateAt(table.addWorkingDays(table.offsetOf(start), 40)), equalTo(before));
+    }
+
+    @Test
+    public void theOriginIsNeverMovedForward() {
+        WorkingDaysTable table = WorkingDaysTable.create(null, MONDAY);
+
+        table.moveOriginTo(MONDAY.plusDays(10));
+
+        assertThat(table.getOrigin(), equalTo(MONDAY));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void aCalendarWithoutWorkingDaysIsDetected() {
+        BaseCalendar calendar = BaseCalendar.create();
+        calendar.setName("test");
+        for (Days each : Days.values()) {
+            calendar.setCapacityAt(each, Capacity.zero());
+        }
+
+        WorkingDaysTable.create(calendar, MONDAY).addWorkingDays(0, 1);
+    }
+
+}
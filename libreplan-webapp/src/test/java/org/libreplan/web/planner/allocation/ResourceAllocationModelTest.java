@@ -0,0 +1,185 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.web.planner.allocation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.libreplan.business.BusinessGlobalNames.BUSINESS_SPRING_CONFIG_FILE;
+import static org.libreplan.web.WebappGlobalNames.WEBAPP_SPRING_CONFIG_FILE;
+import static org.libreplan.web.WebappGlobalNames.WEBAPP_SPRING_SECURITY_CONFIG_FILE;
+import static org.libreplan.web.test.WebappGlobalNames.WEBAPP_SPRING_CONFIG_TEST_FILE;
+import static org.libreplan.web.test.WebappGlobalNames.WEBAPP_SPRING_SECURITY_CONFIG_TEST_FILE;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import javax.annotation.Resource;
+
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.libreplan.business.IDataBootstrap;
+import org.libreplan.business.common.IAdHocTransactionService;
+import org.libreplan.business.orders.entities.Order;
+import org.libreplan.business.orders.entities.OrderLine;
+import org.libreplan.business.planner.daos.ITaskElementDAO;
+import org.libreplan.business.planner.entities.ResourceAllocation;
+import org.libreplan.business.planner.entities.SpecificResourceAllocation;
+import org.libreplan.business.planner.entities.Task;
+import org.libreplan.business.resources.daos.IResourceDAO;
+import org.libreplan.business.resources.entities.Worker;
+import org.libreplan.business.workingday.ResourcesPerDay;
+import org.libreplan.web.orders.IOrderModel;
+import org.libreplan.web.planner.order.PlanningStateCreator;
+import org.libreplan.web.planner.order.PlanningStateCreator.PlanningState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.zkoss.zk.ui.Desktop;
+
+/**
+ * Tests for {@link ResourceAllocationModel} allocating resources the order
+ * didn't reference when its planning was opened.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = { BUSINESS_SPRING_CONFIG_FILE,
+        WEBAPP_SPRING_CONFIG_FILE, WEBAPP_SPRING_CONFIG_TEST_FILE,
+        WEBAPP_SPRING_SECURITY_CONFIG_FILE,
+        WEBAPP_SPRING_SECURITY_CONFIG_TEST_FILE })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ResourceAllocationModelTest {
+
+    @Resource
+    private IDataBootstrap defaultAdvanceTypesBootstrapListener;
+
+    @Resource
+    private IDataBootstrap configurationBootstrap;
+
+    @Resource
+    private IDataBootstrap scenariosBootstrap;
+
+    @Autowired
+    private IOrderModel orderModel;
+
+    @Autowired
+    private IResourceAllocationModel resourceAllocationModel;
+
+    @Autowired
+    private PlanningStateCreator planningStateCreator;
+
+    @Autowired
+    private IResourceDAO resourceDAO;
+
+    @Autowired
+    private ITaskElementDAO taskElementDAO;
+
+    @Autowired
+    private IAdHocTransactionService adHocTransaction;
+
+    @Before
+    public void loadRequiredData() {
+        defaultAdvanceTypesBootstrapListener.loadRequiredData();
+        configurationBootstrap.loadRequiredData();
+        scenariosBootstrap.loadRequiredData();
+    }
+
+    private Desktop mockDesktop() {
+        return EasyMock.createNiceMock(Desktop.class);
+    }
+
+    private Order givenSavedOrderWithATask() {
+        adHocTransaction.runOnAnotherReadOnlyTransaction(() -> {
+            orderModel.prepareForCreate(mockDesktop());
+            return null;
+        });
+
+        Order order = orderModel.getOrder();
+        order.setName("name");
+        order.setCode("code-" + UUID.randomUUID());
+        order.setInitDate(new Date());
+
+        OrderLine line = OrderLine.createOrderLineWithUnfixedPercentage(8);
+        order.add(line);
+        line.setName(UUID.randomUUID().toString());
+        line.setCode(UUID.randomUUID().toString());
+        orderModel.save();
+
+        return order;
+    }
+
+    private Worker givenSavedWorker() {
+        return adHocTransaction.runOnTransaction(() -> {
+            Worker result = Worker.create();
+            result.setFirstName(UUID.randomUUID().toString());
+            result.setSurname(UUID.randomUUID().toString());
+            result.setNif(UUID.randomUUID().toString());
+            resourceDAO.save(result);
+
+            return result;
+        });
+    }
+
+    private PlanningState openPlanningOf(final Order order) {
+        return adHocTransaction.runOnAnotherReadOnlyTransaction(
+                () -> planningStateCreator.createOn(mockDesktop(), order));
+    }
+
+    @Test
+    public void aResourceNotReferencedByTheOrderCanBeAllocatedAndSaved() {
+        Order order = givenSavedOrderWithATask();
+        Worker worker = givenSavedWorker();
+        final PlanningState planningState = openPlanningOf(order);
+        final Task task = planningState.getAllTasks().get(0);
+
+        AllocationRowsHandler allocationRows = resourceAllocationModel.initAllocationsFor(task, null, planningState);
+        resourceAllocationModel.addSpecific(Collections.singletonList(worker));
+
+        final org.libreplan.business.resources.entities.Resource allocated =
+                allocationRows.getAllocationResources().iterator().next();
+        assertNotSame(worker, allocated);
+        assertSame(allocated,
+                planningState.addResourcesLoadedForAllocation(Collections.singletonList(allocated)).get(0));
+
+        adHocTransaction.runOnReadOnlyTransaction(() -> {
+            planningState.reassociateResourcesWithSession();
+            SpecificResourceAllocation allocation = SpecificResourceAllocation.create(task);
+            allocation.setResource(allocated);
+            allocation.allocate(ResourcesPerDay.amount(1));
+            task.addResourceAllocation(allocation);
+
+            return null;
+        });
+        planningState.getSaveCommand().save(null, null);
+
+        List<Long> allocatedIds = adHocTransaction.runOnReadOnlyTransaction(() -> {
+            Task reloaded = (Task) taskElementDAO.findExistingEntity(task.getId());
+            ResourceAllocation<?> allocation = reloaded.getSatisfiedResourceAllocations().iterator().next();
+
+            return Collections.singletonList(allocation.getAssociatedResources().get(0).getId());
+        });
+        assertEquals(Collections.singletonList(worker.getId()), allocatedIds);
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.web.planner.order;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.libreplan.business.common.exceptions.InstanceNotFoundException;
+import org.libreplan.business.resources.daos.IResourceDAO;
+import org.libreplan.business.resources.entities.Resource;
+
+/**
+ * Tests for {@link NewResourcesFinder}. The DAO mock is not nice, so it fails if the finder lists the resources or
+ * loads any resource not expected.
+ */
+public class NewResourcesFinderTest {
+
+    @Test
+    public void onlyTheResourcesCreatedSinceTheLoadAreLoaded() throws InstanceNotFoundException {
+        Resource created = createNiceMock(Resource.class);
+        IResourceDAO resourceDAO = createMock(IResourceDAO.class);
+        expect(resourceDAO.getResourceIds()).andReturn(Arrays.asList(1L, 2L, 3L));
+        expect(resourceDAO.getResourceIds()).andReturn(Arrays.asList(1L, 2L, 3L, 4L));
+        expect(resourceDAO.find(4L)).andReturn(created);
+        replay(resourceDAO);
+
+        NewResourcesFinder finder = NewResourcesFinder.knowingExistentResources(resourceDAO);
+
+        assertEquals(Collections.singleton(created), finder.findNew());
+        verify(resourceDAO);
+    }
+
+    @Test
+    public void theResourcesAlreadyFoundAreNotLoadedAgain() throws InstanceNotFoundException {
+        Resource created = createNiceMock(Resource.class);
+        IResourceDAO resourceDAO = createMock(IResourceDAO.class);
+        expect(resourceDAO.getResourceIds()).andReturn(Arrays.asList(1L));
+        expect(resourceDAO.getResourceIds()).andReturn(Arrays.asList(1L, 2L)).times(2);
+        expect(resourceDAO.find(2L)).andReturn(created);
+        replay(resourceDAO);
+
+        NewResourcesFinder finder = NewResourcesFinder.knowingExistentResources(resourceDAO);
+        finder.findNew();
+
+        assertTrue(finder.findNew().isEmpty());
+        verify(resourceDAO);
+    }
+
+    @Test
+    public void aResourceRemovedAfterReadingItsIdIsIgnored() throws InstanceNotFoundException {
+        IResourceDAO resourceDAO = createMock(IResourceDAO.class);
+        expect(resourceDAO.getResourceIds()).andReturn(Collections.<Long> emptyList());
+        expect(resourceDAO.getResourceIds()).andReturn(Arrays.asList(5L));
+        expect(resourceDAO.find(5L)).andThrow(new InstanceNotFoundException(5L, Resource.class.getName()));
+        replay(resourceDAO);
+
+        assertTrue(NewResourcesFinder.knowingExistentResources(resourceDAO).findNew().isEmpty());
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * This file is part of LibrePlan
+ *
+ * Copyright (C) 2026 LibrePlan
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.libreplan.web.resourceload;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.getCurrentArguments;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.libreplan.business.workingday.EffortDuration.hours;
+import static org.libreplan.business.workingday.EffortDuration.zero;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.libreplan.business.calendars.entities.ICalendar;
+import org.libreplan.business.planner.daos.IDayAssignmentDAO;
+import org.libreplan.business.planner.daos.IDayAssignmentDAO.IAssignedEffortReceiver;
+import org.libreplan.business.resources.entities.Resource;
+import org.libreplan.business.scenarios.entities.Scenario;
+import org.libreplan.business.workingday.IntraDayDate.PartialDay;
+
+/**
+ * Tests for {@link ResourceLoadSummary}. The resources have a capacity of eight hours every day.
+ */
+public class ResourceLoadSummaryTest {
+
+    private static final LocalDate MONDAY = new LocalDate(2026, 1, 5);
+
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    private static final LocalDate WEDNESDAY = MONDAY.plusDays(2);
+
+    private static final ICalendar EIGHT_HOURS_EVERY_DAY = eightHoursEveryDay();
+
+    private static ICalendar eightHoursEveryDay() {
+        ICalendar result = createNiceMock(ICalendar.class);
+        expect(result.getCapacityOn(anyObject(PartialDay.class))).andReturn(hours(8)).anyTimes();
+        replay(result);
+
+        return result;
+    }
+
+    private static Resource resource(long id, String name) {
+        Resource result = createNiceMock(Resource.class);
+        expect(result.getId()).andReturn(id).anyTimes();
+        expect(result.getName()).andReturn(name).anyTimes();
+        expect(result.getCalendarOrDefault()).andReturn(EIGHT_HOURS_EVERY_DAY).anyTimes();
+        replay(result);
+
+        return result;
+    }
+
+    /**
+     * A row of the effort summed on the database: a resource, a day and the seconds assigned.
+     */
+    private static Object[] row(Resource resource, LocalDate day, int hours) {
+        return new Object[] { resource.getId(), day, (long) hours(hours).getSeconds() };
+    }
+
+    /**
+     * Returns a DAO that sends the rows in the given order, as the database does sorted by resource and day.
+     */
+    private static IDayAssignmentDAO sending(final Object[]... rows) {
+        IDayAssignmentDAO result = createNiceMock(IDayAssignmentDAO.class);
+        result.streamAssignedEffortByResourceAndDay(anyObject(Scenario.class), anyObject(Collection.class),
+                anyObject(LocalDate.class), anyObject(LocalDate.class), anyObject(IAssignedEffortReceiver.class));
+        expectLastCall().andAnswer(() -> {
+            IAssignedEffortReceiver receiver = (IAssignedEffortReceiver) getCurrentArguments()[4];
+            for (Object[] each : rows) {
+                receiver.assigned((LocalDate) each[1], (Long) each[0], (Long) each[2]);
+            }
+            return null;
+        });
+        replay(result);
+
+        return result;
+    }
+
+    private static Map<Resource, ResourceLoadSummary> calculate(IDayAssignmentDAO dao, Resource... resources) {
+        return ResourceLoadSummary.calculate(dao, null, Arrays.asList(resources), null, null);
+    }
+
+    @Test
+    public void theEffortOfADaySplitInSeveralRowsIsAddedBeforeComparingItWithTheCapacity() {
+        Resource resource = resource(1, "a");
+
+        ResourceLoadSummary summary = calculate(sending(
+                row(resource, MONDAY, 5),
+                row(resource, MONDAY, 5),
+                row(resource, TUESDAY, 4)), resource).get(resource);
+
+        assertEquals(hours(14), summary.getTotalLoad());
+        assertEquals(hours(2), summary.getPeakOverload());
+        assertTrue(summary.isOverloaded());
+    }
+
+    @Test
+    public void theDayIsFlushedWhenTheResourceChanges() {
+        Resource first = resource(1, "a");
+        Resource second = resource(2, "b");
+
+        Map<Resource, ResourceLoadSummary> summaries = calculate(sending(
+                row(first, MONDAY, 6),
+                row(second, MONDAY, 3),
+                row(second, MONDAY, 6)), first, second);
+
+        assertEquals(hours(6), summaries.get(first).getTotalLoad());
+        assertFalse(summaries.get(first).isOverloaded());
+        assertEquals(hours(9), summaries.get(second).getTotalLoad());
+        assertEquals(hours(1), summaries.get(second).getPeakOverload());
+    }
+
+    @Test
+    public void theResourcesWithoutEffortHaveAnEmptySummary() {
+        Resource resource = resource(1, "a");
+
+        ResourceLoadSummary summary = calculate(sending(), resource).get(resource);
+
+        assertEquals(zero(), summary.getTotalLoad());
+        assertEquals(zero(), summary.getPeakOverload());
+        assertFalse(summary.isOverloaded());
+    }
+
+    @Test
+    public void theResourcesAreSortedByPeakOverloadThenTotalLoadThenName() {
+        Resource slightlyOverloaded = resource(1, "Bob");
+        Resource mostOverloaded = resource(2, "Alice");
+        Resource mostLoaded = resource(3, "Dave");
+        Resource sameLoadFirstByName = resource(4, "carol");
+        Resource withoutLoad = resource(5, "Eve");
+
+        List<Resource> resources = Arrays.asList(
+                withoutLoad, sameLoadFirstByName, mostLoaded, slightlyOverloaded, mostOverloaded);
+        Map<Resource, ResourceLoadSummary> summaries = calculate(sending(
+                row(slightlyOverloaded, MONDAY, 9),
+                row(slightlyOverloaded, TUESDAY, 9),
+                row(mostOverloaded, MONDAY, 10),
+                row(mostLoaded, MONDAY, 8),
+                row(mostLoaded, TUESDAY, 8),
+                row(mostLoaded, WEDNESDAY, 8),
+                row(sameLoadFirstByName, MONDAY, 8),
+                row(sameLoadFirstByName, TUESDAY, 8)), resources.toArray(new Resource[0]));
+
+        List<Resource> expected = new ArrayList<>(Arrays.asList(
+                mostOverloaded, slightlyOverloaded, mostLoaded, sameLoadFirstByName, withoutLoad));
+
+        assertEquals(expected, ResourceLoadSummary.sortByLoad(resources, summaries));
+    }
+
+    @Test
+    public void theResourcesWithTheSameLoadAreSortedByNameIgnoringCase() {
+        Resource upperCase = resource(1, "Bob");
+        Resource lowerCase = resource(2, "alice");
+
+        List<Resource> sorted = ResourceLoadSummary.sortByLoad(Arrays.asList(upperCase, lowerCase),
+                calculate(sending(), upperCase, lowerCase));
+
+        assertEquals(Arrays.asList(lowerCase, upperCase), sorted);
+    }
+
+}
@@ -21,8 +21,12 @@
 
 package org.libreplan.web.test.ws.resources.api;
 
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.libreplan.business.BusinessGlobalNames.BUSINESS_SPRING_CONFIG_FILE;
@@ -36,12 +40,23 @@ import static org.libreplan.web.test.ws.common.Util.assertOneConstraintViolation
 import static org.libreplan.web.test.ws.common.Util.assertOneRecoverableError;
 import static org.libreplan.web.test.ws.common.Util.getUniqueName;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriInfo;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeConstants;
 import javax.xml.datatype.DatatypeFactory;
@@ -843,6 +858,198 @@ constraintViolations
 
     }
 
+    @Test
+    @Transactional
+    public void testAddResourcesInChunks() {
+
+        List<ResourceDTO> machines = new ArrayList<ResourceDTO>();
+        for (int i = 0; i < 5; i++) {
+            machines.add(new MachineDTO(getUniqueName(), "desc"));
+        }
+
+        assertNoConstraintViolations(resourceService.addResources(
+            new ResourceListDTO(machines), 2));
+
+        for (ResourceDTO each : machines) {
+            assertTrue(resourceDAO.existsByCode(each.code));
+        }
+
+    }
+
+    @Test
+    @Transactional
+    public void testAddResourcesInChunksUpdatingExistingOnes()
+        throws InstanceNotFoundException {
+
+        MachineDTO m1 = new MachineDTO("name", "desc");
+        assertNoConstraintViolations(resourceService.addResources(
+            createResourceListDTO(m1)));
+
+        /* The second DTO with m1's code updates the entity of the first. */
+        MachineDTO m1Updated = new MachineDTO(m1.code, "name" + "UPDATED",
+            null);
+        MachineDTO m2 = new MachineDTO("name", "desc");
+        MachineDTO m1UpdatedAgain = new MachineDTO(m1.code, null,
+            "desc" + "UPDATED");
+
+        assertNoConstraintViolations(resourceService.addResources(
+            createResourceListDTO(m1Updated, m2, m1UpdatedAgain), 3));
+
+        Machine m1Entity = machineDAO.findByCode(m1.code);
+        assertEquals(m1Updated.name, m1Entity.getName());
+        assertEquals(m1UpdatedAgain.description, m1Entity.getDescription());
+        assertTrue(resourceDAO.existsByCode(m2.code));
+
+    }
+
+    @Test
+    @Transactional
+    public void testAddResourcesInChunksWithAnInvalidOne() {
+
+        MachineDTO m1 = new MachineDTO("name", "desc");
+        MachineDTO m2 = new MachineDTO("", "desc"); // Missing name.
+        MachineDTO m3 = new MachineDTO("name", "desc");
+
+        /*
+         * The first chunk can not be saved, so m1 and m2 are saved again one
+         * by one and only m2 is reported.
+         */
+        List<InstanceConstraintViolationsDTO> instanceConstraintViolationsList =
+            resourceService.addResources(createResourceListDTO(m1, m2, m3),
+                2).instanceConstraintViolationsList;
+
+        assertEquals(instanceConstraintViolationsList.toString(), 1,
+            instanceConstraintViolationsList.size());
+        assertEquals(Long.valueOf(2),
+            instanceConstraintViolationsList.get(0).numItem);
+        assertEquals(m2.code, instanceConstraintViolationsList.get(0).code);
+        assertTrue(resourceDAO.existsByCode(m1.code));
+        assertFalse(resourceDAO.existsByCode(m2.code));
+        assertTrue(resourceDAO.existsByCode(m3.code));
+
+    }
+
+    @Test
+    @Transactional
+    public void testAddResourcesWithChunkSizeOverTheMaximum() {
+
+        MachineDTO m1 = new MachineDTO("name", "desc");
+        MachineDTO m2 = new MachineDTO("name", "desc");
+
+        assertNoConstraintViolations(resourceService.addResources(
+            createResourceListDTO(m1, m2), Integer.MAX_VALUE));
+        assertTrue(resourceDAO.existsByCode(m1.code));
+        assertTrue(resourceDAO.existsByCode(m2.code));
+
+    }
+
+    @Test
+    @Transactional
+    public void testGetResourcesByPages() {
+
+        String prefix = getUniqueName();
+        List<String> codes = addMachines(prefix);
+
+        /* First page, starting just before the added machines. */
+        Response firstPage = resourceService.getResources(prefix, 2,
+            createUriInfo());
+
+        assertEquals(Status.OK.getStatusCode(), firstPage.getStatus());
+        assertEquals(codes.subList(0, 2),
+            getCodes((ResourceListDTO) firstPage.getEntity()));
+        assertTrue(firstPage.getLink("next").getUri().getQuery().contains(
+            "after=" + codes.get(1)));
+
+        /* Next page, starting after the last code of the previous one. */
+        Response nextPage = resourceService.getResources(codes.get(1), 2,
+            createUriInfo());
+
+        assertEquals(codes.get(2),
+            getCodes((ResourceListDTO) nextPage.getEntity()).get(0));
+
+    }
+
+    @Test
+    @Transactional
+    public void testGetResourcesWithInvalidLimit() {
+
+        assertEquals(Status.BAD_REQUEST.getStatusCode(), resourceService
+            .getResources(null, 0, createUriInfo()).getStatus());
+        assertEquals(Status.BAD_REQUEST.getStatusCode(), resourceService
+            .getResources(null, 1001, createUriInfo()).getStatus());
+
+    }
+
+    @Test
+    @Transactional
+    public void testGetAllResourcesStreamed() throws IOException,
+        JAXBException {
+
+        List<String> codes = addMachines(getUniqueName());
+
+        Response response = resourceService.getResources(null, null,
+            createUriInfo());
+        assertNull(response.getLink("next"));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(output);
+
+        /* The streamed XML is a valid resource list ordered by code. */
+        ResourceListDTO resourceListDTO = (ResourceListDTO) JAXBContext
+            .newInstance(ResourceListDTO.class).createUnmarshaller()
+            .unmarshal(new ByteArrayInputStream(output.toByteArray()));
+        List<String> streamedCodes = getCodes(resourceListDTO);
+
+        int first = streamedCodes.indexOf(codes.get(0));
+        assertTrue(first >= 0);
+        assertEquals(codes, streamedCodes.subList(first, first + 3));
+
+    }
+
+    /**
+     * Adds three machines with codes starting with <code>prefix</code> and
+     * returns their codes in order.
+     */
+    private List<String> addMachines(String prefix) {
+
+        List<String> codes = Arrays.asList(prefix + "-1", prefix + "-2",
+            prefix + "-3");
+        List<ResourceDTO> machines = new ArrayList<ResourceDTO>();
+
+        for (String code : codes) {
+            machines.add(new MachineDTO(code, "name", "desc"));
+        }
+        assertNoConstraintViolations(resourceService.addResources(
+            new ResourceListDTO(machines)));
+
+        return codes;
+
+    }
+
+    private UriInfo createUriInfo() {
+
+        UriInfo uriInfo = createNiceMock(UriInfo.class);
+        expect(uriInfo.getRequestUriBuilder()).andAnswer(
+            () -> UriBuilder.fromUri("http://localhost/ws/rest/resources?limit=2"))
+            .anyTimes();
+        replay(uriInfo);
+
+        return uriInfo;
+
+    }
+
+    private List<String> getCodes(ResourceListDTO resourceListDTO) {
+
+        List<String> result = new ArrayList<String>();
+
+        for (ResourceDTO each : resourceListDTO.resources) {
+            result.add(each.code);
+        }
+
+        return result;
+
+    }
+
     private CriterionType createCriterionType() {
         return createCriterionType(ResourceEnum.WORKER, true);
     }